@@ -0,0 +1,68 @@
+package org.prebid.server.auction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares price bucketing with compiled {@link PriceBuckets} against {@link BigDecimal} range scan
+ * and {@link String#format} it replaces.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CpmRangeBenchmark {
+
+    private static final int PRICES = 1024;
+
+    @Param({"med", "dense"})
+    private String granularity;
+
+    private PriceGranularity priceGranularity;
+    private String format;
+    private BigDecimal[] prices;
+
+    @Setup
+    public void setUp() {
+        priceGranularity = PriceGranularity.createFromString(granularity);
+        format = "%." + priceGranularity.getPrecision() + "f";
+
+        final Random random = new Random(1);
+        prices = new BigDecimal[PRICES];
+        for (int i = 0; i < PRICES; i++) {
+            prices[i] = BigDecimal.valueOf(random.nextDouble() * 25);
+        }
+    }
+
+    @Benchmark
+    public void compiled(Blackhole blackhole) {
+        for (BigDecimal price : prices) {
+            blackhole.consume(CpmRange.fromCpm(price, priceGranularity));
+        }
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        for (BigDecimal price : prices) {
+            final BigDecimal value = CpmRange.fromCpmAsNumber(price, priceGranularity);
+            blackhole.consume(value != null ? String.format(Locale.US, format, value) : "");
+        }
+    }
+}
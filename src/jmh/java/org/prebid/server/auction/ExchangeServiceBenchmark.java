@@ -0,0 +1,205 @@
+package org.prebid.server.auction;
+
+import com.codahale.metrics.MetricRegistry;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.benchmark.BidRequestFixtures;
+import org.prebid.server.benchmark.BidderCatalogFactory;
+import org.prebid.server.benchmark.InMemoryApplicationSettings;
+import org.prebid.server.benchmark.InMemoryHttpClient;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.HttpBidderRequester;
+import org.prebid.server.cache.CacheService;
+import org.prebid.server.cache.model.CacheTtl;
+import org.prebid.server.cookie.UidsCookie;
+import org.prebid.server.cookie.proto.Uids;
+import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.events.EventsService;
+import org.prebid.server.execution.AdmissionController;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.geolocation.GeoLocationService;
+import org.prebid.server.geolocation.model.GeoInfo;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.metric.AccountMetricsVerbosity;
+import org.prebid.server.metric.CounterType;
+import org.prebid.server.metric.MetricName;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.ReservoirType;
+import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
+import org.prebid.server.privacy.gdpr.GdprService;
+import org.prebid.server.privacy.gdpr.VendorConsentCache;
+import org.prebid.server.privacy.gdpr.vendorlist.VendorListService;
+import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.validation.ResponseBidValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Clock;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures {@link ExchangeService#holdAuction(AuctionContext)} with real bidders, privacy enforcement,
+ * bid response creation and caching, where all the I/O is replaced with in-memory stubs.
+ * <p>
+ * Requests are built from integration test fixtures with the given number of banner impressions,
+ * each offered to the given number of bidders.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExchangeServiceBenchmark {
+
+    // the most widespread bidders go first, so smaller auctions are more representative
+    private static final String[] BIDDERS = {"appnexus", "rubicon", "pubmatic", "openx", "ix", "triplelift", "sovrn",
+            "conversant", "improvedigital", "grid", "gumgum", "sonobi", "unruly", "rhythmone", "yieldmo", "adkernel",
+            "adpone", "adtelligent", "advangelists", "applogy", "brightroll", "cpmstar", "datablocks", "engagebdr",
+            "gamoshi", "kubient", "lifestreet", "lockerdome", "marsmedia", "mgid", "pulsepoint", "rtbhouse",
+            "smartrtb", "somoaudience", "synacormedia", "tappx", "ttx", "verizonmedia", "visx", "vrtcal"};
+
+    private static final String ACCOUNT_ID = "publisherId";
+    private static final long TIMEOUT_MS = 5000L;
+    private static final String CACHE_SCHEME = "http";
+    private static final String CACHE_HOST = "cache.prebid.local";
+    private static final String CACHE_PATH = "/cache";
+
+    @Param({"1", "10", "50"})
+    private int imps;
+
+    @Param({"3", "15", "40"})
+    private int bidders;
+
+    private Vertx vertx;
+    private TimeoutFactory timeoutFactory;
+    private ExchangeService exchangeService;
+    private UidsCookie uidsCookie;
+    private Account account;
+    private BidRequest bidRequest;
+
+    @Setup
+    public void setUp() throws IOException {
+        final JacksonMapper mapper = new JacksonMapper(ObjectMapperProvider.mapper());
+        final Clock clock = Clock.systemUTC();
+        final List<String> auctionBidders = Arrays.asList(BIDDERS).subList(0, bidders);
+
+        final BidderCatalog bidderCatalog = BidderCatalogFactory.create(auctionBidders);
+        final Metrics metrics = new Metrics(new MetricRegistry(), CounterType.counter,
+                ReservoirType.exponentiallyDecaying,
+                new AccountMetricsVerbosity(AccountMetricsVerbosityLevel.basic, Collections.emptyList(),
+                        Collections.emptyList()),
+                bidderCatalog);
+
+        final String cacheEndpoint = CacheService.getCacheEndpointUrl(CACHE_SCHEME, CACHE_HOST, CACHE_PATH)
+                .toString();
+        final InMemoryHttpClient httpClient = new InMemoryHttpClient(cacheEndpoint, mapper);
+        final GeoLocationService geoLocationService = (ip, timeout) ->
+                Future.succeededFuture(GeoInfo.builder().vendor("benchmark").country("us").build());
+
+        account = Account.builder().id(ACCOUNT_ID).build();
+        final ApplicationSettings applicationSettings = new InMemoryApplicationSettings(
+                Collections.singletonMap(ACCOUNT_ID, account), Collections.emptyMap(), Collections.emptyMap(),
+                Collections.emptyMap());
+
+        vertx = Vertx.vertx();
+        timeoutFactory = new TimeoutFactory(clock);
+        final VendorListService vendorListService = VendorListService.create(
+                Files.createTempDirectory("vendorlist").toString(), "http://vendorlist.prebid.local/{VERSION}",
+                1000, null, bidderCatalog, vertx.fileSystem(), httpClient, mapper);
+        final GdprService gdprService = new GdprService(Arrays.asList("de", "fr", "gb"), "1", geoLocationService,
+                metrics, vendorListService, new VendorConsentCache(10000, metrics));
+        final EventsService eventsService = new EventsService("http://localhost:8080");
+        final CacheService cacheService = new CacheService(CacheTtl.empty(), httpClient,
+                CacheService.getCacheEndpointUrl(CACHE_SCHEME, CACHE_HOST, CACHE_PATH),
+                CacheService.getCachedAssetUrlTemplate(CACHE_SCHEME, CACHE_HOST, CACHE_PATH, "uuid="),
+                eventsService, metrics, clock, mapper);
+        final StoredRequestProcessor storedRequestProcessor = new StoredRequestProcessor(50L, applicationSettings,
+                metrics, timeoutFactory, mapper);
+
+        exchangeService = new ExchangeService(
+                100L,
+                bidderCatalog,
+                new StoredResponseProcessor(applicationSettings, bidderCatalog, mapper),
+                new PrivacyEnforcementService(gdprService, bidderCatalog, metrics, mapper, true, false),
+                new HttpBidderRequester(httpClient, null),
+                new ResponseBidValidator(),
+                new CurrencyConversionService(null),
+                new BidResponseCreator(cacheService, bidderCatalog, eventsService, storedRequestProcessor, mapper),
+                BidResponsePostProcessor.noOp(),
+                new AdmissionController(0, 0, 0, Collections.emptyList(), 1, () -> 0L, () -> 0, metrics),
+                metrics,
+                clock,
+                mapper);
+
+        uidsCookie = new UidsCookie(Uids.builder().uids(new HashMap<>()).build(), mapper);
+        bidRequest = new BidRequestFixtures(mapper).auctionRequest(auctionBidders, imps);
+
+        verifyAllBiddersBid(auctionBidders);
+    }
+
+    /**
+     * Makes sure stubs produce bids for every bidder, otherwise benchmark would silently measure error handling.
+     */
+    private void verifyAllBiddersBid(List<String> auctionBidders) {
+        final Future<BidResponse> result = exchangeService.holdAuction(auctionContext());
+        if (!result.succeeded()) {
+            throw new IllegalStateException("Auction has failed or has not completed synchronously", result.cause());
+        }
+
+        final Set<String> biddersWithBids = result.result().getSeatbid().stream()
+                .map(SeatBid::getSeat)
+                .collect(Collectors.toSet());
+        final Set<String> biddersWithoutBids = new HashSet<>(auctionBidders);
+        biddersWithoutBids.removeAll(biddersWithBids);
+        if (!biddersWithoutBids.isEmpty()) {
+            throw new IllegalStateException(String.format("Bidders %s did not bid, response ext: %s",
+                    biddersWithoutBids, result.result().getExt()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Benchmark
+    public BidResponse holdAuction() {
+        return exchangeService.holdAuction(auctionContext()).result();
+    }
+
+    private AuctionContext auctionContext() {
+        return AuctionContext.builder()
+                .uidsCookie(uidsCookie)
+                .bidRequest(bidRequest)
+                .timeout(timeoutFactory.create(TIMEOUT_MS))
+                .account(account)
+                .requestTypeMetric(MetricName.openrtb2web)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package org.prebid.server.auction;
+
+import com.iab.openrtb.response.Bid;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.BidderDeps;
+import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Measures targeting keywords creation for all bids of 40-bidder, 10-imp auction, with bidder-suffixed keys
+ * precomputed for bidders of {@link BidderCatalog} and created per bid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TargetingKeywordsCreatorBenchmark {
+
+    private static final int BIDDERS = 40;
+    private static final int IMPS = 10;
+
+    @Param({"catalog", "none"})
+    private String bidderKeys;
+
+    private TargetingKeywordsCreator keywordsCreator;
+    private String[] bidders;
+    private Bid[] bids;
+
+    @Setup
+    public void setUp() {
+        bidders = IntStream.range(0, BIDDERS).mapToObj(i -> "bidder" + i).toArray(String[]::new);
+        final BidderCatalog bidderCatalog = new BidderCatalog(IntStream.range(0, BIDDERS)
+                .mapToObj(i -> BidderDeps.builder()
+                        .name(bidders[i])
+                        .deprecatedNames(Collections.emptyList())
+                        .aliases(Collections.emptyList())
+                        .build())
+                .collect(Collectors.toList()));
+        final BidderTargetingKeys bidderTargetingKeys = bidderKeys.equals("catalog")
+                ? TargetingKeywordsCreator.createBidderTargetingKeys(bidderCatalog)
+                : BidderTargetingKeys.EMPTY;
+        final ExtPriceGranularity priceGranularity = ExtPriceGranularity.of(2, PriceGranularity.DEFAULT.getRanges());
+        keywordsCreator = TargetingKeywordsCreator.create(priceGranularity, true, true, false, bidderTargetingKeys);
+
+        bids = new Bid[BIDDERS * IMPS];
+        for (int i = 0; i < bids.length; i++) {
+            bids[i] = Bid.builder().id("bid" + i).price(BigDecimal.valueOf(i % 200, 1)).dealid("deal")
+                    .w(i % 2 == 0 ? 300 : 728).h(i % 2 == 0 ? 250 : 90).build();
+        }
+    }
+
+    @Benchmark
+    public void makeFor(Blackhole blackhole) {
+        for (int i = 0; i < bids.length; i++) {
+            blackhole.consume(keywordsCreator.makeFor(bids[i], bidders[i % BIDDERS], i < IMPS, "cacheId",
+                    null, "cache.host", "/cache", null));
+        }
+    }
+}
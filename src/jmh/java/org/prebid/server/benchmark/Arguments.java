@@ -0,0 +1,60 @@
+package org.prebid.server.benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Command line arguments of {@code --name=value} or {@code --flag} form, used by benchmark tools.
+ */
+public class Arguments {
+
+    private final Map<String, String> values;
+
+    private Arguments(Map<String, String> values) {
+        this.values = Objects.requireNonNull(values);
+    }
+
+    public static Arguments parse(String[] args) {
+        final Map<String, String> values = new LinkedHashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException(String.format("Unexpected argument: %s", arg));
+            }
+            final String[] nameValue = arg.substring(2).split("=", 2);
+            values.put(nameValue[0], nameValue.length > 1 ? nameValue[1] : null);
+        }
+        return new Arguments(values);
+    }
+
+    public boolean has(String name) {
+        return values.containsKey(name);
+    }
+
+    public String get(String name) {
+        return values.get(name);
+    }
+
+    public String getOrDefault(String name, String defaultValue) {
+        final String value = values.get(name);
+        return value != null ? value : defaultValue;
+    }
+
+    public String required(String name) {
+        final String value = values.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException(String.format("Argument --%s is required", name));
+        }
+        return value;
+    }
+
+    public Long getLong(String name) {
+        final String value = values.get(name);
+        return value != null ? Long.valueOf(value) : null;
+    }
+
+    public long getLong(String name, long defaultValue) {
+        final Long value = getLong(name);
+        return value != null ? value : defaultValue;
+    }
+}
@@ -0,0 +1,105 @@
+package org.prebid.server.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.BidRequest;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.util.ResourceUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Builds auction requests of the given size from integration test fixtures.
+ * <p>
+ * Site, device, user and targeting settings are taken from a single integration test request, impression parameters
+ * of every bidder are taken from the request used in integration test of that bidder. The resulting request
+ * corresponds to the one produced by {@link org.prebid.server.auction.AuctionRequestFactory}: targeting defaults
+ * are resolved and there are no stored requests left.
+ */
+public class BidRequestFixtures {
+
+    private static final String FIXTURES_PATH = "org/prebid/server/it/openrtb2/";
+    private static final String BASE_REQUEST = FIXTURES_PATH + "adform/test-auction-adform-request.json";
+
+    private final JacksonMapper mapper;
+
+    public BidRequestFixtures(JacksonMapper mapper) {
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    /**
+     * Returns request with the given number of banner impressions, each one offered to all the given bidders.
+     */
+    public BidRequest auctionRequest(List<String> bidders, int imps) {
+        final ObjectNode request = (ObjectNode) readFixture(BASE_REQUEST);
+
+        // GDPR applicability is left to be resolved by geo location, as it happens with most of real requests
+        request.remove("regs");
+        ((ObjectNode) request.path("device"))
+                .put("ip", "193.168.244.1")
+                .put("ua", "Mozilla/5.0 (Macintosh; Intel Mac OS X 10_14_6) AppleWebKit/537.36");
+        ((ObjectNode) request.path("site"))
+                .put("page", "https://publisher.com/article.html")
+                .put("domain", "publisher.com");
+        ((ObjectNode) request.path("ext").path("prebid").path("targeting"))
+                .put("includewinners", true)
+                .put("includebidderkeys", true);
+
+        final ObjectNode impExt = mapper.mapper().createObjectNode();
+        for (String bidder : bidders) {
+            impExt.set(bidder, bidderParams(bidder));
+        }
+
+        final ArrayNode impsNode = request.putArray("imp");
+        for (int i = 0; i < imps; i++) {
+            final ObjectNode imp = impsNode.addObject().put("id", "imp-" + i).put("tagid", "slot-" + i);
+            final ArrayNode formats = imp.putObject("banner").putArray("format");
+            formats.addObject().put("w", 300).put("h", 250);
+            formats.addObject().put("w", 300).put("h", 600);
+            imp.set("ext", impExt.deepCopy());
+        }
+
+        try {
+            return mapper.mapper().treeToValue(request, BidRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot create bid request from fixtures", e);
+        }
+    }
+
+    /**
+     * Returns impression parameters of the given bidder from its integration test request.
+     */
+    public JsonNode bidderParams(String bidder) {
+        final JsonNode request = readFixture(bidderFixturePath(bidder));
+        for (JsonNode imp : request.path("imp")) {
+            final JsonNode params = imp.path("ext").path(bidder);
+            if (!params.isMissingNode()) {
+                return params;
+            }
+        }
+        throw new IllegalArgumentException(String.format("No impression parameters found for bidder: %s", bidder));
+    }
+
+    private static String bidderFixturePath(String bidder) {
+        switch (bidder) {
+            case "appnexus":
+            case "rubicon":
+                return FIXTURES_PATH + "rubicon_appnexus/test-auction-rubicon-appnexus-request.json";
+            default:
+                return String.format("%s%s/test-auction-%s-request.json", FIXTURES_PATH, bidder, bidder);
+        }
+    }
+
+    private JsonNode readFixture(String path) {
+        try {
+            return mapper.mapper().readTree(ResourceUtil.readFromClasspath(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Cannot read fixture %s", path), e);
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.prebid.server.benchmark;
+
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.BidderDeps;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.spring.config.bidder.AppnexusConfiguration;
+import org.springframework.boot.Banner;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Creates {@link BidderCatalog} with real bidders the same way application does it, but without starting the rest
+ * of application context.
+ */
+public class BidderCatalogFactory {
+
+    private static final String IT_PROPERTIES = "classpath:/org/prebid/server/it/test-application.properties";
+
+    private BidderCatalogFactory() {
+    }
+
+    /**
+     * Returns catalog where only the given bidders are enabled.
+     */
+    public static BidderCatalog create(Collection<String> enabledBidders) {
+        // passed as command line arguments to take precedence over bidder configuration files
+        final List<String> properties = new ArrayList<>();
+        properties.add("--external-url=http://localhost:8080");
+        for (String bidder : enabledBidders) {
+            properties.add(String.format("--adapters.%s.enabled=true", bidder));
+        }
+
+        return create(properties);
+    }
+
+    /**
+     * Returns catalog where all bidders are enabled and configured the same way as in integration tests.
+     */
+    public static BidderCatalog createWithAllBidders() {
+        return create(Collections.singletonList("--spring.config.additional-location=" + IT_PROPERTIES));
+    }
+
+    private static BidderCatalog create(List<String> properties) {
+        // Spring Boot loads only sources annotated as components, so configuration is registered explicitly
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(BidderCatalogFactory.class)
+                .initializers(BidderCatalogFactory::registerBiddersConfiguration)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .logStartupInfo(false)
+                .run(properties.toArray(new String[0]))) {
+
+            return new BidderCatalog(new ArrayList<>(context.getBeansOfType(BidderDeps.class).values()));
+        }
+    }
+
+    private static void registerBiddersConfiguration(ConfigurableApplicationContext context) {
+        ((AnnotationConfigApplicationContext) context).register(BiddersConfiguration.class);
+    }
+
+    /**
+     * Intentionally not annotated with {@link org.springframework.context.annotation.Configuration}: benchmarks are
+     * compiled together with tests, so otherwise it would be picked up by application context of integration tests
+     * scanning {@code org.prebid.server} package.
+     */
+    @EnableConfigurationProperties
+    @ComponentScan(basePackageClasses = AppnexusConfiguration.class)
+    static class BiddersConfiguration {
+
+        @Bean
+        JacksonMapper jacksonMapper() {
+            return new JacksonMapper(ObjectMapperProvider.mapper());
+        }
+    }
+}
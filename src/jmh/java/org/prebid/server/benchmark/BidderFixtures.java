@@ -0,0 +1,128 @@
+package org.prebid.server.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.BidRequest;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.util.ResourceUtil;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Provides payloads used in integration test of the given bidder: request as it is passed to the bidder by
+ * {@link org.prebid.server.auction.ExchangeService} and response of the bidder's server.
+ */
+public class BidderFixtures {
+
+    private static final String FIXTURES_PATH = "org/prebid/server/it/openrtb2/";
+
+    // bidders which integration test fixtures are named differently
+    private static final Map<String, String> BIDDER_TO_DIRECTORY = new HashMap<>();
+    private static final Map<String, String> BIDDER_TO_FILE_PREFIX = new HashMap<>();
+    private static final Map<String, String> BIDDER_TO_AUCTION_FILE_PREFIX = new HashMap<>();
+
+    static {
+        BIDDER_TO_DIRECTORY.put("adkernelAdn", "adkerneladn");
+        BIDDER_TO_DIRECTORY.put("appnexus", "rubicon_appnexus");
+        BIDDER_TO_DIRECTORY.put("audienceNetwork", "facebook");
+        BIDDER_TO_DIRECTORY.put("emx_digital", "emxdigital");
+        BIDDER_TO_DIRECTORY.put("rubicon", "rubicon_appnexus");
+        BIDDER_TO_DIRECTORY.put("triplelift_native", "tripleliftnative");
+
+        BIDDER_TO_FILE_PREFIX.put("adkernelAdn", "adkerneladn");
+        BIDDER_TO_FILE_PREFIX.put("audienceNetwork", "facebook");
+        BIDDER_TO_FILE_PREFIX.put("emx_digital", "emxdigital");
+        BIDDER_TO_FILE_PREFIX.put("triplelift_native", "triplelift-native");
+
+        BIDDER_TO_AUCTION_FILE_PREFIX.put("appnexus", "rubicon-appnexus");
+        BIDDER_TO_AUCTION_FILE_PREFIX.put("rubicon", "rubicon-appnexus");
+    }
+
+    private final JacksonMapper mapper;
+
+    public BidderFixtures(JacksonMapper mapper) {
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    /**
+     * Returns request of the bidder's integration test, where only impressions for this bidder are left and
+     * their extensions are reduced to "prebid" and "bidder" fields. User is considered to be synced with the bidder.
+     */
+    public BidRequest bidderRequest(String bidder) {
+        final String filePrefix = BIDDER_TO_AUCTION_FILE_PREFIX.getOrDefault(bidder, filePrefix(bidder));
+        final ObjectNode request = (ObjectNode) readFixture(
+                String.format("%stest-auction-%s-request.json", directory(bidder), filePrefix));
+
+        final ArrayNode imps = mapper.mapper().createArrayNode();
+        for (JsonNode imp : request.path("imp")) {
+            final JsonNode params = imp.path("ext").get(bidder);
+            if (params != null) {
+                final ObjectNode impExt = mapper.mapper().createObjectNode();
+                final JsonNode prebid = imp.path("ext").get("prebid");
+                if (prebid != null) {
+                    impExt.set("prebid", prebid);
+                }
+                impExt.set("bidder", params);
+                imps.add(((ObjectNode) imp.deepCopy()).set("ext", impExt));
+            }
+        }
+        request.set("imp", imps);
+
+        final JsonNode user = request.get("user");
+        final ObjectNode userNode = user instanceof ObjectNode ? (ObjectNode) user : request.putObject("user");
+        if (!userNode.has("buyeruid")) {
+            userNode.put("buyeruid", "buyer-uid");
+        }
+
+        try {
+            return mapper.mapper().treeToValue(request, BidRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(String.format("Cannot create bid request for bidder: %s", bidder), e);
+        }
+    }
+
+    /**
+     * Returns bodies of responses of the bidder's server from its integration test.
+     */
+    public List<String> bidderResponses(String bidder) {
+        final String basePath = String.format("%stest-%s-bid-response", directory(bidder), filePrefix(bidder));
+
+        final List<String> responses = new ArrayList<>();
+        for (int i = 1; exists(basePath + '-' + i + ".json"); i++) {
+            responses.add(readFixture(basePath + '-' + i + ".json").toString());
+        }
+        // bidders with single request in integration test have response without number
+        if (responses.isEmpty()) {
+            responses.add(readFixture(basePath + ".json").toString());
+        }
+        return responses;
+    }
+
+    private static String directory(String bidder) {
+        return FIXTURES_PATH + BIDDER_TO_DIRECTORY.getOrDefault(bidder, bidder) + '/';
+    }
+
+    private static String filePrefix(String bidder) {
+        return BIDDER_TO_FILE_PREFIX.getOrDefault(bidder, bidder);
+    }
+
+    private static boolean exists(String path) {
+        return BidderFixtures.class.getClassLoader().getResource(path) != null;
+    }
+
+    private JsonNode readFixture(String path) {
+        try {
+            return mapper.mapper().readTree(ResourceUtil.readFromClasspath(path));
+        } catch (IOException e) {
+            throw new UncheckedIOException(String.format("Cannot read fixture %s", path), e);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.prebid.server.benchmark;
+
+import io.vertx.core.Future;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.settings.model.StoredResponseDataResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link ApplicationSettings} backed by maps populated by benchmark, so no file system or database is involved.
+ */
+public class InMemoryApplicationSettings implements ApplicationSettings {
+
+    private final Map<String, Account> accounts;
+    private final Map<String, String> storedIdToRequest;
+    private final Map<String, String> storedIdToImp;
+    private final Map<String, String> storedIdToSeatBid;
+
+    public InMemoryApplicationSettings(Map<String, Account> accounts, Map<String, String> storedIdToRequest,
+                                       Map<String, String> storedIdToImp, Map<String, String> storedIdToSeatBid) {
+        this.accounts = Objects.requireNonNull(accounts);
+        this.storedIdToRequest = Objects.requireNonNull(storedIdToRequest);
+        this.storedIdToImp = Objects.requireNonNull(storedIdToImp);
+        this.storedIdToSeatBid = Objects.requireNonNull(storedIdToSeatBid);
+    }
+
+    public static InMemoryApplicationSettings empty() {
+        return new InMemoryApplicationSettings(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(),
+                Collections.emptyMap());
+    }
+
+    @Override
+    public Future<Account> getAccountById(String accountId, Timeout timeout) {
+        final Account account = accounts.get(accountId);
+        return account != null
+                ? Future.succeededFuture(account)
+                : Future.failedFuture(new PreBidException(String.format("Account not found: %s", accountId)));
+    }
+
+    @Override
+    public Future<String> getAdUnitConfigById(String adUnitConfigId, Timeout timeout) {
+        return Future.failedFuture(new PreBidException(String.format("AdUnitConfig not found: %s", adUnitConfigId)));
+    }
+
+    @Override
+    public Future<StoredDataResult> getStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
+        final List<String> errors = new ArrayList<>();
+        return Future.succeededFuture(StoredDataResult.of(
+                existing(requestIds, storedIdToRequest, "request", errors),
+                existing(impIds, storedIdToImp, "imp", errors),
+                errors));
+    }
+
+    @Override
+    public Future<StoredResponseDataResult> getStoredResponses(Set<String> responseIds, Timeout timeout) {
+        final List<String> errors = new ArrayList<>();
+        return Future.succeededFuture(StoredResponseDataResult.of(
+                existing(responseIds, storedIdToSeatBid, "seatbid", errors),
+                errors));
+    }
+
+    @Override
+    public Future<StoredDataResult> getAmpStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
+        return getStoredData(requestIds, Collections.emptySet(), timeout);
+    }
+
+    @Override
+    public Future<StoredDataResult> getVideoStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
+        return getStoredData(requestIds, impIds, timeout);
+    }
+
+    private static Map<String, String> existing(Set<String> ids, Map<String, String> storedIdToJson, String type,
+                                                List<String> errors) {
+        final Map<String, String> result = new HashMap<>();
+        for (String id : ids) {
+            final String json = storedIdToJson.get(id);
+            if (json != null) {
+                result.put(id, json);
+            } else {
+                errors.add(String.format("No stored %s found for id: %s", type, id));
+            }
+        }
+        return result;
+    }
+}
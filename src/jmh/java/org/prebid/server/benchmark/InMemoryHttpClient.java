@@ -0,0 +1,106 @@
+package org.prebid.server.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.vertx.http.HttpClient;
+import org.prebid.server.vertx.http.model.HttpClientResponse;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * {@link HttpClient} answering without any network interaction, so benchmarks measure Prebid Server code only.
+ * <p>
+ * Requests to Prebid Cache endpoint get a uuid for every cached object. Any other request is treated as OpenRTB bid
+ * request and is answered with one banner bid per impression, with deterministic price derived from the endpoint
+ * and impression id. Bid extension carries the fields some bidders can't do without. Requests without impressions
+ * are answered with 204 (no content).
+ */
+public class InMemoryHttpClient implements HttpClient {
+
+    private static final MultiMap EMPTY_HEADERS = MultiMap.caseInsensitiveMultiMap();
+
+    private final String cacheEndpoint;
+    private final JacksonMapper mapper;
+
+    public InMemoryHttpClient(String cacheEndpoint, JacksonMapper mapper) {
+        this.cacheEndpoint = Objects.requireNonNull(cacheEndpoint);
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, String body,
+                                              long timeoutMs) {
+        final JsonNode requestNode;
+        try {
+            requestNode = body != null ? mapper.mapper().readTree(body) : null;
+        } catch (IOException e) {
+            return Future.succeededFuture(HttpClientResponse.of(400, EMPTY_HEADERS, null));
+        }
+
+        final String responseBody = url.startsWith(cacheEndpoint)
+                ? cacheResponse(requestNode)
+                : bidResponse(url, requestNode);
+
+        return Future.succeededFuture(responseBody != null
+                ? HttpClientResponse.of(200, EMPTY_HEADERS, responseBody)
+                : HttpClientResponse.of(204, EMPTY_HEADERS, null));
+    }
+
+    private String cacheResponse(JsonNode requestNode) {
+        final ObjectNode response = mapper.mapper().createObjectNode();
+        final ArrayNode responses = response.putArray("responses");
+
+        final JsonNode puts = requestNode != null ? requestNode.path("puts") : null;
+        final int size = puts != null ? puts.size() : 0;
+        for (int i = 0; i < size; i++) {
+            responses.addObject().put("uuid", "uuid-" + i);
+        }
+        return response.toString();
+    }
+
+    private String bidResponse(String url, JsonNode requestNode) {
+        final JsonNode imps = requestNode != null ? requestNode.path("imp") : null;
+        if (imps == null || !imps.isArray() || imps.size() == 0) {
+            return null;
+        }
+
+        final ObjectNode response = mapper.mapper().createObjectNode()
+                .put("id", requestNode.path("id").asText())
+                .put("cur", "USD");
+        final ArrayNode bids = response.putArray("seatbid").addObject().putArray("bid");
+        for (JsonNode imp : imps) {
+            final String impId = imp.path("id").asText();
+            bids.addObject()
+                    .put("id", "bid-" + impId)
+                    .put("impid", impId)
+                    .put("price", price(url, impId))
+                    .put("adm", "<div id=\"ad\"><img src=\"https://creative.example.com/" + impId + ".png\"></div>")
+                    .put("adid", "ad-" + impId)
+                    .put("crid", "creative-" + impId)
+                    .put("w", 300)
+                    .put("h", 250)
+                    .<ObjectNode>set("ext", bidExt())
+                    .putArray("adomain").add("advertiser.com");
+        }
+        return response.toString();
+    }
+
+    private ObjectNode bidExt() {
+        final ObjectNode ext = mapper.mapper().createObjectNode().put("format", "BANNER");
+        ext.putObject("appnexus").put("bid_ad_type", 0);
+        ext.putObject("triplelift_pb").put("format", 0);
+        return ext;
+    }
+
+    private static BigDecimal price(String url, String impId) {
+        final int cents = Math.floorMod(31 * url.hashCode() + impId.hashCode(), 1000) + 10;
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
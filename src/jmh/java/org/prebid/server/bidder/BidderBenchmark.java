@@ -0,0 +1,117 @@
+package org.prebid.server.bidder;
+
+import com.iab.openrtb.request.BidRequest;
+import io.vertx.core.MultiMap;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.BidderCatalogFactory;
+import org.prebid.server.benchmark.BidderFixtures;
+import org.prebid.server.bidder.model.BidderBid;
+import org.prebid.server.bidder.model.HttpCall;
+import org.prebid.server.bidder.model.HttpRequest;
+import org.prebid.server.bidder.model.HttpResponse;
+import org.prebid.server.bidder.model.Result;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link Bidder#makeHttpRequests(BidRequest)} and {@link Bidder#makeBids(HttpCall, BidRequest)} of
+ * a single bidder with request and response taken from its integration test.
+ * <p>
+ * Bidder to measure has to be passed with {@code -p bidder=<name>}, {@link BidderBenchmarkReport} runs it for every
+ * bidder from {@link BidderCatalog}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BidderBenchmark {
+
+    @Param({})
+    private String bidder;
+
+    private BidderCase<Object> bidderCase;
+
+    @Setup
+    public void setUp() {
+        final BidderCatalog bidderCatalog = BidderCatalogFactory.createWithAllBidders();
+        final BidderFixtures fixtures = new BidderFixtures(new JacksonMapper(ObjectMapperProvider.mapper()));
+
+        bidderCase = BidderCase.create(bidder, bidderCatalog, fixtures);
+    }
+
+    @Benchmark
+    public Result<List<HttpRequest<Object>>> makeHttpRequests() {
+        return bidderCase.bidder.makeHttpRequests(bidderCase.bidRequest);
+    }
+
+    @Benchmark
+    public Result<List<BidderBid>> makeBids() {
+        return bidderCase.bidder.makeBids(bidderCase.httpCall, bidderCase.bidRequest);
+    }
+
+    /**
+     * Bidder with its request and response, checked to produce requests and bids, otherwise benchmark would
+     * silently measure error handling.
+     */
+    static class BidderCase<T> {
+
+        private static final MultiMap EMPTY_HEADERS = MultiMap.caseInsensitiveMultiMap();
+
+        private final Bidder<T> bidder;
+        private final BidRequest bidRequest;
+        private final HttpCall<T> httpCall;
+
+        private BidderCase(Bidder<T> bidder, BidRequest bidRequest, HttpCall<T> httpCall) {
+            this.bidder = Objects.requireNonNull(bidder);
+            this.bidRequest = Objects.requireNonNull(bidRequest);
+            this.httpCall = Objects.requireNonNull(httpCall);
+        }
+
+        @SuppressWarnings("unchecked")
+        static <T> BidderCase<T> create(String name, BidderCatalog bidderCatalog, BidderFixtures fixtures) {
+            if (!bidderCatalog.isValidName(name)) {
+                throw new IllegalArgumentException(String.format("Unknown bidder: %s", name));
+            }
+            final Bidder<T> bidder = (Bidder<T>) bidderCatalog.bidderByName(name);
+            final BidRequest bidRequest = fixtures.bidderRequest(name);
+
+            final Result<List<HttpRequest<T>>> requestsResult = bidder.makeHttpRequests(bidRequest);
+            if (requestsResult.getValue().isEmpty()) {
+                throw new IllegalStateException(String.format("Bidder %s made no requests, errors: %s", name,
+                        requestsResult.getErrors()));
+            }
+
+            // order of requests is not defined for some bidders, so the pair producing bids is looked up
+            final List<String> responses = fixtures.bidderResponses(name);
+            for (HttpRequest<T> httpRequest : requestsResult.getValue()) {
+                for (String response : responses) {
+                    final HttpCall<T> httpCall = HttpCall.success(httpRequest,
+                            HttpResponse.of(200, EMPTY_HEADERS, response), null);
+                    final Result<List<BidderBid>> bidsResult = bidder.makeBids(httpCall, bidRequest);
+                    if (bidsResult.getErrors().isEmpty() && !bidsResult.getValue().isEmpty()) {
+                        return new BidderCase<>(bidder, bidRequest, httpCall);
+                    }
+                }
+            }
+
+            throw new IllegalStateException(String.format("Bidder %s made no bids for any of %d responses", name,
+                    responses.size()));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package org.prebid.server.bidder;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.Result;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.prebid.server.benchmark.Arguments;
+import org.prebid.server.benchmark.BidderCatalogFactory;
+import org.prebid.server.benchmark.BidderFixtures;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Runs {@link BidderBenchmark} for every bidder from {@link BidderCatalog} and prints bidders ranked by time
+ * spent in {@link Bidder#makeHttpRequests} and {@link Bidder#makeBids} per auction, along with bytes allocated.
+ * <p>
+ * Accepts optional arguments:
+ * <ul>
+ * <li>{@code --bidders=a,b} - bidders to run, all bidders from catalog by default</li>
+ * <li>{@code --max-ns=N} - fails if any bidder spends more than N nanoseconds per auction</li>
+ * <li>{@code --max-bytes=N} - fails if any bidder allocates more than N bytes per auction</li>
+ * <li>{@code --quick} - single short iteration, to check all bidders can be benchmarked</li>
+ * </ul>
+ * Bidders which can't be benchmarked with their integration test fixtures fail the run as well, so a new bidder
+ * can't get around the limits.
+ */
+public class BidderBenchmarkReport {
+
+    private static final String ALLOCATION_RESULT = "·gc.alloc.rate.norm";
+
+    private BidderBenchmarkReport() {
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        final Arguments arguments = Arguments.parse(args);
+        final Collection<String> bidders = new TreeSet<>(arguments.has("bidders")
+                ? Arrays.asList(arguments.get("bidders").split(","))
+                : BidderCatalogFactory.createWithAllBidders().names());
+
+        final List<String> failures = checkBidders(bidders);
+        if (bidders.isEmpty()) {
+            failures.forEach(failure -> System.out.println("FAILED: " + failure));
+            System.exit(1);
+        }
+
+        final OptionsBuilder optionsBuilder = new OptionsBuilder();
+        optionsBuilder
+                .include(BidderBenchmark.class.getName())
+                .param("bidder", bidders.toArray(new String[0]))
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result("target/bidder-benchmark-result.json");
+        if (arguments.has("quick")) {
+            optionsBuilder.warmupIterations(1).measurementIterations(1);
+        }
+        final Options options = optionsBuilder.build();
+
+        final List<BidderScore> scores = toScores(new Runner(options).run());
+        scores.sort(Comparator.comparingDouble(BidderScore::totalNs).reversed());
+        print(scores);
+
+        failures.addAll(checkLimits(scores, arguments.getLong("max-ns"), arguments.getLong("max-bytes")));
+        if (!failures.isEmpty()) {
+            failures.forEach(failure -> System.out.println("FAILED: " + failure));
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Excludes bidders which can't be benchmarked from the given ones and returns the reasons.
+     */
+    private static List<String> checkBidders(Collection<String> bidders) {
+        final BidderCatalog bidderCatalog = BidderCatalogFactory.createWithAllBidders();
+        final BidderFixtures fixtures = new BidderFixtures(new JacksonMapper(ObjectMapperProvider.mapper()));
+
+        final List<String> failures = new ArrayList<>();
+        bidders.removeIf(bidder -> {
+            try {
+                BidderBenchmark.BidderCase.create(bidder, bidderCatalog, fixtures);
+                return false;
+            } catch (RuntimeException e) {
+                failures.add(String.format("%s can't be benchmarked: %s", bidder, e.getMessage()));
+                return true;
+            }
+        });
+        return failures;
+    }
+
+    private static List<BidderScore> toScores(Collection<RunResult> runResults) {
+        final Map<String, BidderScore> bidderToScore = new TreeMap<>();
+        for (RunResult runResult : runResults) {
+            final String bidder = runResult.getParams().getParam("bidder");
+            final String benchmark = runResult.getParams().getBenchmark();
+            final double ns = runResult.getPrimaryResult().getScore();
+            final Result allocation = runResult.getSecondaryResults().get(ALLOCATION_RESULT);
+            final double bytes = allocation != null ? allocation.getScore() : Double.NaN;
+
+            final BidderScore score = bidderToScore.computeIfAbsent(bidder, BidderScore::new);
+            if (benchmark.endsWith(".makeHttpRequests")) {
+                score.requestsNs = ns;
+                score.requestsBytes = bytes;
+            } else {
+                score.bidsNs = ns;
+                score.bidsBytes = bytes;
+            }
+        }
+        return new ArrayList<>(bidderToScore.values());
+    }
+
+    private static void print(List<BidderScore> scores) {
+        final String format = "%-4s %-20s %14s %14s %14s %14s %14s %14s%n";
+        System.out.println();
+        System.out.printf(format, "#", "Bidder", "total ns/op", "total B/op", "requests ns/op", "requests B/op",
+                "bids ns/op", "bids B/op");
+        for (int i = 0; i < scores.size(); i++) {
+            final BidderScore score = scores.get(i);
+            System.out.printf(format, i + 1, score.bidder, format(score.totalNs()), format(score.totalBytes()),
+                    format(score.requestsNs), format(score.requestsBytes), format(score.bidsNs),
+                    format(score.bidsBytes));
+        }
+        System.out.println();
+    }
+
+    private static String format(double value) {
+        return String.format("%.0f", value);
+    }
+
+    private static List<String> checkLimits(List<BidderScore> scores, Long maxNs, Long maxBytes) {
+        final List<String> failures = new ArrayList<>();
+        for (BidderScore score : scores) {
+            if (maxNs != null && score.totalNs() > maxNs) {
+                failures.add(String.format("%s spends %.0f ns/op, limit is %d", score.bidder, score.totalNs(),
+                        maxNs));
+            }
+            if (maxBytes != null && score.totalBytes() > maxBytes) {
+                failures.add(String.format("%s allocates %.0f B/op, limit is %d", score.bidder, score.totalBytes(),
+                        maxBytes));
+            }
+        }
+        return failures;
+    }
+
+    private static class BidderScore {
+
+        private final String bidder;
+        private double requestsNs;
+        private double requestsBytes;
+        private double bidsNs;
+        private double bidsBytes;
+
+        BidderScore(String bidder) {
+            this.bidder = bidder;
+        }
+
+        double totalNs() {
+            return requestsNs + bidsNs;
+        }
+
+        double totalBytes() {
+            return requestsBytes + bidsBytes;
+        }
+    }
+}
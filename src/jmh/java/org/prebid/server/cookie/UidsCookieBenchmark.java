@@ -0,0 +1,91 @@
+package org.prebid.server.cookie;
+
+import io.vertx.ext.web.Cookie;
+import org.prebid.server.cookie.model.UidWithExpiry;
+import org.prebid.server.cookie.proto.Uids;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares reading 'uids' cookie on auction (parse, check for live UIDs and take UIDs of a few bidders)
+ * and writing it on setuid, for JSON and compact cookie formats.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UidsCookieBenchmark {
+
+    private static final int FAMILIES = 60;
+    private static final int REQUESTED_FAMILIES = 5;
+
+    @Param({"json", "compact"})
+    private String format;
+
+    @Param({"5", "30"})
+    private int uids;
+
+    private UidsCookieService uidsCookieService;
+    private Map<String, String> cookies;
+    private UidsCookie uidsCookie;
+    private List<String> requestedFamilies;
+
+    @Setup
+    public void setUp() {
+        final List<String> familyNames = IntStream.range(0, FAMILIES)
+                .mapToObj(i -> "family" + i)
+                .collect(Collectors.toList());
+        final JacksonMapper mapper = new JacksonMapper(ObjectMapperProvider.mapper());
+        uidsCookieService = new UidsCookieService(null, null, null, null, null, 90, 0,
+                new CompactUidsCodec(familyNames), format.equals("compact"), mapper);
+
+        final ZonedDateTime now = ZonedDateTime.now(Clock.systemUTC());
+        final Map<String, UidWithExpiry> uidsMap = new HashMap<>();
+        for (int i = 0; i < uids; i++) {
+            uidsMap.put(familyNames.get(i * 2), new UidWithExpiry("uid-" + i + "-0123456789abcdef", now.plusDays(i)));
+        }
+        uidsCookie = new UidsCookie(Uids.builder().uids(uidsMap).bday(now).build(), mapper);
+
+        final Cookie cookie = uidsCookieService.toCookie(uidsCookie);
+        cookies = Collections.singletonMap(cookie.getName(), cookie.getValue());
+        requestedFamilies = familyNames.subList(0, REQUESTED_FAMILIES);
+    }
+
+    @Benchmark
+    public void parse(Blackhole blackhole) {
+        final UidsCookie parsed = uidsCookieService.parseFromCookies(cookies);
+        blackhole.consume(parsed.hasLiveUids());
+        for (String family : requestedFamilies) {
+            blackhole.consume(parsed.uidFrom(family));
+        }
+    }
+
+    @Benchmark
+    public Cookie write() {
+        return uidsCookieService.toCookie(uidsCookie.updateUid("family1", "updated-uid"));
+    }
+}
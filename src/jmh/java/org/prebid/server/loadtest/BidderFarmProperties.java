@@ -0,0 +1,24 @@
+package org.prebid.server.loadtest;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Configuration of {@link SimulatedBidderFarm}.
+ */
+@Data
+@NoArgsConstructor
+public class BidderFarmProperties {
+
+    private int port = 8090;
+
+    /**
+     * Time after which timed out requests are answered anyway, so connections are not held forever.
+     */
+    private long timeoutDelayMs = 30000;
+
+    private List<SimulatedBidderProperties> bidders = new ArrayList<>();
+}
@@ -0,0 +1,306 @@
+package org.prebid.server.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import org.HdrHistogram.Histogram;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.benchmark.Arguments;
+import org.prebid.server.capture.TrafficCaptureReader;
+import org.prebid.server.capture.TrafficCaptureService;
+import org.prebid.server.capture.model.CaptureRecord;
+import org.prebid.server.capture.model.CapturedRequest;
+import org.prebid.server.capture.model.CapturedResponse;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays requests captured by {@link TrafficCaptureService} against Prebid Server running with
+ * {@code traffic-capture.replay.enabled=true} and the same capture directory, so calls to bidders are answered from
+ * the capture instead of network.
+ * <p>
+ * Requests are sent one at a time, so latency reflects CPU time spent by the server on the auction and runs are
+ * comparable between builds. Every response is compared to the captured one, fields which are expected to differ
+ * between runs are ignored, and differences are reported with their JSON paths. Seats and bids are matched by
+ * seat and id rather than position, since their order depends on the order bidders respond in.
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>{@code --target=<url>} - Prebid Server base URL, {@code http://localhost:8080} by default</li>
+ * <li>{@code --capture-dir=<dir>} - directory with capture files</li>
+ * <li>{@code --warmup-iterations=N} - passes over the capture before measurement, 1 by default</li>
+ * <li>{@code --iterations=N} - measured passes over the capture, 1 by default</li>
+ * <li>{@code --ignore=a,b} - JSON field names not compared, {@code responsetimemillis,debug,cache} by default</li>
+ * <li>{@code --timeout-ms=N} - time to wait for a single response, 5000 by default</li>
+ * <li>{@code --report=<file>} - where to write JSON report</li>
+ * </ul>
+ * Exits with 1 if any response differs from the captured one.
+ */
+public class CaptureReplayDriver {
+
+    private static final String DEFAULT_IGNORED_FIELDS = "responsetimemillis,debug,cache";
+    private static final Set<String> SKIPPED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+    private static final int MAX_REPORTED_DIFFERENCES = 10;
+    private static final int MAX_VALUE_LENGTH = 100;
+
+    static {
+        SKIPPED_HEADERS.addAll(Arrays.asList("Host", "Content-Length", "Transfer-Encoding", "Connection",
+                "Accept-Encoding"));
+    }
+
+    private final HttpClient httpClient;
+    private final JacksonMapper mapper;
+    private final String target;
+    private final Set<String> ignoredFields;
+    private final long timeoutMs;
+
+    private final LoadTestStats stats = new LoadTestStats();
+    private final Map<String, List<String>> idToDifferences = new TreeMap<>();
+
+    public CaptureReplayDriver(Vertx vertx, JacksonMapper mapper, String target, Set<String> ignoredFields,
+                               long timeoutMs) {
+        this.mapper = Objects.requireNonNull(mapper);
+        this.target = Objects.requireNonNull(target);
+        this.ignoredFields = Objects.requireNonNull(ignoredFields);
+        this.timeoutMs = timeoutMs;
+
+        httpClient = vertx.createHttpClient(new HttpClientOptions().setKeepAlive(true));
+    }
+
+    public static void main(String[] args) throws IOException {
+        final Arguments arguments = Arguments.parse(args);
+        final JacksonMapper mapper = new JacksonMapper(ObjectMapperProvider.mapper());
+        final List<CaptureRecord> records = TrafficCaptureReader.read(
+                Paths.get(arguments.required("capture-dir")), mapper);
+        if (records.isEmpty()) {
+            throw new IllegalArgumentException("Capture directory has no records");
+        }
+
+        final Vertx vertx = Vertx.vertx();
+        final CaptureReplayDriver driver = new CaptureReplayDriver(vertx, mapper,
+                arguments.getOrDefault("target", "http://localhost:8080"),
+                new HashSet<>(Arrays.asList(arguments.getOrDefault("ignore", DEFAULT_IGNORED_FIELDS).split(","))),
+                arguments.getLong("timeout-ms", 5000));
+
+        final ObjectNode report = driver.run(records, arguments.getLong("warmup-iterations", 1),
+                arguments.getLong("iterations", 1));
+        print(report);
+
+        final String reportFile = arguments.get("report");
+        if (reportFile != null) {
+            mapper.mapper().writerWithDefaultPrettyPrinter().writeValue(Paths.get(reportFile).toFile(), report);
+        }
+        vertx.close();
+
+        if (report.get("mismatched").asLong() > 0) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Replays the records the given number of times and returns the report.
+     */
+    public ObjectNode run(List<CaptureRecord> records, long warmupIterations, long iterations) {
+        for (long i = 0; i < warmupIterations; i++) {
+            records.forEach(record -> replay(record, false));
+        }
+
+        final long startNanos = System.nanoTime();
+        for (long i = 0; i < iterations; i++) {
+            records.forEach(record -> replay(record, true));
+        }
+        final double durationSec = (System.nanoTime() - startNanos) / 1e9;
+
+        final Histogram latency = stats.latency();
+        final ObjectNode report = mapper.mapper().createObjectNode()
+                .put("records", records.size())
+                .put("sent", stats.completed())
+                .put("errors", stats.errors())
+                .put("timeouts", stats.timeouts())
+                .put("rps", Math.round(stats.completed() / Math.max(durationSec, 1e-9)))
+                .put("mismatched", idToDifferences.size());
+        final ObjectNode latencyNode = report.putObject("latency_ms");
+        latencyNode.put("p50", latency.getValueAtPercentile(50) / 1000.0);
+        latencyNode.put("p90", latency.getValueAtPercentile(90) / 1000.0);
+        latencyNode.put("p99", latency.getValueAtPercentile(99) / 1000.0);
+        latencyNode.put("max", latency.getMaxValue() / 1000.0);
+
+        final ObjectNode mismatches = report.putObject("mismatches");
+        idToDifferences.forEach((id, differences) -> {
+            final ArrayNode node = mismatches.putArray(id);
+            differences.forEach(node::add);
+        });
+        return report;
+    }
+
+    private void replay(CaptureRecord record, boolean measured) {
+        final CapturedRequest request = record.getRequest();
+        final CompletableFuture<CapturedResponse> responseFuture = new CompletableFuture<>();
+
+        final long startNanos = System.nanoTime();
+        final HttpClientRequest httpRequest = httpClient.requestAbs(HttpMethod.valueOf(request.getMethod()),
+                target + request.getUri(),
+                response -> response.bodyHandler(body -> responseFuture.complete(
+                        CapturedResponse.of(response.statusCode(), body.toString()))));
+        httpRequest.exceptionHandler(responseFuture::completeExceptionally);
+        httpRequest.setTimeout(timeoutMs);
+        if (request.getHeaders() != null) {
+            request.getHeaders().forEach((name, value) -> {
+                // redacted headers are not sent at all, since their placeholder could be taken for a real value
+                if (!SKIPPED_HEADERS.contains(name) && !TrafficCaptureService.REDACTED.equals(value)) {
+                    httpRequest.putHeader(name, value);
+                }
+            });
+        }
+        httpRequest.putHeader(TrafficCaptureService.CAPTURE_ID_HEADER, record.getId());
+        if (request.getBody() != null) {
+            httpRequest.end(request.getBody());
+        } else {
+            httpRequest.end();
+        }
+
+        final CapturedResponse response;
+        try {
+            response = responseFuture.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            if (measured) {
+                stats.recordError(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos),
+                        e.getCause() instanceof TimeoutException);
+            }
+            return;
+        }
+
+        if (measured) {
+            stats.recordResponse(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos),
+                    response.getStatus());
+            final List<String> differences = differences(record.getResponse(), response);
+            if (!differences.isEmpty()) {
+                idToDifferences.putIfAbsent(record.getId(), differences);
+            }
+        }
+    }
+
+    private List<String> differences(CapturedResponse expected, CapturedResponse actual) {
+        final List<String> differences = new ArrayList<>();
+        if (expected == null) {
+            return differences;
+        }
+        if (expected.getStatus() != actual.getStatus()) {
+            differences.add(String.format("status: %d != %d", expected.getStatus(), actual.getStatus()));
+        }
+
+        final JsonNode expectedBody = readTree(expected.getBody());
+        final JsonNode actualBody = readTree(actual.getBody());
+        if (expectedBody != null && actualBody != null) {
+            compare("$", expectedBody, actualBody, differences);
+        } else if (!Objects.equals(expected.getBody(), actual.getBody())) {
+            differences.add("body differs");
+        }
+        return differences;
+    }
+
+    private void compare(String path, JsonNode expected, JsonNode actual, List<String> differences) {
+        if (differences.size() >= MAX_REPORTED_DIFFERENCES) {
+            return;
+        }
+        if (expected.isObject() && actual.isObject()) {
+            final Set<String> fields = new TreeSet<>();
+            expected.fieldNames().forEachRemaining(fields::add);
+            actual.fieldNames().forEachRemaining(fields::add);
+            for (String field : fields) {
+                if (!ignoredFields.contains(field)) {
+                    compare(path + "." + field, expected.path(field), actual.path(field), differences);
+                }
+            }
+        } else if (expected.isArray() && actual.isArray()) {
+            final Map<String, JsonNode> expectedElements = keyedElements(expected);
+            final Map<String, JsonNode> actualElements = keyedElements(actual);
+            final Set<String> keys = new TreeSet<>(expectedElements.keySet());
+            keys.addAll(actualElements.keySet());
+            for (String key : keys) {
+                compare(path + "[" + key + "]", expectedElements.getOrDefault(key, MissingNode.getInstance()),
+                        actualElements.getOrDefault(key, MissingNode.getInstance()), differences);
+            }
+        } else if (!expected.equals(actual)) {
+            differences.add(String.format("%s: %s != %s", path, abbreviate(expected), abbreviate(actual)));
+        }
+    }
+
+    /**
+     * Keys array elements by their seat or id, so order of seats and bids, which depends on order bidders respond
+     * in, doesn't matter. Elements without seat or id are keyed by index.
+     */
+    private static Map<String, JsonNode> keyedElements(JsonNode array) {
+        final Map<String, JsonNode> keyToElement = new TreeMap<>();
+        for (int i = 0; i < array.size(); i++) {
+            final JsonNode element = array.get(i);
+            final String key;
+            if (element.hasNonNull("seat")) {
+                key = "seat=" + element.get("seat").asText();
+            } else if (element.hasNonNull("id")) {
+                key = "id=" + element.get("id").asText();
+            } else {
+                key = String.valueOf(i);
+            }
+            keyToElement.put(keyToElement.containsKey(key) ? key + "#" + i : key, element);
+        }
+        return keyToElement;
+    }
+
+    private static String abbreviate(JsonNode node) {
+        return StringUtils.abbreviate(node.toString(), MAX_VALUE_LENGTH);
+    }
+
+    private JsonNode readTree(String body) {
+        if (body == null) {
+            return null;
+        }
+        try {
+            final JsonNode node = mapper.mapper().readTree(body);
+            return node != null && node.isContainerNode() ? node : null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static void print(ObjectNode report) {
+        System.out.printf("%nRecords: %d, sent: %d, errors: %d, timeouts: %d, rps: %d%n",
+                report.get("records").asLong(), report.get("sent").asLong(), report.get("errors").asLong(),
+                report.get("timeouts").asLong(), report.get("rps").asLong());
+        final JsonNode latency = report.get("latency_ms");
+        System.out.printf("Latency ms: p50 %s, p90 %s, p99 %s, max %s%n", latency.get("p50"), latency.get("p90"),
+                latency.get("p99"), latency.get("max"));
+
+        System.out.printf("%nResponses different from captured: %d%n", report.get("mismatched").asLong());
+        report.get("mismatches").fields().forEachRemaining(entry -> {
+            System.out.println(entry.getKey());
+            entry.getValue().forEach(difference -> System.out.println("    " + difference.asText()));
+        });
+        System.out.println();
+    }
+}
@@ -0,0 +1,51 @@
+package org.prebid.server.loadtest;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribution of simulated bidder response time:
+ * <ul>
+ * <li>{@code fixed} - always {@code medianMs}</li>
+ * <li>{@code uniform} - between {@code minMs} and {@code maxMs}</li>
+ * <li>{@code lognormal} - with the given {@code medianMs} and {@code p99Ms}, the usual shape of real SSP latency</li>
+ * </ul>
+ */
+@Data
+@NoArgsConstructor
+public class LatencyProperties {
+
+    // z-score of 99th percentile of standard normal distribution
+    private static final double P99_Z_SCORE = 2.326;
+
+    private Distribution distribution = Distribution.fixed;
+
+    private long minMs;
+
+    private long maxMs;
+
+    private long medianMs;
+
+    private long p99Ms;
+
+    long sample() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        switch (distribution) {
+            case uniform:
+                return minMs + (long) (random.nextDouble() * (maxMs - minMs));
+            case lognormal:
+                final double mu = Math.log(Math.max(medianMs, 1));
+                final double sigma = Math.max(Math.log(Math.max(p99Ms, 1)) - mu, 0) / P99_Z_SCORE;
+                return Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+            case fixed:
+            default:
+                return medianMs;
+        }
+    }
+
+    public enum Distribution {
+        fixed, uniform, lognormal
+    }
+}
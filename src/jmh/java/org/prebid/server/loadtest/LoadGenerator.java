@@ -0,0 +1,424 @@
+package org.prebid.server.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import org.HdrHistogram.Histogram;
+import org.prebid.server.benchmark.Arguments;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
+
+/**
+ * Open-loop load generator: sends requests from {@link LoadTestCorpus} to Prebid Server at the target rate regardless
+ * of how fast the server responds. Latency is measured from the time request was scheduled to be sent, so it is not
+ * affected by coordinated omission when the server or the generator falls behind.
+ * <p>
+ * Reports achieved throughput, latency percentiles per request name, share of responses where each bidder timed out
+ * and, if Prebid Server metrics URL is given, change of server metrics during the measurement.
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>{@code --target=<url>} - Prebid Server base URL, {@code http://localhost:8080} by default</li>
+ * <li>{@code --corpus=<file>} - JSON file with {@link LoadTestCorpus}</li>
+ * <li>{@code --rps=N} - target requests per second</li>
+ * <li>{@code --duration-sec=N} - duration of measurement, 60 by default</li>
+ * <li>{@code --warmup-sec=N} - duration of load before measurement, 10 by default</li>
+ * <li>{@code --timeout-ms=N} - time after which request is considered timed out, 2000 by default</li>
+ * <li>{@code --max-connections=N} - size of connection pool, 1000 by default</li>
+ * <li>{@code --metrics-url=<url>} - Prebid Server metrics in Prometheus format, for example
+ * {@code http://localhost:8060/metrics}</li>
+ * <li>{@code --metrics-filter=<regexp>} - server metrics to report</li>
+ * <li>{@code --report=<file>} - where to write JSON report</li>
+ * </ul>
+ */
+public class LoadGenerator {
+
+    private static final String ALL_REQUESTS = "all";
+    private static final String DEFAULT_METRICS_FILTER =
+            "^(requests_|adapter_requests_|request_time|stage_|event_loop_lag).*";
+    private static final int BIDDER_TIMEOUT_CODE = 1;
+    private static final long TICK_MS = 1;
+
+    private final Vertx vertx;
+    private final HttpClient httpClient;
+    private final JacksonMapper mapper;
+    private final String target;
+    private final long rps;
+    private final long warmupNanos;
+    private final long durationNanos;
+    private final long timeoutMs;
+    private final String metricsUrl;
+
+    private final List<PreparedRequest> schedule;
+    private final Map<String, LoadTestStats> nameToStats = new TreeMap<>();
+    private final Map<String, Long> bidderToTimeouts = new TreeMap<>();
+    private final CountDownLatch completion = new CountDownLatch(1);
+
+    private long startNanos;
+    private long sent;
+    private long inFlight;
+    private long lastCompletionNanos;
+    private long parsedResponses;
+    private boolean metricsBeforeRequested;
+    private Map<String, Double> metricsBefore = Collections.emptyMap();
+    private Map<String, Double> metricsAfter = Collections.emptyMap();
+
+    public LoadGenerator(Vertx vertx, JacksonMapper mapper, LoadTestCorpus corpus, String target, long rps,
+                         long warmupSec, long durationSec, long timeoutMs, int maxConnections, String metricsUrl) {
+        if (rps <= 0) {
+            throw new IllegalArgumentException("Target RPS must be positive");
+        }
+        this.vertx = Objects.requireNonNull(vertx);
+        this.mapper = Objects.requireNonNull(mapper);
+        this.target = Objects.requireNonNull(target);
+        this.rps = rps;
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(warmupSec);
+        this.durationNanos = TimeUnit.SECONDS.toNanos(durationSec);
+        this.timeoutMs = timeoutMs;
+        this.metricsUrl = metricsUrl;
+
+        httpClient = vertx.createHttpClient(new HttpClientOptions()
+                .setMaxPoolSize(maxConnections)
+                .setKeepAlive(true)
+                .setTryUseCompression(true));
+        schedule = schedule(corpus, mapper);
+        for (PreparedRequest request : schedule) {
+            nameToStats.putIfAbsent(request.name, new LoadTestStats());
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        final Arguments arguments = Arguments.parse(args);
+        final JacksonMapper mapper = new JacksonMapper(ObjectMapperProvider.mapper());
+        final LoadTestCorpus corpus = mapper.mapper().readValue(
+                Paths.get(arguments.required("corpus")).toFile(), LoadTestCorpus.class);
+
+        final Vertx vertx = Vertx.vertx();
+        final LoadGenerator loadGenerator = new LoadGenerator(vertx, mapper, corpus,
+                arguments.getOrDefault("target", "http://localhost:8080"),
+                Long.parseLong(arguments.required("rps")),
+                arguments.getLong("warmup-sec", 10),
+                arguments.getLong("duration-sec", 60),
+                arguments.getLong("timeout-ms", 2000),
+                (int) arguments.getLong("max-connections", 1000),
+                arguments.get("metrics-url"));
+
+        final ObjectNode report = loadGenerator.run(
+                Pattern.compile(arguments.getOrDefault("metrics-filter", DEFAULT_METRICS_FILTER)));
+
+        final String reportFile = arguments.get("report");
+        if (reportFile != null) {
+            mapper.mapper().writerWithDefaultPrettyPrinter().writeValue(Paths.get(reportFile).toFile(), report);
+        }
+        vertx.close();
+    }
+
+    /**
+     * Expands requests according to their weights, so they are sent in a fixed interleaved order.
+     */
+    private static List<PreparedRequest> schedule(LoadTestCorpus corpus, JacksonMapper mapper) {
+        final List<PreparedRequest> prepared = new ArrayList<>();
+        int maxWeight = 0;
+        for (LoadTestRequest request : corpus.getRequests()) {
+            maxWeight = Math.max(maxWeight, request.getWeight());
+        }
+        for (int round = 0; round < maxWeight; round++) {
+            for (LoadTestRequest request : corpus.getRequests()) {
+                if (round < request.getWeight()) {
+                    prepared.add(PreparedRequest.of(request, mapper));
+                }
+            }
+        }
+        if (prepared.isEmpty()) {
+            throw new IllegalArgumentException("Corpus has no requests");
+        }
+        return prepared;
+    }
+
+    /**
+     * Runs the load, prints the report and returns it as JSON.
+     */
+    public ObjectNode run(Pattern metricsFilter) throws InterruptedException {
+        final Context context = vertx.getOrCreateContext();
+        context.runOnContext(ignored -> {
+            startNanos = System.nanoTime();
+            vertx.setPeriodic(TICK_MS, this::tick);
+        });
+        completion.await();
+
+        final ObjectNode report = report(metricsFilter);
+        print(report);
+        return report;
+    }
+
+    private void tick(long timerId) {
+        final long now = System.nanoTime();
+        final long endNanos = startNanos + warmupNanos + durationNanos;
+
+        // requests are sent at their scheduled time even if previous ones haven't completed yet
+        while (sent < scheduledCount(now) && intendedNanos(sent) < endNanos) {
+            send(intendedNanos(sent), schedule.get((int) (sent % schedule.size())));
+            sent++;
+        }
+
+        if (metricsUrl != null && !metricsBeforeRequested && now >= startNanos + warmupNanos) {
+            metricsBeforeRequested = true;
+            scrapeMetrics(metrics -> metricsBefore = metrics);
+        }
+
+        if (intendedNanos(sent) >= endNanos) {
+            vertx.cancelTimer(timerId);
+            awaitInFlight(now + TimeUnit.MILLISECONDS.toNanos(timeoutMs) * 2);
+        }
+    }
+
+    private long scheduledCount(long now) {
+        return (now - startNanos) * rps / TimeUnit.SECONDS.toNanos(1) + 1;
+    }
+
+    private long intendedNanos(long index) {
+        return startNanos + index * TimeUnit.SECONDS.toNanos(1) / rps;
+    }
+
+    private void awaitInFlight(long deadlineNanos) {
+        if (inFlight == 0 || System.nanoTime() >= deadlineNanos) {
+            if (metricsUrl != null) {
+                scrapeMetrics(metrics -> {
+                    metricsAfter = metrics;
+                    completion.countDown();
+                });
+            } else {
+                completion.countDown();
+            }
+        } else {
+            vertx.setTimer(TICK_MS, ignored -> awaitInFlight(deadlineNanos));
+        }
+    }
+
+    private void send(long intendedNanos, PreparedRequest request) {
+        final LoadTestStats stats = intendedNanos >= startNanos + warmupNanos ? nameToStats.get(request.name) : null;
+        final boolean[] completed = {false};
+        inFlight++;
+
+        final HttpClientRequest httpRequest = httpClient.requestAbs(request.method, target + request.path,
+                response -> response.bodyHandler(body -> {
+                    if (complete(completed)) {
+                        if (stats != null) {
+                            stats.recordResponse(latencyMicros(intendedNanos), response.statusCode());
+                            if (response.statusCode() == 200) {
+                                recordBidderTimeouts(body);
+                            }
+                        }
+                    }
+                }));
+        httpRequest
+                .exceptionHandler(exception -> {
+                    if (complete(completed) && stats != null) {
+                        stats.recordError(latencyMicros(intendedNanos), exception instanceof TimeoutException);
+                    }
+                })
+                .setTimeout(timeoutMs);
+        httpRequest.headers().addAll(request.headers);
+
+        // buffer can't be shared between requests since it is released once written
+        if (request.body != null) {
+            httpRequest.end(request.body.copy());
+        } else {
+            httpRequest.end();
+        }
+    }
+
+    private boolean complete(boolean[] completed) {
+        if (completed[0]) {
+            return false;
+        }
+        completed[0] = true;
+        inFlight--;
+        lastCompletionNanos = System.nanoTime();
+        return true;
+    }
+
+    private static long latencyMicros(long intendedNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - intendedNanos);
+    }
+
+    /**
+     * Counts bidders timed out according to response errors: "ext.errors" of OpenRTB auction or "errors"
+     * of AMP and video responses.
+     */
+    private void recordBidderTimeouts(Buffer body) {
+        final JsonNode response;
+        try {
+            response = mapper.mapper().readTree(body.getBytes());
+        } catch (IOException e) {
+            return;
+        }
+        parsedResponses++;
+
+        final JsonNode errors = response.has("errors") ? response.get("errors") : response.path("ext").path("errors");
+        final Iterator<Map.Entry<String, JsonNode>> bidderErrors = errors.fields();
+        while (bidderErrors.hasNext()) {
+            final Map.Entry<String, JsonNode> bidderError = bidderErrors.next();
+            for (JsonNode error : bidderError.getValue()) {
+                if (error.path("code").asInt() == BIDDER_TIMEOUT_CODE) {
+                    bidderToTimeouts.merge(bidderError.getKey(), 1L, Long::sum);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void scrapeMetrics(Handler<Map<String, Double>> handler) {
+        httpClient.getAbs(metricsUrl, response -> response.bodyHandler(body -> handler.handle(
+                parsePrometheus(body.toString()))))
+                .exceptionHandler(exception -> {
+                    System.err.printf("Failed to get server metrics: %s%n", exception.getMessage());
+                    handler.handle(Collections.emptyMap());
+                })
+                .setTimeout(timeoutMs)
+                .end();
+    }
+
+    private static Map<String, Double> parsePrometheus(String text) {
+        final Map<String, Double> metrics = new TreeMap<>();
+        for (String line : text.split("\n")) {
+            final int valueStart = line.lastIndexOf(' ');
+            if (line.startsWith("#") || valueStart <= 0) {
+                continue;
+            }
+            try {
+                metrics.put(line.substring(0, valueStart), Double.parseDouble(line.substring(valueStart + 1)));
+            } catch (NumberFormatException e) {
+                // not a sample line
+            }
+        }
+        return metrics;
+    }
+
+    private ObjectNode report(Pattern metricsFilter) {
+        final LoadTestStats all = new LoadTestStats();
+        nameToStats.values().forEach(all::add);
+
+        final double measuredSec = Math.max(lastCompletionNanos - startNanos - warmupNanos, 1) / 1e9;
+        final ObjectNode report = mapper.mapper().createObjectNode()
+                .put("target_rps", rps)
+                .put("achieved_rps", Math.round(all.completed() / Math.min(measuredSec, durationNanos / 1e9)))
+                .put("sent", sent);
+
+        final ObjectNode requests = report.putObject("requests");
+        requests.set(ALL_REQUESTS, statsNode(all));
+        nameToStats.forEach((name, stats) -> requests.set(name, statsNode(stats)));
+
+        final ObjectNode bidders = report.putObject("bidder_timeouts");
+        bidderToTimeouts.forEach((bidder, timeouts) -> bidders.putObject(bidder)
+                .put("timeouts", timeouts)
+                .put("rate", parsedResponses > 0 ? (double) timeouts / parsedResponses : 0));
+
+        final ObjectNode metrics = report.putObject("server_metrics");
+        metricsAfter.forEach((name, after) -> {
+            final double before = metricsBefore.getOrDefault(name, 0.0);
+            if (metricsFilter.matcher(name).matches() && after != before) {
+                metrics.putObject(name).put("before", before).put("after", after).put("delta", after - before);
+            }
+        });
+        return report;
+    }
+
+    private ObjectNode statsNode(LoadTestStats stats) {
+        final Histogram latency = stats.latency();
+        final ObjectNode node = mapper.mapper().createObjectNode()
+                .put("completed", stats.completed())
+                .put("errors", stats.errors())
+                .put("timeouts", stats.timeouts());
+        final ObjectNode statuses = node.putObject("statuses");
+        stats.statuses().forEach((status, count) -> statuses.put(String.valueOf(status), count));
+
+        final Map<String, Double> percentiles = new LinkedHashMap<>();
+        percentiles.put("p50", 50.0);
+        percentiles.put("p90", 90.0);
+        percentiles.put("p99", 99.0);
+        percentiles.put("p99.9", 99.9);
+        final ObjectNode latencyNode = node.putObject("latency_ms");
+        percentiles.forEach((name, percentile) ->
+                latencyNode.put(name, latency.getValueAtPercentile(percentile) / 1000.0));
+        latencyNode.put("max", latency.getMaxValue() / 1000.0);
+        return node;
+    }
+
+    private static void print(ObjectNode report) {
+        System.out.printf("%nTarget RPS: %d, achieved RPS: %d, sent: %d%n%n", report.get("target_rps").asLong(),
+                report.get("achieved_rps").asLong(), report.get("sent").asLong());
+
+        final String format = "%-24s %10s %10s %10s %10s %10s %10s %10s %10s%n";
+        System.out.printf(format, "Request", "completed", "errors", "timeouts", "p50 ms", "p90 ms", "p99 ms",
+                "p99.9 ms", "max ms");
+        report.get("requests").fields().forEachRemaining(entry -> {
+            final JsonNode stats = entry.getValue();
+            final JsonNode latency = stats.get("latency_ms");
+            System.out.printf(format, entry.getKey(), stats.get("completed"), stats.get("errors"),
+                    stats.get("timeouts"), latency.get("p50"), latency.get("p90"), latency.get("p99"),
+                    latency.get("p99.9"), latency.get("max"));
+            System.out.printf("%-24s statuses: %s%n", "", stats.get("statuses"));
+        });
+
+        System.out.printf("%nBidder timeouts (share of successful responses):%n");
+        report.get("bidder_timeouts").fields().forEachRemaining(entry -> System.out.printf("%-24s %10s %9.2f%%%n",
+                entry.getKey(), entry.getValue().get("timeouts"), entry.getValue().get("rate").asDouble() * 100));
+
+        System.out.printf("%nServer metrics (change during measurement, last value for quantiles):%n");
+        report.get("server_metrics").fields().forEachRemaining(entry -> System.out.printf("%-80s %14s%n",
+                entry.getKey(), entry.getValue().get(entry.getKey().contains("quantile=") ? "after" : "delta")));
+        System.out.println();
+    }
+
+    private static class PreparedRequest {
+
+        private final String name;
+        private final HttpMethod method;
+        private final String path;
+        private final MultiMap headers;
+        private final Buffer body;
+
+        private PreparedRequest(String name, HttpMethod method, String path, MultiMap headers, Buffer body) {
+            this.name = name;
+            this.method = method;
+            this.path = path;
+            this.headers = headers;
+            this.body = body;
+        }
+
+        static PreparedRequest of(LoadTestRequest request, JacksonMapper mapper) {
+            final MultiMap headers = MultiMap.caseInsensitiveMultiMap().addAll(request.getHeaders());
+            final Buffer body = request.getBody() != null ? Buffer.buffer(mapper.encode(request.getBody())) : null;
+            if (body != null && !headers.contains("Content-Type")) {
+                headers.add("Content-Type", "application/json");
+            }
+            return new PreparedRequest(Objects.requireNonNull(request.getName()),
+                    HttpMethod.valueOf(request.getMethod()), Objects.requireNonNull(request.getPath()), headers,
+                    body);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.prebid.server.loadtest;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Requests replayed by {@link LoadGenerator}.
+ */
+@Data
+@NoArgsConstructor
+public class LoadTestCorpus {
+
+    private List<LoadTestRequest> requests = new ArrayList<>();
+}
@@ -0,0 +1,32 @@
+package org.prebid.server.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Request replayed by {@link LoadGenerator}. Requests are sent in proportion to their weights, results are
+ * reported separately for every name.
+ */
+@Data
+@NoArgsConstructor
+public class LoadTestRequest {
+
+    private String name;
+
+    private String method = "POST";
+
+    /**
+     * Path with query string, for example {@code /openrtb2/auction} or {@code /openrtb2/amp?tag_id=...}.
+     */
+    private String path;
+
+    private Map<String, String> headers = new HashMap<>();
+
+    private JsonNode body;
+
+    private int weight = 1;
+}
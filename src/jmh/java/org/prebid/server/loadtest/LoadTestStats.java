@@ -0,0 +1,66 @@
+package org.prebid.server.loadtest;
+
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Results of {@link LoadGenerator} for a single request name. Latency is recorded in microseconds from the time
+ * request was scheduled to be sent, so delays caused by the server falling behind are not omitted.
+ */
+class LoadTestStats {
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latency = new Histogram(MAX_LATENCY_MICROS, 3);
+    private final Map<Integer, Long> statuses = new TreeMap<>();
+    private long errors;
+    private long timeouts;
+
+    void recordResponse(long latencyMicros, int status) {
+        recordLatency(latencyMicros);
+        statuses.merge(status, 1L, Long::sum);
+    }
+
+    void recordError(long latencyMicros, boolean timeout) {
+        recordLatency(latencyMicros);
+        if (timeout) {
+            timeouts++;
+        } else {
+            errors++;
+        }
+    }
+
+    private void recordLatency(long latencyMicros) {
+        latency.recordValue(Math.min(Math.max(latencyMicros, 0), MAX_LATENCY_MICROS));
+    }
+
+    void add(LoadTestStats other) {
+        latency.add(other.latency);
+        other.statuses.forEach((status, count) -> statuses.merge(status, count, Long::sum));
+        errors += other.errors;
+        timeouts += other.timeouts;
+    }
+
+    long completed() {
+        return latency.getTotalCount();
+    }
+
+    Histogram latency() {
+        return latency;
+    }
+
+    Map<Integer, Long> statuses() {
+        return statuses;
+    }
+
+    long errors() {
+        return errors;
+    }
+
+    long timeouts() {
+        return timeouts;
+    }
+}
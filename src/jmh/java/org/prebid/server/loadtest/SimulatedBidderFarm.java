@@ -0,0 +1,194 @@
+package org.prebid.server.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpHeaders;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.benchmark.Arguments;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Vert.x server simulating SSP endpoints: every configured bidder is served on {@code /<name>} path and answers
+ * OpenRTB requests with the configured latency, bid rate, creative size, errors and timeouts.
+ * <p>
+ * Arguments:
+ * <ul>
+ * <li>{@code --config=<file>} - JSON file with {@link BidderFarmProperties}</li>
+ * <li>{@code --properties=<file>} - where to write application properties pointing bidders to the farm,
+ * to be passed to Prebid Server with {@code --spring.config.additional-location}</li>
+ * <li>{@code --host=<host>} - host Prebid Server reaches the farm by, {@code localhost} by default</li>
+ * </ul>
+ */
+public class SimulatedBidderFarm {
+
+    private final BidderFarmProperties properties;
+    private final JacksonMapper mapper;
+
+    private final Map<String, String> bidderToCreative;
+
+    public SimulatedBidderFarm(BidderFarmProperties properties, JacksonMapper mapper) {
+        this.properties = Objects.requireNonNull(properties);
+        this.mapper = Objects.requireNonNull(mapper);
+
+        bidderToCreative = properties.getBidders().stream()
+                .collect(Collectors.toMap(SimulatedBidderProperties::getName,
+                        bidder -> creative(bidder.getAdmSize())));
+    }
+
+    public static void main(String[] args) throws IOException {
+        final Arguments arguments = Arguments.parse(args);
+        final JacksonMapper mapper = new JacksonMapper(ObjectMapperProvider.mapper());
+        final BidderFarmProperties properties = mapper.mapper().readValue(
+                Paths.get(arguments.required("config")).toFile(), BidderFarmProperties.class);
+
+        final String propertiesFile = arguments.get("properties");
+        if (propertiesFile != null) {
+            final String host = arguments.getOrDefault("host", "localhost");
+            Files.write(Paths.get(propertiesFile), bidderProperties(properties, host), StandardCharsets.UTF_8);
+        }
+
+        new SimulatedBidderFarm(properties, mapper).start(Vertx.vertx());
+    }
+
+    /**
+     * Returns application properties which enable every simulated bidder and point its endpoint to the farm.
+     */
+    static List<String> bidderProperties(BidderFarmProperties properties, String host) {
+        final List<String> lines = new ArrayList<>();
+        for (SimulatedBidderProperties bidder : properties.getBidders()) {
+            lines.add(String.format("adapters.%s.enabled=true", bidder.getName()));
+            lines.add(String.format("adapters.%s.endpoint=http://%s:%d/%s", bidder.getName(), host,
+                    properties.getPort(), bidder.getName()));
+        }
+        return lines;
+    }
+
+    public void start(Vertx vertx) {
+        final Router router = Router.router(vertx);
+        router.route().handler(BodyHandler.create());
+        router.route().failureHandler(context -> {
+            System.err.printf("Simulated bidder failed: %s%n", context.failure());
+            context.response().setStatusCode(500).end();
+        });
+        for (SimulatedBidderProperties bidder : properties.getBidders()) {
+            router.post("/" + bidder.getName()).handler(context -> handle(vertx, bidder, context));
+        }
+
+        vertx.createHttpServer()
+                .requestHandler(router)
+                .listen(properties.getPort(), result -> {
+                    if (result.succeeded()) {
+                        System.out.printf("Simulated bidder farm with %d bidders is listening on port %d%n",
+                                properties.getBidders().size(), properties.getPort());
+                    } else {
+                        System.err.printf("Simulated bidder farm failed to start: %s%n", result.cause());
+                        vertx.close();
+                    }
+                });
+    }
+
+    private void handle(Vertx vertx, SimulatedBidderProperties bidder, RoutingContext context) {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final HttpServerResponse response = context.response();
+
+        if (random.nextDouble() < bidder.getTimeoutRate()) {
+            vertx.setTimer(properties.getTimeoutDelayMs(), ignored -> end(response, 204, null));
+            return;
+        }
+
+        final int status;
+        final String body;
+        if (random.nextDouble() < bidder.getErrorRate()) {
+            status = 500;
+            body = null;
+        } else {
+            body = bidResponse(context.getBodyAsString(), bidder);
+            status = body != null ? 200 : 204;
+        }
+
+        final long latencyMs = bidder.getLatency().sample();
+        if (latencyMs > 0) {
+            vertx.setTimer(latencyMs, ignored -> end(response, status, body));
+        } else {
+            end(response, status, body);
+        }
+    }
+
+    private static void end(HttpServerResponse response, int status, String body) {
+        if (response.closed()) {
+            return;
+        }
+        response.setStatusCode(status);
+        if (body != null) {
+            response.putHeader(HttpHeaders.CONTENT_TYPE, "application/json").end(body);
+        } else {
+            response.end();
+        }
+    }
+
+    /**
+     * Returns OpenRTB response with banner bids for part of impressions defined by bid rate, or null if there are
+     * no bids. Bid extension carries the same fields as {@link org.prebid.server.benchmark.InMemoryHttpClient} does,
+     * so most of bidders accept the response.
+     */
+    private String bidResponse(String body, SimulatedBidderProperties bidder) {
+        final JsonNode request;
+        try {
+            request = mapper.mapper().readTree(StringUtils.defaultString(body));
+        } catch (IOException e) {
+            return null;
+        }
+
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final ObjectNode response = mapper.mapper().createObjectNode()
+                .put("id", request.path("id").asText())
+                .put("cur", "USD");
+        final ArrayNode bids = response.putArray("seatbid").addObject().putArray("bid");
+        for (JsonNode imp : request.path("imp")) {
+            if (random.nextDouble() >= bidder.getBidRate()) {
+                continue;
+            }
+            final String impId = imp.path("id").asText();
+            final ObjectNode bid = bids.addObject()
+                    .put("id", "bid-" + impId)
+                    .put("impid", impId)
+                    .put("price", BigDecimal.valueOf(random.nextInt(10, 1000), 2))
+                    .put("adm", bidderToCreative.get(bidder.getName()))
+                    .put("adid", "ad-" + impId)
+                    .put("crid", "creative-" + impId)
+                    .put("w", 300)
+                    .put("h", 250);
+            bid.putArray("adomain").add("advertiser.com");
+            final ObjectNode ext = bid.putObject("ext").put("format", "BANNER");
+            ext.putObject("appnexus").put("bid_ad_type", 0);
+            ext.putObject("triplelift_pb").put("format", 0);
+        }
+
+        return bids.size() > 0 ? response.toString() : null;
+    }
+
+    private static String creative(int size) {
+        final String prefix = "<div id=\"ad\">";
+        final String suffix = "</div>";
+        return prefix + StringUtils.repeat('x', Math.max(size - prefix.length() - suffix.length(), 0)) + suffix;
+    }
+}
@@ -0,0 +1,25 @@
+package org.prebid.server.loadtest;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Behaviour of a single simulated bidder endpoint. Rates are probabilities from 0 to 1: {@code bidRate} is applied
+ * to every impression, {@code errorRate} and {@code timeoutRate} - to every request.
+ */
+@Data
+@NoArgsConstructor
+public class SimulatedBidderProperties {
+
+    private String name;
+
+    private LatencyProperties latency = new LatencyProperties();
+
+    private double bidRate = 1.0;
+
+    private int admSize = 512;
+
+    private double errorRate;
+
+    private double timeoutRate;
+}
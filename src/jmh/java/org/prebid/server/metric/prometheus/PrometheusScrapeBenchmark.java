@@ -0,0 +1,81 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.MetricRegistry;
+import io.vertx.core.buffer.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures time of a full Prometheus scrape of registry populated with detailed per-account metrics
+ * the way {@link org.prebid.server.metric.Metrics} does it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrometheusScrapeBenchmark {
+
+    private static final String[] BIDDERS = {"appnexus", "rubicon", "pubmatic", "openx", "ix"};
+    private static final String[] REQUEST_TYPES = {"openrtb2-web", "openrtb2-app", "amp"};
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    @Param({"10", "1000", "5000"})
+    private int accounts;
+
+    private PrometheusMetricsExporter exporter;
+
+    @Setup
+    public void setUp() {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+
+        for (String bidder : BIDDERS) {
+            populateAdapterMetrics(metricRegistry, "adapter." + bidder);
+        }
+        for (int i = 0; i < accounts; i++) {
+            final String account = "account." + i;
+            metricRegistry.counter(account + ".requests").inc();
+            for (String requestType : REQUEST_TYPES) {
+                metricRegistry.counter(account + ".requests.type." + requestType).inc();
+            }
+            for (String bidder : BIDDERS) {
+                populateAdapterMetrics(metricRegistry, account + "." + bidder);
+            }
+        }
+
+        exporter = new PrometheusMetricsExporter(metricRegistry);
+    }
+
+    private static void populateAdapterMetrics(MetricRegistry metricRegistry, String prefix) {
+        metricRegistry.timer(prefix + ".request_time").update(50, TimeUnit.MILLISECONDS);
+        metricRegistry.histogram(prefix + ".prices").update(1000);
+        metricRegistry.counter(prefix + ".bids_received").inc();
+        metricRegistry.counter(prefix + ".requests.gotbids").inc();
+        metricRegistry.counter(prefix + ".requests.nobid").inc();
+    }
+
+    @Benchmark
+    public void scrape(Blackhole blackhole) {
+        final PrometheusScrape scrape = exporter.scrape();
+
+        boolean finished = false;
+        while (!finished) {
+            final Buffer chunk = Buffer.buffer(CHUNK_SIZE);
+            finished = scrape.writeTo(chunk, CHUNK_SIZE);
+            blackhole.consume(chunk);
+        }
+    }
+}
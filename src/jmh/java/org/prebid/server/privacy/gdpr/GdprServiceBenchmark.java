@@ -0,0 +1,168 @@
+package org.prebid.server.privacy.gdpr;
+
+import com.codahale.metrics.MetricRegistry;
+import com.iab.gdpr.GdprConstants;
+import com.iab.gdpr.consent.VendorConsentEncoder;
+import com.iab.gdpr.consent.implementation.v1.VendorConsentBuilder;
+import com.iab.gdpr.consent.range.RangeEntry;
+import com.iab.gdpr.consent.range.StartEndRangeEntry;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import org.prebid.server.benchmark.InMemoryHttpClient;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.BidderDeps;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.metric.AccountMetricsVerbosity;
+import org.prebid.server.metric.CounterType;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.ReservoirType;
+import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
+import org.prebid.server.privacy.gdpr.model.GdprPurpose;
+import org.prebid.server.privacy.gdpr.model.GdprResponse;
+import org.prebid.server.privacy.gdpr.vendorlist.VendorListService;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.Vendor;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorList;
+import org.prebid.server.proto.response.BidderInfo;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures GDPR verdict for all bidders of an auction with consent string already cached and vendor list
+ * version already loaded, for both checking strategies: consent has all vendor purposes (auction)
+ * and vendor has all given purposes (cookie sync and setuid).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GdprServiceBenchmark {
+
+    private static final int VENDOR_LIST_VERSION = 200;
+    private static final int MAX_VENDOR_ID = 700;
+
+    @Param({"1", "10", "40"})
+    private int bidders;
+
+    private Vertx vertx;
+    private GdprService gdprService;
+    private Set<Integer> vendorIds;
+    private Set<GdprPurpose> purposes;
+    private String consent;
+
+    @Setup
+    public void setUp() throws IOException {
+        final Random random = new Random(42);
+        final JacksonMapper mapper = new JacksonMapper(ObjectMapperProvider.mapper());
+
+        vendorIds = random.ints(1, MAX_VENDOR_ID + 1).distinct().limit(bidders).boxed().collect(Collectors.toSet());
+        final List<BidderDeps> bidderDeps = vendorIds.stream()
+                .map(vendorId -> BidderDeps.builder()
+                        .name("bidder" + vendorId)
+                        .deprecatedNames(Collections.emptyList())
+                        .aliases(Collections.emptyList())
+                        .bidderInfo(BidderInfo.create(true, null, null, null, null, vendorId, true, false))
+                        .build())
+                .collect(Collectors.toList());
+
+        final Path cacheDir = Files.createTempDirectory("vendorlist");
+        Files.write(cacheDir.resolve(VENDOR_LIST_VERSION + ".json"),
+                mapper.encode(givenVendorList(random)).getBytes(StandardCharsets.UTF_8));
+
+        vertx = Vertx.vertx();
+        final Metrics metrics = new Metrics(new MetricRegistry(), CounterType.counter,
+                ReservoirType.exponentiallyDecaying,
+                new AccountMetricsVerbosity(AccountMetricsVerbosityLevel.none, Collections.emptyList(),
+                        Collections.emptyList()),
+                new BidderCatalog(bidderDeps));
+        final VendorListService vendorListService = VendorListService.create(cacheDir.toString(),
+                "http://vendorlist.prebid.local/{VERSION}", 1000, null, new BidderCatalog(bidderDeps),
+                vertx.fileSystem(), new InMemoryHttpClient("http://cache.prebid.local", mapper), mapper);
+        gdprService = new GdprService(Collections.emptyList(), "1", null, metrics, vendorListService,
+                new VendorConsentCache(100, metrics));
+
+        purposes = EnumSet.of(GdprPurpose.informationStorageAndAccess);
+        consent = givenConsent(random);
+    }
+
+    private static VendorList givenVendorList(Random random) {
+        final List<Vendor> vendors = new ArrayList<>();
+        for (int vendorId = 1; vendorId <= MAX_VENDOR_ID; vendorId++) {
+            final Set<Integer> purposeIds = random.ints(3, 1, 6).boxed().collect(Collectors.toSet());
+            final Set<Integer> legIntPurposeIds = random.ints(1, 1, 6).boxed().collect(Collectors.toSet());
+            vendors.add(Vendor.of(vendorId, purposeIds, legIntPurposeIds));
+        }
+        return VendorList.of(VENDOR_LIST_VERSION, new Date(), vendors);
+    }
+
+    private static String givenConsent(Random random) {
+        final List<RangeEntry> rangeEntries = new ArrayList<>();
+        int start = 1;
+        while (start < MAX_VENDOR_ID) {
+            final int end = Math.min(start + 1 + random.nextInt(100), MAX_VENDOR_ID);
+            rangeEntries.add(new StartEndRangeEntry(start, end));
+            start = end + 2 + random.nextInt(5);
+        }
+
+        return VendorConsentEncoder.toBase64String(new VendorConsentBuilder()
+                .withConsentRecordCreatedOn(Instant.now())
+                .withConsentRecordLastUpdatedOn(Instant.now())
+                .withConsentLanguage("en")
+                .withVendorListVersion(VENDOR_LIST_VERSION)
+                .withAllowedPurposeIds(new HashSet<>(random.ints(4, 1, 6).boxed().collect(Collectors.toSet())))
+                .withMaxVendorId(MAX_VENDOR_ID)
+                .withVendorEncodingType(GdprConstants.VENDOR_ENCODING_RANGE)
+                .withRangeEntries(rangeEntries)
+                .build());
+    }
+
+    @TearDown
+    public void tearDown() {
+        vertx.close();
+    }
+
+    @Benchmark
+    public GdprResponse consentHasAllVendorPurposes() {
+        return result(gdprService.resultByVendor(vendorIds, "1", consent, null, null));
+    }
+
+    @Benchmark
+    public GdprResponse vendorHasAllGivenPurposes() {
+        return result(gdprService.resultByVendor(purposes, vendorIds, "1", consent, null, null));
+    }
+
+    private static GdprResponse result(Future<GdprResponse> future) {
+        if (future.failed()) {
+            throw new IllegalStateException(future.cause());
+        }
+        return future.result();
+    }
+}
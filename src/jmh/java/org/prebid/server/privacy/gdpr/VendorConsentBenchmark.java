@@ -0,0 +1,154 @@
+package org.prebid.server.privacy.gdpr;
+
+import com.codahale.metrics.MetricRegistry;
+import com.iab.gdpr.GdprConstants;
+import com.iab.gdpr.consent.VendorConsent;
+import com.iab.gdpr.consent.VendorConsentDecoder;
+import com.iab.gdpr.consent.VendorConsentEncoder;
+import com.iab.gdpr.consent.implementation.v1.VendorConsentBuilder;
+import com.iab.gdpr.consent.range.RangeEntry;
+import com.iab.gdpr.consent.range.StartEndRangeEntry;
+import org.prebid.server.benchmark.BidderCatalogFactory;
+import org.prebid.server.metric.AccountMetricsVerbosity;
+import org.prebid.server.metric.CounterType;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.ReservoirType;
+import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Compares decoding of consent string per request, the way it was done with consent-string-sdk and the way
+ * {@link DecodedVendorConsent} does it, with lookup in {@link VendorConsentCache}.
+ * <p>
+ * Each operation takes one of the given number of distinct consent strings and checks purposes and
+ * the usual number of auction bidders against it. Cache misses show up when there are more distinct strings
+ * than cache can hold.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VendorConsentBenchmark {
+
+    private static final int MAX_VENDOR_ID = 700;
+    private static final int CHECKED_VENDORS = 40;
+    private static final int CACHE_SIZE = 10000;
+
+    @Param({"bitfield", "range"})
+    private String encoding;
+
+    @Param({"100", "100000"})
+    private int distinctConsents;
+
+    private String[] consents;
+    private int[] vendorIds;
+    private VendorConsentCache vendorConsentCache;
+
+    @Setup
+    public void setUp() {
+        final Random random = new Random(42);
+        consents = new String[distinctConsents];
+        for (int i = 0; i < distinctConsents; i++) {
+            consents[i] = VendorConsentEncoder.toBase64String(givenConsent(random, i));
+        }
+        vendorIds = random.ints(CHECKED_VENDORS, 1, MAX_VENDOR_ID + 1).toArray();
+
+        final Metrics metrics = new Metrics(new MetricRegistry(), CounterType.counter,
+                ReservoirType.exponentiallyDecaying,
+                new AccountMetricsVerbosity(AccountMetricsVerbosityLevel.none, Collections.emptyList(),
+                        Collections.emptyList()),
+                BidderCatalogFactory.create(Collections.emptyList()));
+        vendorConsentCache = new VendorConsentCache(CACHE_SIZE, metrics);
+        for (String consent : consents) {
+            vendorConsentCache.get(consent);
+        }
+    }
+
+    private VendorConsent givenConsent(Random random, int index) {
+        final VendorConsentBuilder builder = new VendorConsentBuilder()
+                .withConsentRecordCreatedOn(Instant.ofEpochSecond(1577836800L + index))
+                .withConsentRecordLastUpdatedOn(Instant.ofEpochSecond(1577836800L + index))
+                .withConsentLanguage("en")
+                .withVendorListVersion(200)
+                .withAllowedPurposeIds(random.ints(4, 1, 6).boxed().collect(Collectors.toSet()))
+                .withMaxVendorId(MAX_VENDOR_ID);
+
+        if (encoding.equals("range")) {
+            final List<RangeEntry> rangeEntries = new ArrayList<>();
+            int start = 1;
+            while (start < MAX_VENDOR_ID) {
+                final int end = Math.min(start + 1 + random.nextInt(20), MAX_VENDOR_ID);
+                rangeEntries.add(new StartEndRangeEntry(start, end));
+                start = end + 2 + random.nextInt(20);
+            }
+            return builder
+                    .withVendorEncodingType(GdprConstants.VENDOR_ENCODING_RANGE)
+                    .withRangeEntries(rangeEntries)
+                    .build();
+        }
+
+        final Set<Integer> allowedVendors = new HashSet<>();
+        for (int vendorId = 1; vendorId <= MAX_VENDOR_ID; vendorId++) {
+            if (random.nextBoolean()) {
+                allowedVendors.add(vendorId);
+            }
+        }
+        return builder.withBitField(allowedVendors).build();
+    }
+
+    private String nextConsent() {
+        return consents[ThreadLocalRandom.current().nextInt(consents.length)];
+    }
+
+    @Benchmark
+    public void sdkDecode(Blackhole blackhole) {
+        final VendorConsent vendorConsent = VendorConsentDecoder.fromBase64String(nextConsent());
+        blackhole.consume(vendorConsent.getVendorListVersion());
+        blackhole.consume(vendorConsent.getAllowedPurposeIds());
+        for (int vendorId : vendorIds) {
+            blackhole.consume(vendorConsent.isVendorAllowed(vendorId));
+        }
+    }
+
+    @Benchmark
+    public void decode(Blackhole blackhole) {
+        consume(DecodedVendorConsent.fromBase64String(nextConsent()), blackhole);
+    }
+
+    @Benchmark
+    public void cacheLookup(Blackhole blackhole) {
+        consume(vendorConsentCache.get(nextConsent()), blackhole);
+    }
+
+    private void consume(DecodedVendorConsent vendorConsent, Blackhole blackhole) {
+        blackhole.consume(vendorConsent.getVendorListVersion());
+        blackhole.consume(vendorConsent.getAllowedPurposeIds());
+        for (int vendorId : vendorIds) {
+            blackhole.consume(vendorConsent.isVendorAllowed(vendorId));
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package org.prebid.server.validation;
+
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Native;
+import com.iab.openrtb.request.Site;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.prebid.server.benchmark.BidRequestFixtures;
+import org.prebid.server.benchmark.BidderCatalogFactory;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.json.ObjectMapperProvider;
+import org.prebid.server.metric.AccountMetricsVerbosity;
+import org.prebid.server.metric.CounterType;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.ReservoirType;
+import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
+import org.prebid.server.util.ResourceUtil;
+import org.prebid.server.validation.model.ValidationResult;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures validation of request with native imps taken from integration test fixtures, with and without
+ * cache of native request validation results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class NativeRequestValidationBenchmark {
+
+    private static final String BIDDER = "appnexus";
+    private static final int IMPS = 10;
+    private static final List<String> NATIVE_FIXTURES = Arrays.asList(
+            "facebook/test-auction-facebook-request.json",
+            "pubnative/test-auction-pubnative-request.json",
+            "rubicon_appnexus/test-auction-rubicon-appnexus-request.json",
+            "somoaudience/test-auction-somoaudience-request.json",
+            "tripleliftnative/test-auction-triplelift-native-request.json");
+
+    @Param({"0", "1000"})
+    private int cacheSize;
+
+    private RequestValidator requestValidator;
+    private BidRequest bidRequest;
+    private List<String> nativeRequests;
+
+    @Setup
+    public void setUp() throws IOException {
+        final JacksonMapper mapper = new JacksonMapper(ObjectMapperProvider.mapper());
+        final BidderCatalog bidderCatalog = BidderCatalogFactory.create(Collections.singletonList(BIDDER));
+        final Metrics metrics = new Metrics(new MetricRegistry(), CounterType.counter,
+                ReservoirType.exponentiallyDecaying,
+                new AccountMetricsVerbosity(AccountMetricsVerbosityLevel.none, Collections.emptyList(),
+                        Collections.emptyList()),
+                bidderCatalog);
+        final BidderParamValidator bidderParamValidator = BidderParamValidator.create(bidderCatalog,
+                "static/bidder-params", 0, metrics, mapper);
+        requestValidator = new RequestValidator(bidderCatalog, bidderParamValidator, cacheSize, mapper);
+
+        final List<String> fixtureNativeRequests = new ArrayList<>();
+        for (String fixture : NATIVE_FIXTURES) {
+            final JsonNode request = mapper.mapper().readTree(
+                    ResourceUtil.readFromClasspath("org/prebid/server/it/openrtb2/" + fixture));
+            for (JsonNode imp : request.path("imp")) {
+                final JsonNode nativeRequest = imp.path("native").path("request");
+                if (nativeRequest.isTextual()) {
+                    fixtureNativeRequests.add(nativeRequest.textValue());
+                }
+            }
+        }
+
+        final ObjectNode impExt = mapper.mapper().createObjectNode();
+        impExt.set(BIDDER, new BidRequestFixtures(mapper).bidderParams(BIDDER));
+        final List<Imp> imps = new ArrayList<>();
+        nativeRequests = new ArrayList<>();
+        for (int i = 0; i < IMPS; i++) {
+            final String nativeRequest = fixtureNativeRequests.get(i % fixtureNativeRequests.size());
+            nativeRequests.add(nativeRequest);
+            imps.add(Imp.builder()
+                    .id("imp-" + i)
+                    .xNative(Native.builder().request(nativeRequest).build())
+                    .ext(impExt)
+                    .build());
+        }
+        bidRequest = BidRequest.builder()
+                .id("request")
+                .cur(Collections.singletonList("USD"))
+                .imp(imps)
+                .site(Site.builder().page("https://publisher.com").build())
+                .build();
+
+        final List<String> errors = validate().getErrors();
+        if (!errors.isEmpty()) {
+            throw new IllegalStateException("Benchmark request is invalid: " + errors);
+        }
+    }
+
+    @Benchmark
+    public ValidationResult validate() {
+        // validation replaces native requests with encoded ones, so each run starts from requests as received
+        for (int i = 0; i < IMPS; i++) {
+            bidRequest.getImp().get(i).getXNative().setRequest(nativeRequests.get(i));
+        }
+        return requestValidator.validate(bidRequest);
+    }
+}
@@ -18,7 +18,10 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionStage;
+import org.prebid.server.auction.model.StageTimer;
 import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.execution.ResourceMeter;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtCurrency;
@@ -76,28 +79,33 @@ public class AmpRequestFactory {
     /**
      * Creates {@link AuctionContext} based on {@link RoutingContext}.
      */
-    public Future<AuctionContext> fromRequest(RoutingContext routingContext, long startTime) {
+    public Future<AuctionContext> fromRequest(RoutingContext routingContext, long startTime,
+                                              ResourceMeter resourceMeter) {
         final String tagId = routingContext.request().getParam(TAG_ID_REQUEST_PARAM);
         if (StringUtils.isBlank(tagId)) {
             return Future.failedFuture(new InvalidRequestException("AMP requests require an AMP tag_id", true));
         }
 
-        return createBidRequest(routingContext, tagId)
-                .compose(bidRequest ->
-                        auctionRequestFactory.toAuctionContext(routingContext, bidRequest, startTime, timeoutResolver));
+        final StageTimer stageTimer = new StageTimer();
+        return createBidRequest(routingContext, tagId, stageTimer, resourceMeter)
+                .compose(bidRequest -> auctionRequestFactory.toAuctionContext(routingContext, bidRequest, startTime,
+                        timeoutResolver, stageTimer, resourceMeter));
     }
 
     /**
      * Creates {@link BidRequest} and sets properties which were not set explicitly by the client, but can be
      * updated by values derived from headers and other request attributes.
      */
-    private Future<BidRequest> createBidRequest(RoutingContext context, String tagId) {
-        return storedRequestProcessor.processAmpRequest(tagId)
+    private Future<BidRequest> createBidRequest(RoutingContext context, String tagId, StageTimer stageTimer,
+                                                ResourceMeter resourceMeter) {
+        stageTimer.start(AuctionStage.stored_request_processing);
+        return resourceMeter.measure(storedRequestProcessor.processAmpRequest(tagId))
+                .map(bidRequest -> stageTimer.stop(AuctionStage.stored_request_processing, bidRequest))
                 .map(bidRequest -> validateStoredBidRequest(tagId, bidRequest))
                 .map(bidRequest -> fillExplicitParameters(bidRequest, context))
                 .map(bidRequest -> overrideParameters(bidRequest, context.request()))
                 .map(bidRequest -> auctionRequestFactory.fillImplicitParameters(bidRequest, context, timeoutResolver))
-                .map(auctionRequestFactory::validateRequest);
+                .map(bidRequest -> auctionRequestFactory.validateRequest(bidRequest, stageTimer));
     }
 
     /**
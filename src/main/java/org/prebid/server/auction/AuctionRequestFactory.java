@@ -20,6 +20,8 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionStage;
+import org.prebid.server.auction.model.StageTimer;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.cookie.UidsCookieService;
 import org.prebid.server.exception.BlacklistedAccountException;
@@ -27,6 +29,7 @@ import org.prebid.server.exception.BlacklistedAppException;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.exception.UnauthorizedAccountException;
+import org.prebid.server.execution.ResourceMeter;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.json.DecodeException;
@@ -139,17 +142,25 @@ public class AuctionRequestFactory {
 
     /**
      * Creates {@link AuctionContext} based on {@link RoutingContext}.
+     * <p>
+     * Continuations after asynchronous calls are measured by given {@link ResourceMeter}.
      */
-    public Future<AuctionContext> fromRequest(RoutingContext routingContext, long startTime) {
+    public Future<AuctionContext> fromRequest(RoutingContext routingContext, long startTime,
+                                              ResourceMeter resourceMeter) {
+        final StageTimer stageTimer = new StageTimer();
+
+        stageTimer.start(AuctionStage.request_parsing);
         final BidRequest incomingBidRequest;
         try {
             incomingBidRequest = parseRequest(routingContext);
         } catch (InvalidRequestException e) {
             return Future.failedFuture(e);
         }
+        stageTimer.stop(AuctionStage.request_parsing);
 
-        return updateBidRequest(routingContext, incomingBidRequest)
-                .compose(bidRequest -> toAuctionContext(routingContext, bidRequest, startTime, timeoutResolver));
+        return updateBidRequest(routingContext, incomingBidRequest, stageTimer, resourceMeter)
+                .compose(bidRequest -> toAuctionContext(routingContext, bidRequest, startTime, timeoutResolver,
+                        stageTimer, resourceMeter));
     }
 
     /**
@@ -158,16 +169,19 @@ public class AuctionRequestFactory {
      * Note: {@link TimeoutResolver} used here as argument because this method is utilized in AMP processing.
      */
     Future<AuctionContext> toAuctionContext(RoutingContext routingContext, BidRequest bidRequest,
-                                            long startTime, TimeoutResolver timeoutResolver) {
+                                            long startTime, TimeoutResolver timeoutResolver, StageTimer stageTimer,
+                                            ResourceMeter resourceMeter) {
         final Timeout timeout = timeout(bidRequest, startTime, timeoutResolver);
 
-        return accountFrom(bidRequest, timeout)
+        return resourceMeter.measure(accountFrom(bidRequest, timeout))
                 .map(account -> AuctionContext.builder()
                         .routingContext(routingContext)
                         .uidsCookie(uidsCookieService.parseFromRequest(routingContext))
                         .bidRequest(bidRequest)
                         .timeout(timeout)
                         .account(account)
+                        .stageTimer(stageTimer)
+                        .resourceMeter(resourceMeter)
                         .build());
     }
 
@@ -198,10 +212,13 @@ public class AuctionRequestFactory {
      * Sets {@link BidRequest} properties which were not set explicitly by the client, but can be
      * updated by values derived from headers and other request attributes.
      */
-    private Future<BidRequest> updateBidRequest(RoutingContext context, BidRequest bidRequest) {
-        return storedRequestProcessor.processStoredRequests(bidRequest)
+    private Future<BidRequest> updateBidRequest(RoutingContext context, BidRequest bidRequest,
+                                                StageTimer stageTimer, ResourceMeter resourceMeter) {
+        stageTimer.start(AuctionStage.stored_request_processing);
+        return resourceMeter.measure(storedRequestProcessor.processStoredRequests(bidRequest))
+                .map(resolvedBidRequest -> stageTimer.stop(AuctionStage.stored_request_processing, resolvedBidRequest))
                 .map(resolvedBidRequest -> fillImplicitParameters(resolvedBidRequest, context, timeoutResolver))
-                .map(this::validateRequest)
+                .map(populatedBidRequest -> validateRequest(populatedBidRequest, stageTimer))
                 .map(interstitialProcessor::process);
     }
 
@@ -636,6 +653,18 @@ public class AuctionRequestFactory {
         return bidRequest;
     }
 
+    /**
+     * Performs validation of {@link BidRequest} measuring its duration with given {@link StageTimer}.
+     */
+    BidRequest validateRequest(BidRequest bidRequest, StageTimer stageTimer) {
+        stageTimer.start(AuctionStage.request_validation);
+        try {
+            return validateRequest(bidRequest);
+        } finally {
+            stageTimer.stop(AuctionStage.request_validation);
+        }
+    }
+
     /**
      * Returns {@link Timeout} based on request.tmax and adjustment value of {@link TimeoutResolver}.
      */
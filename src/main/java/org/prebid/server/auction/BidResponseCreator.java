@@ -89,6 +89,7 @@ public class BidResponseCreator {
     private final String cachePath;
     private final String cacheAssetUrlTemplate;
     private final StoredRequestProcessor storedRequestProcessor;
+    private final BidderTargetingKeys bidderTargetingKeys;
 
     public BidResponseCreator(CacheService cacheService, BidderCatalog bidderCatalog, EventsService eventsService,
                               StoredRequestProcessor storedRequestProcessor, JacksonMapper mapper) {
@@ -98,6 +99,7 @@ public class BidResponseCreator {
         this.cacheHost = Objects.requireNonNull(cacheService.getEndpointHost());
         this.cachePath = Objects.requireNonNull(cacheService.getEndpointPath());
         this.cacheAssetUrlTemplate = Objects.requireNonNull(cacheService.getCachedAssetURLTemplate());
+        this.bidderTargetingKeys = TargetingKeywordsCreator.createBidderTargetingKeys(bidderCatalog);
         this.storedRequestProcessor = Objects.requireNonNull(storedRequestProcessor);
         this.mapper = Objects.requireNonNull(mapper);
     }
@@ -711,7 +713,7 @@ public class BidResponseCreator {
         return pricegranularity == null || pricegranularity.isNull()
                 ? null
                 : TargetingKeywordsCreator.create(parsePriceGranularity(pricegranularity),
-                targeting.getIncludewinners(), targeting.getIncludebidderkeys(), isApp);
+                targeting.getIncludewinners(), targeting.getIncludebidderkeys(), isApp, bidderTargetingKeys);
     }
 
     /**
@@ -732,21 +734,21 @@ public class BidResponseCreator {
         final boolean isBannerNull = banner == null || banner.isNull();
         if (!isBannerNull) {
             result.put(BidType.banner, TargetingKeywordsCreator.create(parsePriceGranularity(banner),
-                    targeting.getIncludewinners(), targeting.getIncludebidderkeys(), isApp));
+                    targeting.getIncludewinners(), targeting.getIncludebidderkeys(), isApp, bidderTargetingKeys));
         }
 
         final ObjectNode video = mediaTypePriceGranularity.getVideo();
         final boolean isVideoNull = video == null || video.isNull();
         if (!isVideoNull) {
             result.put(BidType.video, TargetingKeywordsCreator.create(parsePriceGranularity(video),
-                    targeting.getIncludewinners(), targeting.getIncludebidderkeys(), isApp));
+                    targeting.getIncludewinners(), targeting.getIncludebidderkeys(), isApp, bidderTargetingKeys));
         }
 
         final ObjectNode xNative = mediaTypePriceGranularity.getXNative();
         final boolean isNativeNull = xNative == null || xNative.isNull();
         if (!isNativeNull) {
             result.put(BidType.xNative, TargetingKeywordsCreator.create(parsePriceGranularity(xNative),
-                    targeting.getIncludewinners(), targeting.getIncludebidderkeys(), isApp));
+                    targeting.getIncludewinners(), targeting.getIncludebidderkeys(), isApp, bidderTargetingKeys));
         }
 
         return result;
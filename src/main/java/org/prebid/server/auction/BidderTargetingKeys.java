@@ -0,0 +1,50 @@
+package org.prebid.server.auction;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Targeting keys suffixed by bidder, created once for all known bidders instead of each bid.
+ * <p>
+ * Keys for bidders not known in advance (for example, aliases defined in request) are created on demand.
+ */
+public class BidderTargetingKeys {
+
+    public static final BidderTargetingKeys EMPTY = new BidderTargetingKeys(Collections.emptyMap());
+
+    private final Map<String, Map<String, String>> bidderToPrefixToKey;
+
+    private BidderTargetingKeys(Map<String, Map<String, String>> bidderToPrefixToKey) {
+        this.bidderToPrefixToKey = bidderToPrefixToKey;
+    }
+
+    /**
+     * Creates keys for each of given bidders and key prefixes.
+     */
+    static BidderTargetingKeys of(Collection<String> bidders, Collection<String> prefixes) {
+        final Map<String, Map<String, String>> bidderToPrefixToKey = new HashMap<>();
+        for (String bidder : bidders) {
+            final Map<String, String> prefixToKey = new HashMap<>();
+            for (String prefix : prefixes) {
+                prefixToKey.put(prefix, createKey(prefix, bidder));
+            }
+            bidderToPrefixToKey.put(bidder, prefixToKey);
+        }
+        return new BidderTargetingKeys(bidderToPrefixToKey);
+    }
+
+    /**
+     * Returns key for given prefix and bidder in format: [prefix]_[bidder].
+     */
+    String keyFor(String prefix, String bidder) {
+        final Map<String, String> prefixToKey = bidderToPrefixToKey.get(bidder);
+        final String key = prefixToKey != null ? prefixToKey.get(prefix) : null;
+        return key != null ? key : createKey(prefix, bidder);
+    }
+
+    private static String createKey(String prefix, String bidder) {
+        return prefix + '_' + bidder;
+    }
+}
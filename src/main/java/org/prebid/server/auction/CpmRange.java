@@ -20,9 +20,17 @@ public class CpmRange {
     }
 
     /**
-     * Rounding price by specified rules defined in {@link PriceGranularity} object and returns it in string format
+     * Rounding price by specified rules defined in {@link PriceGranularity} object and returns it in string format.
+     * <p>
+     * Compiled {@link PriceBuckets} are used when available, giving the same result as {@link BigDecimal} arithmetic.
      */
     public static String fromCpm(BigDecimal cpm, PriceGranularity priceGranularity) {
+        final PriceBuckets priceBuckets = priceGranularity.getPriceBuckets();
+        final String bucket = priceBuckets != null ? priceBuckets.bucketOf(cpm) : null;
+        if (bucket != null) {
+            return bucket;
+        }
+
         final BigDecimal value = fromCpmAsNumber(cpm, priceGranularity);
         return value != null
                 ? format(value, ObjectUtils.firstNonNull(priceGranularity.getPrecision(), 2))
@@ -19,10 +19,12 @@ import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.ObjectUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionStage;
 import org.prebid.server.auction.model.BidRequestCacheInfo;
 import org.prebid.server.auction.model.BidderRequest;
 import org.prebid.server.auction.model.BidderResponse;
 import org.prebid.server.auction.model.PrivacyEnforcementResult;
+import org.prebid.server.auction.model.StageTimer;
 import org.prebid.server.auction.model.StoredResponseResult;
 import org.prebid.server.bidder.Bidder;
 import org.prebid.server.bidder.BidderCatalog;
@@ -31,9 +33,12 @@ import org.prebid.server.bidder.Usersyncer;
 import org.prebid.server.bidder.model.BidderBid;
 import org.prebid.server.bidder.model.BidderError;
 import org.prebid.server.bidder.model.BidderSeatBid;
+import org.prebid.server.capture.CapturedAuction;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.currency.CurrencyConversionService;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.AdmissionController;
+import org.prebid.server.execution.ResourceMeter;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.MetricName;
@@ -63,6 +68,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
@@ -74,6 +80,9 @@ public class ExchangeService {
 
     private static final String PREBID_EXT = "prebid";
     private static final String CONTEXT_EXT = "context";
+    private static final String DEBUG_EXT = "debug";
+    private static final String STAGE_TIMES_EXT = "stagetimemicros";
+    private static final String RESOURCE_USAGE_EXT = "resourceusage";
 
     private static final BigDecimal THOUSAND = BigDecimal.valueOf(1000);
     private static final String GENERIC_SCHAIN_KEY = "*";
@@ -87,6 +96,7 @@ public class ExchangeService {
     private final CurrencyConversionService currencyService;
     private final BidResponseCreator bidResponseCreator;
     private final BidResponsePostProcessor bidResponsePostProcessor;
+    private final AdmissionController admissionController;
     private final Metrics metrics;
     private final Clock clock;
     private final JacksonMapper mapper;
@@ -100,6 +110,7 @@ public class ExchangeService {
                            CurrencyConversionService currencyService,
                            BidResponseCreator bidResponseCreator,
                            BidResponsePostProcessor bidResponsePostProcessor,
+                           AdmissionController admissionController,
                            Metrics metrics,
                            Clock clock,
                            JacksonMapper mapper) {
@@ -116,6 +127,7 @@ public class ExchangeService {
         this.currencyService = Objects.requireNonNull(currencyService);
         this.bidResponseCreator = Objects.requireNonNull(bidResponseCreator);
         this.bidResponsePostProcessor = Objects.requireNonNull(bidResponsePostProcessor);
+        this.admissionController = Objects.requireNonNull(admissionController);
         this.metrics = Objects.requireNonNull(metrics);
         this.clock = Objects.requireNonNull(clock);
         this.mapper = Objects.requireNonNull(mapper);
@@ -124,6 +136,9 @@ public class ExchangeService {
     /**
      * Runs an auction: delegates request to applicable bidders, gathers responses from them and constructs final
      * response containing returned bids and additional information in extensions.
+     * <p>
+     * Auction shed by {@link AdmissionController} under overload doesn't call any bidders and results in
+     * response without bids.
      */
     public Future<BidResponse> holdAuction(AuctionContext context) {
         final RoutingContext routingContext = context.getRoutingContext();
@@ -132,6 +147,9 @@ public class ExchangeService {
         final Timeout timeout = context.getTimeout();
         final MetricName requestTypeMetric = context.getRequestTypeMetric();
         final Account account = context.getAccount();
+        final StageTimer stageTimer = context.getStageTimer();
+        final ResourceMeter resourceMeter = ObjectUtils.defaultIfNull(context.getResourceMeter(),
+                ResourceMeter.disabled());
 
         final ExtBidRequest requestExt;
         try {
@@ -148,33 +166,106 @@ public class ExchangeService {
         final BidRequestCacheInfo cacheInfo = bidRequestCacheInfo(targeting, requestExt);
         final Boolean isGdprEnforced = account.getEnforceGdpr();
         final boolean debugEnabled = isDebugEnabled(bidRequest, requestExt);
+        final boolean admitted = admissionController.admit(publisherId);
 
-        return storedResponseProcessor.getStoredResponseResult(imps, aliases, timeout)
+        return resourceMeter.measure(storedResponseProcessor.getStoredResponseResult(imps, aliases, timeout))
                 .map(storedResponseResult -> populateStoredResponse(storedResponseResult, storedResponse))
-                .compose(impsRequiredRequest -> extractBidderRequests(context, impsRequiredRequest, requestExt,
+                .compose(impsRequiredRequest -> admitted
+                        ? resourceMeter.measure(extractBidderRequests(context, impsRequiredRequest, requestExt,
                         aliases, isGdprEnforced))
+                        : Future.succeededFuture(Collections.<BidderRequest>emptyList()))
                 .map(bidderRequests ->
                         updateRequestMetric(bidderRequests, uidsCookie, aliases, publisherId,
                                 requestTypeMetric))
-                .compose(bidderRequests -> CompositeFuture.join(bidderRequests.stream()
+                .map(bidderRequests -> startStage(stageTimer, AuctionStage.bidder_requests, bidderRequests))
+                .compose(bidderRequests -> resourceMeter.measure(CompositeFuture.join(bidderRequests.stream()
                         .map(bidderRequest -> requestBids(bidderRequest,
                                 auctionTimeout(timeout, cacheInfo.isDoCaching()), debugEnabled, aliases,
-                                bidAdjustments(requestExt), currencyRates(targeting)))
-                        .collect(Collectors.toList())))
+                                bidAdjustments(requestExt), currencyRates(targeting),
+                                context.getCapturedAuction(), resourceMeter))
+                        .collect(Collectors.toList()))))
                 // send all the requests to the bidders and gathers results
                 .map(CompositeFuture::<BidderResponse>list)
+                .map(bidderResponses -> stopStage(stageTimer, AuctionStage.bidder_requests, bidderResponses))
                 // produce response from bidder results
                 .map(bidderResponses -> updateMetricsFromResponses(bidderResponses, publisherId))
                 .map(bidderResponses ->
                         storedResponseProcessor.mergeWithBidderResponses(bidderResponses, storedResponse, imps))
-                .compose(bidderResponses ->
+                .map(bidderResponses -> startStage(stageTimer, AuctionStage.bid_response_creation, bidderResponses))
+                .compose(bidderResponses -> resourceMeter.measure(
                         bidResponseCreator.create(bidderResponses, bidRequest, targeting, cacheInfo, account, timeout,
-                                debugEnabled))
+                                debugEnabled)))
+                .map(bidResponse -> stopStage(stageTimer, AuctionStage.bid_response_creation, bidResponse))
+                .map(bidResponse -> updateStageMetrics(stageTimer, bidResponse))
+                .map(bidResponse -> updateResourceMetrics(resourceMeter, requestTypeMetric, publisherId,
+                        bidResponse))
+                .map(bidResponse -> debugEnabled ? addStageTimesToDebug(bidResponse, stageTimer) : bidResponse)
+                .map(bidResponse -> debugEnabled ? addResourceUsageToDebug(bidResponse, resourceMeter) : bidResponse)
                 .compose(bidResponse ->
                         bidResponsePostProcessor.postProcess(routingContext, uidsCookie, bidRequest, bidResponse,
                                 account));
     }
 
+    private static <T> T startStage(StageTimer stageTimer, AuctionStage stage, T value) {
+        if (stageTimer != null) {
+            stageTimer.start(stage);
+        }
+        return value;
+    }
+
+    private static <T> T stopStage(StageTimer stageTimer, AuctionStage stage, T value) {
+        if (stageTimer != null) {
+            stageTimer.stop(stage);
+        }
+        return value;
+    }
+
+    /**
+     * Submits durations of finished auction stages to metrics.
+     */
+    private BidResponse updateStageMetrics(StageTimer stageTimer, BidResponse bidResponse) {
+        if (stageTimer != null) {
+            stageTimer.forEachFinished(metrics::updateAuctionStageMetric);
+        }
+        return bidResponse;
+    }
+
+    /**
+     * Submits resources consumed by the auction so far to metrics.
+     */
+    private BidResponse updateResourceMetrics(ResourceMeter resourceMeter, MetricName requestTypeMetric,
+                                              String publisherId, BidResponse bidResponse) {
+        metrics.updateResourceMetrics(requestTypeMetric, publisherId, resourceMeter);
+        return bidResponse;
+    }
+
+    /**
+     * Adds durations of finished auction stages to bidresponse.ext.debug.stagetimemicros.
+     */
+    private static BidResponse addStageTimesToDebug(BidResponse bidResponse, StageTimer stageTimer) {
+        final ObjectNode ext = bidResponse.getExt();
+        if (stageTimer != null && ext != null && ext.path(DEBUG_EXT).isObject()) {
+            final ObjectNode stageTimes = ((ObjectNode) ext.get(DEBUG_EXT)).putObject(STAGE_TIMES_EXT);
+            stageTimer.forEachFinished((stage, nanos) ->
+                    stageTimes.put(stage.name(), TimeUnit.NANOSECONDS.toMicros(nanos)));
+        }
+        return bidResponse;
+    }
+
+    /**
+     * Adds memory allocated and CPU time consumed by the auction so far to bidresponse.ext.debug.resourceusage.
+     */
+    private static BidResponse addResourceUsageToDebug(BidResponse bidResponse, ResourceMeter resourceMeter) {
+        final ObjectNode ext = bidResponse.getExt();
+        if (resourceMeter.isEnabled() && ext != null && ext.path(DEBUG_EXT).isObject()) {
+            ((ObjectNode) ext.get(DEBUG_EXT)).putObject(RESOURCE_USAGE_EXT)
+                    .put("allocatedbytes", resourceMeter.getAllocatedBytes())
+                    .put("cputimemicros", TimeUnit.NANOSECONDS.toMicros(resourceMeter.getCpuNanos()))
+                    .put("segments", resourceMeter.getSegments());
+        }
+        return bidResponse;
+    }
+
     /**
      * Populates storedResponse parameter with stored {@link List<SeatBid>} and returns {@link List<Imp>} for which
      * request to bidders should be performed.
@@ -322,8 +413,16 @@ public class ExchangeService {
                     context.getUidsCookie(), firstPartyDataBidders.contains(bidder)));
         }
 
+        final StageTimer stageTimer = context.getStageTimer();
+        final ResourceMeter resourceMeter = ObjectUtils.defaultIfNull(context.getResourceMeter(),
+                ResourceMeter.disabled());
+        if (stageTimer != null) {
+            stageTimer.start(AuctionStage.privacy_enforcement);
+        }
         return privacyEnforcementService
                 .mask(bidderToUser, extUser, bidders, aliases, bidRequest, isGdprEnforced, context.getTimeout())
+                .map(bidderToPrivacyEnforcementResult ->
+                        stopStage(stageTimer, AuctionStage.privacy_enforcement, bidderToPrivacyEnforcementResult))
                 .map(bidderToPrivacyEnforcementResult -> getBidderRequests(bidderToPrivacyEnforcementResult,
                         bidRequest, requestExt, imps, firstPartyDataBidders));
     }
@@ -753,7 +852,8 @@ public class ExchangeService {
     private Future<BidderResponse> requestBids(BidderRequest bidderRequest, Timeout timeout,
                                                boolean debugEnabled, Map<String, String> aliases,
                                                Map<String, BigDecimal> bidAdjustments,
-                                               Map<String, Map<String, BigDecimal>> currencyConversionRates) {
+                                               Map<String, Map<String, BigDecimal>> currencyConversionRates,
+                                               CapturedAuction capturedAuction, ResourceMeter resourceMeter) {
         final String bidderName = bidderRequest.getBidder();
         final BigDecimal bidPriceAdjustmentFactor = bidAdjustments.get(bidderName);
         final List<String> cur = bidderRequest.getBidRequest().getCur();
@@ -761,7 +861,8 @@ public class ExchangeService {
         final Bidder<?> bidder = bidderCatalog.bidderByName(resolveBidder(bidderName, aliases));
         final long startTime = clock.millis();
 
-        return httpBidderRequester.requestBids(bidder, bidderRequest.getBidRequest(), timeout, debugEnabled)
+        return httpBidderRequester.requestBids(bidder, bidderRequest.getBidRequest(), timeout, debugEnabled,
+                capturedAuction, resourceMeter)
                 .map(bidderSeatBid -> validBidderSeatBid(bidderSeatBid, cur))
                 .map(seat -> applyBidPriceChanges(seat, currencyConversionRates, adServerCurrency,
                         bidPriceAdjustmentFactor))
@@ -0,0 +1,200 @@
+package org.prebid.server.auction;
+
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Ranges of {@link PriceGranularity} compiled to whole micros (millionths of currency unit), so price bucket
+ * is found by binary search over range maximums and long division by range increment.
+ * <p>
+ * Price is taken as floor of its micros plus sign of a remainder, which is enough for exact comparison
+ * with micros boundaries and for exact floor division by micros increment. Bucket is formatted with
+ * the same half-up rounding as {@link String#format} does for {@link BigDecimal}, and can be precomputed
+ * for all buckets of the ranges.
+ * <p>
+ * Only ranges with non-decreasing maximums and positive increments, all having at most 6 fractional digits,
+ * can be compiled. Others are left for {@link CpmRange} to handle with {@link BigDecimal} arithmetic.
+ */
+class PriceBuckets {
+
+    private static final int MICROS_SCALE = 6;
+    private static final int MAX_INTEGER_DIGITS = 12;
+    private static final int MAX_PRECISION = 15;
+    private static final int MAX_PRECOMPUTED_BUCKETS = 10_000;
+
+    private static final long[] POWERS_OF_TEN = {1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L};
+
+    private final long[] rangeMaxMicros;
+    private final long[] incrementMicros;
+    private final long[] firstBuckets;
+    private final long maxMicros;
+    private final int precision;
+    private final String rangesMaxString;
+    private final String[][] bucketStrings;
+
+    private PriceBuckets(long[] rangeMaxMicros, long[] incrementMicros, int precision, boolean precompute) {
+        this.rangeMaxMicros = rangeMaxMicros;
+        this.incrementMicros = incrementMicros;
+        this.maxMicros = rangeMaxMicros[rangeMaxMicros.length - 1];
+        this.precision = precision;
+        this.rangesMaxString = format(maxMicros, precision);
+
+        firstBuckets = new long[rangeMaxMicros.length];
+        long min = 0;
+        for (int i = 0; i < rangeMaxMicros.length; i++) {
+            firstBuckets[i] = min / incrementMicros[i];
+            min = rangeMaxMicros[i];
+        }
+
+        bucketStrings = precompute ? precomputeBucketStrings() : null;
+    }
+
+    /**
+     * Compiles given ranges or returns null if they cannot be compiled.
+     * <p>
+     * Strings of all buckets are precomputed if asked to and there are not too many of them, which makes sense
+     * for granularities living as long as application.
+     */
+    static PriceBuckets compile(List<ExtGranularityRange> ranges, Integer precision, boolean precompute) {
+        final int resolvedPrecision = precision != null ? precision : 2;
+        if (resolvedPrecision < 0 || resolvedPrecision > MAX_PRECISION) {
+            return null;
+        }
+
+        final long[] rangeMaxMicros = new long[ranges.size()];
+        final long[] incrementMicros = new long[ranges.size()];
+        for (int i = 0; i < ranges.size(); i++) {
+            final ExtGranularityRange range = ranges.get(i);
+            final Long max = toExactMicros(range.getMax());
+            final Long increment = toExactMicros(range.getIncrement());
+            if (max == null || increment == null || max < 0 || increment <= 0
+                    || i > 0 && max < rangeMaxMicros[i - 1]) {
+                return null;
+            }
+            rangeMaxMicros[i] = max;
+            incrementMicros[i] = increment;
+        }
+
+        return new PriceBuckets(rangeMaxMicros, incrementMicros, resolvedPrecision, precompute);
+    }
+
+    private static Long toExactMicros(BigDecimal value) {
+        if (value == null || value.precision() - value.scale() > MAX_INTEGER_DIGITS) {
+            return null;
+        }
+        final BigDecimal micros = value.movePointRight(MICROS_SCALE);
+        return micros.signum() == 0 || micros.stripTrailingZeros().scale() <= 0 ? micros.longValue() : null;
+    }
+
+    /**
+     * Returns price bucket string for given price or null if price is too big to be handled here.
+     */
+    String bucketOf(BigDecimal cpm) {
+        if (cpm.precision() - cpm.scale() > MAX_INTEGER_DIGITS) {
+            return null;
+        }
+
+        final BigDecimal micros = cpm.movePointRight(MICROS_SCALE);
+        final long floorMicros;
+        final boolean exact;
+        if (micros.scale() <= 0) {
+            floorMicros = micros.longValue();
+            exact = true;
+        } else {
+            final BigDecimal floor = micros.setScale(0, RoundingMode.FLOOR);
+            floorMicros = floor.longValue();
+            exact = floor.compareTo(micros) == 0;
+        }
+
+        // price is above maximum if its floor is, or if it has remainder above the same floor
+        if (floorMicros > maxMicros || floorMicros == maxMicros && !exact) {
+            return rangesMaxString;
+        }
+        if (floorMicros < 0) {
+            return StringUtils.EMPTY;
+        }
+
+        final int rangeIndex = rangeIndexOf(exact ? floorMicros : floorMicros + 1);
+        final long bucket = floorMicros / incrementMicros[rangeIndex];
+        if (bucketStrings != null) {
+            return bucketStrings[rangeIndex][(int) (bucket - firstBuckets[rangeIndex])];
+        }
+        return format(bucket * incrementMicros[rangeIndex], precision);
+    }
+
+    /**
+     * Returns index of the first range with maximum not less than given micros, which is the first range
+     * including the price in list order.
+     */
+    private int rangeIndexOf(long micros) {
+        int low = 0;
+        int high = rangeMaxMicros.length - 1;
+        while (low < high) {
+            final int middle = (low + high) >>> 1;
+            if (rangeMaxMicros[middle] < micros) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private String[][] precomputeBucketStrings() {
+        long total = 0;
+        for (int i = 0; i < rangeMaxMicros.length; i++) {
+            total += rangeMaxMicros[i] / incrementMicros[i] - firstBuckets[i] + 1;
+        }
+        if (total > MAX_PRECOMPUTED_BUCKETS) {
+            return null;
+        }
+
+        final String[][] result = new String[rangeMaxMicros.length][];
+        for (int i = 0; i < rangeMaxMicros.length; i++) {
+            final long lastBucket = rangeMaxMicros[i] / incrementMicros[i];
+            result[i] = new String[(int) (lastBucket - firstBuckets[i] + 1)];
+            for (long bucket = firstBuckets[i]; bucket <= lastBucket; bucket++) {
+                result[i][(int) (bucket - firstBuckets[i])] = format(bucket * incrementMicros[i], precision);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Formats non-negative micros as decimal with given number of fractional digits rounding half up,
+     * the same way "%.Nf" format does.
+     */
+    static String format(long micros, int precision) {
+        final long scaled;
+        final int digits;
+        if (precision < MICROS_SCALE) {
+            final long divisor = POWERS_OF_TEN[MICROS_SCALE - precision];
+            scaled = (micros + divisor / 2) / divisor;
+            digits = precision;
+        } else {
+            scaled = micros;
+            digits = MICROS_SCALE;
+        }
+
+        final long unit = POWERS_OF_TEN[digits];
+        final StringBuilder result = new StringBuilder(24).append(scaled / unit);
+        if (precision == 0) {
+            return result.toString();
+        }
+
+        result.append('.');
+        final String fraction = Long.toString(scaled % unit);
+        for (int i = fraction.length(); i < digits; i++) {
+            result.append('0');
+        }
+        result.append(fraction);
+        for (int i = digits; i < precision; i++) {
+            result.append('0');
+        }
+        return result.toString();
+    }
+}
@@ -44,18 +44,21 @@ public class PriceGranularity {
     private List<ExtGranularityRange> ranges;
     private BigDecimal rangesMax;
     private Integer precision;
+    private PriceBuckets priceBuckets;
 
-    private PriceGranularity(List<ExtGranularityRange> ranges, BigDecimal rangesMax, Integer precision) {
+    private PriceGranularity(List<ExtGranularityRange> ranges, BigDecimal rangesMax, Integer precision,
+                             PriceBuckets priceBuckets) {
         this.ranges = ranges;
         this.rangesMax = rangesMax;
         this.precision = precision;
+        this.priceBuckets = priceBuckets;
     }
 
     /**
      * Creates {@link PriceGranularity} from {@link ExtPriceGranularity}.
      */
     static PriceGranularity createFromExtPriceGranularity(ExtPriceGranularity extPriceGranularity) {
-        return createFromRanges(extPriceGranularity.getPrecision(), extPriceGranularity.getRanges());
+        return createFromRanges(extPriceGranularity.getPrecision(), extPriceGranularity.getRanges(), false);
     }
 
     /**
@@ -91,6 +94,13 @@ public class PriceGranularity {
         return precision;
     }
 
+    /**
+     * Returns compiled ranges or null if ranges cannot be compiled.
+     */
+    PriceBuckets getPriceBuckets() {
+        return priceBuckets;
+    }
+
     /**
      * Creates {@link PriceGranularity} for string representation and puts it to
      * {@link EnumMap<PriceGranularityType, PriceGranularity>}.
@@ -98,13 +108,16 @@ public class PriceGranularity {
     private static void putStringPriceGranularity(PriceGranularityType type, Integer precision,
                                                   ExtGranularityRange... ranges) {
         STRING_TO_CUSTOM_PRICE_GRANULARITY.put(type,
-                PriceGranularity.createFromRanges(precision, Arrays.asList(ranges)));
+                PriceGranularity.createFromRanges(precision, Arrays.asList(ranges), true));
     }
 
     /**
      * Creates {@link PriceGranularity} from list of {@link ExtGranularityRange}s and validates it.
+     * <p>
+     * Strings of price buckets are precomputed only for predefined granularities, custom ones are created per request.
      */
-    private static PriceGranularity createFromRanges(Integer precision, List<ExtGranularityRange> ranges) {
+    private static PriceGranularity createFromRanges(Integer precision, List<ExtGranularityRange> ranges,
+                                                     boolean precomputeBuckets) {
         if (CollectionUtils.isEmpty(ranges)) {
             throw new IllegalArgumentException("Ranges list cannot be null or empty");
         }
@@ -115,7 +128,8 @@ public class PriceGranularity {
                 .orElseThrow(() -> new IllegalArgumentException(
                         "Max value among all ranges was not found. Please check if ranges are valid"));
 
-        return new PriceGranularity(ranges, rangeMax, precision);
+        return new PriceGranularity(ranges, rangeMax, precision,
+                PriceBuckets.compile(ranges, precision, precomputeBuckets));
     }
 
     /**
@@ -3,14 +3,16 @@ package org.prebid.server.auction;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
 import org.prebid.server.proto.response.Bid;
 
 import java.math.BigDecimal;
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -88,17 +90,37 @@ public class TargetingKeywordsCreator {
      */
     private static final Set<String> EXCLUDED_BIDDER_KEYS = Collections.singleton(HB_WINURL_KEY);
 
+    /**
+     * Collection of keys which are created with "_BIDDER" suffix
+     */
+    private static final List<String> BIDDER_KEY_PREFIXES = Collections.unmodifiableList(Arrays.asList(HB_PB_KEY,
+            HB_BIDDER_KEY, HB_SIZE_KEY, HB_CACHE_ID_KEY, HB_VAST_ID_KEY, HB_CACHE_HOST_KEY, HB_CACHE_PATH_KEY,
+            HB_DEAL_KEY, HB_ENV_KEY, HB_BIDID_KEY));
+
+    /**
+     * Sizes of the most common creatives, whose [Width]x[Height] strings are created once.
+     */
+    private static final int[][] COMMON_SIZES = {{300, 250}, {728, 90}, {320, 50}, {160, 600}, {300, 600},
+            {970, 250}, {320, 100}, {300, 50}, {468, 60}, {970, 90}, {336, 280}, {120, 600}, {250, 250},
+            {200, 200}, {300, 1050}, {320, 480}, {480, 320}, {640, 480}, {1, 1}};
+    private static final String[] COMMON_SIZE_STRINGS = Arrays.stream(COMMON_SIZES)
+            .map(size -> size[0] + "x" + size[1])
+            .toArray(String[]::new);
+
     private final PriceGranularity priceGranularity;
     private final boolean includeWinners;
     private final boolean includeBidderKeys;
     private final boolean isApp;
+    private final BidderTargetingKeys bidderTargetingKeys;
 
     private TargetingKeywordsCreator(PriceGranularity priceGranularity, boolean includeWinners,
-                                     boolean includeBidderKeys, boolean isApp) {
+                                     boolean includeBidderKeys, boolean isApp,
+                                     BidderTargetingKeys bidderTargetingKeys) {
         this.priceGranularity = priceGranularity;
         this.includeWinners = includeWinners;
         this.includeBidderKeys = includeBidderKeys;
         this.isApp = isApp;
+        this.bidderTargetingKeys = bidderTargetingKeys;
     }
 
     /**
@@ -106,8 +128,18 @@ public class TargetingKeywordsCreator {
      */
     public static TargetingKeywordsCreator create(ExtPriceGranularity extPriceGranularity, boolean includeWinners,
                                                   boolean includeBidderKeys, boolean isApp) {
+        return create(extPriceGranularity, includeWinners, includeBidderKeys, isApp, BidderTargetingKeys.EMPTY);
+    }
+
+    /**
+     * Creates {@link TargetingKeywordsCreator} for the given params and keys created by
+     * {@link #createBidderTargetingKeys(BidderCatalog)}.
+     */
+    public static TargetingKeywordsCreator create(ExtPriceGranularity extPriceGranularity, boolean includeWinners,
+                                                  boolean includeBidderKeys, boolean isApp,
+                                                  BidderTargetingKeys bidderTargetingKeys) {
         return new TargetingKeywordsCreator(PriceGranularity.createFromExtPriceGranularity(extPriceGranularity),
-                includeWinners, includeBidderKeys, isApp);
+                includeWinners, includeBidderKeys, isApp, bidderTargetingKeys);
     }
 
     /**
@@ -116,7 +148,16 @@ public class TargetingKeywordsCreator {
     public static TargetingKeywordsCreator create(String stringPriceGranularity, boolean includeWinners,
                                                   boolean includeBidderKeys, boolean isApp) {
         return new TargetingKeywordsCreator(convertToCustomPriceGranularity(stringPriceGranularity),
-                includeWinners, includeBidderKeys, isApp);
+                includeWinners, includeBidderKeys, isApp, BidderTargetingKeys.EMPTY);
+    }
+
+    /**
+     * Creates targeting keys with "_BIDDER" suffix for all bidders and aliases registered in {@link BidderCatalog}.
+     */
+    public static BidderTargetingKeys createBidderTargetingKeys(BidderCatalog bidderCatalog) {
+        final Set<String> bidders = new HashSet<>(bidderCatalog.names());
+        bidders.addAll(bidderCatalog.aliases());
+        return BidderTargetingKeys.of(bidders, BIDDER_KEY_PREFIXES);
     }
 
     /**
@@ -163,7 +204,7 @@ public class TargetingKeywordsCreator {
             String winUrl) {
 
         final KeywordMap keywordMap = new KeywordMap(bidder, winningBid, includeWinners, includeBidderKeys,
-                EXCLUDED_BIDDER_KEYS);
+                EXCLUDED_BIDDER_KEYS, bidderTargetingKeys);
 
         final String roundedCpm = isPriceGranularityValid() ? CpmRange.fromCpm(price, priceGranularity) : defaultCpm;
         keywordMap.put(HB_PB_KEY, roundedCpm);
@@ -212,9 +253,16 @@ public class TargetingKeywordsCreator {
      * @return null if at least one parameter is missing or equals to 0.
      */
     private static String sizeFrom(Integer width, Integer height) {
-        return width != null && width != 0 && height != null && height != 0
-                ? String.format("%sx%s", width, height)
-                : null;
+        if (width == null || width == 0 || height == null || height == 0) {
+            return null;
+        }
+
+        for (int i = 0; i < COMMON_SIZES.length; i++) {
+            if (COMMON_SIZES[i][0] == width && COMMON_SIZES[i][1] == height) {
+                return COMMON_SIZE_STRINGS[i];
+            }
+        }
+        return width + "x" + height;
     }
 
     /**
@@ -229,33 +277,29 @@ public class TargetingKeywordsCreator {
         private final boolean includeWinners;
         private final boolean includeBidderKeys;
         private final Set<String> excludedBidderKeys;
+        private final BidderTargetingKeys bidderTargetingKeys;
 
         private final Map<String, String> keywords;
 
         KeywordMap(String bidder, boolean winningBid, boolean includeWinners, boolean includeBidderKeys,
-                   Set<String> excludedBidderKeys) {
+                   Set<String> excludedBidderKeys, BidderTargetingKeys bidderTargetingKeys) {
             this.bidder = bidder;
             this.winningBid = winningBid;
             this.includeWinners = includeWinners;
             this.includeBidderKeys = includeBidderKeys;
             this.excludedBidderKeys = excludedBidderKeys;
+            this.bidderTargetingKeys = bidderTargetingKeys;
             this.keywords = new HashMap<>();
         }
 
         void put(String prefix, String value) {
-            createKeys(prefix).forEach(key -> keywords.put(key, value));
-        }
-
-        private List<String> createKeys(String prefix) {
-            final List<String> keys = new ArrayList<>(2);
             if (includeBidderKeys && !excludedBidderKeys.contains(prefix)) {
-                keys.add(String.format("%s_%s", prefix, bidder));
+                keywords.put(bidderTargetingKeys.keyFor(prefix, bidder), value);
             }
             // For the top bid, we want to put additional keys apart from bidder-suffixed
             if (winningBid && includeWinners) {
-                keys.add(prefix);
+                keywords.put(prefix, value);
             }
-            return keys;
         }
 
         private Map<String, String> asMap() {
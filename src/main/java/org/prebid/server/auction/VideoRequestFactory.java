@@ -11,8 +11,11 @@ import io.vertx.ext.web.RoutingContext;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionStage;
+import org.prebid.server.auction.model.StageTimer;
 import org.prebid.server.auction.model.WithPodErrors;
 import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.execution.ResourceMeter;
 import org.prebid.server.json.DecodeException;
 import org.prebid.server.json.JacksonMapper;
 
@@ -47,14 +50,18 @@ public class VideoRequestFactory {
     /**
      * Creates {@link AuctionContext} and {@link List} of {@link PodError} based on {@link RoutingContext}.
      */
-    public Future<WithPodErrors<AuctionContext>> fromRequest(RoutingContext routingContext, long startTime) {
+    public Future<WithPodErrors<AuctionContext>> fromRequest(RoutingContext routingContext, long startTime,
+                                                             ResourceMeter resourceMeter) {
+        final StageTimer stageTimer = new StageTimer();
 
+        stageTimer.start(AuctionStage.request_parsing);
         final BidRequestVideo incomingBidRequest;
         try {
             incomingBidRequest = parseRequest(routingContext);
         } catch (InvalidRequestException e) {
             return Future.failedFuture(e);
         }
+        stageTimer.stop(AuctionStage.request_parsing);
 
         final String storedRequestId = incomingBidRequest.getStoredrequestid();
         if (StringUtils.isBlank(storedRequestId) && enforceStoredRequest) {
@@ -62,9 +69,11 @@ public class VideoRequestFactory {
         }
 
         final Set<String> podConfigIds = podConfigIds(incomingBidRequest);
-        return createBidRequest(routingContext, incomingBidRequest, storedRequestId, podConfigIds)
+        return createBidRequest(routingContext, incomingBidRequest, storedRequestId, podConfigIds, stageTimer,
+                resourceMeter)
                 .compose(bidRequestToPodError -> auctionRequestFactory
-                        .toAuctionContext(routingContext, bidRequestToPodError.getData(), startTime, timeoutResolver)
+                        .toAuctionContext(routingContext, bidRequestToPodError.getData(), startTime, timeoutResolver,
+                                stageTimer, resourceMeter)
                         .map(auctionContext -> WithPodErrors.of(auctionContext, bidRequestToPodError.getPodErrors())));
     }
 
@@ -107,14 +116,22 @@ public class VideoRequestFactory {
     private Future<WithPodErrors<BidRequest>> createBidRequest(RoutingContext routingContext,
                                                                BidRequestVideo bidRequestVideo,
                                                                String storedVideoId,
-                                                               Set<String> podConfigIds) {
-        return storedRequestProcessor.processVideoRequest(storedVideoId, podConfigIds, bidRequestVideo)
+                                                               Set<String> podConfigIds,
+                                                               StageTimer stageTimer,
+                                                               ResourceMeter resourceMeter) {
+        stageTimer.start(AuctionStage.stored_request_processing);
+        return resourceMeter.measure(
+                storedRequestProcessor.processVideoRequest(storedVideoId, podConfigIds, bidRequestVideo))
+                .map(bidRequestToErrors -> stageTimer.stop(AuctionStage.stored_request_processing,
+                        bidRequestToErrors))
                 .map(bidRequestToErrors -> fillImplicitParameters(routingContext, bidRequestToErrors))
-                .map(this::validateRequest);
+                .map(bidRequestToErrors -> validateRequest(bidRequestToErrors, stageTimer));
     }
 
-    private WithPodErrors<BidRequest> validateRequest(WithPodErrors<BidRequest> requestToPodErrors) {
-        final BidRequest bidRequest = auctionRequestFactory.validateRequest(requestToPodErrors.getData());
+    private WithPodErrors<BidRequest> validateRequest(WithPodErrors<BidRequest> requestToPodErrors,
+                                                      StageTimer stageTimer) {
+        final BidRequest bidRequest = auctionRequestFactory.validateRequest(requestToPodErrors.getData(),
+                stageTimer);
         return WithPodErrors.of(bidRequest, requestToPodErrors.getPodErrors());
     }
 
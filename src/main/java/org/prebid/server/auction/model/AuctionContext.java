@@ -4,7 +4,9 @@ import com.iab.openrtb.request.BidRequest;
 import io.vertx.ext.web.RoutingContext;
 import lombok.Builder;
 import lombok.Value;
+import org.prebid.server.capture.CapturedAuction;
 import org.prebid.server.cookie.UidsCookie;
+import org.prebid.server.execution.ResourceMeter;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.settings.model.Account;
@@ -24,4 +26,10 @@ public class AuctionContext {
     Account account;
 
     MetricName requestTypeMetric;
+
+    StageTimer stageTimer;
+
+    CapturedAuction capturedAuction;
+
+    ResourceMeter resourceMeter;
 }
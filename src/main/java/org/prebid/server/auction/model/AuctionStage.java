@@ -0,0 +1,14 @@
+package org.prebid.server.auction.model;
+
+/**
+ * Stages of auction processing measured by {@link StageTimer}.
+ */
+public enum AuctionStage {
+    request_parsing,
+    stored_request_processing,
+    request_validation,
+    privacy_enforcement,
+    bidder_requests,
+    bid_response_creation,
+    response_encoding
+}
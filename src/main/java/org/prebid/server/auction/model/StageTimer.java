@@ -0,0 +1,61 @@
+package org.prebid.server.auction.model;
+
+import java.util.function.ObjLongConsumer;
+
+/**
+ * Records monotonic timestamps at {@link AuctionStage} boundaries of a single auction.
+ * <p>
+ * Not thread-safe: stages of an auction are executed one after another on the same event loop.
+ */
+public class StageTimer {
+
+    private static final AuctionStage[] STAGES = AuctionStage.values();
+
+    private final long[] startNanos = new long[STAGES.length];
+    private final long[] durationNanos = new long[STAGES.length];
+    // bit masks indexed by stage ordinal
+    private int startedStages;
+    private int finishedStages;
+
+    /**
+     * Marks the beginning of given stage.
+     */
+    public void start(AuctionStage stage) {
+        final int index = stage.ordinal();
+        startNanos[index] = System.nanoTime();
+        startedStages |= 1 << index;
+    }
+
+    /**
+     * Marks the end of given stage. Does nothing if stage was not started.
+     */
+    public void stop(AuctionStage stage) {
+        final int index = stage.ordinal();
+        final int mask = 1 << index;
+        if ((startedStages & mask) != 0) {
+            durationNanos[index] = System.nanoTime() - startNanos[index];
+            startedStages &= ~mask;
+            finishedStages |= mask;
+        }
+    }
+
+    /**
+     * Marks the end of given stage and returns passed value, convenient for chaining futures.
+     */
+    public <T> T stop(AuctionStage stage, T value) {
+        stop(stage);
+        return value;
+    }
+
+    /**
+     * Passes each finished stage with its duration in nanoseconds to the given consumer.
+     */
+    public void forEachFinished(ObjLongConsumer<AuctionStage> consumer) {
+        for (AuctionStage stage : STAGES) {
+            final int index = stage.ordinal();
+            if ((finishedStages & (1 << index)) != 0) {
+                consumer.accept(stage, durationNanos[index]);
+            }
+        }
+    }
+}
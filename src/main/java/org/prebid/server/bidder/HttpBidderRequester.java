@@ -16,6 +16,8 @@ import org.prebid.server.bidder.model.HttpCall;
 import org.prebid.server.bidder.model.HttpRequest;
 import org.prebid.server.bidder.model.HttpResponse;
 import org.prebid.server.bidder.model.Result;
+import org.prebid.server.capture.CapturedAuction;
+import org.prebid.server.execution.ResourceMeter;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
 import org.prebid.server.vertx.http.HttpClient;
@@ -28,6 +30,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -47,6 +50,8 @@ public class HttpBidderRequester {
     private final HttpClient httpClient;
     private final BidderRequestCompletionTrackerFactory completionTrackerFactory;
 
+    private final AtomicInteger pendingRequests = new AtomicInteger();
+
     public HttpBidderRequester(HttpClient httpClient,
                                BidderRequestCompletionTrackerFactory completionTrackerFactory) {
 
@@ -56,9 +61,15 @@ public class HttpBidderRequester {
 
     /**
      * Executes given request to a given bidder.
+     * <p>
+     * If auction takes part in traffic capture, calls to the bidder are recorded or replayed
+     * by the given {@link CapturedAuction}, which is null otherwise.
+     * <p>
+     * Processing of bidder responses is accounted by the given {@link ResourceMeter}.
      */
-    public <T> Future<BidderSeatBid> requestBids(
-            Bidder<T> bidder, BidRequest bidRequest, Timeout timeout, boolean debugEnabled) {
+    public <T> Future<BidderSeatBid> requestBids(Bidder<T> bidder, BidRequest bidRequest, Timeout timeout,
+                                                 boolean debugEnabled, CapturedAuction capturedAuction,
+                                                 ResourceMeter resourceMeter) {
 
         final Result<List<HttpRequest<T>>> httpRequestsWithErrors = bidder.makeHttpRequests(bidRequest);
 
@@ -74,7 +85,7 @@ public class HttpBidderRequester {
         final ResultBuilder<T> resultBuilder = new ResultBuilder<>(httpRequests, bidderErrors, completionTracker);
 
         final List<Future<Void>> httpRequestFutures = httpRequests.stream()
-                .map(httpRequest -> doRequest(httpRequest, timeout))
+                .map(httpRequest -> doRequest(httpRequest, timeout, capturedAuction, resourceMeter))
                 .map(httpCallFuture -> httpCallFuture
                         .map(httpCall -> processHttpCall(bidder, bidRequest, resultBuilder, httpCall)))
                 .collect(Collectors.toList());
@@ -100,19 +111,46 @@ public class HttpBidderRequester {
                         : bidderErrors));
     }
 
+    /**
+     * Returns number of requests to bidders waiting for response at the moment.
+     */
+    public int pendingRequests() {
+        return pendingRequests.get();
+    }
+
     /**
      * Makes an HTTP request and returns {@link Future} that will be eventually completed with success or error result.
      */
-    private <T> Future<HttpCall<T>> doRequest(HttpRequest<T> httpRequest, Timeout timeout) {
+    private <T> Future<HttpCall<T>> doRequest(HttpRequest<T> httpRequest, Timeout timeout,
+                                              CapturedAuction capturedAuction, ResourceMeter resourceMeter) {
+
+        pendingRequests.incrementAndGet();
+
+        // expired timeout goes through capture as well, so the call is replayed as timed out
+        final Future<HttpClientResponse> responseFuture = capturedAuction != null
+                ? capturedAuction.bidderCall(httpRequest.getMethod(), httpRequest.getUri(), httpRequest.getBody(),
+                        () -> request(httpRequest, timeout))
+                : request(httpRequest, timeout);
+
+        return resourceMeter.measure(responseFuture)
+                .compose(response -> processResponse(response, httpRequest))
+                .recover(exception -> failResponse(exception, httpRequest))
+                .map(this::requestCompleted);
+    }
+
+    private <T> HttpCall<T> requestCompleted(HttpCall<T> httpCall) {
+        pendingRequests.decrementAndGet();
+        return httpCall;
+    }
+
+    private <T> Future<HttpClientResponse> request(HttpRequest<T> httpRequest, Timeout timeout) {
         final long remainingTimeout = timeout.remaining();
         if (remainingTimeout <= 0) {
-            return failResponse(new TimeoutException("Timeout has been exceeded"), httpRequest);
+            return Future.failedFuture(new TimeoutException("Timeout has been exceeded"));
         }
 
         return httpClient.request(httpRequest.getMethod(), httpRequest.getUri(), httpRequest.getHeaders(),
-                httpRequest.getBody(), remainingTimeout)
-                .compose(response -> processResponse(response, httpRequest))
-                .recover(exception -> failResponse(exception, httpRequest));
+                httpRequest.getBody(), remainingTimeout);
     }
 
     /**
@@ -0,0 +1,172 @@
+package org.prebid.server.capture;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.DoubleNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.capture.model.CaptureRecord;
+import org.prebid.server.capture.model.CapturedBidderCall;
+import org.prebid.server.capture.model.CapturedRequest;
+import org.prebid.server.capture.model.CapturedResponse;
+import org.prebid.server.json.JacksonMapper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Redacts user identifiers and consent strings in {@link CaptureRecord} before it is written to disk.
+ * <p>
+ * JSON bodies are redacted by field names wherever these fields occur, so the same rules apply to OpenRTB requests
+ * and to bidder-specific formats. All string values under sensitive field are replaced with
+ * {@link TrafficCaptureService#REDACTED} keeping the structure of the document, so captured request can still be
+ * replayed. Coordinates of {@code geo} objects are rounded to two decimal places (about a kilometer), so location
+ * is kept only as precise as needed to replay geo targeting. JSON embedded into string values, like bidder calls
+ * in debug response, is redacted the same way.
+ * In URIs values of query parameters with sensitive names are redacted. Bodies which are not JSON are kept as is.
+ */
+class CaptureRedactor {
+
+    private static final Set<String> SENSITIVE_FIELDS = new HashSet<>(Arrays.asList(
+            // device identifiers
+            "ip", "ipv6", "ifa", "didsha1", "didmd5", "dpidsha1", "dpidmd5", "macsha1", "macmd5",
+            // user identifiers
+            "buyeruid", "buyeruids", "eids", "digitrust",
+            // consent strings
+            "consent", "us_privacy", "gdpr_consent", "consent_string"));
+
+    private static final String USER_FIELD = "user";
+    private static final String USER_ID_FIELD = "id";
+
+    private static final String GEO_FIELD = "geo";
+    private static final Set<String> COORDINATE_FIELDS = new HashSet<>(Arrays.asList("lat", "lon"));
+    private static final double COORDINATE_PRECISION = 100;
+
+    private static final TextNode REDACTED_NODE = TextNode.valueOf(TrafficCaptureService.REDACTED);
+
+    private final JacksonMapper mapper;
+
+    CaptureRedactor(JacksonMapper mapper) {
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    CaptureRecord redact(CaptureRecord record) {
+        final CapturedRequest request = record.getRequest();
+        final CapturedResponse response = record.getResponse();
+        final List<CapturedBidderCall> bidderCalls = record.getBidderCalls();
+
+        return record.toBuilder()
+                .request(request != null
+                        ? CapturedRequest.of(request.getMethod(), redactUri(request.getUri()), request.getHeaders(),
+                        redactBody(request.getBody()))
+                        : null)
+                .response(response != null
+                        ? CapturedResponse.of(response.getStatus(), redactBody(response.getBody()))
+                        : null)
+                .bidderCalls(bidderCalls != null ? redactBidderCalls(bidderCalls) : null)
+                .build();
+    }
+
+    private List<CapturedBidderCall> redactBidderCalls(List<CapturedBidderCall> bidderCalls) {
+        final List<CapturedBidderCall> result = new ArrayList<>(bidderCalls.size());
+        for (CapturedBidderCall call : bidderCalls) {
+            result.add(call.toBuilder()
+                    .uri(redactUri(call.getUri()))
+                    .requestBody(redactBody(call.getRequestBody()))
+                    .responseBody(redactBody(call.getResponseBody()))
+                    .build());
+        }
+        return result;
+    }
+
+    /**
+     * Redacts values of query parameters with sensitive names, keeping the rest of URI as is.
+     */
+    static String redactUri(String uri) {
+        final int queryStart = uri != null ? uri.indexOf('?') : -1;
+        if (queryStart < 0) {
+            return uri;
+        }
+
+        final StringBuilder result = new StringBuilder(uri.length()).append(uri, 0, queryStart + 1);
+        final String[] params = uri.substring(queryStart + 1).split("&", -1);
+        for (int i = 0; i < params.length; i++) {
+            if (i > 0) {
+                result.append('&');
+            }
+            final String param = params[i];
+            final int valueStart = param.indexOf('=');
+            if (valueStart > 0 && isSensitive(param.substring(0, valueStart))) {
+                result.append(param, 0, valueStart + 1).append(TrafficCaptureService.REDACTED);
+            } else {
+                result.append(param);
+            }
+        }
+        return result.toString();
+    }
+
+    private String redactBody(String body) {
+        final JsonNode node = readJson(body);
+        return node != null ? mapper.encode(redactNode(null, node, false)) : body;
+    }
+
+    private JsonNode readJson(String value) {
+        final String trimmed = StringUtils.trimToEmpty(value);
+        if (!trimmed.startsWith("{") && !trimmed.startsWith("[")) {
+            return null;
+        }
+        try {
+            return mapper.mapper().readTree(trimmed);
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private JsonNode redactNode(String field, JsonNode node, boolean sensitive) {
+        if (node.isObject()) {
+            final ObjectNode object = (ObjectNode) node;
+            final List<String> names = new ArrayList<>();
+            object.fieldNames().forEachRemaining(names::add);
+            for (String name : names) {
+                if (GEO_FIELD.equals(field) && COORDINATE_FIELDS.contains(name)) {
+                    object.set(name, coarsenCoordinate(object.get(name)));
+                    continue;
+                }
+                final boolean sensitiveField = sensitive || isSensitive(name)
+                        || (USER_FIELD.equals(field) && USER_ID_FIELD.equals(name));
+                object.set(name, redactNode(name, object.get(name), sensitiveField));
+            }
+        } else if (node.isArray()) {
+            final ArrayNode array = (ArrayNode) node;
+            for (int i = 0; i < array.size(); i++) {
+                array.set(i, redactNode(field, array.get(i), sensitive));
+            }
+        } else if (node.isTextual()) {
+            if (sensitive) {
+                return REDACTED_NODE;
+            }
+            final JsonNode embedded = readJson(node.textValue());
+            if (embedded != null) {
+                return TextNode.valueOf(mapper.encode(redactNode(field, embedded, false)));
+            }
+        }
+        return node;
+    }
+
+    private static JsonNode coarsenCoordinate(JsonNode node) {
+        if (node.isNumber()) {
+            return DoubleNode.valueOf(Math.round(node.doubleValue() * COORDINATE_PRECISION) / COORDINATE_PRECISION);
+        }
+        return node.isNull() ? node : REDACTED_NODE;
+    }
+
+    private static boolean isSensitive(String name) {
+        return SENSITIVE_FIELDS.contains(name.toLowerCase());
+    }
+}
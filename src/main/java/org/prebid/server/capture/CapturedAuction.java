@@ -0,0 +1,146 @@
+package org.prebid.server.capture;
+
+import io.netty.channel.ConnectTimeoutException;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import org.prebid.server.capture.model.CaptureRecord;
+import org.prebid.server.capture.model.CapturedBidderCall;
+import org.prebid.server.capture.model.CapturedRequest;
+import org.prebid.server.capture.model.CapturedResponse;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.vertx.http.model.HttpClientResponse;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Single auction taking part in traffic capture.
+ * <p>
+ * When capturing, calls to bidders are executed and recorded along with their outcome. When replaying, calls
+ * to bidders are answered from the captured record instead: calls with the same method and URI are served
+ * in the order they were captured. Sensitive query parameters are redacted in captured URIs, so they are redacted
+ * in URIs of replayed calls the same way before matching.
+ * <p>
+ * Auction is processed on a single event loop, so no synchronization is needed.
+ */
+public class CapturedAuction {
+
+    private final String id;
+    private final String endpoint;
+    private final Long timestamp;
+    private final CapturedRequest request;
+    private final List<CapturedBidderCall> bidderCalls;
+    private final Map<String, Deque<CapturedBidderCall>> replayCalls;
+
+    private CapturedAuction(String id, String endpoint, Long timestamp, CapturedRequest request,
+                            Map<String, Deque<CapturedBidderCall>> replayCalls) {
+
+        this.id = Objects.requireNonNull(id);
+        this.endpoint = endpoint;
+        this.timestamp = timestamp;
+        this.request = request;
+        this.bidderCalls = new ArrayList<>();
+        this.replayCalls = replayCalls;
+    }
+
+    static CapturedAuction capturing(String id, String endpoint, long timestamp, CapturedRequest request) {
+        return new CapturedAuction(id, endpoint, timestamp, Objects.requireNonNull(request), null);
+    }
+
+    static CapturedAuction replaying(CaptureRecord record) {
+        final Map<String, Deque<CapturedBidderCall>> replayCalls = new HashMap<>();
+        if (record.getBidderCalls() != null) {
+            for (CapturedBidderCall call : record.getBidderCalls()) {
+                final String key = key(call.getMethod(), CaptureRedactor.redactUri(call.getUri()));
+                replayCalls.computeIfAbsent(key, ignored -> new ArrayDeque<>()).add(call);
+            }
+        }
+        return new CapturedAuction(record.getId(), record.getEndpoint(), record.getTimestamp(), record.getRequest(),
+                replayCalls);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public boolean isReplay() {
+        return replayCalls != null;
+    }
+
+    /**
+     * Executes the call to a bidder with the given method and URI and records its outcome, or answers it from
+     * the captured calls when replaying.
+     */
+    public Future<HttpClientResponse> bidderCall(HttpMethod method, String uri, String body,
+                                                 Supplier<Future<HttpClientResponse>> call) {
+        if (isReplay()) {
+            return replay(method, uri);
+        }
+
+        return call.get()
+                .map(response -> {
+                    bidderCalls.add(CapturedBidderCall.builder()
+                            .method(method.name())
+                            .uri(uri)
+                            .requestBody(body)
+                            .status(response.getStatusCode())
+                            .responseBody(response.getBody())
+                            .build());
+                    return response;
+                })
+                .recover(exception -> {
+                    bidderCalls.add(CapturedBidderCall.builder()
+                            .method(method.name())
+                            .uri(uri)
+                            .requestBody(body)
+                            .error(exception.getMessage())
+                            .timeout(isTimeout(exception))
+                            .build());
+                    return Future.failedFuture(exception);
+                });
+    }
+
+    private Future<HttpClientResponse> replay(HttpMethod method, String uri) {
+        final Deque<CapturedBidderCall> calls = replayCalls.get(key(method.name(), CaptureRedactor.redactUri(uri)));
+        final CapturedBidderCall call = calls != null ? calls.poll() : null;
+        if (call == null) {
+            return Future.failedFuture(new PreBidException(String.format(
+                    "No captured response for %s %s in capture %s", method, uri, id)));
+        }
+
+        if (call.getStatus() == null) {
+            return Future.failedFuture(Objects.equals(call.getTimeout(), Boolean.TRUE)
+                    ? new TimeoutException(call.getError())
+                    : new PreBidException(call.getError()));
+        }
+        return Future.succeededFuture(HttpClientResponse.of(call.getStatus(), MultiMap.caseInsensitiveMultiMap(),
+                call.getResponseBody()));
+    }
+
+    CaptureRecord toRecord(int status, String body) {
+        return CaptureRecord.builder()
+                .id(id)
+                .timestamp(timestamp)
+                .endpoint(endpoint)
+                .request(request)
+                .response(CapturedResponse.of(status, body))
+                .bidderCalls(new ArrayList<>(bidderCalls))
+                .build();
+    }
+
+    private static boolean isTimeout(Throwable exception) {
+        return exception instanceof TimeoutException || exception instanceof ConnectTimeoutException;
+    }
+
+    private static String key(String method, String uri) {
+        return method + ' ' + uri;
+    }
+}
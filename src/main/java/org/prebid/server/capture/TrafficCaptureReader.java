@@ -0,0 +1,102 @@
+package org.prebid.server.capture;
+
+import org.prebid.server.capture.model.CaptureRecord;
+import org.prebid.server.json.JacksonMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads {@link CaptureRecord}s written by {@link TrafficCaptureWriter}.
+ */
+public class TrafficCaptureReader {
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private TrafficCaptureReader() {
+    }
+
+    /**
+     * Returns records from all capture files in the directory, oldest first.
+     * <p>
+     * File which is still being written or was not closed properly ends with a truncated gzip stream, records
+     * flushed before the truncation are returned.
+     */
+    public static List<CaptureRecord> read(Path directory, JacksonMapper mapper) throws IOException {
+        final List<CaptureRecord> records = new ArrayList<>();
+        for (Path file : captureFiles(directory)) {
+            try (InputStream input = new GZIPInputStream(Files.newInputStream(file))) {
+                readLines(input, line -> records.add(mapper.mapper().readValue(line, CaptureRecord.class)));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Passes every complete line to the consumer, incomplete line at the end of truncated stream is skipped.
+     * <p>
+     * Lines are split manually, since readers buffering ahead lose already decompressed data when truncated
+     * stream fails.
+     */
+    private static void readLines(InputStream input, LineConsumer consumer) throws IOException {
+        final ByteArrayOutputStream line = new ByteArrayOutputStream();
+        final byte[] buffer = new byte[BUFFER_SIZE];
+        int read;
+        while ((read = readTolerant(input, buffer)) > 0) {
+            int lineStart = 0;
+            for (int i = 0; i < read; i++) {
+                if (buffer[i] == '\n') {
+                    line.write(buffer, lineStart, i - lineStart);
+                    if (line.size() > 0) {
+                        consumer.accept(line.toByteArray());
+                    }
+                    line.reset();
+                    lineStart = i + 1;
+                }
+            }
+            line.write(buffer, lineStart, read - lineStart);
+        }
+    }
+
+    private static int readTolerant(InputStream input, byte[] buffer) throws IOException {
+        try {
+            return input.read(buffer);
+        } catch (EOFException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * Returns capture files in the directory sorted from the oldest to the newest.
+     */
+    static List<Path> captureFiles(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(file -> {
+                        final String name = file.getFileName().toString();
+                        return name.startsWith(TrafficCaptureWriter.FILE_PREFIX)
+                                && name.endsWith(TrafficCaptureWriter.FILE_SUFFIX);
+                    })
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    @FunctionalInterface
+    private interface LineConsumer {
+
+        void accept(byte[] line) throws IOException;
+    }
+}
@@ -0,0 +1,113 @@
+package org.prebid.server.capture;
+
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import org.prebid.server.capture.model.CaptureRecord;
+import org.prebid.server.capture.model.CapturedRequest;
+import org.prebid.server.util.HttpUtil;
+
+import java.time.Clock;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Samples incoming auction requests for traffic capture, or serves captured bidder responses when replaying.
+ * <p>
+ * When capturing, sampled requests are recorded with their headers, body, response and all the calls to bidders,
+ * and written by {@link TrafficCaptureWriter}. Values of headers not explicitly allowed are redacted, as well as
+ * cookies which are never allowed. User identifiers and consent strings are redacted by the writer.
+ * <p>
+ * When replaying, request carrying {@link #CAPTURE_ID_HEADER} header is matched to the captured record with
+ * the same id and its calls to bidders are answered from that record, so auction is run without network.
+ */
+public class TrafficCaptureService {
+
+    public static final String CAPTURE_ID_HEADER = "X-Prebid-Capture-Id";
+    public static final String REDACTED = "REDACTED";
+
+    private final double samplingRate;
+    private final Set<String> allowedHeaders;
+    private final TrafficCaptureWriter writer;
+    private final Map<String, CaptureRecord> replayRecords;
+    private final Clock clock;
+
+    private TrafficCaptureService(double samplingRate, Collection<String> allowedHeaders, TrafficCaptureWriter writer,
+                                  Map<String, CaptureRecord> replayRecords, Clock clock) {
+
+        this.samplingRate = samplingRate;
+        this.allowedHeaders = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        this.allowedHeaders.addAll(allowedHeaders);
+        this.allowedHeaders.remove(HttpUtil.COOKIE_HEADER.toString());
+        this.writer = writer;
+        this.replayRecords = replayRecords;
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    public static TrafficCaptureService disabled(Clock clock) {
+        return new TrafficCaptureService(0, Collections.emptyList(), null, null, clock);
+    }
+
+    public static TrafficCaptureService capturing(double samplingRate, Collection<String> allowedHeaders,
+                                                  TrafficCaptureWriter writer, Clock clock) {
+        if (samplingRate < 0 || samplingRate > 1) {
+            throw new IllegalArgumentException("Traffic capture sampling rate must be between 0 and 1");
+        }
+        return new TrafficCaptureService(samplingRate, Objects.requireNonNull(allowedHeaders),
+                Objects.requireNonNull(writer), null, clock);
+    }
+
+    public static TrafficCaptureService replaying(List<CaptureRecord> records, Clock clock) {
+        final Map<String, CaptureRecord> idToRecord = records.stream()
+                .collect(Collectors.toMap(CaptureRecord::getId, Function.identity(), (first, second) -> second));
+        return new TrafficCaptureService(0, Collections.emptyList(), null, idToRecord, clock);
+    }
+
+    /**
+     * Returns {@link CapturedAuction} if request should be captured or replayed, or null otherwise.
+     */
+    public CapturedAuction start(RoutingContext routingContext, String endpoint) {
+        if (replayRecords != null) {
+            final String id = routingContext.request().headers().get(CAPTURE_ID_HEADER);
+            final CaptureRecord record = id != null ? replayRecords.get(id) : null;
+            return record != null ? CapturedAuction.replaying(record) : null;
+        }
+
+        if (writer == null || samplingRate <= 0 || ThreadLocalRandom.current().nextDouble() >= samplingRate) {
+            return null;
+        }
+        return CapturedAuction.capturing(UUID.randomUUID().toString(), endpoint, clock.millis(),
+                capturedRequest(routingContext));
+    }
+
+    /**
+     * Completes capture of the auction with response sent to the client.
+     */
+    public void finish(CapturedAuction capturedAuction, int status, String body) {
+        if (capturedAuction != null && !capturedAuction.isReplay() && writer != null) {
+            writer.write(capturedAuction.toRecord(status, body));
+        }
+    }
+
+    private CapturedRequest capturedRequest(RoutingContext routingContext) {
+        final HttpServerRequest request = routingContext.request();
+
+        final Map<String, String> headers = new LinkedHashMap<>();
+        for (String name : request.headers().names()) {
+            headers.put(name, allowedHeaders.contains(name)
+                    ? String.join(", ", request.headers().getAll(name))
+                    : REDACTED);
+        }
+
+        return CapturedRequest.of(request.method().name(), request.uri(), headers, routingContext.getBodyAsString());
+    }
+}
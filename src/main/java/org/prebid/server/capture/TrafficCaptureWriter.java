@@ -0,0 +1,226 @@
+package org.prebid.server.capture;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.prebid.server.capture.model.CaptureRecord;
+import org.prebid.server.json.JacksonMapper;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes {@link CaptureRecord}s to gzip compressed files with one JSON record per line.
+ * <p>
+ * Records are queued and written by a dedicated thread, so event loops are never blocked by disk. If the queue is
+ * full the record is dropped. File is rotated once it exceeds maximum size, and the oldest files are deleted to keep
+ * the configured number of files. Compressed stream is flushed after every batch of records, so files can be read
+ * while they are still being written. User identifiers and consent strings are redacted by {@link CaptureRedactor}
+ * on the writing thread before the record reaches the file. Record which fails to be redacted or serialized is
+ * skipped, so that neither the batch nor the writing thread is lost.
+ */
+public class TrafficCaptureWriter implements Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficCaptureWriter.class);
+
+    static final String FILE_PREFIX = "capture-";
+    static final String FILE_SUFFIX = ".jsonl.gz";
+
+    private static final String THREAD_NAME = "traffic-capture-writer";
+    private static final byte[] NEW_LINE = "\n".getBytes(StandardCharsets.UTF_8);
+
+    private final Path directory;
+    private final long maxFileSizeBytes;
+    private final int maxFiles;
+    private final Clock clock;
+    private final JacksonMapper mapper;
+    private final CaptureRedactor redactor;
+
+    private final BlockingQueue<CaptureRecord> queue;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    private long fileIndex;
+    private CountingOutputStream fileStream;
+    private GZIPOutputStream gzipStream;
+
+    public TrafficCaptureWriter(Path directory, long maxFileSizeBytes, int maxFiles, int queueCapacity, Clock clock,
+                                JacksonMapper mapper) {
+
+        this(directory, maxFileSizeBytes, maxFiles, queueCapacity, clock, mapper, new CaptureRedactor(mapper));
+    }
+
+    TrafficCaptureWriter(Path directory, long maxFileSizeBytes, int maxFiles, int queueCapacity, Clock clock,
+                         JacksonMapper mapper, CaptureRedactor redactor) {
+
+        this.directory = Objects.requireNonNull(directory);
+        this.maxFileSizeBytes = maxFileSizeBytes;
+        this.maxFiles = maxFiles;
+        this.clock = Objects.requireNonNull(clock);
+        this.mapper = Objects.requireNonNull(mapper);
+        this.redactor = Objects.requireNonNull(redactor);
+
+        if (maxFileSizeBytes <= 0 || maxFiles <= 0 || queueCapacity <= 0) {
+            throw new IllegalArgumentException(
+                    "Traffic capture max file size, max files and queue capacity must be positive");
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        thread = new Thread(this::run, THREAD_NAME);
+        thread.setDaemon(true);
+    }
+
+    public void start() {
+        thread.start();
+    }
+
+    /**
+     * Queues the record for writing, returns false if it was dropped.
+     */
+    public boolean write(CaptureRecord record) {
+        if (closed || !queue.offer(record)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public long dropped() {
+        return dropped.get();
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        final List<CaptureRecord> batch = new ArrayList<>();
+        while (!closed) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException e) {
+                break;
+            }
+            queue.drainTo(batch);
+            writeBatch(batch);
+            batch.clear();
+        }
+
+        queue.drainTo(batch);
+        writeBatch(batch);
+        closeFile();
+    }
+
+    void writeBatch(List<CaptureRecord> records) {
+        if (records.isEmpty()) {
+            return;
+        }
+        try {
+            for (CaptureRecord record : records) {
+                final byte[] line = toLine(record);
+                if (line != null) {
+                    writeLine(line);
+                }
+            }
+            gzipStream.flush();
+        } catch (IOException e) {
+            logger.warn("Failed to write traffic capture to {0}", e, directory);
+            closeFile();
+        }
+    }
+
+    private byte[] toLine(CaptureRecord record) {
+        try {
+            return mapper.mapper().writeValueAsBytes(redactor.redact(record));
+        } catch (JsonProcessingException | RuntimeException e) {
+            logger.warn("Failed to serialize traffic capture record {0}, skipping it", e, record.getId());
+            return null;
+        }
+    }
+
+    private void writeLine(byte[] line) throws IOException {
+        if (gzipStream == null || fileStream.count >= maxFileSizeBytes) {
+            rotate();
+        }
+        gzipStream.write(line);
+        gzipStream.write(NEW_LINE);
+    }
+
+    private void rotate() throws IOException {
+        closeFile();
+
+        Files.createDirectories(directory);
+
+        // index keeps names unique and ordered when files are rotated within the same millisecond
+        final String fileName = String.format("%s%d-%06d%s", FILE_PREFIX, clock.millis(), fileIndex++, FILE_SUFFIX);
+        fileStream = new CountingOutputStream(Files.newOutputStream(directory.resolve(fileName)));
+        gzipStream = new GZIPOutputStream(fileStream, true);
+
+        deleteOldFiles();
+    }
+
+    private void closeFile() {
+        if (gzipStream != null) {
+            try {
+                gzipStream.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close traffic capture file in {0}", e, directory);
+            }
+            gzipStream = null;
+            fileStream = null;
+        }
+    }
+
+    private void deleteOldFiles() throws IOException {
+        final List<Path> files = TrafficCaptureReader.captureFiles(directory);
+        for (int i = 0; i < files.size() - maxFiles; i++) {
+            Files.deleteIfExists(files.get(i));
+        }
+    }
+
+    /**
+     * Counts bytes written to the file, i.e. after compression.
+     */
+    private static class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
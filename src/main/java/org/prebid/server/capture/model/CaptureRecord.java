@@ -0,0 +1,26 @@
+package org.prebid.server.capture.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Captured incoming request together with the response and all the calls to bidders made while processing it.
+ */
+@Builder(toBuilder = true)
+@Value
+public class CaptureRecord {
+
+    String id;
+
+    Long timestamp;
+
+    String endpoint;
+
+    CapturedRequest request;
+
+    CapturedResponse response;
+
+    List<CapturedBidderCall> bidderCalls;
+}
@@ -0,0 +1,26 @@
+package org.prebid.server.capture.model;
+
+import lombok.Builder;
+import lombok.Value;
+
+/**
+ * HTTP call to a bidder: either response status and body or error if no response was received.
+ */
+@Builder(toBuilder = true)
+@Value
+public class CapturedBidderCall {
+
+    String method;
+
+    String uri;
+
+    String requestBody;
+
+    Integer status;
+
+    String responseBody;
+
+    String error;
+
+    Boolean timeout;
+}
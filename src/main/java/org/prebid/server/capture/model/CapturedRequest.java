@@ -0,0 +1,25 @@
+package org.prebid.server.capture.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Map;
+
+/**
+ * Incoming HTTP request, headers not allowed to be captured have redacted values.
+ */
+@AllArgsConstructor(staticName = "of")
+@Value
+public class CapturedRequest {
+
+    String method;
+
+    /**
+     * Path with query string.
+     */
+    String uri;
+
+    Map<String, String> headers;
+
+    String body;
+}
@@ -0,0 +1,13 @@
+package org.prebid.server.capture.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+@AllArgsConstructor(staticName = "of")
+@Value
+public class CapturedResponse {
+
+    int status;
+
+    String body;
+}
@@ -0,0 +1,459 @@
+package org.prebid.server.cookie;
+
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.cookie.model.UidWithExpiry;
+import org.prebid.server.cookie.proto.Uids;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact binary form of {@link Uids} for 'uids' cookie, an alternative to JSON.
+ * <p>
+ * Cookie family is written as its ID from {@link #FAMILY_IDS} table, families missing from it are written by name.
+ * The table is append-only, so the same ID means the same family for all instances regardless of bidders they have,
+ * and adding or removing a bidder doesn't invalidate cookies. Family with ID not known to this instance (appended to
+ * the table by a newer version) is skipped, the rest of the cookie is still read. Expiration is written as varint
+ * number of seconds relative to the time cookie was written.
+ * <p>
+ * Layout (version 2): version byte, flags byte (optout, birthday), optional zigzag varint birthday in epoch seconds,
+ * zigzag varint write time in epoch seconds, varint number of UIDs and UIDs themselves, each as varint family ID
+ * plus one (or zero followed by length-prefixed family name), varint expiration code (zero if there is
+ * no expiration, zigzag seconds since write time plus one otherwise) and length-prefixed UID.
+ * <p>
+ * Empty and Facebook sentinel UIDs are not written, as they are dropped on parsing anyway.
+ * <p>
+ * Decoded {@link Uids} holds lazy map: the whole cookie is checked up front, but UID and expiration are decoded
+ * only for requested families.
+ */
+public class CompactUidsCodec {
+
+    private static final byte VERSION = 2;
+
+    /**
+     * IDs of cookie families, ID is the position of the family in this list. Append-only: never remove or reorder
+     * entries, even if bidder is removed, otherwise cookies written by other instances will be read wrong.
+     */
+    private static final List<String> FAMILY_IDS = Collections.unmodifiableList(Arrays.asList(
+            "33across", "adform", "adkernel", "adkernelAdn", "adnxs", "adpone", "adtelligent", "advangelists",
+            "applogy", "audienceNetwork", "beachfront", "brightroll", "consumable", "conversant", "cpmstar",
+            "datablocks", "emx_digital", "engagebdr", "eplanning", "gamma", "gamoshi", "grid", "gumgum",
+            "improvedigital", "ix", "kubient", "lifestreet", "lockerdome", "marsmedia", "mgid", "openx", "pubmatic",
+            "pubnative", "pulsepoint", "rhythmone", "rtbhouse", "rubicon", "sharethrough", "smartrtb", "somoaudience",
+            "sonobi", "sovrn", "synacormedia", "tappx", "triplelift", "triplelift_native", "unruly", "verizonmedia",
+            "visx", "vrtcal", "yieldmo"));
+
+    private static final int OPTOUT_PRESENT = 1;
+    private static final int OPTOUT = 2;
+    private static final int BDAY_PRESENT = 4;
+
+    private static final Comparator<EncodedUid> CLOSEST_EXPIRATION_FIRST = Comparator.comparing(
+            encodedUid -> encodedUid.expires, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final List<String> familyNames;
+    private final Map<String, Integer> familyNameToId;
+
+    public CompactUidsCodec() {
+        this(FAMILY_IDS);
+    }
+
+    CompactUidsCodec(List<String> familyNames) {
+        this.familyNames = Objects.requireNonNull(familyNames);
+        this.familyNameToId = new HashMap<>();
+        for (int id = 0; id < familyNames.size(); id++) {
+            if (familyNameToId.put(familyNames.get(id), id) != null) {
+                throw new IllegalArgumentException("Duplicate cookie family in IDs table: " + familyNames.get(id));
+            }
+        }
+    }
+
+    /**
+     * Tells if given cookie bytes are in compact form. JSON always starts with other byte.
+     */
+    public boolean isCompact(byte[] bytes) {
+        return bytes.length > 0 && bytes[0] == VERSION;
+    }
+
+    /**
+     * Decodes {@link Uids} from compact form. Throws {@link IllegalArgumentException} if bytes are malformed.
+     */
+    public Uids decode(byte[] bytes) {
+        if (!isCompact(bytes)) {
+            throw new IllegalArgumentException("Unsupported compact uids cookie version");
+        }
+
+        final Reader reader = new Reader(bytes, 1);
+        final int flags = reader.readByte();
+        final Boolean optout = (flags & OPTOUT_PRESENT) != 0 ? (flags & OPTOUT) != 0 : null;
+        final ZonedDateTime bday = (flags & BDAY_PRESENT) != 0 ? toDateTime(reader.readZigZag()) : null;
+        final long writtenAt = reader.readZigZag();
+        final int count = reader.readLength();
+
+        final int uidsOffset = reader.position;
+        int knownCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (isKnownFamily(reader.skipUid())) {
+                knownCount++;
+            }
+        }
+        if (reader.position != bytes.length) {
+            throw new IllegalArgumentException("Unexpected trailing bytes in compact uids cookie");
+        }
+
+        return Uids.builder()
+                .uids(new LazyUids(bytes, uidsOffset, count, knownCount, writtenAt))
+                .optout(optout)
+                .bday(bday)
+                .build();
+    }
+
+    /**
+     * Encodes {@link Uids} in compact form. If size limit is given, UIDs with the closest expiration are left out
+     * until the rest fits. Size of each UID is computed once, so the cookie is written only once.
+     */
+    public byte[] encode(Uids uids, int maxSizeBytes) {
+        final long writtenAt = Instant.now(Clock.systemUTC()).getEpochSecond();
+        final Boolean optout = uids.getOptout();
+        final ZonedDateTime bday = uids.getBday();
+
+        final List<EncodedUid> encodedUids = new ArrayList<>();
+        int uidsSize = 0;
+        for (Map.Entry<String, UidWithExpiry> entry : uids.getUids().entrySet()) {
+            final UidWithExpiry uid = entry.getValue();
+            if (entry.getKey() != null && uid != null && StringUtils.isNotEmpty(uid.getUid())
+                    && !UidsCookie.isFacebookSentinel(entry.getKey(), uid.getUid())) {
+                final EncodedUid encodedUid = new EncodedUid(entry.getKey(), uid, writtenAt);
+                encodedUids.add(encodedUid);
+                uidsSize += encodedUid.size;
+            }
+        }
+
+        final int headerSize = 1 + 1
+                + (bday != null ? varintSize(zigZag(bday.toEpochSecond())) : 0)
+                + varintSize(zigZag(writtenAt));
+
+        int count = encodedUids.size();
+        if (maxSizeBytes > 0 && headerSize + varintSize(count) + uidsSize > maxSizeBytes) {
+            encodedUids.sort(CLOSEST_EXPIRATION_FIRST);
+            int dropped = 0;
+            while (count > 0 && headerSize + varintSize(count) + uidsSize > maxSizeBytes) {
+                uidsSize -= encodedUids.get(dropped++).size;
+                count--;
+            }
+            encodedUids.subList(0, dropped).clear();
+        }
+
+        final Writer writer = new Writer(new byte[headerSize + varintSize(count) + uidsSize]);
+        writer.writeByte(VERSION);
+        writer.writeByte((optout != null ? OPTOUT_PRESENT : 0)
+                | (Boolean.TRUE.equals(optout) ? OPTOUT : 0)
+                | (bday != null ? BDAY_PRESENT : 0));
+        if (bday != null) {
+            writer.writeVarint(zigZag(bday.toEpochSecond()));
+        }
+        writer.writeVarint(zigZag(writtenAt));
+        writer.writeVarint(count);
+        for (EncodedUid encodedUid : encodedUids) {
+            encodedUid.writeTo(writer);
+        }
+        return writer.bytes;
+    }
+
+    /**
+     * Tells if family reference read from cookie is either name or ID known to this instance.
+     */
+    private boolean isKnownFamily(int familyRef) {
+        return familyRef <= familyNames.size();
+    }
+
+    private static ZonedDateTime toDateTime(long epochSecond) {
+        return ZonedDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+    }
+
+    private static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    private static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    private static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    /**
+     * UID with its parts already converted to bytes, so its size is known before the cookie is written.
+     */
+    private class EncodedUid {
+
+        private final ZonedDateTime expires;
+        private final int familyRef;
+        private final byte[] familyName;
+        private final long expiresCode;
+        private final byte[] uid;
+        private final int size;
+
+        EncodedUid(String familyName, UidWithExpiry uid, long writtenAt) {
+            final Integer familyId = familyNameToId.get(familyName);
+            this.familyRef = familyId != null ? familyId + 1 : 0;
+            this.familyName = familyId != null ? null : familyName.getBytes(StandardCharsets.UTF_8);
+            this.expires = uid.getExpires();
+            this.expiresCode = expires != null ? zigZag(expires.toEpochSecond() - writtenAt) + 1 : 0;
+            this.uid = uid.getUid().getBytes(StandardCharsets.UTF_8);
+
+            this.size = varintSize(familyRef)
+                    + (this.familyName != null ? varintSize(this.familyName.length) + this.familyName.length : 0)
+                    + varintSize(expiresCode)
+                    + varintSize(this.uid.length) + this.uid.length;
+        }
+
+        void writeTo(Writer writer) {
+            writer.writeVarint(familyRef);
+            if (familyName != null) {
+                writer.writeBytes(familyName);
+            }
+            writer.writeVarint(expiresCode);
+            writer.writeBytes(uid);
+        }
+    }
+
+    /**
+     * Map of family name to UID reading compact cookie on demand. Lookup by family walks over UIDs skipping
+     * all but the matching one; iteration decodes all of them once.
+     */
+    final class LazyUids extends AbstractMap<String, UidWithExpiry> {
+
+        private final byte[] bytes;
+        private final int offset;
+        private final int count;
+        private final int knownCount;
+        private final long writtenAt;
+
+        private Map<String, UidWithExpiry> decoded;
+
+        LazyUids(byte[] bytes, int offset, int count, int knownCount, long writtenAt) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.count = count;
+            this.knownCount = knownCount;
+            this.writtenAt = writtenAt;
+        }
+
+        @Override
+        public UidWithExpiry get(Object key) {
+            if (decoded != null) {
+                return decoded.get(key);
+            }
+            if (!(key instanceof String)) {
+                return null;
+            }
+
+            final Integer familyId = familyNameToId.get(key);
+            final Reader reader = new Reader(bytes, offset);
+            for (int i = 0; i < count; i++) {
+                final int familyRef = reader.readFamilyRef();
+                final boolean matches = familyRef == 0
+                        ? key.equals(reader.readString())
+                        : familyId != null && familyRef == familyId + 1;
+                if (matches) {
+                    return reader.readUid(writtenAt);
+                }
+                reader.skipExpiresAndUid();
+            }
+            return null;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public int size() {
+            return knownCount;
+        }
+
+        @Override
+        public Set<Entry<String, UidWithExpiry>> entrySet() {
+            if (decoded == null) {
+                final Map<String, UidWithExpiry> uids = new LinkedHashMap<>();
+                final Reader reader = new Reader(bytes, offset);
+                for (int i = 0; i < count; i++) {
+                    final int familyRef = reader.readFamilyRef();
+                    if (!isKnownFamily(familyRef)) {
+                        reader.skipExpiresAndUid();
+                        continue;
+                    }
+                    final String familyName = familyRef == 0 ? reader.readString() : familyNames.get(familyRef - 1);
+                    uids.put(familyName, reader.readUid(writtenAt));
+                }
+                decoded = Collections.unmodifiableMap(uids);
+            }
+            return decoded.entrySet();
+        }
+
+        /**
+         * Tells if any UID expires after given time, without decoding UIDs.
+         */
+        boolean hasUidsExpiringAfter(ZonedDateTime time) {
+            final long timeSeconds = time.toEpochSecond();
+            final Reader reader = new Reader(bytes, offset);
+            for (int i = 0; i < count; i++) {
+                final int familyRef = reader.readFamilyRef();
+                if (familyRef == 0) {
+                    reader.skipBytes();
+                }
+                final long expiresCode = reader.readVarint();
+                if (isKnownFamily(familyRef) && expiresCode != 0
+                        && writtenAt + unZigZag(expiresCode - 1) > timeSeconds) {
+                    return true;
+                }
+                reader.skipBytes();
+            }
+            return false;
+        }
+    }
+
+    private static class Reader {
+
+        private final byte[] bytes;
+        private int position;
+
+        Reader(byte[] bytes, int position) {
+            this.bytes = bytes;
+            this.position = position;
+        }
+
+        int readByte() {
+            if (position >= bytes.length) {
+                throw new IllegalArgumentException("Compact uids cookie is truncated");
+            }
+            return bytes[position++] & 0xFF;
+        }
+
+        long readVarint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                final int current = readByte();
+                value |= (long) (current & 0x7F) << shift;
+                if ((current & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in compact uids cookie");
+        }
+
+        long readZigZag() {
+            return unZigZag(readVarint());
+        }
+
+        int readLength() {
+            final long length = readVarint();
+            if (length > bytes.length) {
+                throw new IllegalArgumentException("Malformed length in compact uids cookie");
+            }
+            return (int) length;
+        }
+
+        int readFamilyRef() {
+            final long familyRef = readVarint();
+            if (familyRef > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Malformed cookie family in compact uids cookie");
+            }
+            return (int) familyRef;
+        }
+
+        String readString() {
+            final int length = readLength();
+            checkAvailable(length);
+            final String value = new String(bytes, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        void skipBytes() {
+            final int length = readLength();
+            checkAvailable(length);
+            position += length;
+        }
+
+        UidWithExpiry readUid(long writtenAt) {
+            final long expiresCode = readVarint();
+            final ZonedDateTime expires = expiresCode != 0
+                    ? toDateTime(writtenAt + unZigZag(expiresCode - 1))
+                    : null;
+            return new UidWithExpiry(readString(), expires);
+        }
+
+        void skipExpiresAndUid() {
+            readVarint();
+            skipBytes();
+        }
+
+        /**
+         * Skips UID and returns its family reference.
+         */
+        int skipUid() {
+            final int familyRef = readFamilyRef();
+            if (familyRef == 0) {
+                skipBytes();
+            }
+            skipExpiresAndUid();
+            return familyRef;
+        }
+
+        private void checkAvailable(int length) {
+            if (length > bytes.length - position) {
+                throw new IllegalArgumentException("Compact uids cookie is truncated");
+            }
+        }
+    }
+
+    private static class Writer {
+
+        private final byte[] bytes;
+        private int position;
+
+        Writer(byte[] bytes) {
+            this.bytes = bytes;
+        }
+
+        void writeByte(int value) {
+            bytes[position++] = (byte) value;
+        }
+
+        void writeVarint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                writeByte((int) (value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            writeByte((int) value);
+        }
+
+        void writeBytes(byte[] value) {
+            writeVarint(value.length);
+            System.arraycopy(value, 0, bytes, position, value.length);
+            position += value.length;
+        }
+    }
+}
@@ -55,7 +55,11 @@ public class UidsCookie {
      * Returns true if any UID value is 'live'.
      */
     public boolean hasLiveUids() {
-        return uids.getUids().values().stream().anyMatch(UidsCookie::isLive);
+        final Map<String, UidWithExpiry> uidsMap = uids.getUids();
+        if (uidsMap instanceof CompactUidsCodec.LazyUids) {
+            return ((CompactUidsCodec.LazyUids) uidsMap).hasUidsExpiringAfter(ZonedDateTime.now());
+        }
+        return uidsMap.values().stream().anyMatch(UidsCookie::isLive);
     }
 
     /**
@@ -39,6 +39,8 @@ public class UidsCookieService {
     private final String hostCookieDomain;
     private final long ttlSeconds;
     private final int maxCookieSizeBytes;
+    private final CompactUidsCodec compactUidsCodec;
+    private final boolean compactCookieEnabled;
     private final JacksonMapper mapper;
 
     public UidsCookieService(String optOutCookieName,
@@ -48,6 +50,8 @@ public class UidsCookieService {
                              String hostCookieDomain,
                              int ttlDays,
                              int maxCookieSizeBytes,
+                             CompactUidsCodec compactUidsCodec,
+                             boolean compactCookieEnabled,
                              JacksonMapper mapper) {
 
         if (maxCookieSizeBytes != 0 && maxCookieSizeBytes < MIN_COOKIE_SIZE_BYTES) {
@@ -62,16 +66,19 @@ public class UidsCookieService {
         this.hostCookieDomain = hostCookieDomain;
         this.ttlSeconds = Duration.ofDays(ttlDays).getSeconds();
         this.maxCookieSizeBytes = maxCookieSizeBytes;
+        this.compactUidsCodec = Objects.requireNonNull(compactUidsCodec);
+        this.compactCookieEnabled = compactCookieEnabled;
         this.mapper = Objects.requireNonNull(mapper);
     }
 
     /**
      * Retrieves UIDs cookie (base64 encoded) value from http request and transforms it into {@link UidsCookie}.
      * <p>
-     * Uids cookie value from http request may be represented in accordance with one of two formats:
+     * Uids cookie value from http request may be represented in accordance with one of three formats:
      * <ul>
      * <li>Legacy cookies - had UIDs without expiration dates</li>
      * <li>Current cookies - always include UIDs with expiration dates</li>
+     * <li>Compact cookies - binary form of current cookies, see {@link CompactUidsCodec}</li>
      * </ul>
      * If request contains 'legacy' UIDs cookie format then it will be interpreted as already expired and forced
      * to re-sync
@@ -110,13 +117,16 @@ public class UidsCookieService {
     }
 
     /**
-     * Parses cookies {@link Map} and composes {@link Uids} model.
+     * Parses cookies {@link Map} and composes {@link Uids} model from either JSON or compact cookie.
      */
     public Uids parseUids(Map<String, String> cookies) {
         if (cookies.containsKey(COOKIE_NAME)) {
             final String cookieValue = cookies.get(COOKIE_NAME);
             try {
-                return mapper.decodeValue(Buffer.buffer(Base64.getUrlDecoder().decode(cookieValue)), Uids.class);
+                final byte[] cookieBytes = Base64.getUrlDecoder().decode(cookieValue);
+                return compactUidsCodec.isCompact(cookieBytes)
+                        ? compactUidsCodec.decode(cookieBytes)
+                        : mapper.decodeValue(Buffer.buffer(cookieBytes), Uids.class);
             } catch (IllegalArgumentException | DecodeException e) {
                 logger.debug("Could not decode or parse {0} cookie value {1}", e, COOKIE_NAME, cookieValue);
             }
@@ -125,21 +135,13 @@ public class UidsCookieService {
     }
 
     /**
-     * Creates a {@link Cookie} with 'uids' as a name and encoded JSON string representing supplied {@link UidsCookie}
-     * as a value.
+     * Creates a {@link Cookie} with 'uids' as a name and encoded JSON string or compact form (if enabled)
+     * representing supplied {@link UidsCookie} as a value. Cookie read in JSON is migrated to compact form this way.
      */
     public Cookie toCookie(UidsCookie uidsCookie) {
-        UidsCookie modifiedUids = uidsCookie;
-        byte[] cookieBytes = uidsCookie.toJson().getBytes();
-
-        while (maxCookieSizeBytes > 0 && cookieBytes.length > maxCookieSizeBytes) {
-            final String familyName = modifiedUids.getCookieUids().getUids().entrySet().stream()
-                    .reduce(UidsCookieService::getClosestExpiration)
-                    .map(Map.Entry::getKey)
-                    .orElse(null);
-            modifiedUids = modifiedUids.deleteUid(familyName);
-            cookieBytes = modifiedUids.toJson().getBytes();
-        }
+        final byte[] cookieBytes = compactCookieEnabled
+                ? compactUidsCodec.encode(uidsCookie.getCookieUids(), maxCookieSizeBytes)
+                : toJsonBytes(uidsCookie);
 
         final Cookie cookie = Cookie
                 .cookie(COOKIE_NAME, Base64.getUrlEncoder().encodeToString(cookieBytes))
@@ -153,6 +155,21 @@ public class UidsCookieService {
         return cookie;
     }
 
+    private byte[] toJsonBytes(UidsCookie uidsCookie) {
+        UidsCookie modifiedUids = uidsCookie;
+        byte[] cookieBytes = uidsCookie.toJson().getBytes();
+
+        while (maxCookieSizeBytes > 0 && cookieBytes.length > maxCookieSizeBytes) {
+            final String familyName = modifiedUids.getCookieUids().getUids().entrySet().stream()
+                    .reduce(UidsCookieService::getClosestExpiration)
+                    .map(Map.Entry::getKey)
+                    .orElse(null);
+            modifiedUids = modifiedUids.deleteUid(familyName);
+            cookieBytes = modifiedUids.toJson().getBytes();
+        }
+        return cookieBytes;
+    }
+
     /**
      * Returns the Uid with the closest expiration date, e.i. the one that will expire sooner.
      */
@@ -193,6 +210,14 @@ public class UidsCookieService {
      */
     private Map<String, UidWithExpiry> enrichAndSanitizeUids(Uids uids, Map<String, String> cookies) {
         final Map<String, UidWithExpiry> originalUidsMap = uids != null ? uids.getUids() : null;
+        final String hostCookie = parseHostCookie(cookies);
+
+        // compact cookie is written from already sanitized uids, so it is kept lazy unless host cookie is applied
+        if (originalUidsMap instanceof CompactUidsCodec.LazyUids
+                && (hostCookie == null || !hostCookieDiffers(hostCookie, originalUidsMap.get(hostCookieFamily)))) {
+            return originalUidsMap;
+        }
+
         final Map<String, UidWithExpiry> workingUidsMap = new HashMap<>(
                 ObjectUtils.defaultIfNull(originalUidsMap, Collections.emptyMap()));
 
@@ -201,7 +226,6 @@ public class UidsCookieService {
             legacyUids.forEach((key, value) -> workingUidsMap.put(key, UidWithExpiry.expired(value)));
         }
 
-        final String hostCookie = parseHostCookie(cookies);
         if (hostCookie != null && hostCookieDiffers(hostCookie, workingUidsMap.get(hostCookieFamily))) {
             // make host cookie precedence over uids
             workingUidsMap.put(hostCookieFamily, UidWithExpiry.live(hostCookie));
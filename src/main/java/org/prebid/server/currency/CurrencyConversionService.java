@@ -20,12 +20,18 @@ import java.math.RoundingMode;
 import java.time.Clock;
 import java.time.ZonedDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
 
 /**
  * Service for price currency conversion between currencies.
+ * <p>
+ * Latest currency rates are resolved for every pair of known currencies, including reverse and intermediate rates,
+ * once they are received, so conversion of bid price only looks the rate up.
  */
 public class CurrencyConversionService implements Initializable {
 
@@ -39,8 +45,7 @@ public class CurrencyConversionService implements Initializable {
     private final ExternalConversionProperties externalConversionProperties;
     private final JacksonMapper mapper;
 
-    private Map<String, Map<String, BigDecimal>> externalCurrencyRates;
-    private ZonedDateTime lastUpdated;
+    private volatile LatestRates latestRates = LatestRates.EMPTY;
 
     public CurrencyConversionService(ExternalConversionProperties externalConversionProperties) {
         this.externalConversionProperties = externalConversionProperties;
@@ -105,8 +110,7 @@ public class CurrencyConversionService implements Initializable {
     private CurrencyConversionRates updateCurrencyRates(CurrencyConversionRates currencyConversionRates) {
         final Map<String, Map<String, BigDecimal>> receivedCurrencyRates = currencyConversionRates.getConversions();
         if (receivedCurrencyRates != null) {
-            externalCurrencyRates = receivedCurrencyRates;
-            lastUpdated = ZonedDateTime.now(Clock.systemUTC());
+            latestRates = LatestRates.resolve(receivedCurrencyRates, ZonedDateTime.now(Clock.systemUTC()));
         }
         return currencyConversionRates;
     }
@@ -120,7 +124,7 @@ public class CurrencyConversionService implements Initializable {
     }
 
     public ZonedDateTime getLastUpdated() {
-        return lastUpdated;
+        return latestRates.lastUpdated;
     }
 
     /**
@@ -145,7 +149,7 @@ public class CurrencyConversionService implements Initializable {
 
         // if conversion rate from requestCurrency was not found, try the same from latest currencies
         if (conversionRate == null) {
-            conversionRate = getConversionRate(externalCurrencyRates, adServerCurrency, effectiveBidCurrency);
+            conversionRate = latestRates.conversionRate(adServerCurrency, effectiveBidCurrency);
         }
 
         if (conversionRate == null) {
@@ -225,4 +229,77 @@ public class CurrencyConversionService implements Initializable {
         }
         return conversionRate;
     }
+
+    /**
+     * Immutable snapshot of latest currency rates with conversion rate resolved for every pair of currencies
+     * mentioned in them.
+     */
+    private static class LatestRates {
+
+        private static final LatestRates EMPTY = new LatestRates(new HashMap<>(), new BigDecimal[0][0], null);
+
+        private final Map<String, Integer> currencyToIndex;
+        // conversion rates indexed by adServerCurrency and bidCurrency indices
+        private final BigDecimal[][] conversionRates;
+        private final ZonedDateTime lastUpdated;
+
+        LatestRates(Map<String, Integer> currencyToIndex, BigDecimal[][] conversionRates, ZonedDateTime lastUpdated) {
+            this.currencyToIndex = currencyToIndex;
+            this.conversionRates = conversionRates;
+            this.lastUpdated = lastUpdated;
+        }
+
+        static LatestRates resolve(Map<String, Map<String, BigDecimal>> currencyRates, ZonedDateTime lastUpdated) {
+            final Set<String> currencies = new LinkedHashSet<>(currencyRates.keySet());
+            currencyRates.values().stream()
+                    .filter(Objects::nonNull)
+                    .forEach(rates -> currencies.addAll(rates.keySet()));
+
+            final List<String> indexToCurrency = new ArrayList<>(currencies);
+            final Map<String, Integer> currencyToIndex = new HashMap<>();
+            for (int i = 0; i < indexToCurrency.size(); i++) {
+                currencyToIndex.put(indexToCurrency.get(i), i);
+            }
+
+            final BigDecimal[][] conversionRates = new BigDecimal[indexToCurrency.size()][indexToCurrency.size()];
+            final List<String> invalidPairs = new ArrayList<>();
+            for (int i = 0; i < indexToCurrency.size(); i++) {
+                for (int j = 0; j < indexToCurrency.size(); j++) {
+                    final String adServerCurrency = indexToCurrency.get(i);
+                    final String bidCurrency = indexToCurrency.get(j);
+                    try {
+                        conversionRates[i][j] = validRate(getConversionRate(currencyRates, adServerCurrency,
+                                bidCurrency));
+                    } catch (PreBidException | ArithmeticException e) {
+                        invalidPairs.add(adServerCurrency + "/" + bidCurrency);
+                    }
+                }
+            }
+            if (!invalidPairs.isEmpty()) {
+                logger.warn("Invalid currency rates were skipped, no conversion available for: {0}", invalidPairs);
+            }
+
+            return new LatestRates(currencyToIndex, conversionRates, lastUpdated);
+        }
+
+        /**
+         * Zero or negative rate makes conversion impossible (and fails with {@link ArithmeticException} while
+         * deriving reverse and intermediate rates), so such pair is left without rate instead of failing
+         * the whole refresh.
+         */
+        private static BigDecimal validRate(BigDecimal conversionRate) {
+            if (conversionRate != null && conversionRate.signum() <= 0) {
+                throw new PreBidException(String.format("Invalid conversion rate %s", conversionRate));
+            }
+            return conversionRate;
+        }
+
+        BigDecimal conversionRate(String adServerCurrency, String bidCurrency) {
+            final Integer adServerCurrencyIndex = currencyToIndex.get(adServerCurrency);
+            final Integer bidCurrencyIndex = currencyToIndex.get(bidCurrency);
+            return adServerCurrencyIndex != null && bidCurrencyIndex != null
+                    ? conversionRates[adServerCurrencyIndex][bidCurrencyIndex]
+                    : null;
+        }
+    }
 }
@@ -0,0 +1,139 @@
+package org.prebid.server.execution;
+
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.metric.Metrics;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntSupplier;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
+
+/**
+ * Decides whether auctions may go on under current load, so that under overload some of them fail fast instead of
+ * all of them fanning out to bidders and timing out.
+ * <p>
+ * Load is judged by number of auctions in flight, event loop lag and number of bidder requests waiting for response.
+ * Limit of 0 turns corresponding signal off, with all limits being 0 controller is disabled and neither tracks
+ * auctions nor reports admission metrics. All limits are multiplied for premium accounts, so they are shed last.
+ * <p>
+ * Auction is checked twice: on arrival, when its account is not known yet and it is shed only if premium accounts
+ * would be, and once its account is known.
+ */
+public class AdmissionController {
+
+    private final long maxInFlightAuctions;
+    private final long maxEventLoopLagMs;
+    private final long maxPendingBidderRequests;
+    private final Set<String> premiumAccounts;
+    private final double premiumLimitMultiplier;
+    private final LongSupplier eventLoopLagMs;
+    private final IntSupplier pendingBidderRequests;
+    private final Metrics metrics;
+    private final boolean enabled;
+
+    private final AtomicInteger inFlightAuctions = new AtomicInteger();
+
+    public AdmissionController(int maxInFlightAuctions,
+                               long maxEventLoopLagMs,
+                               int maxPendingBidderRequests,
+                               Collection<String> premiumAccounts,
+                               double premiumLimitMultiplier,
+                               LongSupplier eventLoopLagMs,
+                               IntSupplier pendingBidderRequests,
+                               Metrics metrics) {
+
+        this.maxInFlightAuctions = validateNonNegative(maxInFlightAuctions, "Max in-flight auctions");
+        this.maxEventLoopLagMs = validateNonNegative(maxEventLoopLagMs, "Max event loop lag");
+        this.maxPendingBidderRequests = validateNonNegative(maxPendingBidderRequests, "Max pending bidder requests");
+        this.premiumAccounts = Objects.requireNonNull(premiumAccounts).stream()
+                .filter(StringUtils::isNotBlank)
+                .collect(Collectors.toSet());
+        if (premiumLimitMultiplier < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Premium limit multiplier must be at least 1, but was %s", premiumLimitMultiplier));
+        }
+        this.premiumLimitMultiplier = premiumLimitMultiplier;
+        this.eventLoopLagMs = Objects.requireNonNull(eventLoopLagMs);
+        this.pendingBidderRequests = Objects.requireNonNull(pendingBidderRequests);
+        this.metrics = Objects.requireNonNull(metrics);
+
+        enabled = maxInFlightAuctions > 0 || maxEventLoopLagMs > 0 || maxPendingBidderRequests > 0;
+    }
+
+    private static long validateNonNegative(long value, String name) {
+        if (value < 0) {
+            throw new IllegalArgumentException(String.format("%s must be non-negative, but was %d", name, value));
+        }
+        return value;
+    }
+
+    /**
+     * Tells whether any limit is set, so auctions have to go through this controller at all.
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Registers arriving auction as being in flight and returns true, or returns false if load is too high
+     * even for premium accounts, and auction is shed.
+     * <p>
+     * Each registered auction must be deregistered with {@link #exit()} once it is over.
+     */
+    public boolean enter() {
+        if (!enabled) {
+            return true;
+        }
+
+        if (!isLoadSignalExceeded(premiumLimitMultiplier)) {
+            // auctions arriving at the same time on different event loops must not get past the limit together
+            int inFlight = inFlightAuctions.get();
+            while (!exceeds(inFlight + 1, maxInFlightAuctions, premiumLimitMultiplier)) {
+                if (inFlightAuctions.compareAndSet(inFlight, inFlight + 1)) {
+                    return true;
+                }
+                inFlight = inFlightAuctions.get();
+            }
+        }
+
+        metrics.updateAuctionAdmissionMetric(false);
+        return false;
+    }
+
+    /**
+     * Deregisters auction registered by {@link #enter()}.
+     */
+    public void exit() {
+        if (enabled) {
+            inFlightAuctions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Returns true if auction for the given account may proceed to bidders under current load.
+     */
+    public boolean admit(String accountId) {
+        if (!enabled) {
+            return true;
+        }
+
+        final double multiplier = premiumAccounts.contains(accountId) ? premiumLimitMultiplier : 1;
+        final boolean admitted = !exceeds(inFlightAuctions.get(), maxInFlightAuctions, multiplier)
+                && !isLoadSignalExceeded(multiplier);
+        metrics.updateAuctionAdmissionMetric(admitted);
+        return admitted;
+    }
+
+    private boolean isLoadSignalExceeded(double multiplier) {
+        return maxEventLoopLagMs > 0 && exceeds(eventLoopLagMs.getAsLong(), maxEventLoopLagMs, multiplier)
+                || maxPendingBidderRequests > 0
+                && exceeds(pendingBidderRequests.getAsInt(), maxPendingBidderRequests, multiplier);
+    }
+
+    private static boolean exceeds(long value, long limit, double multiplier) {
+        return limit > 0 && value > limit * multiplier;
+    }
+}
@@ -0,0 +1,140 @@
+package org.prebid.server.execution;
+
+import io.vertx.core.Future;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Accumulates memory allocated and CPU time consumed by a single request.
+ * <p>
+ * Request is processed in synchronous segments on the event loop interleaved with other requests, so thread
+ * counters are read at the beginning and at the end of each segment: segment starts with {@link #resume()} or
+ * when the future passed to {@link #measure(Future)} completes, and ends with matching {@link #suspend()} or when
+ * all the handlers of that future are executed. Nested segments are accounted as part of the outer one.
+ * <p>
+ * Not thread-safe: segments of a request are executed one after another.
+ */
+public class ResourceMeter {
+
+    private static final ResourceMeter DISABLED = new ResourceMeter(false, false);
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN = threadMXBean();
+    private static final boolean ALLOCATION_SUPPORTED = THREAD_MX_BEAN != null
+            && THREAD_MX_BEAN.isThreadAllocatedMemorySupported()
+            && THREAD_MX_BEAN.isThreadAllocatedMemoryEnabled();
+    private static final boolean CPU_TIME_SUPPORTED = THREAD_MX_BEAN != null
+            && THREAD_MX_BEAN.isCurrentThreadCpuTimeSupported()
+            && THREAD_MX_BEAN.isThreadCpuTimeEnabled();
+
+    private final boolean enabled;
+    private final boolean sampled;
+
+    private int depth;
+    private long segmentStartAllocatedBytes;
+    private long segmentStartCpuNanos;
+
+    private long allocatedBytes;
+    private long cpuNanos;
+    private int segments;
+
+    ResourceMeter(boolean enabled, boolean sampled) {
+        this.enabled = enabled;
+        this.sampled = sampled;
+    }
+
+    /**
+     * Returns {@link ResourceMeter} which measures nothing.
+     */
+    public static ResourceMeter disabled() {
+        return DISABLED;
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        final ThreadMXBean threadMXBean = ManagementFactory.getThreadMXBean();
+        return threadMXBean instanceof com.sun.management.ThreadMXBean
+                ? (com.sun.management.ThreadMXBean) threadMXBean
+                : null;
+    }
+
+    /**
+     * Marks the beginning of synchronous segment on the current thread.
+     */
+    public void resume() {
+        if (enabled && depth++ == 0) {
+            segmentStartAllocatedBytes = threadAllocatedBytes();
+            segmentStartCpuNanos = threadCpuNanos();
+        }
+    }
+
+    /**
+     * Marks the end of synchronous segment started on the current thread by {@link #resume()}.
+     */
+    public void suspend() {
+        if (enabled && depth > 0 && --depth == 0) {
+            allocatedBytes += threadAllocatedBytes() - segmentStartAllocatedBytes;
+            cpuNanos += threadCpuNanos() - segmentStartCpuNanos;
+            segments++;
+        }
+    }
+
+    /**
+     * Returns {@link Future} completed with the result of given one, handlers of which are executed
+     * as a separate segment.
+     * <p>
+     * Future which is already completed is returned as is, since its handlers are executed by the current segment.
+     */
+    public <T> Future<T> measure(Future<T> future) {
+        if (!enabled || future.isComplete()) {
+            return future;
+        }
+
+        final Future<T> measured = Future.future();
+        future.setHandler(result -> {
+            resume();
+            try {
+                measured.handle(result);
+            } finally {
+                suspend();
+            }
+        });
+        return measured;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Tells whether resource usage of this request should be submitted to metrics.
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Returns bytes allocated by finished segments and the current one up to this moment.
+     */
+    public long getAllocatedBytes() {
+        return depth > 0 ? allocatedBytes + threadAllocatedBytes() - segmentStartAllocatedBytes : allocatedBytes;
+    }
+
+    /**
+     * Returns CPU time consumed by finished segments and the current one up to this moment.
+     */
+    public long getCpuNanos() {
+        return depth > 0 ? cpuNanos + threadCpuNanos() - segmentStartCpuNanos : cpuNanos;
+    }
+
+    public int getSegments() {
+        return segments;
+    }
+
+    private static long threadAllocatedBytes() {
+        return ALLOCATION_SUPPORTED ? THREAD_MX_BEAN.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+    }
+
+    private static long threadCpuNanos() {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : 0;
+    }
+}
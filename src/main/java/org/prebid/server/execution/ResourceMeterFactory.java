@@ -0,0 +1,37 @@
+package org.prebid.server.execution;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Creates {@link ResourceMeter} for each incoming request, sampling requests to be submitted to metrics.
+ * <p>
+ * Whether request is in debug mode is not known until it is parsed, so all requests are measured while accounting
+ * is enabled, and debug responses have resource usage whether sampled or not.
+ */
+public class ResourceMeterFactory {
+
+    private final boolean enabled;
+    private final double samplingRate;
+
+    public ResourceMeterFactory(boolean enabled, double samplingRate) {
+        if (samplingRate < 0 || samplingRate > 1) {
+            throw new IllegalArgumentException("Resource accounting sampling rate must be between 0 and 1");
+        }
+
+        this.enabled = enabled;
+        this.samplingRate = samplingRate;
+    }
+
+    /**
+     * Returns a new {@link ResourceMeter} telling whether request is sampled, or the disabled one if accounting
+     * is disabled.
+     */
+    public ResourceMeter create() {
+        if (!enabled) {
+            return ResourceMeter.disabled();
+        }
+
+        final boolean sampled = samplingRate > 0 && ThreadLocalRandom.current().nextDouble() < samplingRate;
+        return new ResourceMeter(true, sampled);
+    }
+}
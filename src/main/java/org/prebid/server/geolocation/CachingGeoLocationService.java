@@ -0,0 +1,160 @@
+package org.prebid.server.geolocation;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.vertx.core.Future;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.geolocation.model.GeoInfo;
+import org.prebid.server.metric.Metrics;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.util.Objects;
+
+/**
+ * Wrapper for geo location service with bounded cache of successful lookups.
+ * <p>
+ * The same addresses come again and again from NATed mobile carriers and corporate proxies, so cache can be keyed
+ * by network prefix instead of exact address. Lookup result changes only with geo location database,
+ * so entries are evicted by size and dropped all at once by {@link #invalidateAll()} when database is reloaded.
+ */
+public class CachingGeoLocationService implements GeoLocationService {
+
+    private static final int IPV4_ADDRESS_LENGTH = 32;
+    private static final int IPV6_ADDRESS_LENGTH = 128;
+
+    private final GeoLocationService geoLocationService;
+    private final Cache<String, GeoInfo> cache;
+    private final int ipv4PrefixLength;
+    private final int ipv6PrefixLength;
+    private final Metrics metrics;
+
+    public CachingGeoLocationService(GeoLocationService geoLocationService, int size, int ipv4PrefixLength,
+                                     int ipv6PrefixLength, Metrics metrics) {
+
+        if (size <= 0) {
+            throw new IllegalArgumentException("Geo location cache size must be positive");
+        }
+        if (ipv4PrefixLength <= 0 || ipv4PrefixLength > IPV4_ADDRESS_LENGTH) {
+            throw new IllegalArgumentException("IPv4 prefix length must be in range (0, 32]");
+        }
+        if (ipv6PrefixLength <= 0 || ipv6PrefixLength > IPV6_ADDRESS_LENGTH) {
+            throw new IllegalArgumentException("IPv6 prefix length must be in range (0, 128]");
+        }
+
+        this.geoLocationService = Objects.requireNonNull(geoLocationService);
+        this.cache = Caffeine.newBuilder().maximumSize(size).build();
+        this.ipv4PrefixLength = ipv4PrefixLength;
+        this.ipv6PrefixLength = ipv6PrefixLength;
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    @Override
+    public Future<GeoInfo> lookup(String ip, Timeout timeout) {
+        final String key = cacheKey(ip);
+        if (key == null) {
+            return geoLocationService.lookup(ip, timeout);
+        }
+
+        final GeoInfo cached = cache.getIfPresent(key);
+        metrics.updateGeoLocationCacheMetric(cached != null);
+        if (cached != null) {
+            return Future.succeededFuture(cached);
+        }
+
+        return geoLocationService.lookup(ip, timeout).map(geoInfo -> cacheGeoInfo(key, geoInfo));
+    }
+
+    /**
+     * Drops all cached lookups. Should be called once geo location database is replaced.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns address itself if it is cached by exact match, network prefix otherwise. Returns null for anything
+     * but IP address literal, so host names are neither resolved here nor cached.
+     */
+    private String cacheKey(String ip) {
+        if (ip == null) {
+            return null;
+        }
+
+        if (ip.indexOf(':') >= 0) {
+            return ipv6PrefixLength == IPV6_ADDRESS_LENGTH ? ip : ipv6Prefix(ip);
+        }
+        final String ipv4Prefix = ipv4Prefix(ip);
+        return ipv4Prefix != null && ipv4PrefixLength == IPV4_ADDRESS_LENGTH ? ip : ipv4Prefix;
+    }
+
+    /**
+     * Parses dotted IPv4 address by hand, since {@link InetAddress#getByName(String)} resolves anything it
+     * cannot parse as host name.
+     */
+    private String ipv4Prefix(String ip) {
+        final String[] octets = ip.split("\\.", -1);
+        if (octets.length != 4) {
+            return null;
+        }
+
+        int address = 0;
+        for (String octet : octets) {
+            final int value = parseOctet(octet);
+            if (value < 0) {
+                return null;
+            }
+            address = address << 8 | value;
+        }
+        address &= (int) (0xFFFFFFFFL << (IPV4_ADDRESS_LENGTH - ipv4PrefixLength));
+
+        return (address >>> 24) + "." + (address >> 16 & 0xFF) + "." + (address >> 8 & 0xFF) + "."
+                + (address & 0xFF) + "/" + ipv4PrefixLength;
+    }
+
+    private static int parseOctet(String octet) {
+        if (octet.isEmpty() || octet.length() > 3) {
+            return -1;
+        }
+        int value = 0;
+        for (int i = 0; i < octet.length(); i++) {
+            final char c = octet.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + c - '0';
+        }
+        return value <= 255 ? value : -1;
+    }
+
+    /**
+     * IPv6 literal is never resolved as host name, so parsing is left to {@link InetAddress}.
+     */
+    private String ipv6Prefix(String ip) {
+        final byte[] address;
+        try {
+            address = InetAddress.getByName(ip).getAddress();
+        } catch (UnknownHostException e) {
+            return null;
+        }
+
+        // IPv4-mapped address comes back as IPv4 one
+        final int prefixLength = address.length == 4 ? ipv4PrefixLength : ipv6PrefixLength;
+        for (int bit = prefixLength; bit < address.length * 8; bit++) {
+            address[bit >> 3] &= ~(0x80 >>> (bit & 7));
+        }
+
+        try {
+            return InetAddress.getByAddress(address).getHostAddress() + "/" + prefixLength;
+        } catch (UnknownHostException e) {
+            return null;
+        }
+    }
+
+    private GeoInfo cacheGeoInfo(String key, GeoInfo geoInfo) {
+        if (geoInfo != null) {
+            cache.put(key, geoInfo);
+        }
+        return geoInfo;
+    }
+}
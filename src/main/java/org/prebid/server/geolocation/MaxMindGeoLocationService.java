@@ -7,6 +7,8 @@ import com.maxmind.geoip2.model.CityResponse;
 import com.maxmind.geoip2.record.Location;
 import com.maxmind.geoip2.record.Subdivision;
 import io.vertx.core.Future;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
 import org.apache.commons.compress.archivers.tar.TarArchiveInputStream;
@@ -14,25 +16,38 @@ import org.prebid.server.execution.RemoteFileProcessor;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.geolocation.model.GeoInfo;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.InetAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.zip.GZIPInputStream;
 
 /**
  * Implementation of of the {@link GeoLocationService}
  * backed by <a href="https://dev.maxmind.com/geoip/geoip2/geolite2/">MaxMind free database</a>
+ * <p>
+ * Database file is extracted from archive next to it and memory-mapped, so it stays off the heap. New database
+ * replaces the old one atomically, the old one is closed and its file removed once in-flight lookups are done.
  */
 public class MaxMindGeoLocationService implements GeoLocationService, RemoteFileProcessor {
 
+    private static final Logger logger = LoggerFactory.getLogger(MaxMindGeoLocationService.class);
+
     private static final String VENDOR = "maxmind";
 
     private static final String DATABASE_FILE_NAME = "GeoLite2-City.mmdb";
 
-    private DatabaseReader databaseReader;
+    private final AtomicReference<Database> database = new AtomicReference<>();
 
     public Future<?> setDataPath(String dataFilePath) {
+        final Path databaseFile;
         try (TarArchiveInputStream tarInput = new TarArchiveInputStream(new GZIPInputStream(
                 new FileInputStream(dataFilePath)))) {
 
@@ -49,47 +64,146 @@ public class MaxMindGeoLocationService implements GeoLocationService, RemoteFile
                         dataFilePath));
             }
 
-            databaseReader = new DatabaseReader.Builder(tarInput).fileMode(Reader.FileMode.MEMORY).build();
-            return Future.succeededFuture();
+            databaseFile = extractDatabaseFile(tarInput, dataFilePath);
         } catch (IOException e) {
             return Future.failedFuture(
                     String.format("IO Exception occurred while trying to read an archive/db file: %s", e.getMessage()));
         }
+
+        final DatabaseReader databaseReader;
+        try {
+            databaseReader = new DatabaseReader.Builder(databaseFile.toFile())
+                    .fileMode(Reader.FileMode.MEMORY_MAPPED)
+                    .build();
+        } catch (IOException e) {
+            deleteFile(databaseFile.toFile());
+            return Future.failedFuture(
+                    String.format("IO Exception occurred while trying to read an archive/db file: %s", e.getMessage()));
+        }
+
+        setDatabaseReader(databaseReader, databaseFile.toFile());
+        return Future.succeededFuture();
+    }
+
+    /**
+     * Extracts database file to the directory of archive under unique name, since file being mapped by current
+     * database reader must not be overwritten.
+     */
+    private static Path extractDatabaseFile(TarArchiveInputStream tarInput, String dataFilePath) throws IOException {
+        final Path archiveDirectory = Paths.get(dataFilePath).toAbsolutePath().getParent();
+        final Path databaseFile = Files.createTempFile(archiveDirectory, "GeoLite2-City", ".mmdb");
+        try {
+            Files.copy(tarInput, databaseFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            Files.deleteIfExists(databaseFile);
+            throw e;
+        }
+        databaseFile.toFile().deleteOnExit();
+        return databaseFile;
+    }
+
+    /**
+     * Publishes new database reader and releases the previous one. Database file, if given, is removed
+     * along with reader.
+     */
+    void setDatabaseReader(DatabaseReader databaseReader, File databaseFile) {
+        final Database previous = database.getAndSet(new Database(databaseReader, databaseFile));
+        if (previous != null) {
+            previous.release();
+        }
     }
 
     @Override
     public Future<GeoInfo> lookup(String ip, Timeout timeout) {
-        if (databaseReader == null) {
+        if (database.get() == null) {
             return Future.failedFuture("Geo location database file hasn't been downloaded yet, try again later");
         }
 
+        final InetAddress inetAddress;
+        try {
+            inetAddress = InetAddress.getByName(ip);
+        } catch (IOException e) {
+            return Future.failedFuture(e);
+        }
+
+        final Database currentDatabase = retainDatabase();
         try {
-            final InetAddress inetAddress = InetAddress.getByName(ip);
+            final CityResponse cityResponse = currentDatabase.reader.city(inetAddress);
+            final Location location = cityResponse.getLocation();
             return Future.succeededFuture(GeoInfo.builder()
                     .vendor(VENDOR)
-                    .continent(getCity(inetAddress).getContinent().getCode().toLowerCase())
-                    .country(getCity(inetAddress).getCountry().getIsoCode().toLowerCase())
-                    .region(getRegionCode(inetAddress))
+                    .continent(cityResponse.getContinent().getCode().toLowerCase())
+                    .country(cityResponse.getCountry().getIsoCode().toLowerCase())
+                    .region(getRegionCode(cityResponse))
                     //metro code is skipped as Max Mind uses Google's version (Nielsen DMAs required)
-                    .city(getCity(inetAddress).getCity().getName())
-                    .lat(getLocation(inetAddress).getLatitude().floatValue())
-                    .lon(getLocation(inetAddress).getLongitude().floatValue())
+                    .city(cityResponse.getCity().getName())
+                    .lat(location.getLatitude().floatValue())
+                    .lon(location.getLongitude().floatValue())
                     .build());
         } catch (IOException | GeoIp2Exception e) {
             return Future.failedFuture(e);
+        } finally {
+            currentDatabase.release();
         }
     }
 
-    private CityResponse getCity(InetAddress inetAddress) throws IOException, GeoIp2Exception {
-        return databaseReader.city(inetAddress);
+    /**
+     * Takes current database for lookup. Database can be replaced and released between reading reference
+     * and retaining it, so then it is read again.
+     */
+    private Database retainDatabase() {
+        Database currentDatabase;
+        do {
+            currentDatabase = database.get();
+        } while (!currentDatabase.retain());
+        return currentDatabase;
     }
 
-    private String getRegionCode(InetAddress inetAddress) throws IOException, GeoIp2Exception {
-        final List<Subdivision> subdivisions = getCity(inetAddress).getSubdivisions();
+    private static String getRegionCode(CityResponse cityResponse) {
+        final List<Subdivision> subdivisions = cityResponse.getSubdivisions();
         return CollectionUtils.isEmpty(subdivisions) ? null : subdivisions.get(0).getIsoCode();
     }
 
-    private Location getLocation(InetAddress inetAddress) throws IOException, GeoIp2Exception {
-        return getCity(inetAddress).getLocation();
+    private static void deleteFile(File file) {
+        if (file != null && !file.delete()) {
+            logger.warn("Cant delete geo location database file {0}", file);
+        }
+    }
+
+    /**
+     * Database reader counting lookups using it, plus one reference held while it is published.
+     */
+    private static class Database {
+
+        private final DatabaseReader reader;
+        private final File file;
+        private final AtomicInteger references = new AtomicInteger(1);
+
+        Database(DatabaseReader reader, File file) {
+            this.reader = reader;
+            this.file = file;
+        }
+
+        boolean retain() {
+            int current;
+            do {
+                current = references.get();
+                if (current == 0) {
+                    return false;
+                }
+            } while (!references.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        void release() {
+            if (references.decrementAndGet() == 0) {
+                try {
+                    reader.close();
+                } catch (IOException e) {
+                    logger.warn("Cant close geo location database reader", e);
+                }
+                deleteFile(file);
+            }
+        }
     }
 }
@@ -0,0 +1,44 @@
+package org.prebid.server.handler;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Handler;
+import io.vertx.ext.web.RoutingContext;
+import org.prebid.server.execution.AdmissionController;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Sheds auctions arriving under overload with 503 status before their requests are even read, and keeps track
+ * of auctions in flight for {@link AdmissionController}.
+ */
+public class AdmissionHandler implements Handler<RoutingContext> {
+
+    private final AdmissionController admissionController;
+
+    public AdmissionHandler(AdmissionController admissionController) {
+        this.admissionController = Objects.requireNonNull(admissionController);
+    }
+
+    @Override
+    public void handle(RoutingContext context) {
+        if (!admissionController.enter()) {
+            context.response()
+                    .setStatusCode(HttpResponseStatus.SERVICE_UNAVAILABLE.code())
+                    .end("Service Unavailable: server is overloaded");
+            return;
+        }
+
+        // auction is over either when response is sent or when client has gone before that
+        final AtomicBoolean exited = new AtomicBoolean();
+        final Handler<Void> exitHandler = ignored -> {
+            if (exited.compareAndSet(false, true)) {
+                admissionController.exit();
+            }
+        };
+        context.addBodyEndHandler(exitHandler);
+        context.response().closeHandler(exitHandler);
+
+        context.next();
+    }
+}
@@ -0,0 +1,94 @@
+package org.prebid.server.handler;
+
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.web.RoutingContext;
+import org.prebid.server.metric.prometheus.PrometheusMetricsExporter;
+import org.prebid.server.metric.prometheus.PrometheusScrape;
+import org.prebid.server.util.HttpUtil;
+
+import java.util.Objects;
+
+/**
+ * Handles HTTP request for application metrics in Prometheus text exposition format.
+ * <p>
+ * Registered metrics are grouped into families on a worker thread, as it takes time proportional to the size of
+ * the registry. Response is then streamed in chunks of limited size and the event loop is released between them,
+ * so scraping a large registry neither buffers the whole output nor blocks other requests for long.
+ */
+public class PrometheusMetricsHandler implements Handler<RoutingContext> {
+
+    private static final Logger logger = LoggerFactory.getLogger(PrometheusMetricsHandler.class);
+
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final int CHUNK_SIZE = 64 * 1024;
+
+    private final PrometheusMetricsExporter exporter;
+    private final Vertx vertx;
+
+    public PrometheusMetricsHandler(PrometheusMetricsExporter exporter, Vertx vertx) {
+        this.exporter = Objects.requireNonNull(exporter);
+        this.vertx = Objects.requireNonNull(vertx);
+    }
+
+    @Override
+    public void handle(RoutingContext context) {
+        vertx.<PrometheusScrape>executeBlocking(future -> future.complete(exporter.scrape()), false,
+                result -> respond(context.response(), result));
+    }
+
+    private void respond(HttpServerResponse response, AsyncResult<PrometheusScrape> result) {
+        if (response.closed()) {
+            return;
+        }
+
+        if (result.failed()) {
+            logger.error("Critical error while scraping metrics", result.cause());
+            response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
+            return;
+        }
+
+        response
+                .putHeader(HttpUtil.CONTENT_TYPE_HEADER, CONTENT_TYPE)
+                .setChunked(true);
+        writeChunk(response, result.result());
+    }
+
+    private void writeChunk(HttpServerResponse response, PrometheusScrape scrape) {
+        if (response.closed()) {
+            return;
+        }
+
+        final Buffer chunk = Buffer.buffer(CHUNK_SIZE);
+        final boolean finished;
+        try {
+            finished = scrape.writeTo(chunk, CHUNK_SIZE);
+        } catch (RuntimeException e) {
+            logger.error("Critical error while writing metrics", e);
+            if (response.headWritten()) {
+                response.close();
+            } else {
+                response.setStatusCode(HttpResponseStatus.INTERNAL_SERVER_ERROR.code()).end();
+            }
+            return;
+        }
+
+        if (finished) {
+            response.end(chunk);
+            return;
+        }
+
+        response.write(chunk);
+        if (response.writeQueueFull()) {
+            response.drainHandler(ignored -> writeChunk(response, scrape));
+        } else {
+            vertx.runOnContext(ignored -> writeChunk(response, scrape));
+        }
+    }
+}
@@ -8,6 +8,7 @@ import io.vertx.ext.web.RoutingContext;
 import org.apache.commons.collections4.CollectionUtils;
 import org.prebid.server.health.HealthChecker;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.warmup.WarmUpService;
 
 import java.util.List;
 import java.util.Objects;
@@ -19,10 +20,19 @@ public class StatusHandler implements Handler<RoutingContext> {
     private static final Logger logger = LoggerFactory.getLogger(StatusHandler.class);
 
     private final List<HealthChecker> healthCheckers;
+    private final WarmUpService warmUpService;
     private final JacksonMapper mapper;
 
     public StatusHandler(List<HealthChecker> healthCheckers, JacksonMapper mapper) {
+        this(healthCheckers, null, mapper);
+    }
+
+    /**
+     * Creates handler responding with 503 Service Unavailable until {@link WarmUpService} (if given) completes.
+     */
+    public StatusHandler(List<HealthChecker> healthCheckers, WarmUpService warmUpService, JacksonMapper mapper) {
         this.healthCheckers = Objects.requireNonNull(healthCheckers);
+        this.warmUpService = warmUpService;
         this.mapper = Objects.requireNonNull(mapper);
     }
 
@@ -34,7 +44,11 @@ public class StatusHandler implements Handler<RoutingContext> {
             return;
         }
 
-        if (CollectionUtils.isEmpty(healthCheckers)) {
+        if (warmUpService != null && !warmUpService.isCompleted()) {
+            context.response()
+                    .setStatusCode(HttpResponseStatus.SERVICE_UNAVAILABLE.code())
+                    .end();
+        } else if (CollectionUtils.isEmpty(healthCheckers)) {
             context.response()
                     .setStatusCode(HttpResponseStatus.NO_CONTENT.code())
                     .end();
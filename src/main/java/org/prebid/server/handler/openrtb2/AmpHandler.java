@@ -30,6 +30,8 @@ import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.Tuple2;
 import org.prebid.server.auction.model.Tuple3;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.capture.CapturedAuction;
+import org.prebid.server.capture.TrafficCaptureService;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.exception.BlacklistedAccountException;
 import org.prebid.server.exception.BlacklistedAppException;
@@ -37,6 +39,8 @@ import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.execution.LogModifier;
+import org.prebid.server.execution.ResourceMeter;
+import org.prebid.server.execution.ResourceMeterFactory;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.metric.MetricName;
@@ -73,6 +77,7 @@ public class AmpHandler implements Handler<RoutingContext> {
             new TypeReference<ExtBidResponse>() {
             };
     private static final MetricName REQUEST_TYPE_METRIC = MetricName.amp;
+    private static final String ENDPOINT = "/openrtb2/amp";
 
     private final AmpRequestFactory ampRequestFactory;
     private final ExchangeService exchangeService;
@@ -83,6 +88,8 @@ public class AmpHandler implements Handler<RoutingContext> {
     private final Set<String> biddersSupportingCustomTargeting;
     private final AmpResponsePostProcessor ampResponsePostProcessor;
     private final LogModifier logModifier;
+    private final TrafficCaptureService trafficCaptureService;
+    private final ResourceMeterFactory resourceMeterFactory;
     private final JacksonMapper mapper;
 
     public AmpHandler(AmpRequestFactory ampRequestFactory,
@@ -94,6 +101,8 @@ public class AmpHandler implements Handler<RoutingContext> {
                       Set<String> biddersSupportingCustomTargeting,
                       AmpResponsePostProcessor ampResponsePostProcessor,
                       LogModifier logModifier,
+                      TrafficCaptureService trafficCaptureService,
+                      ResourceMeterFactory resourceMeterFactory,
                       JacksonMapper mapper) {
 
         this.ampRequestFactory = Objects.requireNonNull(ampRequestFactory);
@@ -105,11 +114,23 @@ public class AmpHandler implements Handler<RoutingContext> {
         this.biddersSupportingCustomTargeting = Objects.requireNonNull(biddersSupportingCustomTargeting);
         this.ampResponsePostProcessor = Objects.requireNonNull(ampResponsePostProcessor);
         this.logModifier = Objects.requireNonNull(logModifier);
+        this.trafficCaptureService = Objects.requireNonNull(trafficCaptureService);
+        this.resourceMeterFactory = Objects.requireNonNull(resourceMeterFactory);
         this.mapper = Objects.requireNonNull(mapper);
     }
 
     @Override
     public void handle(RoutingContext routingContext) {
+        final ResourceMeter resourceMeter = resourceMeterFactory.create();
+        resourceMeter.resume();
+        try {
+            handle(routingContext, resourceMeter);
+        } finally {
+            resourceMeter.suspend();
+        }
+    }
+
+    private void handle(RoutingContext routingContext, ResourceMeter resourceMeter) {
         // Prebid Server interprets request.tmax to be the maximum amount of time that a caller is willing to wait
         // for bids. However, tmax may be defined in the Stored Request data.
         // If so, then the trip to the backend might use a significant amount of this time. We can respect timeouts
@@ -122,9 +143,12 @@ public class AmpHandler implements Handler<RoutingContext> {
         final AmpEvent.AmpEventBuilder ampEventBuilder = AmpEvent.builder()
                 .httpContext(HttpContext.from(routingContext));
 
-        ampRequestFactory.fromRequest(routingContext, startTime)
+        final CapturedAuction capturedAuction = trafficCaptureService.start(routingContext, ENDPOINT);
+
+        ampRequestFactory.fromRequest(routingContext, startTime, resourceMeter)
                 .map(context -> context.toBuilder()
                         .requestTypeMetric(REQUEST_TYPE_METRIC)
+                        .capturedAuction(capturedAuction)
                         .build())
 
                 .map(context -> addToEvent(context, ampEventBuilder::auctionContext, context))
@@ -141,7 +165,8 @@ public class AmpHandler implements Handler<RoutingContext> {
                         result.getLeft(), result.getRight(), routingContext))
 
                 .map(ampResponse -> addToEvent(ampResponse.getTargeting(), ampEventBuilder::targeting, ampResponse))
-                .setHandler(responseResult -> handleResult(responseResult, ampEventBuilder, routingContext, startTime));
+                .setHandler(responseResult -> handleResult(responseResult, ampEventBuilder, routingContext, startTime,
+                        capturedAuction));
     }
 
     private static <T, R> R addToEvent(T field, Consumer<T> consumer, R result) {
@@ -281,7 +306,7 @@ public class AmpHandler implements Handler<RoutingContext> {
     }
 
     private void handleResult(AsyncResult<AmpResponse> responseResult, AmpEvent.AmpEventBuilder ampEventBuilder,
-                              RoutingContext context, long startTime) {
+                              RoutingContext context, long startTime, CapturedAuction capturedAuction) {
         final MetricName metricRequestStatus;
         final List<String> errorMessages;
         final int status;
@@ -349,6 +374,8 @@ public class AmpHandler implements Handler<RoutingContext> {
             }
         }
 
+        trafficCaptureService.finish(capturedAuction, status, body);
+
         final AmpEvent ampEvent = ampEventBuilder.status(status).errors(errorMessages).build();
         respondWith(context, status, body, startTime, metricRequestStatus, ampEvent);
     }
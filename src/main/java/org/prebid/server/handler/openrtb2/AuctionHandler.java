@@ -16,13 +16,18 @@ import org.prebid.server.analytics.model.HttpContext;
 import org.prebid.server.auction.AuctionRequestFactory;
 import org.prebid.server.auction.ExchangeService;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionStage;
 import org.prebid.server.auction.model.Tuple2;
+import org.prebid.server.capture.CapturedAuction;
+import org.prebid.server.capture.TrafficCaptureService;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.exception.BlacklistedAccountException;
 import org.prebid.server.exception.BlacklistedAppException;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.execution.LogModifier;
+import org.prebid.server.execution.ResourceMeter;
+import org.prebid.server.execution.ResourceMeterFactory;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.log.ConditionalLogger;
 import org.prebid.server.metric.MetricName;
@@ -41,12 +46,16 @@ public class AuctionHandler implements Handler<RoutingContext> {
     private static final Logger logger = LoggerFactory.getLogger(AuctionHandler.class);
     private static final ConditionalLogger conditionalLogger = new ConditionalLogger(logger);
 
+    private static final String ENDPOINT = "/openrtb2/auction";
+
     private final AuctionRequestFactory auctionRequestFactory;
     private final ExchangeService exchangeService;
     private final AnalyticsReporter analyticsReporter;
     private final Metrics metrics;
     private final Clock clock;
     private final LogModifier logModifier;
+    private final TrafficCaptureService trafficCaptureService;
+    private final ResourceMeterFactory resourceMeterFactory;
     private final JacksonMapper mapper;
 
     public AuctionHandler(AuctionRequestFactory auctionRequestFactory,
@@ -55,6 +64,8 @@ public class AuctionHandler implements Handler<RoutingContext> {
                           Metrics metrics,
                           Clock clock,
                           LogModifier logModifier,
+                          TrafficCaptureService trafficCaptureService,
+                          ResourceMeterFactory resourceMeterFactory,
                           JacksonMapper mapper) {
 
         this.auctionRequestFactory = Objects.requireNonNull(auctionRequestFactory);
@@ -63,11 +74,23 @@ public class AuctionHandler implements Handler<RoutingContext> {
         this.metrics = Objects.requireNonNull(metrics);
         this.clock = Objects.requireNonNull(clock);
         this.logModifier = Objects.requireNonNull(logModifier);
+        this.trafficCaptureService = Objects.requireNonNull(trafficCaptureService);
+        this.resourceMeterFactory = Objects.requireNonNull(resourceMeterFactory);
         this.mapper = Objects.requireNonNull(mapper);
     }
 
     @Override
     public void handle(RoutingContext routingContext) {
+        final ResourceMeter resourceMeter = resourceMeterFactory.create();
+        resourceMeter.resume();
+        try {
+            handle(routingContext, resourceMeter);
+        } finally {
+            resourceMeter.suspend();
+        }
+    }
+
+    private void handle(RoutingContext routingContext, ResourceMeter resourceMeter) {
         // Prebid Server interprets request.tmax to be the maximum amount of time that a caller is willing to wait
         // for bids. However, tmax may be defined in the Stored Request data.
         // If so, then the trip to the backend might use a significant amount of this time. We can respect timeouts
@@ -80,9 +103,12 @@ public class AuctionHandler implements Handler<RoutingContext> {
         final AuctionEvent.AuctionEventBuilder auctionEventBuilder = AuctionEvent.builder()
                 .httpContext(HttpContext.from(routingContext));
 
-        auctionRequestFactory.fromRequest(routingContext, startTime)
+        final CapturedAuction capturedAuction = trafficCaptureService.start(routingContext, ENDPOINT);
+
+        auctionRequestFactory.fromRequest(routingContext, startTime, resourceMeter)
                 .map(context -> context.toBuilder()
                         .requestTypeMetric(requestTypeMetric(context.getBidRequest()))
+                        .capturedAuction(capturedAuction)
                         .build())
 
                 .map(context -> addToEvent(context, auctionEventBuilder::auctionContext, context))
@@ -92,7 +118,8 @@ public class AuctionHandler implements Handler<RoutingContext> {
                         .map(bidResponse -> Tuple2.of(bidResponse, context)))
 
                 .map(result -> addToEvent(result.getLeft(), auctionEventBuilder::bidResponse, result))
-                .setHandler(result -> handleResult(result, auctionEventBuilder, routingContext, startTime));
+                .setHandler(result -> handleResult(result, auctionEventBuilder, routingContext, startTime,
+                        capturedAuction));
     }
 
     private static MetricName requestTypeMetric(BidRequest bidRequest) {
@@ -119,7 +146,7 @@ public class AuctionHandler implements Handler<RoutingContext> {
 
     private void handleResult(AsyncResult<Tuple2<BidResponse, AuctionContext>> responseResult,
                               AuctionEvent.AuctionEventBuilder auctionEventBuilder, RoutingContext context,
-                              long startTime) {
+                              long startTime, CapturedAuction capturedAuction) {
         final boolean responseSucceeded = responseResult.succeeded();
 
         final MetricName requestType = responseSucceeded
@@ -137,7 +164,10 @@ public class AuctionHandler implements Handler<RoutingContext> {
 
             status = HttpResponseStatus.OK.code();
             context.response().headers().add(HttpUtil.CONTENT_TYPE_HEADER, HttpHeaderValues.APPLICATION_JSON);
+
+            final long encodingStartNanos = System.nanoTime();
             body = mapper.encode(responseResult.result().getLeft());
+            metrics.updateAuctionStageMetric(AuctionStage.response_encoding, System.nanoTime() - encodingStartNanos);
         } else {
             final Throwable exception = responseResult.cause();
             if (exception instanceof InvalidRequestException) {
@@ -184,6 +214,8 @@ public class AuctionHandler implements Handler<RoutingContext> {
             }
         }
 
+        trafficCaptureService.finish(capturedAuction, status, body);
+
         final AuctionEvent auctionEvent = auctionEventBuilder.status(status).errors(errorMessages).build();
         respondWith(context, status, body, startTime, requestType, metricRequestStatus, auctionEvent);
     }
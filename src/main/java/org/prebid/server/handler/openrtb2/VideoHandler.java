@@ -16,8 +16,12 @@ import org.prebid.server.auction.VideoResponseFactory;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.Tuple2;
 import org.prebid.server.auction.model.WithPodErrors;
+import org.prebid.server.capture.CapturedAuction;
+import org.prebid.server.capture.TrafficCaptureService;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.UnauthorizedAccountException;
+import org.prebid.server.execution.ResourceMeter;
+import org.prebid.server.execution.ResourceMeterFactory;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.MetricName;
 import org.prebid.server.metric.Metrics;
@@ -36,6 +40,7 @@ public class VideoHandler implements Handler<RoutingContext> {
     private static final Logger logger = LoggerFactory.getLogger(VideoHandler.class);
 
     private static final MetricName REQUEST_TYPE_METRIC = MetricName.video;
+    private static final String ENDPOINT = "/openrtb2/video";
 
     private final VideoRequestFactory videoRequestFactory;
     private final VideoResponseFactory videoResponseFactory;
@@ -43,22 +48,37 @@ public class VideoHandler implements Handler<RoutingContext> {
     private final AnalyticsReporter analyticsReporter;
     private final Metrics metrics;
     private final Clock clock;
+    private final TrafficCaptureService trafficCaptureService;
+    private final ResourceMeterFactory resourceMeterFactory;
     private final JacksonMapper mapper;
 
     public VideoHandler(VideoRequestFactory videoRequestFactory, VideoResponseFactory videoResponseFactory,
                         ExchangeService exchangeService, AnalyticsReporter analyticsReporter, Metrics metrics,
-                        Clock clock, JacksonMapper mapper) {
+                        Clock clock, TrafficCaptureService trafficCaptureService,
+                        ResourceMeterFactory resourceMeterFactory, JacksonMapper mapper) {
         this.videoRequestFactory = Objects.requireNonNull(videoRequestFactory);
         this.videoResponseFactory = Objects.requireNonNull(videoResponseFactory);
         this.exchangeService = Objects.requireNonNull(exchangeService);
         this.analyticsReporter = Objects.requireNonNull(analyticsReporter);
         this.metrics = Objects.requireNonNull(metrics);
         this.clock = Objects.requireNonNull(clock);
+        this.trafficCaptureService = Objects.requireNonNull(trafficCaptureService);
+        this.resourceMeterFactory = Objects.requireNonNull(resourceMeterFactory);
         this.mapper = Objects.requireNonNull(mapper);
     }
 
     @Override
     public void handle(RoutingContext routingContext) {
+        final ResourceMeter resourceMeter = resourceMeterFactory.create();
+        resourceMeter.resume();
+        try {
+            handle(routingContext, resourceMeter);
+        } finally {
+            resourceMeter.suspend();
+        }
+    }
+
+    private void handle(RoutingContext routingContext, ResourceMeter resourceMeter) {
         // Prebid Server interprets request.tmax to be the maximum amount of time that a caller is willing to wait
         // for bids. However, tmax may be defined in the Stored Request data.
         // If so, then the trip to the backend might use a significant amount of this time. We can respect timeouts
@@ -70,8 +90,11 @@ public class VideoHandler implements Handler<RoutingContext> {
         final VideoEvent.VideoEventBuilder videoEventBuilder = VideoEvent.builder()
                 .httpContext(HttpContext.from(routingContext));
 
-        videoRequestFactory.fromRequest(routingContext, startTime)
-                .map(contextToErrors -> updateAuctionContextWithPodErrors(contextToErrors, videoEventBuilder))
+        final CapturedAuction capturedAuction = trafficCaptureService.start(routingContext, ENDPOINT);
+
+        videoRequestFactory.fromRequest(routingContext, startTime, resourceMeter)
+                .map(contextToErrors -> updateAuctionContextWithPodErrors(contextToErrors, videoEventBuilder,
+                        capturedAuction))
 
                 .compose(contextToErrors -> exchangeService.holdAuction(contextToErrors.getData())
                         .map(bidResponse -> Tuple2.of(bidResponse, contextToErrors)))
@@ -81,14 +104,16 @@ public class VideoHandler implements Handler<RoutingContext> {
 
                 .map(videoResponse -> addToEvent(videoResponse, videoEventBuilder::bidResponse, videoResponse))
                 .setHandler(responseResult -> handleResult(responseResult, videoEventBuilder, routingContext,
-                        startTime));
+                        startTime, capturedAuction));
     }
 
     private WithPodErrors<AuctionContext> updateAuctionContextWithPodErrors(
-            WithPodErrors<AuctionContext> contextToErrors, VideoEvent.VideoEventBuilder eventBuilder) {
+            WithPodErrors<AuctionContext> contextToErrors, VideoEvent.VideoEventBuilder eventBuilder,
+            CapturedAuction capturedAuction) {
 
         final AuctionContext typeMetricAuctionContext = contextToErrors.getData().toBuilder()
                 .requestTypeMetric(REQUEST_TYPE_METRIC)
+                .capturedAuction(capturedAuction)
                 .build();
 
         addToEvent(typeMetricAuctionContext, eventBuilder::auctionContext, typeMetricAuctionContext);
@@ -103,7 +128,7 @@ public class VideoHandler implements Handler<RoutingContext> {
     }
 
     private void handleResult(AsyncResult<VideoResponse> responseResult, VideoEvent.VideoEventBuilder videoEventBuilder,
-                              RoutingContext context, long startTime) {
+                              RoutingContext context, long startTime, CapturedAuction capturedAuction) {
         final boolean responseSucceeded = responseResult.succeeded();
         final MetricName metricRequestStatus;
         final List<String> errorMessages;
@@ -148,6 +173,8 @@ public class VideoHandler implements Handler<RoutingContext> {
                 body = String.format("Critical error while running the auction: %s", message);
             }
         }
+        trafficCaptureService.finish(capturedAuction, status, body);
+
         final VideoEvent videoEvent = videoEventBuilder.status(status).errors(errorMessages).build();
         respondWith(context, status, body, startTime, metricRequestStatus, videoEvent);
     }
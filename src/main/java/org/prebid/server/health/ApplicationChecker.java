@@ -1,19 +1,37 @@
 package org.prebid.server.health;
 
+import org.prebid.server.health.model.Status;
 import org.prebid.server.health.model.StatusResponse;
+import org.prebid.server.vertx.EventLoopMonitor;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
 
 public class ApplicationChecker implements HealthChecker {
 
     private static final String NAME = "application";
 
     private final StatusResponse status;
+    private final EventLoopMonitor eventLoopMonitor;
 
     public ApplicationChecker(String status) {
+        this(status, null);
+    }
+
+    /**
+     * Creates checker reporting {@link Status#DOWN} while {@link EventLoopMonitor} (if given) finds
+     * any event loop blocked, and configured status otherwise.
+     */
+    public ApplicationChecker(String status, EventLoopMonitor eventLoopMonitor) {
         this.status = StatusResponse.of(status, null);
+        this.eventLoopMonitor = eventLoopMonitor;
     }
 
     @Override
     public StatusResponse status() {
+        if (eventLoopMonitor != null && eventLoopMonitor.isBlocked()) {
+            return StatusResponse.of(Status.DOWN.name(), ZonedDateTime.now(Clock.systemUTC()));
+        }
         return status;
     }
 
@@ -3,6 +3,7 @@ package org.prebid.server.json;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.netty.buffer.ByteBuf;
 import io.netty.buffer.ByteBufInputStream;
 import io.vertx.core.buffer.Buffer;
 
@@ -46,9 +47,19 @@ public class JacksonMapper {
         }
     }
 
+    /**
+     * Decodes value straight from bytes of the given {@link Buffer} without copying them.
+     * <p>
+     * Heap buffers (the ones filled by body handler) are parsed from their backing array directly,
+     * others are read as a stream.
+     */
     public <T> T decodeValue(Buffer buf, Class<T> clazz) throws DecodeException {
+        final ByteBuf byteBuf = buf.getByteBuf();
         try {
-            return mapper.readValue((InputStream) new ByteBufInputStream(buf.getByteBuf()), clazz);
+            return byteBuf.hasArray()
+                    ? mapper.readValue(byteBuf.array(), byteBuf.arrayOffset() + byteBuf.readerIndex(),
+                    byteBuf.readableBytes(), clazz)
+                    : mapper.readValue((InputStream) new ByteBufInputStream(byteBuf), clazz);
         } catch (IOException e) {
             throw new DecodeException("Failed to decode: " + e.getMessage(), e);
         }
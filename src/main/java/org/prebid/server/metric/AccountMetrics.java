@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -13,24 +13,24 @@ import java.util.function.Function;
 class AccountMetrics extends UpdatableMetrics {
 
     private final Function<String, AdapterMetrics> adapterMetricsCreator;
-    // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
-    // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
-    // thread-safe
+    // account metrics can be removed while other threads are updating them, so the map has to be thread-safe
     private final Map<String, AdapterMetrics> adapterMetrics;
     private final RequestTypeMetrics requestTypeMetrics;
     private final RequestMetrics requestsMetrics;
 
-    AccountMetrics(MetricRegistry metricRegistry, CounterType counterType, String account) {
+    /**
+     * Creates metrics reported under the given prefix, which is either account-specific or common for all accounts
+     * rolled up together.
+     */
+    AccountMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                   String prefix) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
-                nameCreator(createPrefix(Objects.requireNonNull(account))));
-        adapterMetricsCreator = adapterType -> new AdapterMetrics(metricRegistry, counterType, account, adapterType);
-        adapterMetrics = new HashMap<>();
-        requestTypeMetrics = new RequestTypeMetrics(metricRegistry, counterType, createPrefix(account));
-        requestsMetrics = new RequestMetrics(metricRegistry, counterType, createPrefix(account));
-    }
-
-    private static String createPrefix(String account) {
-        return String.format("account.%s", account);
+                Objects.requireNonNull(reservoirType), nameCreator(Objects.requireNonNull(prefix)));
+        adapterMetricsCreator = adapterType ->
+                new AdapterMetrics(metricRegistry, counterType, reservoirType, prefix, adapterType);
+        adapterMetrics = new ConcurrentHashMap<>();
+        requestTypeMetrics = new RequestTypeMetrics(metricRegistry, counterType, reservoirType, prefix);
+        requestsMetrics = new RequestMetrics(metricRegistry, counterType, reservoirType, prefix);
     }
 
     private static Function<MetricName, String> nameCreator(String prefix) {
@@ -48,4 +48,12 @@ class AccountMetrics extends UpdatableMetrics {
     RequestMetrics requests() {
         return requestsMetrics;
     }
+
+    @Override
+    void removeMetrics() {
+        super.removeMetrics();
+        adapterMetrics.values().forEach(AdapterMetrics::removeMetrics);
+        requestTypeMetrics.removeMetrics();
+        requestsMetrics.removeMetrics();
+    }
 }
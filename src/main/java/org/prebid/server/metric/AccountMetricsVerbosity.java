@@ -26,4 +26,11 @@ public class AccountMetricsVerbosity {
     public AccountMetricsVerbosityLevel forAccount(String accountId) {
         return accountVerbosityLevels.getOrDefault(accountId, defaultVerbosity);
     }
+
+    /**
+     * Tells whether verbosity level is configured for the given account explicitly.
+     */
+    public boolean isConfigured(String accountId) {
+        return accountVerbosityLevels.containsKey(accountId);
+    }
 }
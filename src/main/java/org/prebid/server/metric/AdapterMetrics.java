@@ -2,9 +2,9 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 
 /**
@@ -17,24 +17,31 @@ class AdapterMetrics extends UpdatableMetrics {
     private final Function<String, BidTypeMetrics> bidTypeMetricsCreator;
     private final Map<String, BidTypeMetrics> bidTypeMetrics;
 
-    AdapterMetrics(MetricRegistry metricRegistry, CounterType counterType, String adapterType) {
+    AdapterMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                   String adapterType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 nameCreator(createAdapterPrefix(Objects.requireNonNull(adapterType))));
 
         bidTypeMetricsCreator = bidType ->
-                new BidTypeMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType), bidType);
-        requestTypeMetrics = new RequestTypeMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType));
-        requestMetrics = new RequestMetrics(metricRegistry, counterType, createAdapterPrefix(adapterType));
-        bidTypeMetrics = new HashMap<>();
+                new BidTypeMetrics(metricRegistry, counterType, reservoirType, createAdapterPrefix(adapterType),
+                        bidType);
+        requestTypeMetrics = new RequestTypeMetrics(metricRegistry, counterType, reservoirType,
+                createAdapterPrefix(adapterType));
+        requestMetrics = new RequestMetrics(metricRegistry, counterType, reservoirType,
+                createAdapterPrefix(adapterType));
+        bidTypeMetrics = new ConcurrentHashMap<>();
     }
 
-    AdapterMetrics(MetricRegistry metricRegistry, CounterType counterType, String account, String adapterType) {
+    AdapterMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                   String accountPrefix, String adapterType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
-                nameCreator(createAccountAdapterPrefix(Objects.requireNonNull(account),
+                Objects.requireNonNull(reservoirType),
+                nameCreator(createAccountAdapterPrefix(Objects.requireNonNull(accountPrefix),
                         Objects.requireNonNull(adapterType))));
 
-        requestMetrics = new RequestMetrics(metricRegistry, counterType,
-                createAccountAdapterPrefix(account, adapterType));
+        requestMetrics = new RequestMetrics(metricRegistry, counterType, reservoirType,
+                createAccountAdapterPrefix(accountPrefix, adapterType));
 
         // not used for account.adapter metrics
         bidTypeMetricsCreator = null;
@@ -46,8 +53,8 @@ class AdapterMetrics extends UpdatableMetrics {
         return String.format("adapter.%s", adapterType);
     }
 
-    private static String createAccountAdapterPrefix(String account, String adapterType) {
-        return String.format("account.%s.%s", account, adapterType);
+    private static String createAccountAdapterPrefix(String accountPrefix, String adapterType) {
+        return String.format("%s.%s", accountPrefix, adapterType);
     }
 
     private static Function<MetricName, String> nameCreator(String prefix) {
@@ -65,4 +72,16 @@ class AdapterMetrics extends UpdatableMetrics {
     BidTypeMetrics forBidType(String bidType) {
         return bidTypeMetrics.computeIfAbsent(bidType, bidTypeMetricsCreator);
     }
+
+    @Override
+    void removeMetrics() {
+        super.removeMetrics();
+        requestMetrics.removeMetrics();
+        if (requestTypeMetrics != null) {
+            requestTypeMetrics.removeMetrics();
+        }
+        if (bidTypeMetrics != null) {
+            bidTypeMetrics.values().forEach(BidTypeMetrics::removeMetrics);
+        }
+    }
 }
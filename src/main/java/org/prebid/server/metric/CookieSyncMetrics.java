@@ -15,10 +15,12 @@ public class CookieSyncMetrics extends UpdatableMetrics {
     private final Function<String, CookieSyncMetrics.BidderCookieSyncMetrics> bidderCookieSyncMetricsCreator;
     private final Map<String, CookieSyncMetrics.BidderCookieSyncMetrics> bidderCookieSyncMetrics;
 
-    CookieSyncMetrics(MetricRegistry metricRegistry, CounterType counterType) {
+    CookieSyncMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 metricName -> String.format("cookie_sync.%s", metricName.toString()));
-        bidderCookieSyncMetricsCreator = bidder -> new BidderCookieSyncMetrics(metricRegistry, counterType, bidder);
+        bidderCookieSyncMetricsCreator = bidder ->
+                new BidderCookieSyncMetrics(metricRegistry, counterType, reservoirType, bidder);
         bidderCookieSyncMetrics = new HashMap<>();
     }
 
@@ -28,8 +30,10 @@ public class CookieSyncMetrics extends UpdatableMetrics {
 
     static class BidderCookieSyncMetrics extends UpdatableMetrics {
 
-        BidderCookieSyncMetrics(MetricRegistry metricRegistry, CounterType counterType, String bidder) {
+        BidderCookieSyncMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                                String bidder) {
             super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                    Objects.requireNonNull(reservoirType),
                     nameCreator(Objects.requireNonNull(bidder)));
         }
 
@@ -0,0 +1,23 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Vert.x event loop metrics support.
+ */
+class EventLoopMetrics extends UpdatableMetrics {
+
+    EventLoopMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                     int eventLoop) {
+        super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
+                nameCreator(eventLoop));
+    }
+
+    private static Function<MetricName, String> nameCreator(int eventLoop) {
+        return metricName -> String.format("event_loop.%d.%s", eventLoop, metricName.toString());
+    }
+}
@@ -0,0 +1,173 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Snapshot;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+import org.HdrHistogram.Recorder;
+
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link Reservoir} backed by HdrHistogram {@link Recorder}.
+ * <p>
+ * Snapshot holds all values recorded within the last six completed ten-second periods, so percentiles are exact
+ * within histogram precision instead of being estimated from a sample as exponentially decaying reservoir does.
+ * Values recorded in the current period are not in the snapshot until the period ends, so the window slides in
+ * ten-second steps and covers from 50 to 60 seconds before the moment of reading.
+ * <p>
+ * Each period is kept in its own chunk. Chunks are rotated when the period ends, by the first write or read after
+ * that, so values are attributed to their period however rarely snapshot is read. Recording is allocation-free and
+ * wait-free except for the rotation. Rotation recycles histogram of the oldest chunk, so reading allocates only
+ * a copy the snapshot is built of. Snapshot is rebuilt once per rotation and reading it doesn't consume values,
+ * so reporters reading at different moments see the same window.
+ */
+class HdrHistogramReservoir implements Reservoir {
+
+    private static final int NUMBER_OF_SIGNIFICANT_VALUE_DIGITS = 2;
+    private static final int WINDOW_CHUNKS = 6;
+    private static final long CHUNK_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+    private final Recorder recorder;
+    private final Clock clock;
+
+    private final Histogram[] chunks;
+    private int currentChunk;
+    // start of the period values are currently recorded for
+    private long periodStartTick;
+    private volatile long nextRotationTick;
+    private Snapshot snapshot;
+
+    HdrHistogramReservoir() {
+        this(Clock.defaultClock());
+    }
+
+    HdrHistogramReservoir(Clock clock) {
+        this.clock = Objects.requireNonNull(clock);
+        recorder = new Recorder(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+        chunks = new Histogram[WINDOW_CHUNKS];
+        periodStartTick = clock.getTick();
+        nextRotationTick = periodStartTick + CHUNK_NANOS;
+    }
+
+    @Override
+    public int size() {
+        return getSnapshot().size();
+    }
+
+    @Override
+    public void update(long value) {
+        if (clock.getTick() - nextRotationTick >= 0) {
+            rotateOnWrite();
+        }
+        recorder.recordValue(value < 0 ? 0 : value);
+    }
+
+    private synchronized void rotateOnWrite() {
+        rotate();
+    }
+
+    @Override
+    public synchronized Snapshot getSnapshot() {
+        rotate();
+        if (snapshot == null) {
+            final Histogram window = new Histogram(NUMBER_OF_SIGNIFICANT_VALUE_DIGITS);
+            for (Histogram chunk : chunks) {
+                if (chunk != null) {
+                    window.add(chunk);
+                }
+            }
+            snapshot = new HdrHistogramSnapshot(window);
+        }
+        return snapshot;
+    }
+
+    /**
+     * Moves values recorded in the current period to the next chunk if the period has ended, evicting the oldest
+     * chunk. Chunks of periods which passed without any writes are left empty, values which are already out of
+     * window by the time of rotation are dropped.
+     */
+    private void rotate() {
+        final long elapsedChunks = (clock.getTick() - periodStartTick) / CHUNK_NANOS;
+        if (elapsedChunks <= 0) {
+            return;
+        }
+        periodStartTick += elapsedChunks * CHUNK_NANOS;
+        nextRotationTick = periodStartTick + CHUNK_NANOS;
+
+        currentChunk = (currentChunk + 1) % WINDOW_CHUNKS;
+        chunks[currentChunk] = recorder.getIntervalHistogram(chunks[currentChunk]);
+        for (long i = 1; i < Math.min(elapsedChunks, WINDOW_CHUNKS + 1); i++) {
+            currentChunk = (currentChunk + 1) % WINDOW_CHUNKS;
+            if (chunks[currentChunk] != null) {
+                chunks[currentChunk].reset();
+            }
+        }
+        snapshot = null;
+    }
+
+    private static class HdrHistogramSnapshot extends Snapshot {
+
+        private final Histogram histogram;
+
+        HdrHistogramSnapshot(Histogram histogram) {
+            this.histogram = histogram;
+        }
+
+        @Override
+        public double getValue(double quantile) {
+            return histogram.getValueAtPercentile(quantile * 100.0);
+        }
+
+        /**
+         * Returns distinct recorded values (with histogram precision) in ascending order.
+         */
+        @Override
+        public long[] getValues() {
+            return StreamSupport.stream(histogram.recordedValues().spliterator(), false)
+                    .mapToLong(HistogramIterationValue::getValueIteratedTo)
+                    .toArray();
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(histogram.getTotalCount(), Integer.MAX_VALUE);
+        }
+
+        @Override
+        public long getMax() {
+            return histogram.getMaxValue();
+        }
+
+        @Override
+        public double getMean() {
+            return histogram.getMean();
+        }
+
+        @Override
+        public long getMin() {
+            return histogram.getMinValue();
+        }
+
+        @Override
+        public double getStdDev() {
+            return histogram.getStdDeviation();
+        }
+
+        @Override
+        public void dump(OutputStream output) {
+            try (PrintWriter out = new PrintWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8))) {
+                for (HistogramIterationValue value : histogram.recordedValues()) {
+                    out.printf("%d%n", value.getValueIteratedTo());
+                }
+            }
+        }
+    }
+}
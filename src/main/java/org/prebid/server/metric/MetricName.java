@@ -4,6 +4,10 @@ public enum MetricName {
     // connection
     connection_accept_errors,
 
+    // transport
+    native_transport,
+    event_loops,
+
     // database
     db_circuitbreaker_opened,
     db_circuitbreaker_closed,
@@ -19,6 +23,20 @@ public enum MetricName {
     geolocation_fail,
     geolocation_circuitbreaker_opened,
     geolocation_circuitbreaker_closed,
+    geolocation_cache_hit,
+    geolocation_cache_miss,
+
+    // gdpr consent
+    gdpr_consent_cache_hit,
+    gdpr_consent_cache_miss,
+
+    // bidder params validation
+    bidder_params_validation_cache_hit,
+    bidder_params_validation_cache_miss,
+
+    // admission control
+    auctions_admitted,
+    auctions_shed,
 
     // auction
     requests,
@@ -74,6 +92,18 @@ public enum MetricName {
     stored_imps_found,
     stored_imps_missing,
 
+    // auction stages
+    time,
+
+    // event loops
+    lag,
+    pending_tasks,
+    blocked,
+
+    // resource accounting
+    allocated_bytes,
+    cpu_time,
+
     // cache
     prebid_cache_request_success_time,
     prebid_cache_request_error_time,
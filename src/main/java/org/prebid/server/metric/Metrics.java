@@ -2,16 +2,21 @@ package org.prebid.server.metric;
 
 import com.codahale.metrics.MetricRegistry;
 import com.iab.openrtb.request.Imp;
+import org.prebid.server.auction.model.AuctionStage;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.execution.ResourceMeter;
 import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -21,37 +26,77 @@ import java.util.stream.Collectors;
 public class Metrics extends UpdatableMetrics {
 
     private static final String METRICS_UNKNOWN_BIDDER = "UNKNOWN";
+    // not prefixed with "account." so that it can't be confused with metrics of account having the same id
+    static final String METRICS_OTHER_ACCOUNTS_PREFIX = "other_accounts";
 
     private AccountMetricsVerbosity accountMetricsVerbosity;
     private final BidderCatalog bidderCatalog;
+    private final TopAccountsTracker topAccountsTracker;
+    // accounts dropped out of the top at the last refresh, accessed only by the thread refreshing the top
+    private List<String> droppedTopAccounts;
 
     private final Function<MetricName, RequestStatusMetrics> requestMetricsCreator;
     private final Function<String, AccountMetrics> accountMetricsCreator;
     private final Function<String, AdapterMetrics> adapterMetricsCreator;
+    private final Function<AuctionStage, StageMetrics> stageMetricsCreator;
+    private final Function<Integer, EventLoopMetrics> eventLoopMetricsCreator;
+    private final Function<MetricName, ResourceMetrics> resourceMetricsCreator;
     // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
     // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
     // thread-safe
     private final Map<MetricName, RequestStatusMetrics> requestMetrics;
+    // accounts dropped out of the top are removed from this map, so it has to be thread-safe
     private final Map<String, AccountMetrics> accountMetrics;
+    private final AccountMetrics otherAccountMetrics;
     private final Map<String, AdapterMetrics> adapterMetrics;
+    private final Map<AuctionStage, StageMetrics> stageMetrics;
+    private final Map<Integer, EventLoopMetrics> eventLoopMetrics;
+    private final Map<MetricName, ResourceMetrics> resourceMetrics;
     private final UserSyncMetrics userSyncMetrics;
     private final CookieSyncMetrics cookieSyncMetrics;
 
-    public Metrics(MetricRegistry metricRegistry, CounterType counterType, AccountMetricsVerbosity
-            accountMetricsVerbosity, BidderCatalog bidderCatalog) {
-        super(metricRegistry, counterType, MetricName::toString);
+    public Metrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                   AccountMetricsVerbosity accountMetricsVerbosity, BidderCatalog bidderCatalog) {
+        this(metricRegistry, counterType, reservoirType, accountMetricsVerbosity, bidderCatalog, null);
+    }
+
+    /**
+     * Creates metrics which keep per-account metrics only for accounts selected by {@link TopAccountsTracker}
+     * (and accounts with explicitly configured verbosity), all the rest are rolled up
+     * into {@value #METRICS_OTHER_ACCOUNTS_PREFIX} metrics. Tracker is optional, the top is recalculated
+     * by {@link #refreshTopAccounts()}.
+     */
+    public Metrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                   AccountMetricsVerbosity accountMetricsVerbosity, BidderCatalog bidderCatalog,
+                   TopAccountsTracker topAccountsTracker) {
+        super(metricRegistry, counterType, reservoirType, MetricName::toString);
 
         this.accountMetricsVerbosity = Objects.requireNonNull(accountMetricsVerbosity);
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
-
-        requestMetricsCreator = requestType -> new RequestStatusMetrics(metricRegistry, counterType, requestType);
-        accountMetricsCreator = account -> new AccountMetrics(metricRegistry, counterType, account);
-        adapterMetricsCreator = adapterType -> new AdapterMetrics(metricRegistry, counterType, adapterType);
+        this.topAccountsTracker = topAccountsTracker;
+        droppedTopAccounts = Collections.emptyList();
+
+        requestMetricsCreator = requestType ->
+                new RequestStatusMetrics(metricRegistry, counterType, reservoirType, requestType);
+        accountMetricsCreator = account ->
+                new AccountMetrics(metricRegistry, counterType, reservoirType, String.format("account.%s", account));
+        adapterMetricsCreator = adapterType ->
+                new AdapterMetrics(metricRegistry, counterType, reservoirType, adapterType);
+        stageMetricsCreator = stage -> new StageMetrics(metricRegistry, counterType, reservoirType, stage);
+        eventLoopMetricsCreator = eventLoop ->
+                new EventLoopMetrics(metricRegistry, counterType, reservoirType, eventLoop);
+        resourceMetricsCreator = requestType ->
+                new ResourceMetrics(metricRegistry, counterType, reservoirType, requestType);
         requestMetrics = new EnumMap<>(MetricName.class);
-        accountMetrics = new HashMap<>();
+        accountMetrics = new ConcurrentHashMap<>();
+        otherAccountMetrics = new AccountMetrics(metricRegistry, counterType, reservoirType,
+                METRICS_OTHER_ACCOUNTS_PREFIX);
         adapterMetrics = new HashMap<>();
-        userSyncMetrics = new UserSyncMetrics(metricRegistry, counterType);
-        cookieSyncMetrics = new CookieSyncMetrics(metricRegistry, counterType);
+        stageMetrics = new EnumMap<>(AuctionStage.class);
+        eventLoopMetrics = new HashMap<>();
+        resourceMetrics = new EnumMap<>(MetricName.class);
+        userSyncMetrics = new UserSyncMetrics(metricRegistry, counterType, reservoirType);
+        cookieSyncMetrics = new CookieSyncMetrics(metricRegistry, counterType, reservoirType);
     }
 
     RequestStatusMetrics forRequestType(MetricName requestType) {
@@ -59,13 +104,27 @@ public class Metrics extends UpdatableMetrics {
     }
 
     AccountMetrics forAccount(String account) {
-        return accountMetrics.computeIfAbsent(account, accountMetricsCreator);
+        return isReportedSeparately(account)
+                ? accountMetrics.computeIfAbsent(account, accountMetricsCreator)
+                : otherAccountMetrics;
     }
 
     AdapterMetrics forAdapter(String adapterType) {
         return adapterMetrics.computeIfAbsent(adapterType, adapterMetricsCreator);
     }
 
+    StageMetrics forStage(AuctionStage stage) {
+        return stageMetrics.computeIfAbsent(stage, stageMetricsCreator);
+    }
+
+    EventLoopMetrics forEventLoop(int eventLoop) {
+        return eventLoopMetrics.computeIfAbsent(eventLoop, eventLoopMetricsCreator);
+    }
+
+    ResourceMetrics forResources(MetricName requestType) {
+        return resourceMetrics.computeIfAbsent(requestType, resourceMetricsCreator);
+    }
+
     UserSyncMetrics userSync() {
         return userSyncMetrics;
     }
@@ -148,6 +207,42 @@ public class Metrics extends UpdatableMetrics {
         updateTimer(MetricName.request_time, millis);
     }
 
+    public void updateAuctionStageMetric(AuctionStage stage, long nanos) {
+        forStage(stage).updateTimer(MetricName.time, nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void updateEventLoopMetrics(int eventLoop, long lagNanos, int pendingTasks) {
+        final EventLoopMetrics loopMetrics = forEventLoop(eventLoop);
+        loopMetrics.updateTimer(MetricName.lag, lagNanos, TimeUnit.NANOSECONDS);
+        loopMetrics.updateHistogram(MetricName.pending_tasks, pendingTasks);
+    }
+
+    public void updateEventLoopBlockedMetric(int eventLoop) {
+        forEventLoop(eventLoop).incCounter(MetricName.blocked);
+    }
+
+    /**
+     * Submits memory allocated and CPU time consumed by the request if it was sampled by its {@link ResourceMeter}.
+     */
+    public void updateResourceMetrics(MetricName requestType, String accountId, ResourceMeter resourceMeter) {
+        if (!resourceMeter.isSampled()) {
+            return;
+        }
+
+        final long allocatedBytes = resourceMeter.getAllocatedBytes();
+        final long cpuNanos = resourceMeter.getCpuNanos();
+
+        final ResourceMetrics requestTypeMetrics = forResources(requestType);
+        requestTypeMetrics.updateHistogram(MetricName.allocated_bytes, allocatedBytes);
+        requestTypeMetrics.updateTimer(MetricName.cpu_time, cpuNanos, TimeUnit.NANOSECONDS);
+
+        if (accountMetricsVerbosity.forAccount(accountId).isAtLeast(AccountMetricsVerbosityLevel.basic)) {
+            final AccountMetrics accountMetrics = forAccount(accountId);
+            accountMetrics.updateHistogram(MetricName.allocated_bytes, allocatedBytes);
+            accountMetrics.updateTimer(MetricName.cpu_time, cpuNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
     public void updateRequestTypeMetric(MetricName requestType, MetricName requestStatus) {
         forRequestType(requestType).incCounter(requestStatus);
     }
@@ -155,6 +250,7 @@ public class Metrics extends UpdatableMetrics {
     public void updateAccountRequestMetrics(String accountId, MetricName requestType) {
         final AccountMetricsVerbosityLevel verbosityLevel = accountMetricsVerbosity.forAccount(accountId);
         if (verbosityLevel.isAtLeast(AccountMetricsVerbosityLevel.basic)) {
+            trackAccount(accountId);
             final AccountMetrics accountMetrics = forAccount(accountId);
 
             accountMetrics.incCounter(MetricName.requests);
@@ -179,6 +275,45 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    /**
+     * Recalculates top accounts and removes metrics of accounts dropped out of the top. Expected to be called
+     * periodically from a single thread.
+     * <p>
+     * Metrics of dropped account are removed only at the next refresh if account didn't return to the top, so that
+     * updates which have already resolved its metrics before it was dropped are done with them and can't register
+     * removed metrics again.
+     */
+    public void refreshTopAccounts() {
+        if (topAccountsTracker == null) {
+            return;
+        }
+
+        final List<String> newlyDroppedTopAccounts = topAccountsTracker.refresh();
+
+        for (String droppedAccount : droppedTopAccounts) {
+            if (!topAccountsTracker.isTop(droppedAccount)) {
+                final AccountMetrics droppedAccountMetrics = accountMetrics.remove(droppedAccount);
+                if (droppedAccountMetrics != null) {
+                    droppedAccountMetrics.removeMetrics();
+                }
+            }
+        }
+
+        droppedTopAccounts = newlyDroppedTopAccounts;
+    }
+
+    private void trackAccount(String accountId) {
+        if (topAccountsTracker != null && !accountMetricsVerbosity.isConfigured(accountId)) {
+            topAccountsTracker.record(accountId);
+        }
+    }
+
+    private boolean isReportedSeparately(String accountId) {
+        return topAccountsTracker == null
+                || accountMetricsVerbosity.isConfigured(accountId)
+                || topAccountsTracker.isTop(accountId);
+    }
+
     private String resolveMetricsBidderName(String bidder) {
         if (bidderCatalog.isValidName(bidder)) {
             return bidder;
@@ -310,6 +445,29 @@ public class Metrics extends UpdatableMetrics {
         }
     }
 
+    public void updateGeoLocationCacheMetric(boolean hit) {
+        incCounter(hit ? MetricName.geolocation_cache_hit : MetricName.geolocation_cache_miss);
+    }
+
+    public void updateGdprConsentCacheMetric(boolean hit) {
+        incCounter(hit ? MetricName.gdpr_consent_cache_hit : MetricName.gdpr_consent_cache_miss);
+    }
+
+    public void updateTransportMetrics(boolean nativeTransport, int eventLoops) {
+        updateGauge(MetricName.native_transport, nativeTransport ? 1 : 0);
+        updateGauge(MetricName.event_loops, eventLoops);
+    }
+
+    public void updateAuctionAdmissionMetric(boolean admitted) {
+        incCounter(admitted ? MetricName.auctions_admitted : MetricName.auctions_shed);
+    }
+
+    public void updateBidderParamsValidationCacheMetric(boolean hit) {
+        incCounter(hit
+                ? MetricName.bidder_params_validation_cache_hit
+                : MetricName.bidder_params_validation_cache_miss);
+    }
+
     public void updateStoredRequestMetric(boolean found) {
         if (found) {
             incCounter(MetricName.stored_requests_found);
@@ -10,8 +10,9 @@ import java.util.function.Function;
  */
 class RequestMetrics extends UpdatableMetrics {
 
-    RequestMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix) {
+    RequestMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType, String prefix) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 nameCreator(Objects.requireNonNull(prefix)));
     }
 
@@ -10,8 +10,10 @@ import java.util.function.Function;
  */
 class RequestStatusMetrics extends UpdatableMetrics {
 
-    RequestStatusMetrics(MetricRegistry metricRegistry, CounterType counterType, MetricName requestType) {
+    RequestStatusMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                         MetricName requestType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 nameCreator(Objects.requireNonNull(requestType)));
     }
 
@@ -10,8 +10,10 @@ import java.util.function.Function;
  */
 class RequestTypeMetrics extends UpdatableMetrics {
 
-    RequestTypeMetrics(MetricRegistry metricRegistry, CounterType counterType, String prefix) {
+    RequestTypeMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                       String prefix) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 nameCreator(Objects.requireNonNull(prefix)));
     }
 
@@ -0,0 +1,23 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Metrics of resources consumed by requests of particular type.
+ */
+class ResourceMetrics extends UpdatableMetrics {
+
+    ResourceMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                    MetricName requestType) {
+        super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
+                nameCreator(Objects.requireNonNull(requestType)));
+    }
+
+    private static Function<MetricName, String> nameCreator(MetricName requestType) {
+        return metricName -> String.format("resources.%s.%s", requestType.toString(), metricName.toString());
+    }
+}
@@ -0,0 +1,24 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.MetricRegistry;
+import org.prebid.server.auction.model.AuctionStage;
+
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Auction stage metrics support.
+ */
+class StageMetrics extends UpdatableMetrics {
+
+    StageMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                 AuctionStage stage) {
+        super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
+                nameCreator(Objects.requireNonNull(stage)));
+    }
+
+    private static Function<MetricName, String> nameCreator(AuctionStage stage) {
+        return metricName -> String.format("stage.%s.%s", stage.name(), metricName.toString());
+    }
+}
@@ -0,0 +1,32 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Reservoir;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Histogram} which also keeps the total of recorded values, as reservoir snapshots don't have it.
+ * Total is exposed as the sum of Prometheus summary.
+ */
+public class SummingHistogram extends Histogram {
+
+    private final LongAdder sum = new LongAdder();
+
+    public SummingHistogram(Reservoir reservoir) {
+        super(reservoir);
+    }
+
+    @Override
+    public void update(long value) {
+        super.update(value);
+        sum.add(value);
+    }
+
+    /**
+     * Returns the total of recorded values.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+}
@@ -0,0 +1,40 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Reservoir;
+import com.codahale.metrics.Timer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link Timer} which also keeps the total of durations recorded by {@link #update(long, TimeUnit)}, as reservoir
+ * snapshots don't have it. Total is exposed as the sum of Prometheus summary.
+ */
+public class SummingTimer extends Timer {
+
+    private final LongAdder sum = new LongAdder();
+
+    public SummingTimer() {
+        super();
+    }
+
+    public SummingTimer(Reservoir reservoir) {
+        super(reservoir);
+    }
+
+    @Override
+    public void update(long duration, TimeUnit unit) {
+        super.update(duration, unit);
+        // the same as timer itself, negative durations are ignored
+        if (duration >= 0) {
+            sum.add(unit.toNanos(duration));
+        }
+    }
+
+    /**
+     * Returns the total of recorded durations in nanoseconds.
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+}
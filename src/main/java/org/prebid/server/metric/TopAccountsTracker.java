@@ -0,0 +1,156 @@
+package org.prebid.server.metric;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Finds accounts with the highest request volume, keeping memory bounded regardless of the number of distinct
+ * accounts seen.
+ * <p>
+ * Requests are counted by Space-Saving algorithm in a fixed number of counters (several times bigger than the number
+ * of top accounts). When there are no free counters, request from untracked account takes over the counter of the
+ * least active account: it inherits the count of that account, which is remembered as possible overestimation.
+ * So a new account with heavy traffic gets among the most counted ones right away, without waiting for counters to
+ * be freed.
+ * <p>
+ * Set of top accounts is recalculated by {@link #refresh()}, which is expected to be called periodically: counters
+ * are halved at the same time, so the top reflects recent traffic and accounts losing it eventually drop out.
+ * Until the top is filled, accounts are added to it as soon as they are seen.
+ */
+public class TopAccountsTracker {
+
+    private static final int TRACKED_ACCOUNTS_PER_TOP_ACCOUNT = 4;
+
+    private static final Comparator<Counter> COUNT_ASCENDING_COMPARATOR =
+            Comparator.comparingLong((Counter counter) -> counter.count)
+                    .thenComparing(counter -> counter.account);
+
+    // accounts with the same count are ranked by how much of it is guaranteed
+    private static final Comparator<Counter> TOP_COMPARATOR =
+            Comparator.comparingLong((Counter counter) -> counter.count).reversed()
+                    .thenComparingLong(counter -> counter.error)
+                    .thenComparing(counter -> counter.account);
+
+    private final int topSize;
+    private final int capacity;
+
+    // guarded by this
+    private final Map<String, Counter> counters;
+    private final NavigableSet<Counter> countersByCount;
+
+    private volatile Set<String> topAccounts;
+
+    public TopAccountsTracker(int topSize) {
+        if (topSize < 1) {
+            throw new IllegalArgumentException("Number of top accounts must be positive");
+        }
+
+        this.topSize = topSize;
+        this.capacity = topSize * TRACKED_ACCOUNTS_PER_TOP_ACCOUNT;
+
+        counters = new HashMap<>();
+        countersByCount = new TreeSet<>(COUNT_ASCENDING_COMPARATOR);
+        topAccounts = Collections.emptySet();
+    }
+
+    /**
+     * Counts request from the given account.
+     */
+    public synchronized void record(String account) {
+        Counter counter = counters.get(account);
+        if (counter != null) {
+            countersByCount.remove(counter);
+            counter.count++;
+        } else if (counters.size() < capacity) {
+            counter = new Counter(account, 1, 0);
+            counters.put(account, counter);
+        } else {
+            final Counter leastActiveCounter = countersByCount.pollFirst();
+            counters.remove(leastActiveCounter.account);
+            counter = new Counter(account, leastActiveCounter.count + 1, leastActiveCounter.count);
+            counters.put(account, counter);
+        }
+        countersByCount.add(counter);
+
+        // there is no point to roll up accounts while top is not filled yet, e.g. right after start
+        if (topAccounts.size() < topSize && !topAccounts.contains(account)) {
+            final Set<String> extendedTopAccounts = new HashSet<>(topAccounts);
+            extendedTopAccounts.add(account);
+            topAccounts = extendedTopAccounts;
+        }
+    }
+
+    /**
+     * Tells whether account was among the top ones at the last recalculation.
+     */
+    public boolean isTop(String account) {
+        return topAccounts.contains(account);
+    }
+
+    /**
+     * Recalculates the top and returns accounts which dropped out of it.
+     */
+    public synchronized List<String> refresh() {
+        final Set<String> newTopAccounts = counters.values().stream()
+                .sorted(TOP_COMPARATOR)
+                .limit(topSize)
+                .map(counter -> counter.account)
+                .collect(Collectors.toSet());
+
+        final List<String> droppedAccounts = new ArrayList<>();
+        for (String account : topAccounts) {
+            if (!newTopAccounts.contains(account)) {
+                droppedAccounts.add(account);
+            }
+        }
+        topAccounts = newTopAccounts;
+
+        decay();
+
+        return droppedAccounts;
+    }
+
+    /**
+     * Halves counters and frees the ones which drop to zero.
+     */
+    private void decay() {
+        countersByCount.clear();
+        final Iterator<Counter> iterator = counters.values().iterator();
+        while (iterator.hasNext()) {
+            final Counter counter = iterator.next();
+            counter.count /= 2;
+            counter.error /= 2;
+            if (counter.count == 0) {
+                iterator.remove();
+            } else {
+                countersByCount.add(counter);
+            }
+        }
+    }
+
+    private static class Counter {
+
+        private final String account;
+
+        private long count;
+
+        // the most by which count may exceed the actual number of requests
+        private long error;
+
+        Counter(String account, long count, long error) {
+            this.account = account;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -1,6 +1,10 @@
 package org.prebid.server.metric;
 
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 
 import java.util.EnumMap;
 import java.util.Map;
@@ -12,12 +16,15 @@ class UpdatableMetrics {
     private final MetricRegistry metricRegistry;
     private final Function<MetricName, String> nameCreator;
     private final MetricIncrementer incrementer;
+    private final MetricRegistry.MetricSupplier<Timer> timerSupplier;
+    private final MetricRegistry.MetricSupplier<Histogram> histogramSupplier;
     // not thread-safe maps are intentionally used here because it's harmless in this particular case - eventually
     // this all boils down to metrics lookup by underlying metric registry and that operation is guaranteed to be
     // thread-safe
     private final Map<MetricName, String> metricNames;
 
-    UpdatableMetrics(MetricRegistry metricRegistry, CounterType counterType, Function<MetricName, String> nameCreator) {
+    UpdatableMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                     Function<MetricName, String> nameCreator) {
         this.metricRegistry = metricRegistry;
         this.nameCreator = nameCreator;
         metricNames = new EnumMap<>(MetricName.class);
@@ -37,6 +44,20 @@ class UpdatableMetrics {
                 // to satisfy compiler
                 throw new IllegalStateException("Should never happen");
         }
+
+        switch (reservoirType) {
+            case exponentiallyDecaying:
+                timerSupplier = SummingTimer::new;
+                histogramSupplier = () -> new SummingHistogram(new ExponentiallyDecayingReservoir());
+                break;
+            case hdrHistogram:
+                timerSupplier = () -> new SummingTimer(new HdrHistogramReservoir());
+                histogramSupplier = () -> new SummingHistogram(new HdrHistogramReservoir());
+                break;
+            default:
+                // to satisfy compiler
+                throw new IllegalStateException("Should never happen");
+        }
     }
 
     /**
@@ -57,7 +78,14 @@ class UpdatableMetrics {
      * Updates metric's timer with a given value.
      */
     void updateTimer(MetricName metricName, long millis) {
-        metricRegistry.timer(name(metricName)).update(millis, TimeUnit.MILLISECONDS);
+        updateTimer(metricName, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Updates metric's timer with a given value in given time unit.
+     */
+    void updateTimer(MetricName metricName, long duration, TimeUnit unit) {
+        metricRegistry.timer(name(metricName), timerSupplier).update(duration, unit);
     }
 
     /**
@@ -65,7 +93,23 @@ class UpdatableMetrics {
      */
     void updateHistogram(MetricName metricName, long value) {
         // by default histograms with exponentially decaying reservoir (size=1028, alpha=0.015) are created
-        metricRegistry.histogram(name(metricName)).update(value);
+        metricRegistry.histogram(name(metricName), histogramSupplier).update(value);
+    }
+
+    /**
+     * Sets metric's gauge to a given value, replacing gauge registered before.
+     */
+    void updateGauge(MetricName metricName, long value) {
+        final String name = name(metricName);
+        metricRegistry.remove(name);
+        metricRegistry.register(name, (Gauge<Long>) () -> value);
+    }
+
+    /**
+     * Removes all metrics created by this instance from registry.
+     */
+    void removeMetrics() {
+        metricNames.values().forEach(metricRegistry::remove);
     }
 
     private String name(MetricName metricName) {
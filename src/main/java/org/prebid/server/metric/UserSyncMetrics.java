@@ -18,10 +18,12 @@ class UserSyncMetrics extends UpdatableMetrics {
     // thread-safe
     private final Map<String, BidderUserSyncMetrics> bidderUserSyncMetrics;
 
-    UserSyncMetrics(MetricRegistry metricRegistry, CounterType counterType) {
+    UserSyncMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType) {
         super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                Objects.requireNonNull(reservoirType),
                 metricName -> String.format("usersync.%s", metricName.toString()));
-        bidderUserSyncMetricsCreator = bidder -> new BidderUserSyncMetrics(metricRegistry, counterType, bidder);
+        bidderUserSyncMetricsCreator = bidder ->
+                new BidderUserSyncMetrics(metricRegistry, counterType, reservoirType, bidder);
         bidderUserSyncMetrics = new HashMap<>();
     }
 
@@ -31,8 +33,10 @@ class UserSyncMetrics extends UpdatableMetrics {
 
     static class BidderUserSyncMetrics extends UpdatableMetrics {
 
-        BidderUserSyncMetrics(MetricRegistry metricRegistry, CounterType counterType, String bidder) {
+        BidderUserSyncMetrics(MetricRegistry metricRegistry, CounterType counterType, ReservoirType reservoirType,
+                              String bidder) {
             super(Objects.requireNonNull(metricRegistry), Objects.requireNonNull(counterType),
+                    Objects.requireNonNull(reservoirType),
                     nameCreator(Objects.requireNonNull(bidder)));
         }
 
@@ -0,0 +1,44 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Exposes metrics from {@link MetricRegistry} in Prometheus text exposition format.
+ * <p>
+ * Registry is read directly without intermediate copies made by {@link MetricRegistry#getCounters()} and friends,
+ * metrics are only grouped into families, and the actual text is rendered lazily by {@link PrometheusScrape}.
+ */
+public class PrometheusMetricsExporter {
+
+    private final MetricRegistry metricRegistry;
+    private final PrometheusNameMapper nameMapper;
+
+    public PrometheusMetricsExporter(MetricRegistry metricRegistry) {
+        this.metricRegistry = Objects.requireNonNull(metricRegistry);
+        this.nameMapper = new PrometheusNameMapper();
+    }
+
+    /**
+     * Takes the current set of registered metrics and returns {@link PrometheusScrape} to render them.
+     */
+    public PrometheusScrape scrape() {
+        final Map<String, Metric> metrics = metricRegistry.getMetrics();
+        nameMapper.trim(metrics.size());
+
+        final Map<String, List<PrometheusScrape.Sample>> families = new TreeMap<>();
+        for (Map.Entry<String, Metric> entry : metrics.entrySet()) {
+            final PrometheusName name = nameMapper.map(entry.getKey());
+            families.computeIfAbsent(name.getFamily(), family -> new ArrayList<>())
+                    .add(PrometheusScrape.Sample.of(name.getLabels(), entry.getValue()));
+        }
+
+        return new PrometheusScrape(families);
+    }
+}
@@ -0,0 +1,17 @@
+package org.prebid.server.metric.prometheus;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Prometheus representation of dotted Dropwizard metric name: metric family name and rendered labels
+ * (for example, {@code adapter="rubicon"}), labels are empty string if metric has no dimensions.
+ */
+@AllArgsConstructor(staticName = "of")
+@Value
+class PrometheusName {
+
+    String family;
+
+    String labels;
+}
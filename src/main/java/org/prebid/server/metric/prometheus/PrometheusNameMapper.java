@@ -0,0 +1,169 @@
+package org.prebid.server.metric.prometheus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Converts dotted Dropwizard metric names into Prometheus metric families with labels.
+ * <p>
+ * Adapter and account dimensions are moved out of metric name into {@code adapter} and {@code account} labels,
+ * so thousands of per-account metrics end up in a handful of metric families. Request type, bid type and event
+ * loop index are moved into {@code type}, {@code bid_type} and {@code event_loop} labels the same way. Requests
+ * counted by type are exposed in their own {@code *_requests_by_type} families, so they are not summed up with
+ * total requests. Accounts rolled up together keep their own {@code other_accounts_*} families without
+ * {@code account} label. All other names are sanitized by replacing characters not allowed by Prometheus
+ * with underscore.
+ * <p>
+ * Conversion results are cached, so each name is parsed only once.
+ */
+class PrometheusNameMapper {
+
+    private static final String ADAPTER_LABEL = "adapter";
+    private static final String ACCOUNT_LABEL = "account";
+    private static final String EVENT_LOOP_LABEL = "event_loop";
+    private static final String TYPE_LABEL = "type";
+    private static final String BID_TYPE_LABEL = "bid_type";
+
+    private static final String REQUEST_TYPES = "(openrtb2-web|openrtb2-app|amp|video|legacy)";
+    private static final String BID_TYPES = "(banner|video|native|audio)";
+
+    // account.<account-id>.requests.type.<request-type>
+    private static final Pattern ACCOUNT_REQUEST_TYPE_PATTERN =
+            Pattern.compile("^account\\.(.+)\\.requests\\.type\\." + REQUEST_TYPES + "$");
+    // account.<account-id>.requests
+    private static final Pattern ACCOUNT_PATTERN = Pattern.compile("^account\\.(.+)\\.(requests)$");
+    // account.<account-id>.<bidder-name>.<metric>
+    private static final Pattern ACCOUNT_ADAPTER_PATTERN =
+            Pattern.compile("^account\\.(.+)\\.([^.]+)\\.(request_time|bids_received|prices|requests\\.[^.]+)$");
+    // other_accounts.requests.type.<request-type>
+    private static final Pattern OTHER_ACCOUNTS_REQUEST_TYPE_PATTERN =
+            Pattern.compile("^other_accounts\\.requests\\.type\\." + REQUEST_TYPES + "$");
+    // other_accounts.<bidder-name>.<metric>
+    private static final Pattern OTHER_ACCOUNTS_ADAPTER_PATTERN = Pattern.compile(
+            "^other_accounts\\.([^.]+)\\.(request_time|bids_received|prices|requests\\.[^.]+)$");
+    // adapter.<bidder-name>.requests.type.<request-type>
+    private static final Pattern ADAPTER_REQUEST_TYPE_PATTERN =
+            Pattern.compile("^adapter\\.([^.]+)\\.requests\\.type\\." + REQUEST_TYPES + "$");
+    // adapter.<bidder-name>.<bid-type>.<metric>
+    private static final Pattern ADAPTER_BID_TYPE_PATTERN =
+            Pattern.compile("^adapter\\.([^.]+)\\." + BID_TYPES + "\\.([^.]+)$");
+    // adapter.<bidder-name>.<metric>
+    private static final Pattern ADAPTER_PATTERN = Pattern.compile("^adapter\\.([^.]+)\\.(.+)$");
+    // cookie_sync.<bidder-name>.<metric> and usersync.<bidder-name>.<metric>
+    private static final Pattern SYNC_ADAPTER_PATTERN = Pattern.compile("^(cookie_sync|usersync)\\.([^.]+)\\.([^.]+)$");
+    // requests.<status>.<request-type>
+    private static final Pattern REQUEST_STATUS_PATTERN =
+            Pattern.compile("^requests\\.([^.]+)\\." + REQUEST_TYPES + "$");
+    // resources.<request-type>.<metric>
+    private static final Pattern RESOURCES_PATTERN = Pattern.compile("^resources\\." + REQUEST_TYPES + "\\.([^.]+)$");
+    // event_loop.<index>.<metric>
+    private static final Pattern EVENT_LOOP_PATTERN = Pattern.compile("^event_loop\\.(\\d+)\\.([^.]+)$");
+
+    private static final Pattern INVALID_NAME_CHARS = Pattern.compile("[^a-zA-Z0-9_]");
+
+    private final Map<String, PrometheusName> cache = new ConcurrentHashMap<>();
+
+    PrometheusName map(String name) {
+        return cache.computeIfAbsent(name, PrometheusNameMapper::toPrometheusName);
+    }
+
+    /**
+     * Drops cached names if there are much more of them than metrics in registry, e.g. after metrics removal.
+     */
+    void trim(int registrySize) {
+        if (cache.size() > registrySize * 2) {
+            cache.clear();
+        }
+    }
+
+    private static PrometheusName toPrometheusName(String name) {
+        Matcher matcher = ACCOUNT_REQUEST_TYPE_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            return PrometheusName.of("account_requests_by_type",
+                    label(ACCOUNT_LABEL, matcher.group(1)) + ',' + label(TYPE_LABEL, matcher.group(2)));
+        }
+
+        matcher = ACCOUNT_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            return PrometheusName.of(familyName("account", matcher.group(2)),
+                    label(ACCOUNT_LABEL, matcher.group(1)));
+        }
+
+        matcher = ACCOUNT_ADAPTER_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            return PrometheusName.of(familyName("account_adapter", matcher.group(3)),
+                    label(ACCOUNT_LABEL, matcher.group(1)) + ',' + label(ADAPTER_LABEL, matcher.group(2)));
+        }
+
+        matcher = OTHER_ACCOUNTS_REQUEST_TYPE_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            return PrometheusName.of("other_accounts_requests_by_type", label(TYPE_LABEL, matcher.group(1)));
+        }
+
+        matcher = OTHER_ACCOUNTS_ADAPTER_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            return PrometheusName.of(familyName("other_accounts_adapter", matcher.group(2)),
+                    label(ADAPTER_LABEL, matcher.group(1)));
+        }
+
+        matcher = ADAPTER_REQUEST_TYPE_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            return PrometheusName.of("adapter_requests_by_type",
+                    label(ADAPTER_LABEL, matcher.group(1)) + ',' + label(TYPE_LABEL, matcher.group(2)));
+        }
+
+        matcher = ADAPTER_BID_TYPE_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            return PrometheusName.of(familyName("adapter", matcher.group(3)),
+                    label(ADAPTER_LABEL, matcher.group(1)) + ',' + label(BID_TYPE_LABEL, matcher.group(2)));
+        }
+
+        matcher = ADAPTER_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            return PrometheusName.of(familyName("adapter", matcher.group(2)), label(ADAPTER_LABEL, matcher.group(1)));
+        }
+
+        matcher = SYNC_ADAPTER_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            return PrometheusName.of(familyName(matcher.group(1), matcher.group(3)),
+                    label(ADAPTER_LABEL, matcher.group(2)));
+        }
+
+        matcher = REQUEST_STATUS_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            return PrometheusName.of(familyName("requests", matcher.group(1)), label(TYPE_LABEL, matcher.group(2)));
+        }
+
+        matcher = RESOURCES_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            return PrometheusName.of(familyName("resources", matcher.group(2)), label(TYPE_LABEL, matcher.group(1)));
+        }
+
+        matcher = EVENT_LOOP_PATTERN.matcher(name);
+        if (matcher.matches()) {
+            return PrometheusName.of(familyName("event_loop", matcher.group(2)),
+                    label(EVENT_LOOP_LABEL, matcher.group(1)));
+        }
+
+        return PrometheusName.of(sanitize(name), "");
+    }
+
+    private static String familyName(String prefix, String name) {
+        return sanitize(prefix + '_' + name);
+    }
+
+    private static String sanitize(String name) {
+        final String sanitized = INVALID_NAME_CHARS.matcher(name).replaceAll("_");
+        return !sanitized.isEmpty() && Character.isDigit(sanitized.charAt(0)) ? '_' + sanitized : sanitized;
+    }
+
+    private static String label(String name, String value) {
+        return name + "=\"" + escapeLabelValue(value) + '"';
+    }
+
+    private static String escapeLabelValue(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
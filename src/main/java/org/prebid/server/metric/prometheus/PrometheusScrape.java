@@ -0,0 +1,192 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+import io.vertx.core.buffer.Buffer;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.prebid.server.metric.SummingHistogram;
+import org.prebid.server.metric.SummingTimer;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders metric families in Prometheus text exposition format (version 0.0.4) portion by portion,
+ * so the caller is able to stream them without keeping the whole output in memory.
+ * <p>
+ * Mapping of Dropwizard metrics:
+ * <ul>
+ * <li>{@link Counter} and {@link Meter} - counter with "_total" suffix;</li>
+ * <li>{@link Gauge} with numeric or boolean value - gauge;</li>
+ * <li>{@link Timer} - summary with quantiles in seconds;</li>
+ * <li>{@link Histogram} - summary with quantiles.</li>
+ * </ul>
+ * Summaries have count, and sum as well if metric keeps it, see {@link SummingTimer} and {@link SummingHistogram}.
+ * Quantiles are taken from reservoir snapshots, which are shared with other reporters: HdrHistogram reservoir
+ * snapshot is read without consuming recorded values.
+ * Not thread-safe, is expected to be used by a single request.
+ */
+public class PrometheusScrape {
+
+    private static final double[] QUANTILES = {0.5, 0.75, 0.95, 0.98, 0.99, 0.999};
+    private static final String[] QUANTILE_LABELS = {
+            "quantile=\"0.5\"", "quantile=\"0.75\"", "quantile=\"0.95\"",
+            "quantile=\"0.98\"", "quantile=\"0.99\"", "quantile=\"0.999\""};
+    private static final double NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private static final String GAUGE = "gauge";
+    private static final String COUNTER = "counter";
+    private static final String SUMMARY = "summary";
+
+    private final Iterator<Map.Entry<String, List<Sample>>> families;
+    // text is rendered into builder and encoded to buffer once per portion, that is much cheaper than per token
+    private final StringBuilder text;
+    private Iterator<Sample> samples;
+    private String name;
+    private String type;
+
+    PrometheusScrape(Map<String, List<Sample>> families) {
+        this.families = families.entrySet().iterator();
+        this.text = new StringBuilder();
+        this.samples = Collections.emptyIterator();
+    }
+
+    /**
+     * Appends metric families to the given buffer until its length reaches size hint.
+     * Size hint could be exceeded by the length of one sample.
+     * <p>
+     * Returns true if all metrics were written.
+     */
+    public boolean writeTo(Buffer buffer, int sizeHint) {
+        text.setLength(0);
+        final int limit = sizeHint - buffer.length();
+
+        boolean finished = false;
+        while (!finished && text.length() < limit) {
+            if (samples.hasNext()) {
+                writeSample(samples.next());
+            } else if (families.hasNext()) {
+                writeFamilyHeader(families.next());
+            } else {
+                finished = true;
+            }
+        }
+        buffer.appendString(text.toString());
+
+        return finished || !samples.hasNext() && !families.hasNext();
+    }
+
+    private void writeFamilyHeader(Map.Entry<String, List<Sample>> family) {
+        final List<Sample> familySamples = family.getValue();
+        type = typeOf(familySamples.get(0).getMetric());
+        if (type == null) {
+            samples = Collections.emptyIterator();
+            return;
+        }
+
+        name = COUNTER.equals(type) ? family.getKey() + "_total" : family.getKey();
+        samples = familySamples.iterator();
+        text.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private void writeSample(Sample sample) {
+        final Metric metric = sample.getMetric();
+        // metrics of the other kind can't be exposed in the same family
+        if (!type.equals(typeOf(metric))) {
+            return;
+        }
+
+        final String labels = sample.getLabels();
+        if (metric instanceof Counter) {
+            writeLine(name, labels, null, ((Counter) metric).getCount());
+        } else if (metric instanceof Gauge) {
+            final Object value = ((Gauge<?>) metric).getValue();
+            if (value instanceof Number) {
+                writeLine(name, labels, null, ((Number) value).doubleValue());
+            } else if (value instanceof Boolean) {
+                writeLine(name, labels, null, (Boolean) value ? 1 : 0);
+            }
+        } else if (metric instanceof Meter) {
+            writeLine(name, labels, null, ((Meter) metric).getCount());
+        } else if (metric instanceof Timer) {
+            final Timer timer = (Timer) metric;
+            writeSummary(labels, timer.getSnapshot(), timer.getCount(),
+                    timer instanceof SummingTimer ? ((SummingTimer) timer).getSum() : null, NANOS_PER_SECOND);
+        } else if (metric instanceof Histogram) {
+            final Histogram histogram = (Histogram) metric;
+            writeSummary(labels, histogram.getSnapshot(), histogram.getCount(),
+                    histogram instanceof SummingHistogram ? ((SummingHistogram) histogram).getSum() : null, 1);
+        }
+    }
+
+    private void writeSummary(String labels, Snapshot snapshot, long count, Long sum, double divisor) {
+        for (int i = 0; i < QUANTILES.length; i++) {
+            writeLine(name, labels, QUANTILE_LABELS[i], snapshot.getValue(QUANTILES[i]) / divisor);
+        }
+        if (sum != null) {
+            writeLine(name + "_sum", labels, null, sum / divisor);
+        }
+        writeLine(name + "_count", labels, null, count);
+    }
+
+    private void writeLine(String sampleName, String labels, String extraLabel, double value) {
+        writeName(sampleName, labels, extraLabel);
+        if (value == Double.POSITIVE_INFINITY) {
+            text.append("+Inf");
+        } else if (value == Double.NEGATIVE_INFINITY) {
+            text.append("-Inf");
+        } else {
+            text.append(value);
+        }
+        text.append('\n');
+    }
+
+    private void writeLine(String sampleName, String labels, String extraLabel, long value) {
+        writeName(sampleName, labels, extraLabel);
+        text.append(value).append('\n');
+    }
+
+    private void writeName(String sampleName, String labels, String extraLabel) {
+        text.append(sampleName);
+        if (!labels.isEmpty() || extraLabel != null) {
+            text.append('{').append(labels);
+            if (extraLabel != null) {
+                if (!labels.isEmpty()) {
+                    text.append(',');
+                }
+                text.append(extraLabel);
+            }
+            text.append('}');
+        }
+        text.append(' ');
+    }
+
+    private static String typeOf(Metric metric) {
+        if (metric instanceof Counter || metric instanceof Meter) {
+            return COUNTER;
+        } else if (metric instanceof Gauge) {
+            return GAUGE;
+        } else if (metric instanceof Timer || metric instanceof Histogram) {
+            return SUMMARY;
+        }
+        return null;
+    }
+
+    @AllArgsConstructor(staticName = "of")
+    @Value
+    static class Sample {
+
+        String labels;
+
+        Metric metric;
+    }
+}
@@ -0,0 +1,188 @@
+package org.prebid.server.privacy.gdpr;
+
+import com.iab.gdpr.Bits;
+import com.iab.gdpr.GdprConstants;
+import com.iab.gdpr.consent.VendorConsent;
+import com.iab.gdpr.consent.VendorConsentDecoder;
+import com.iab.gdpr.exception.VendorConsentException;
+import com.iab.gdpr.exception.VendorConsentParseException;
+
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Immutable form of IAB consent string (version 1) decoded at once.
+ * <p>
+ * {@link VendorConsent} from consent-string-sdk reads the underlying bits on every call, walking all the range
+ * entries for each checked vendor. This one keeps vendor list version, allowed purposes and allowed vendors
+ * as bit set, so it can be shared between requests carrying the same consent string.
+ * <p>
+ * Malformed purposes or vendors section does not fail decoding, but causes {@link VendorConsentParseException}
+ * when accessed, as it happens with the SDK.
+ */
+public class DecodedVendorConsent {
+
+    private final int vendorListVersion;
+    private final Set<Integer> allowedPurposeIds;
+    private final BitSet allowedVendors;
+    private final String purposesError;
+    private final String vendorsError;
+
+    private DecodedVendorConsent(int vendorListVersion, Set<Integer> allowedPurposeIds, BitSet allowedVendors,
+                                 String purposesError, String vendorsError) {
+
+        this.vendorListVersion = vendorListVersion;
+        this.allowedPurposeIds = allowedPurposeIds;
+        this.allowedVendors = allowedVendors;
+        this.purposesError = purposesError;
+        this.vendorsError = vendorsError;
+    }
+
+    /**
+     * Decodes consent string. Throws {@link IllegalArgumentException} or {@link IllegalStateException}
+     * if it is not a consent string at all.
+     */
+    public static DecodedVendorConsent fromBase64String(String consent) {
+        final VendorConsent vendorConsent = VendorConsentDecoder.fromBase64String(consent);
+
+        final int vendorListVersion;
+        try {
+            vendorListVersion = vendorConsent.getVendorListVersion();
+        } catch (ArrayIndexOutOfBoundsException | VendorConsentException e) {
+            throw new IllegalArgumentException("Consent string is too short to contain vendor list version");
+        }
+
+        Set<Integer> allowedPurposeIds = null;
+        String purposesError = null;
+        try {
+            allowedPurposeIds = Collections.unmodifiableSet(vendorConsent.getAllowedPurposeIds());
+        } catch (ArrayIndexOutOfBoundsException | VendorConsentException e) {
+            purposesError = "Invalid purposes section of consent string";
+        }
+
+        BitSet allowedVendors = null;
+        String vendorsError = null;
+        try {
+            allowedVendors = allowedVendors(vendorConsent.toByteArray(), vendorConsent.getMaxVendorId());
+        } catch (ArrayIndexOutOfBoundsException e) {
+            vendorsError = "Invalid vendors section of consent string";
+        } catch (VendorConsentException e) {
+            vendorsError = e.getMessage();
+        }
+
+        return new DecodedVendorConsent(vendorListVersion, allowedPurposeIds, allowedVendors, purposesError,
+                vendorsError);
+    }
+
+    /**
+     * Reads vendors section in a single pass, either bit field or range entries.
+     * <p>
+     * Vendor ID is stored as bit with index one less, so bit field is copied by whole bytes.
+     */
+    private static BitSet allowedVendors(byte[] bytes, int maxVendorId) {
+        final Bits bits = new Bits(bytes);
+
+        if (bits.getInt(GdprConstants.ENCODING_TYPE_OFFSET, GdprConstants.ENCODING_TYPE_SIZE)
+                != GdprConstants.VENDOR_ENCODING_RANGE) {
+            return bitFieldVendors(bytes, maxVendorId);
+        }
+
+        final BitSet vendors = new BitSet(maxVendorId);
+
+        // vendors listed in range entries have the opposite of default consent
+        final boolean defaultConsent = bits.getBit(GdprConstants.DEFAULT_CONSENT_OFFSET);
+        if (defaultConsent) {
+            vendors.set(0, maxVendorId);
+        }
+
+        final int numEntries = bits.getInt(GdprConstants.NUM_ENTRIES_OFFSET, GdprConstants.NUM_ENTRIES_SIZE);
+        int offset = GdprConstants.RANGE_ENTRY_OFFSET;
+        for (int i = 0; i < numEntries; i++) {
+            final boolean isRange = bits.getBit(offset++);
+            final int startVendorId = bits.getInt(offset, GdprConstants.VENDOR_ID_SIZE);
+            offset += GdprConstants.VENDOR_ID_SIZE;
+
+            final int endVendorId;
+            if (isRange) {
+                endVendorId = bits.getInt(offset, GdprConstants.VENDOR_ID_SIZE);
+                offset += GdprConstants.VENDOR_ID_SIZE;
+                if (startVendorId > endVendorId || endVendorId > maxVendorId) {
+                    throw new VendorConsentParseException("Start VendorId must not be greater than End VendorId and "
+                            + "End VendorId must not be greater than Max Vendor Id");
+                }
+            } else {
+                endVendorId = startVendorId;
+                if (startVendorId > maxVendorId) {
+                    throw new VendorConsentParseException(
+                            "VendorId in the range entries must not be greater than Max VendorId");
+                }
+            }
+
+            if (endVendorId > 0) {
+                vendors.set(Math.max(startVendorId, 1) - 1, endVendorId, !defaultConsent);
+            }
+        }
+        return vendors;
+    }
+
+    /**
+     * Copies bit field by 8 vendors at a time. Bits of consent string go from the most significant one in each byte
+     * and bit field starts in the middle of byte, so each 8 vendors are taken from two adjacent bytes and reversed.
+     */
+    private static BitSet bitFieldVendors(byte[] bytes, int maxVendorId) {
+        final int endBitIndex = GdprConstants.VENDOR_BITFIELD_OFFSET + maxVendorId;
+        if (endBitIndex > bytes.length * 8) {
+            throw new ArrayIndexOutOfBoundsException(endBitIndex);
+        }
+
+        final long[] words = new long[(maxVendorId + 63) >> 6];
+        for (int index = 0; index < maxVendorId; index += 8) {
+            final int bitIndex = GdprConstants.VENDOR_BITFIELD_OFFSET + index;
+            final int byteIndex = bitIndex >> 3;
+            final int high = bytes[byteIndex] & 0xFF;
+            final int low = byteIndex + 1 < bytes.length ? bytes[byteIndex + 1] & 0xFF : 0;
+            int octet = ((high << 8 | low) >>> (8 - (bitIndex & 7))) & 0xFF;
+            if (index + 8 > maxVendorId) {
+                octet &= 0xFF00 >>> (maxVendorId - index);
+            }
+            words[index >> 6] |= (long) (Integer.reverse(octet) >>> 24) << (index & 63);
+        }
+        return BitSet.valueOf(words);
+    }
+
+    public int getVendorListVersion() {
+        return vendorListVersion;
+    }
+
+    /**
+     * Returns IDs of purposes allowed by consent string.
+     */
+    public Set<Integer> getAllowedPurposeIds() {
+        if (purposesError != null) {
+            throw new VendorConsentParseException(purposesError);
+        }
+        return allowedPurposeIds;
+    }
+
+    /**
+     * Checks if vendor is allowed by consent string.
+     */
+    public boolean isVendorAllowed(int vendorId) {
+        if (vendorsError != null) {
+            throw new VendorConsentParseException(vendorsError);
+        }
+        return vendorId > 0 && allowedVendors.get(vendorId - 1);
+    }
+
+    /**
+     * Keeps in the given bit set, where vendor ID is the bit with index one less, only vendors allowed
+     * by consent string.
+     */
+    public void retainAllowedVendors(BitSet vendors) {
+        if (vendorsError != null) {
+            throw new VendorConsentParseException(vendorsError);
+        }
+        vendors.and(allowedVendors);
+    }
+}
@@ -1,7 +1,5 @@
 package org.prebid.server.privacy.gdpr;
 
-import com.iab.gdpr.consent.VendorConsent;
-import com.iab.gdpr.consent.VendorConsentDecoder;
 import com.iab.gdpr.exception.VendorConsentParseException;
 import io.vertx.core.Future;
 import io.vertx.core.logging.Logger;
@@ -18,13 +16,14 @@ import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.GdprPurpose;
 import org.prebid.server.privacy.gdpr.model.GdprResponse;
 import org.prebid.server.privacy.gdpr.vendorlist.VendorListService;
+import org.prebid.server.privacy.gdpr.vendorlist.VendorPurposes;
 
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -45,18 +44,21 @@ public class GdprService {
     private final GeoLocationService geoLocationService;
     private final Metrics metrics;
     private final VendorListService vendorListService;
+    private final VendorConsentCache vendorConsentCache;
 
     public GdprService(List<String> eeaCountries,
                        String gdprDefaultValue,
                        GeoLocationService geoLocationService,
                        Metrics metrics,
-                       VendorListService vendorListService) {
+                       VendorListService vendorListService,
+                       VendorConsentCache vendorConsentCache) {
 
         this.geoLocationService = geoLocationService;
         this.metrics = Objects.requireNonNull(metrics);
         this.eeaCountries = Objects.requireNonNull(eeaCountries);
         this.vendorListService = Objects.requireNonNull(vendorListService);
         this.gdprDefaultValue = Objects.requireNonNull(gdprDefaultValue);
+        this.vendorConsentCache = Objects.requireNonNull(vendorConsentCache);
     }
 
     /**
@@ -82,7 +84,7 @@ public class GdprService {
                                                String gdprConsent, String ipAddress, Timeout timeout) {
         return toGdprInfo(gdpr, gdprConsent, ipAddress, timeout)
                 .compose(gdprInfo -> toResultByVendor(gdprInfo, vendorIds,
-                        purposesForVendorCheck(gdprInfo, purposes), GdprService::verdictForVendorHasAllGivenPurposes)
+                        purposesForVendorCheck(gdprInfo, purposes), VendorPurposes::retainVendorsWithAllPurposes)
                         .map(vendorIdToResult ->
                                 GdprResponse.of(inScope(gdprInfo), vendorIdToResult, gdprInfo.getCountry())));
     }
@@ -99,7 +101,7 @@ public class GdprService {
                                                String gdprConsent, String ipAddress, Timeout timeout) {
         return toGdprInfo(gdpr, gdprConsent, ipAddress, timeout)
                 .compose(gdprInfo -> toResultByVendor(gdprInfo, vendorIds,
-                        purposesForConsentCheck(gdprInfo), GdprService::verdictForConsentHasAllVendorPurposes)
+                        purposesForConsentCheck(gdprInfo), VendorPurposes::retainVendorsWithPurposesWithin)
                         .map(vendorIdToResult ->
                                 GdprResponse.of(inScope(gdprInfo), vendorIdToResult, gdprInfo.getCountry())));
     }
@@ -113,14 +115,6 @@ public class GdprService {
                 : null;
     }
 
-    /**
-     * Confirms vendor has all given purposes.
-     */
-    private static boolean verdictForVendorHasAllGivenPurposes(Set<Integer> givenPurposeIds,
-                                                               Set<Integer> vendorPurposeIds) {
-        return vendorPurposeIds.containsAll(givenPurposeIds);
-    }
-
     /**
      * Returns purpose IDs from consent string or null if it is not needed by flow.
      */
@@ -130,23 +124,15 @@ public class GdprService {
                 : null;
     }
 
-    /**
-     * Confirms consent purposes (as superset) contains all vendor purposes (as subset).
-     */
-    private static Boolean verdictForConsentHasAllVendorPurposes(Set<Integer> consentPurposeIds,
-                                                                 Set<Integer> vendorPurposeIds) {
-        return consentPurposeIds.containsAll(vendorPurposeIds);
-    }
-
     private Future<Map<Integer, Boolean>> toResultByVendor(
             GdprInfoWithCountry gdprInfo, Set<Integer> vendorIds, Set<Integer> purposeIds,
-            BiFunction<Set<Integer>, Set<Integer>, Boolean> verdictForPurposes) {
+            PurposesCheck purposesCheck) {
 
         if (!inScope(gdprInfo)) {
             return sameResultFor(vendorIds, true); // allow all vendors
         }
 
-        final VendorConsent vendorConsent = gdprInfo.getVendorConsent();
+        final DecodedVendorConsent vendorConsent = gdprInfo.getVendorConsent();
         if (vendorConsent == null) {
             return sameResultFor(vendorIds, false); // consent is broken
         }
@@ -159,18 +145,18 @@ public class GdprService {
         }
 
         return vendorListService.forVersion(vendorConsent.getVendorListVersion())
-                .map(vendorIdToPurposes ->
-                        toResult(vendorIdToPurposes, vendorIds, vendorConsent, purposeIds, verdictForPurposes));
+                .map(vendorPurposes ->
+                        toResult(vendorPurposes, vendorIds, vendorConsent, purposeIds, purposesCheck));
     }
 
     /**
      * Retrieves allowed purpose ids from consent string. Throws {@link InvalidRequestException} in case of
-     * gdpr sdk throws {@link ArrayIndexOutOfBoundsException} when consent string is not valid.
+     * purposes section of consent string is not valid.
      */
-    private static Set<Integer> getAllowedPurposeIdsFromConsent(VendorConsent vendorConsent) {
+    private static Set<Integer> getAllowedPurposeIdsFromConsent(DecodedVendorConsent vendorConsent) {
         try {
             return vendorConsent.getAllowedPurposeIds();
-        } catch (ArrayIndexOutOfBoundsException e) {
+        } catch (VendorConsentParseException e) {
             throw new InvalidRequestException(
                     "Error when retrieving allowed purpose ids in a reason of invalid consent string");
         }
@@ -186,37 +172,35 @@ public class GdprService {
 
     /**
      * Processes {@link VendorListService} response and returns GDPR result by vendor ID.
+     * <p>
+     * All the vendors are checked at once: vendors present in vendor list are narrowed down to allowed by consent
+     * string and then to having matching purposes.
      */
     private static Map<Integer, Boolean> toResult(
-            Map<Integer, Set<Integer>> vendorIdToPurposes, Set<Integer> vendorIds, VendorConsent vendorConsent,
-            Set<Integer> purposeIds, BiFunction<Set<Integer>, Set<Integer>, Boolean> verdictForPurposes) {
+            VendorPurposes vendorPurposes, Set<Integer> vendorIds, DecodedVendorConsent vendorConsent,
+            Set<Integer> purposeIds, PurposesCheck purposesCheck) {
+
+        final BitSet allowedVendors = vendorPurposes.knownVendors(vendorIds);
+        if (!allowedVendors.isEmpty()) {
+            retainAllowedVendors(vendorConsent, allowedVendors);
+            purposesCheck.retainMatching(vendorPurposes, allowedVendors, purposeIds);
+        }
 
         final Map<Integer, Boolean> result = new HashMap<>(vendorIds.size());
         for (Integer vendorId : vendorIds) {
-            // confirm consent is allowed the vendor
-            final boolean vendorIsAllowed = isVendorAllowed(vendorConsent, vendorIdToPurposes, vendorId);
-
-            // confirm purposes
-            final boolean purposesAreMatched = vendorIsAllowed
-                    && verdictForPurposes.apply(purposeIds, vendorIdToPurposes.get(vendorId));
-
-            result.put(vendorId, vendorIsAllowed && purposesAreMatched);
+            result.put(vendorId, vendorId != null && vendorId > 0 && allowedVendors.get(vendorId - 1));
         }
         return result;
     }
 
     /**
-     * Checks if vendorId is in list of allowed vendors in consent string. Throws {@link InvalidRequestException}
-     * in case of gdpr sdk throws exception when consent string is not valid.
+     * Keeps only vendors allowed by consent string. Throws {@link InvalidRequestException}
+     * in case of vendors section of consent string is not valid.
      */
-    private static boolean isVendorAllowed(VendorConsent vendorConsent, Map<Integer, Set<Integer>> vendorIdToPurposes,
-                                           Integer vendorId) {
-        if (vendorId == null || !vendorIdToPurposes.containsKey(vendorId)) {
-            return false;
-        }
+    private static void retainAllowedVendors(DecodedVendorConsent vendorConsent, BitSet vendors) {
         try {
-            return vendorConsent.isVendorAllowed(vendorId);
-        } catch (ArrayIndexOutOfBoundsException | VendorConsentParseException e) {
+            vendorConsent.retainAllowedVendors(vendors);
+        } catch (VendorConsentParseException e) {
             throw new InvalidRequestException(
                     "Error when checking if vendor is allowed in a reason of invalid consent string");
         }
@@ -251,7 +235,7 @@ public class GdprService {
     }
 
     /**
-     * Parses consent string to {@link VendorConsent} model. Returns null if:
+     * Parses consent string to {@link DecodedVendorConsent} model, reusing cached one. Returns null if:
      * <p>
      * - GDPR flag is not equal to 1
      * <p>
@@ -259,12 +243,12 @@ public class GdprService {
      * <p>
      * - parsing of consent string is failed
      */
-    private VendorConsent vendorConsentFrom(String gdpr, String gdprConsent) {
+    private DecodedVendorConsent vendorConsentFrom(String gdpr, String gdprConsent) {
         if (!Objects.equals(gdpr, GDPR_ONE) || StringUtils.isEmpty(gdprConsent)) {
             return null;
         }
         try {
-            return VendorConsentDecoder.fromBase64String(gdprConsent);
+            return vendorConsentCache.get(gdprConsent);
         } catch (IllegalArgumentException | IllegalStateException e) {
             logger.warn("Parsing consent string failed with error: {0}", e.getMessage());
             return null;
@@ -313,8 +297,17 @@ public class GdprService {
 
         String gdpr;
 
-        VendorConsent vendorConsent;
+        DecodedVendorConsent vendorConsent;
 
         String country;
     }
+
+    /**
+     * Narrows down vendors to ones with purposes matching the given purpose IDs.
+     */
+    @FunctionalInterface
+    private interface PurposesCheck {
+
+        void retainMatching(VendorPurposes vendorPurposes, BitSet vendors, Set<Integer> purposeIds);
+    }
 }
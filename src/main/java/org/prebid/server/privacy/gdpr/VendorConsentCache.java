@@ -0,0 +1,49 @@
+package org.prebid.server.privacy.gdpr;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.prebid.server.metric.Metrics;
+
+import java.util.Objects;
+
+/**
+ * Bounded cache of {@link DecodedVendorConsent} by consent string.
+ * <p>
+ * Consent strings are shared by users of the same CMP and repeated by each user across auctions, cookie syncs
+ * and setuid calls, so decoding is done once per distinct string while it stays in cache. Decoding result
+ * depends on consent string only, so entries are evicted by size and never expire.
+ */
+public class VendorConsentCache {
+
+    private final Cache<String, DecodedVendorConsent> cache;
+    private final Metrics metrics;
+
+    public VendorConsentCache(int size, Metrics metrics) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Consent cache size must be non-negative");
+        }
+
+        this.cache = size > 0 ? Caffeine.newBuilder().maximumSize(size).build() : null;
+        this.metrics = Objects.requireNonNull(metrics);
+    }
+
+    /**
+     * Returns decoded consent string from cache or decodes it. Throws {@link IllegalArgumentException}
+     * or {@link IllegalStateException} if consent string cannot be decoded, such strings are not cached.
+     */
+    public DecodedVendorConsent get(String consent) {
+        if (cache == null) {
+            return DecodedVendorConsent.fromBase64String(consent);
+        }
+
+        final DecodedVendorConsent cached = cache.getIfPresent(consent);
+        metrics.updateGdprConsentCacheMetric(cached != null);
+        if (cached != null) {
+            return cached;
+        }
+
+        final DecodedVendorConsent decoded = DecodedVendorConsent.fromBase64String(consent);
+        cache.put(consent, decoded);
+        return decoded;
+    }
+}
@@ -60,16 +60,15 @@ public class VendorListService {
     private final JacksonMapper mapper;
 
     /**
-     * This is memory/performance optimized {@link VendorList} model slice:
-     * map of vendor list version -> map of vendor ID -> set of purposes
+     * Map of vendor list version -> {@link VendorPurposes} of known vendors
      */
-    private final Map<Integer, Map<Integer, Set<Integer>>> cache;
+    private final Map<Integer, VendorPurposes> cache;
 
     private VendorListService(String cacheDir,
                               String endpointTemplate,
                               int defaultTimeoutMs,
                               Set<Integer> knownVendorIds,
-                              Map<Integer, Map<Integer, Set<Integer>>> cache,
+                              Map<Integer, VendorPurposes> cache,
                               FileSystem fileSystem,
                               HttpClient httpClient,
                               JacksonMapper mapper) {
@@ -103,8 +102,7 @@ public class VendorListService {
         createAndCheckWritePermissionsFor(fileSystem, cacheDir);
 
         final Set<Integer> knownVendorIds = knownVendorIds(gdprHostVendorId, bidderCatalog);
-        final Map<Integer, Map<Integer, Set<Integer>>> cache = createCache(
-                fileSystem, cacheDir, knownVendorIds, mapper);
+        final Map<Integer, VendorPurposes> cache = createCache(fileSystem, cacheDir, knownVendorIds, mapper);
 
         return new VendorListService(
                 cacheDir, endpointTemplate, defaultTimeoutMs, knownVendorIds, cache, fileSystem, httpClient, mapper);
@@ -146,18 +144,17 @@ public class VendorListService {
     /**
      * Creates cache from previously downloaded vendor lists.
      */
-    private static Map<Integer, Map<Integer, Set<Integer>>> createCache(
+    private static Map<Integer, VendorPurposes> createCache(
             FileSystem fileSystem, String cacheDir, Set<Integer> knownVendorIds, JacksonMapper mapper) {
 
         final Map<String, String> versionToFileContent = readFileSystemCache(fileSystem, cacheDir);
 
-        final Map<Integer, Map<Integer, Set<Integer>>> cache = new ConcurrentHashMap<>(versionToFileContent.size());
+        final Map<Integer, VendorPurposes> cache = new ConcurrentHashMap<>(versionToFileContent.size());
         for (Map.Entry<String, String> entry : versionToFileContent.entrySet()) {
             final VendorList vendorList = toVendorList(entry.getValue(), mapper);
-            final Map<Integer, Set<Integer>> vendorIdToPurposes = mapVendorIdToPurposes(vendorList.getVendors(),
-                    knownVendorIds);
+            final VendorPurposes vendorPurposes = toVendorPurposes(vendorList.getVendors(), knownVendorIds);
 
-            cache.put(Integer.valueOf(entry.getKey()), vendorIdToPurposes);
+            cache.put(Integer.valueOf(entry.getKey()), vendorPurposes);
         }
         return cache;
     }
@@ -188,21 +185,21 @@ public class VendorListService {
     }
 
     /**
-     * Returns a map with vendor ID as a key and set of purposes as a value from given list of {@link Vendor}s.
+     * Returns {@link VendorPurposes} from given list of {@link Vendor}s.
      */
-    private static Map<Integer, Set<Integer>> mapVendorIdToPurposes(List<Vendor> vendors, Set<Integer> knownVendorIds) {
-        return vendors.stream()
+    private static VendorPurposes toVendorPurposes(List<Vendor> vendors, Set<Integer> knownVendorIds) {
+        return VendorPurposes.of(vendors.stream()
                 .filter(vendor -> knownVendorIds.contains(vendor.getId())) // optimize cache to use only known vendors
-                .collect(Collectors.toMap(Vendor::getId, Vendor::combinedPurposes));
+                .collect(Collectors.toMap(Vendor::getId, Vendor::combinedPurposes)));
     }
 
     /**
-     * Returns a map with vendor ID as a key and a set of purposes as a value for given vendor list version.
+     * Returns {@link VendorPurposes} for given vendor list version.
      */
-    public Future<Map<Integer, Set<Integer>>> forVersion(int version) {
-        final Map<Integer, Set<Integer>> vendorIdToPurposes = cache.get(version);
-        if (vendorIdToPurposes != null) {
-            return Future.succeededFuture(vendorIdToPurposes);
+    public Future<VendorPurposes> forVersion(int version) {
+        final VendorPurposes vendorPurposes = cache.get(version);
+        if (vendorPurposes != null) {
+            return Future.succeededFuture(vendorPurposes);
         } else {
             logger.info("Vendor list for version {0} not found, started downloading.", version);
             fetchNewVendorListFor(version);
@@ -270,7 +267,7 @@ public class VendorListService {
 
         saveToFile(vendorListResult.getVendorListAsString(), version)
                 // add new entry to in-memory cache
-                .map(r -> cache.put(version, mapVendorIdToPurposes(vendorList.getVendors(), knownVendorIds)));
+                .map(r -> cache.put(version, toVendorPurposes(vendorList.getVendors(), knownVendorIds)));
 
         return Future.succeededFuture();
     }
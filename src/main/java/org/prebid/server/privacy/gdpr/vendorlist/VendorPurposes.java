@@ -0,0 +1,89 @@
+package org.prebid.server.privacy.gdpr.vendorlist;
+
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+import org.prebid.server.privacy.gdpr.vendorlist.proto.VendorList;
+
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * This is memory/performance optimized {@link VendorList} model slice: vendors of the list and vendors
+ * having each purpose, all kept as bit sets where vendor ID is the bit with index one less.
+ * <p>
+ * Vendors of a request are checked against purposes all at once with a few word-wise operations per purpose.
+ */
+@EqualsAndHashCode
+@ToString
+public class VendorPurposes {
+
+    private final BitSet vendors;
+    private final Map<Integer, BitSet> purposeToVendors;
+
+    private VendorPurposes(BitSet vendors, Map<Integer, BitSet> purposeToVendors) {
+        this.vendors = vendors;
+        this.purposeToVendors = purposeToVendors;
+    }
+
+    /**
+     * Creates {@link VendorPurposes} from map of vendor ID to its purpose IDs.
+     */
+    public static VendorPurposes of(Map<Integer, Set<Integer>> vendorIdToPurposes) {
+        final BitSet vendors = new BitSet();
+        final Map<Integer, BitSet> purposeToVendors = new HashMap<>();
+        for (Map.Entry<Integer, Set<Integer>> entry : vendorIdToPurposes.entrySet()) {
+            final Integer vendorId = entry.getKey();
+            if (vendorId == null || vendorId <= 0) {
+                continue;
+            }
+
+            vendors.set(vendorId - 1);
+            for (Integer purposeId : entry.getValue()) {
+                purposeToVendors.computeIfAbsent(purposeId, ignored -> new BitSet()).set(vendorId - 1);
+            }
+        }
+        return new VendorPurposes(vendors, Collections.unmodifiableMap(purposeToVendors));
+    }
+
+    /**
+     * Returns new bit set of the given vendors present in vendor list.
+     */
+    public BitSet knownVendors(Collection<Integer> vendorIds) {
+        final BitSet result = new BitSet(vendors.length());
+        for (Integer vendorId : vendorIds) {
+            if (vendorId != null && vendorId > 0 && vendors.get(vendorId - 1)) {
+                result.set(vendorId - 1);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Keeps in the given bit set only vendors having all the given purposes.
+     */
+    public void retainVendorsWithAllPurposes(BitSet vendorsToCheck, Set<Integer> purposeIds) {
+        for (Integer purposeId : purposeIds) {
+            final BitSet vendorsWithPurpose = purposeToVendors.get(purposeId);
+            if (vendorsWithPurpose == null) {
+                vendorsToCheck.clear();
+                return;
+            }
+            vendorsToCheck.and(vendorsWithPurpose);
+        }
+    }
+
+    /**
+     * Keeps in the given bit set only vendors having no purposes except the given ones.
+     */
+    public void retainVendorsWithPurposesWithin(BitSet vendorsToCheck, Set<Integer> purposeIds) {
+        for (Map.Entry<Integer, BitSet> entry : purposeToVendors.entrySet()) {
+            if (!purposeIds.contains(entry.getKey())) {
+                vendorsToCheck.andNot(entry.getValue());
+            }
+        }
+    }
+}
@@ -50,7 +50,7 @@ public class BidderInfo {
     }
 
     @Value
-    private static class PlatformInfo {
+    public static class PlatformInfo {
 
         @JsonProperty("mediaTypes")
         List<String> mediaTypes;
@@ -3,6 +3,7 @@ package org.prebid.server.spring.config;
 import io.vertx.core.Vertx;
 import io.vertx.core.http.HttpClientOptions;
 import org.prebid.server.execution.RemoteFileSyncer;
+import org.prebid.server.geolocation.CachingGeoLocationService;
 import org.prebid.server.geolocation.CircuitBreakerSecuredGeoLocationService;
 import org.prebid.server.geolocation.GeoLocationService;
 import org.prebid.server.geolocation.MaxMindGeoLocationService;
@@ -11,6 +12,7 @@ import org.prebid.server.spring.config.model.CircuitBreakerProperties;
 import org.prebid.server.spring.config.model.HttpClientProperties;
 import org.prebid.server.spring.config.model.RemoteFileSyncerProperties;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
@@ -45,10 +47,16 @@ public class GeoLocationConfiguration {
         @Bean
         @ConditionalOnProperty(prefix = "geolocation.circuit-breaker", name = "enabled", havingValue = "false",
                 matchIfMissing = true)
-        GeoLocationService basicGeoLocationService(RemoteFileSyncerProperties fileSyncerProperties,
-                                                   Vertx vertx) {
+        GeoLocationService basicGeoLocationService(
+                RemoteFileSyncerProperties fileSyncerProperties,
+                @Value("${geolocation.cache.size}") int cacheSize,
+                @Value("${geolocation.cache.ipv4-prefix-length}") int ipv4PrefixLength,
+                @Value("${geolocation.cache.ipv6-prefix-length}") int ipv6PrefixLength,
+                Vertx vertx,
+                Metrics metrics) {
 
-            return createGeoLocationService(fileSyncerProperties, vertx);
+            return createGeoLocationService(fileSyncerProperties, cacheSize, ipv4PrefixLength, ipv6PrefixLength,
+                    vertx, metrics);
         }
 
         @Bean
@@ -57,17 +65,23 @@ public class GeoLocationConfiguration {
                 Vertx vertx,
                 Metrics metrics,
                 RemoteFileSyncerProperties fileSyncerProperties,
+                @Value("${geolocation.cache.size}") int cacheSize,
+                @Value("${geolocation.cache.ipv4-prefix-length}") int ipv4PrefixLength,
+                @Value("${geolocation.cache.ipv6-prefix-length}") int ipv6PrefixLength,
                 @Qualifier("geolocationCircuitBreakerProperties") CircuitBreakerProperties circuitBreakerProperties,
                 Clock clock) {
 
             return new CircuitBreakerSecuredGeoLocationService(vertx,
-                    createGeoLocationService(fileSyncerProperties, vertx), metrics,
+                    createGeoLocationService(fileSyncerProperties, cacheSize, ipv4PrefixLength, ipv6PrefixLength,
+                            vertx, metrics),
+                    metrics,
                     circuitBreakerProperties.getOpeningThreshold(), circuitBreakerProperties.getOpeningIntervalMs(),
                     circuitBreakerProperties.getClosingIntervalMs(), clock);
         }
 
         private GeoLocationService createGeoLocationService(RemoteFileSyncerProperties fileSyncerProperties,
-                                                            Vertx vertx) {
+                                                            int cacheSize, int ipv4PrefixLength,
+                                                            int ipv6PrefixLength, Vertx vertx, Metrics metrics) {
 
             final HttpClientProperties httpClientProperties = fileSyncerProperties.getHttpClient();
             final HttpClientOptions httpClientOptions = new HttpClientOptions()
@@ -81,8 +95,19 @@ public class GeoLocationConfiguration {
                     vertx.createHttpClient(httpClientOptions), vertx, vertx.fileSystem());
             final MaxMindGeoLocationService maxMindGeoLocationService = new MaxMindGeoLocationService();
 
-            remoteFileSyncer.syncForFilepath(maxMindGeoLocationService);
-            return maxMindGeoLocationService;
+            if (cacheSize <= 0) {
+                remoteFileSyncer.syncForFilepath(maxMindGeoLocationService);
+                return maxMindGeoLocationService;
+            }
+
+            final CachingGeoLocationService cachingGeoLocationService = new CachingGeoLocationService(
+                    maxMindGeoLocationService, cacheSize, ipv4PrefixLength, ipv6PrefixLength, metrics);
+            remoteFileSyncer.syncForFilepath(dataFilePath -> maxMindGeoLocationService.setDataPath(dataFilePath)
+                    .map(ignored -> {
+                        cachingGeoLocationService.invalidateAll();
+                        return null;
+                    }));
+            return cachingGeoLocationService;
         }
     }
 }
@@ -8,6 +8,8 @@ import org.prebid.server.health.ApplicationChecker;
 import org.prebid.server.health.DatabaseHealthChecker;
 import org.prebid.server.health.GeoLocationHealthChecker;
 import org.prebid.server.health.HealthChecker;
+import org.prebid.server.vertx.EventLoopMonitor;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
@@ -19,6 +21,9 @@ import org.springframework.context.annotation.Configuration;
 @ConditionalOnExpression("'${status-response}' != ''")
 public class HealthCheckerConfiguration {
 
+    @Autowired(required = false)
+    private EventLoopMonitor eventLoopMonitor;
+
     @Bean
     @ConditionalOnProperty(prefix = "health-check.database", name = "enabled", havingValue = "true")
     HealthChecker databaseChecker(Vertx vertx,
@@ -40,6 +45,6 @@ public class HealthCheckerConfiguration {
 
     @Bean
     HealthChecker applicationChecker(@Value("${status-response}") String statusResponse) {
-        return new ApplicationChecker(statusResponse);
+        return new ApplicationChecker(statusResponse, eventLoopMonitor);
     }
 }
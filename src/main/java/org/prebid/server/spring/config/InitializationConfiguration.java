@@ -4,6 +4,7 @@ import org.prebid.server.metric.Metrics;
 import org.prebid.server.vertx.ContextRunner;
 import org.prebid.server.vertx.Initializable;
 import org.prebid.server.vertx.http.HttpClient;
+import org.prebid.server.warmup.WarmUpService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.event.ContextRefreshedEvent;
@@ -23,6 +24,9 @@ import java.util.List;
  * Having services that depend on {@link HttpClient} in their initialization actions initialized after dependency
  * tree is fully constructed ensures that subsequent {@link HttpClient} instance creation will not happen in the
  * middle of another bean creation process.
+ * <p>
+ * {@link WarmUpService} (if enabled) is started here too, as it runs requests through the fully constructed
+ * application.
  */
 @Configuration
 public class InitializationConfiguration {
@@ -33,10 +37,16 @@ public class InitializationConfiguration {
     @Autowired
     private List<Initializable> initializables;
 
+    @Autowired(required = false)
+    private WarmUpService warmUpService;
+
     @EventListener(ContextRefreshedEvent.class)
     public void initializeServices() {
         contextRunner.runOnServiceContext(future -> {
             initializables.forEach(Initializable::initialize);
+            if (warmUpService != null) {
+                warmUpService.start();
+            }
             future.complete();
         });
     }
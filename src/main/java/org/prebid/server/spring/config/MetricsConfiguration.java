@@ -24,6 +24,8 @@ import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.metric.AccountMetricsVerbosity;
 import org.prebid.server.metric.CounterType;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.ReservoirType;
+import org.prebid.server.metric.TopAccountsTracker;
 import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 import org.prebid.server.vertx.CloseableAdapter;
 import org.prebid.server.vertx.ContextRunner;
@@ -106,9 +108,25 @@ public class MetricsConfiguration {
     }
 
     @Bean
-    Metrics metrics(@Value("${metrics.metricType}") CounterType counterType, MetricRegistry metricRegistry,
-                    AccountMetricsVerbosity accountMetricsVerbosity, BidderCatalog bidderCatalog) {
-        return new Metrics(metricRegistry, counterType, accountMetricsVerbosity, bidderCatalog);
+    Metrics metrics(@Value("${metrics.metricType}") CounterType counterType,
+                    @Value("${metrics.reservoirType}") ReservoirType reservoirType,
+                    MetricRegistry metricRegistry,
+                    AccountMetricsVerbosity accountMetricsVerbosity,
+                    BidderCatalog bidderCatalog,
+                    AccountsProperties accountsProperties) {
+
+        final int topAccounts = accountsProperties.getTopAccounts();
+        final TopAccountsTracker topAccountsTracker = topAccounts > 0 ? new TopAccountsTracker(topAccounts) : null;
+
+        final Metrics metrics = new Metrics(metricRegistry, counterType, reservoirType, accountMetricsVerbosity,
+                bidderCatalog, topAccountsTracker);
+
+        if (topAccountsTracker != null) {
+            vertx.setPeriodic(accountsProperties.getTopAccountsRefreshPeriodMs(),
+                    ignored -> metrics.refreshTopAccounts());
+        }
+
+        return metrics;
     }
 
     @Bean
@@ -204,6 +222,14 @@ public class MetricsConfiguration {
         private AccountMetricsVerbosityLevel defaultVerbosity;
         private List<String> basicVerbosity = new ArrayList<>();
         private List<String> detailedVerbosity = new ArrayList<>();
+
+        @NotNull
+        @Min(0)
+        private Integer topAccounts = 0;
+
+        @NotNull
+        @Min(1)
+        private Long topAccountsRefreshPeriodMs = 60000L;
     }
 
     @Configuration
@@ -8,6 +8,7 @@ import io.vertx.core.file.FileSystem;
 import io.vertx.core.http.HttpClientOptions;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.core.net.JksOptions;
+import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.auction.AmpRequestFactory;
 import org.prebid.server.auction.AmpResponsePostProcessor;
 import org.prebid.server.auction.AuctionRequestFactory;
@@ -31,10 +32,16 @@ import org.prebid.server.bidder.HttpAdapterConnector;
 import org.prebid.server.bidder.HttpBidderRequester;
 import org.prebid.server.cache.CacheService;
 import org.prebid.server.cache.model.CacheTtl;
+import org.prebid.server.capture.TrafficCaptureReader;
+import org.prebid.server.capture.TrafficCaptureService;
+import org.prebid.server.capture.TrafficCaptureWriter;
+import org.prebid.server.cookie.CompactUidsCodec;
 import org.prebid.server.cookie.UidsCookieService;
 import org.prebid.server.currency.CurrencyConversionService;
 import org.prebid.server.events.EventsService;
+import org.prebid.server.execution.AdmissionController;
 import org.prebid.server.execution.LogModifier;
+import org.prebid.server.execution.ResourceMeterFactory;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.geolocation.GeoLocationService;
 import org.prebid.server.json.JacksonMapper;
@@ -42,6 +49,7 @@ import org.prebid.server.metric.Metrics;
 import org.prebid.server.optout.GoogleRecaptchaVerifier;
 import org.prebid.server.privacy.PrivacyExtractor;
 import org.prebid.server.privacy.gdpr.GdprService;
+import org.prebid.server.privacy.gdpr.VendorConsentCache;
 import org.prebid.server.privacy.gdpr.vendorlist.VendorListService;
 import org.prebid.server.settings.ApplicationSettings;
 import org.prebid.server.spring.config.model.CircuitBreakerProperties;
@@ -51,6 +59,7 @@ import org.prebid.server.validation.BidderParamValidator;
 import org.prebid.server.validation.RequestValidator;
 import org.prebid.server.validation.ResponseBidValidator;
 import org.prebid.server.validation.VideoRequestValidator;
+import org.prebid.server.vertx.EventLoopMonitor;
 import org.prebid.server.vertx.http.BasicHttpClient;
 import org.prebid.server.vertx.http.CircuitBreakerSecuredHttpClient;
 import org.prebid.server.vertx.http.HttpClient;
@@ -66,6 +75,7 @@ import org.springframework.context.annotation.ScopedProxyMode;
 
 import javax.validation.constraints.Min;
 import java.io.IOException;
+import java.nio.file.Paths;
 import java.time.Clock;
 import java.util.Arrays;
 import java.util.List;
@@ -314,6 +324,14 @@ public class ServiceConfiguration {
                 // 3 for twice, and so on
                 .setMaxRedirects(maxRedirects + 1);
 
+        // these options take effect with native transport only
+        if (vertx.isNativeTransportEnabled()) {
+            options
+                    .setTcpFastOpen(true)
+                    .setTcpNoDelay(true)
+                    .setTcpQuickAck(true);
+        }
+
         if (ssl) {
             final JksOptions jksOptions = new JksOptions()
                     .setPath(jksPath)
@@ -335,6 +353,7 @@ public class ServiceConfiguration {
             @Value("${host-cookie.domain:#{null}}") String hostCookieDomain,
             @Value("${host-cookie.ttl-days}") Integer ttlDays,
             @Value("${host-cookie.max-cookie-size-bytes}") Integer maxCookieSizeBytes,
+            @Value("${host-cookie.compact-format-enabled}") boolean compactCookieEnabled,
             JacksonMapper mapper) {
 
         return new UidsCookieService(
@@ -345,6 +364,8 @@ public class ServiceConfiguration {
                 hostCookieDomain,
                 ttlDays,
                 maxCookieSizeBytes,
+                new CompactUidsCodec(),
+                compactCookieEnabled,
                 mapper);
     }
 
@@ -370,16 +391,23 @@ public class ServiceConfiguration {
                 mapper);
     }
 
+    @Bean
+    VendorConsentCache vendorConsentCache(@Value("${gdpr.consent-cache.size}") int size, Metrics metrics) {
+        return new VendorConsentCache(size, metrics);
+    }
+
     @Bean
     GdprService gdprService(
             @Value("${gdpr.eea-countries}") String eeaCountriesAsString,
             @Value("${gdpr.default-value}") String defaultValue,
             @Autowired(required = false) GeoLocationService geoLocationService,
             Metrics metrics,
-            VendorListService vendorListService) {
+            VendorListService vendorListService,
+            VendorConsentCache vendorConsentCache) {
 
         final List<String> eeaCountries = Arrays.asList(eeaCountriesAsString.trim().split(","));
-        return new GdprService(eeaCountries, defaultValue, geoLocationService, metrics, vendorListService);
+        return new GdprService(eeaCountries, defaultValue, geoLocationService, metrics, vendorListService,
+                vendorConsentCache);
     }
 
     @Bean
@@ -400,6 +428,51 @@ public class ServiceConfiguration {
         return new HttpBidderRequester(httpClient, bidderRequestCompletionTrackerFactory);
     }
 
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "traffic-capture", name = "enabled", havingValue = "true")
+    TrafficCaptureWriter trafficCaptureWriter(
+            @Value("${traffic-capture.directory}") String directory,
+            @Value("${traffic-capture.max-file-size-bytes}") long maxFileSizeBytes,
+            @Value("${traffic-capture.max-files}") int maxFiles,
+            @Value("${traffic-capture.queue-capacity}") int queueCapacity,
+            Clock clock,
+            JacksonMapper mapper) {
+
+        final TrafficCaptureWriter trafficCaptureWriter = new TrafficCaptureWriter(Paths.get(directory),
+                maxFileSizeBytes, maxFiles, queueCapacity, clock, mapper);
+        trafficCaptureWriter.start();
+        return trafficCaptureWriter;
+    }
+
+    @Bean
+    TrafficCaptureService trafficCaptureService(
+            @Value("${traffic-capture.sampling-rate}") double samplingRate,
+            @Value("${traffic-capture.allowed-headers}") String allowedHeadersAsString,
+            @Value("${traffic-capture.replay.enabled}") boolean replayEnabled,
+            @Value("${traffic-capture.replay.directory}") String replayDirectory,
+            @Autowired(required = false) TrafficCaptureWriter trafficCaptureWriter,
+            Clock clock,
+            JacksonMapper mapper) throws IOException {
+
+        if (replayEnabled) {
+            if (trafficCaptureWriter != null) {
+                throw new IllegalArgumentException("Traffic capture and replay cannot be enabled at the same time");
+            }
+            return TrafficCaptureService.replaying(TrafficCaptureReader.read(Paths.get(replayDirectory), mapper),
+                    clock);
+        }
+
+        if (trafficCaptureWriter != null) {
+            final List<String> allowedHeaders = Arrays.stream(allowedHeadersAsString.split(","))
+                    .map(String::trim)
+                    .filter(StringUtils::isNotEmpty)
+                    .collect(Collectors.toList());
+            return TrafficCaptureService.capturing(samplingRate, allowedHeaders, trafficCaptureWriter, clock);
+        }
+
+        return TrafficCaptureService.disabled(clock);
+    }
+
     @Bean
     BidResponseCreator bidResponseCreator(
             CacheService cacheService,
@@ -422,6 +495,7 @@ public class ServiceConfiguration {
             CurrencyConversionService currencyConversionService,
             BidResponseCreator bidResponseCreator,
             BidResponsePostProcessor bidResponsePostProcessor,
+            AdmissionController admissionController,
             Metrics metrics,
             Clock clock,
             JacksonMapper mapper) {
@@ -436,11 +510,34 @@ public class ServiceConfiguration {
                 currencyConversionService,
                 bidResponseCreator,
                 bidResponsePostProcessor,
+                admissionController,
                 metrics,
                 clock,
                 mapper);
     }
 
+    @Bean
+    AdmissionController admissionController(
+            @Value("${admission-control.max-in-flight-auctions}") int maxInFlightAuctions,
+            @Value("${admission-control.max-event-loop-lag-ms}") long maxEventLoopLagMs,
+            @Value("${admission-control.max-pending-bidder-requests}") int maxPendingBidderRequests,
+            @Value("${admission-control.premium-accounts}") String premiumAccountsString,
+            @Value("${admission-control.premium-limit-multiplier}") double premiumLimitMultiplier,
+            @Autowired(required = false) EventLoopMonitor eventLoopMonitor,
+            HttpBidderRequester httpBidderRequester,
+            Metrics metrics) {
+
+        return new AdmissionController(
+                maxInFlightAuctions,
+                maxEventLoopLagMs,
+                maxPendingBidderRequests,
+                splitCommaSeparatedString(premiumAccountsString),
+                premiumLimitMultiplier,
+                eventLoopMonitor != null ? eventLoopMonitor::maxLagMs : () -> 0L,
+                httpBidderRequester::pendingRequests,
+                metrics);
+    }
+
     @Bean
     StoredRequestProcessor storedRequestProcessor(
             @Value("${auction.stored-requests-timeout-ms}") long defaultTimeoutMs,
@@ -488,14 +585,21 @@ public class ServiceConfiguration {
     @Bean
     RequestValidator requestValidator(BidderCatalog bidderCatalog,
                                       BidderParamValidator bidderParamValidator,
+                                      @Value("${auction.native-request-cache.size}") int nativeRequestCacheSize,
                                       JacksonMapper mapper) {
 
-        return new RequestValidator(bidderCatalog, bidderParamValidator, mapper);
+        return new RequestValidator(bidderCatalog, bidderParamValidator, nativeRequestCacheSize, mapper);
     }
 
     @Bean
-    BidderParamValidator bidderParamValidator(BidderCatalog bidderCatalog, JacksonMapper mapper) {
-        return BidderParamValidator.create(bidderCatalog, "static/bidder-params", mapper);
+    BidderParamValidator bidderParamValidator(
+            BidderCatalog bidderCatalog,
+            @Value("${auction.bidder-params-validation-cache.size}") int validationCacheSize,
+            Metrics metrics,
+            JacksonMapper mapper) {
+
+        return BidderParamValidator.create(bidderCatalog, "static/bidder-params", validationCacheSize, metrics,
+                mapper);
     }
 
     @Bean
@@ -526,6 +630,14 @@ public class ServiceConfiguration {
         return new TimeoutFactory(clock);
     }
 
+    @Bean
+    ResourceMeterFactory resourceMeterFactory(
+            @Value("${metrics.resource-accounting.enabled}") boolean enabled,
+            @Value("${metrics.resource-accounting.sampling-rate}") double samplingRate) {
+
+        return new ResourceMeterFactory(enabled, samplingRate);
+    }
+
     @Bean
     LogModifier logModifier() {
         return new LogModifier(LoggerFactory.getLogger(ServiceConfiguration.class));
@@ -1,25 +1,54 @@
 package org.prebid.server.spring.config;
 
+import io.netty.channel.epoll.Epoll;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxOptions;
 import io.vertx.core.file.FileSystem;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
 import io.vertx.ext.dropwizard.DropwizardMetricsOptions;
 import io.vertx.ext.web.handler.BodyHandler;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.vertx.ContextRunner;
+import org.prebid.server.vertx.EventLoopMonitor;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
 @Configuration
 public class VertxConfiguration {
 
+    private static final Logger logger = LoggerFactory.getLogger(VertxConfiguration.class);
+
     @Bean
-    Vertx vertx(@Value("${vertx.worker-pool-size}") int workerPoolSize) {
-        return Vertx.vertx(new VertxOptions()
+    Vertx vertx(@Value("${vertx.worker-pool-size}") int workerPoolSize,
+                @Value("${vertx.event-loop-pool-size}") int eventLoopPoolSize,
+                @Value("${vertx.prefer-native-transport}") boolean preferNativeTransport) {
+
+        final Vertx vertx = Vertx.vertx(new VertxOptions()
                 .setWorkerPoolSize(workerPoolSize)
+                .setEventLoopPoolSize(resolveEventLoopPoolSize(eventLoopPoolSize))
+                .setPreferNativeTransport(preferNativeTransport)
                 .setMetricsOptions(new DropwizardMetricsOptions()
                         .setEnabled(true)
                         .setRegistryName(MetricsConfiguration.METRIC_REGISTRY_NAME)));
+
+        if (preferNativeTransport && !vertx.isNativeTransportEnabled()) {
+            logger.warn("Native transport is not available, falling back to NIO: {0}",
+                    Epoll.unavailabilityCause() != null ? Epoll.unavailabilityCause().getMessage() : "unknown");
+        }
+        logger.info("Vert.x is using {0} transport with {1} event loops",
+                vertx.isNativeTransportEnabled() ? "native" : "NIO", resolveEventLoopPoolSize(eventLoopPoolSize));
+
+        return vertx;
+    }
+
+    /**
+     * Returns configured number of event loops or Vert.x default (twice the number of available cores) if it is 0.
+     */
+    static int resolveEventLoopPoolSize(int eventLoopPoolSize) {
+        return eventLoopPoolSize > 0 ? eventLoopPoolSize : VertxOptions.DEFAULT_EVENT_LOOP_POOL_SIZE;
     }
 
     @Bean
@@ -36,4 +65,15 @@ public class VertxConfiguration {
     ContextRunner contextRunner(Vertx vertx, @Value("${vertx.init-timeout-ms}") long initTimeoutMs) {
         return new ContextRunner(vertx, initTimeoutMs);
     }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "vertx.event-loop-monitor", name = "enabled", havingValue = "true")
+    EventLoopMonitor eventLoopMonitor(Vertx vertx,
+                                      @Value("${vertx.event-loop-monitor.interval-ms}") long intervalMs,
+                                      @Value("${vertx.event-loop-monitor.blocked-threshold-ms}") long thresholdMs,
+                                      @Value("${vertx.event-loop-monitor.down-after-checks}") int downAfterChecks,
+                                      Metrics metrics) {
+
+        return new EventLoopMonitor(vertx, intervalMs, thresholdMs, downAfterChecks, metrics);
+    }
 }
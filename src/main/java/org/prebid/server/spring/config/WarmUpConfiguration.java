@@ -0,0 +1,298 @@
+package org.prebid.server.spring.config;
+
+import com.codahale.metrics.MetricRegistry;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
+import io.vertx.core.metrics.MetricsOptions;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.handler.BodyHandler;
+import io.vertx.ext.web.handler.CookieHandler;
+import org.prebid.server.analytics.CompositeAnalyticsReporter;
+import org.prebid.server.auction.AmpRequestFactory;
+import org.prebid.server.auction.AmpResponsePostProcessor;
+import org.prebid.server.auction.AuctionRequestFactory;
+import org.prebid.server.auction.BidResponseCreator;
+import org.prebid.server.auction.BidResponsePostProcessor;
+import org.prebid.server.auction.ExchangeService;
+import org.prebid.server.auction.ImplicitParametersExtractor;
+import org.prebid.server.auction.InterstitialProcessor;
+import org.prebid.server.auction.PrivacyEnforcementService;
+import org.prebid.server.auction.StoredRequestProcessor;
+import org.prebid.server.auction.StoredResponseProcessor;
+import org.prebid.server.auction.TimeoutResolver;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.HttpBidderRequester;
+import org.prebid.server.cache.CacheService;
+import org.prebid.server.cache.model.CacheTtl;
+import org.prebid.server.capture.TrafficCaptureService;
+import org.prebid.server.cookie.UidsCookieService;
+import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.events.EventsService;
+import org.prebid.server.execution.AdmissionController;
+import org.prebid.server.execution.LogModifier;
+import org.prebid.server.execution.ResourceMeterFactory;
+import org.prebid.server.execution.TimeoutFactory;
+import org.prebid.server.handler.CookieSyncHandler;
+import org.prebid.server.handler.openrtb2.AmpHandler;
+import org.prebid.server.handler.openrtb2.AuctionHandler;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.AccountMetricsVerbosity;
+import org.prebid.server.metric.CounterType;
+import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.ReservoirType;
+import org.prebid.server.privacy.gdpr.GdprService;
+import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.validation.BidderParamValidator;
+import org.prebid.server.validation.RequestValidator;
+import org.prebid.server.validation.ResponseBidValidator;
+import org.prebid.server.vertx.http.HttpClient;
+import org.prebid.server.warmup.StubHttpClient;
+import org.prebid.server.warmup.WarmUpApplicationSettings;
+import org.prebid.server.warmup.WarmUpRequests;
+import org.prebid.server.warmup.WarmUpService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+import java.util.Collections;
+
+/**
+ * Warm-up runs synthetic requests through handlers and services of its own, built here of the same classes as
+ * serving ones. They share stateless components with serving ones but have their own {@link Metrics} (so warm-up
+ * traffic is not reported), settings and HTTP client answering bidder and cache requests in process. Bidders and
+ * Prebid Cache of warm-up are never called over network, whatever context its requests are continued on.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "warm-up", name = "enabled", havingValue = "true")
+public class WarmUpConfiguration {
+
+    @Autowired
+    private Vertx vertx;
+
+    @Autowired
+    private Clock clock;
+
+    @Autowired
+    private JacksonMapper mapper;
+
+    @Autowired
+    private BidderCatalog bidderCatalog;
+
+    @Autowired
+    private AccountMetricsVerbosity accountMetricsVerbosity;
+
+    @Autowired
+    private TimeoutFactory timeoutFactory;
+
+    @Autowired
+    private TimeoutResolver timeoutResolver;
+
+    @Autowired
+    private ImplicitParametersExtractor implicitParametersExtractor;
+
+    @Autowired
+    private UidsCookieService uidsCookieService;
+
+    @Autowired
+    private GdprService gdprService;
+
+    @Autowired
+    private StoredResponseProcessor storedResponseProcessor;
+
+    @Autowired
+    private ResponseBidValidator responseBidValidator;
+
+    @Autowired
+    private CurrencyConversionService currencyConversionService;
+
+    @Autowired
+    private EventsService eventsService;
+
+    @Autowired
+    private BidResponsePostProcessor bidResponsePostProcessor;
+
+    @Autowired
+    private AmpResponsePostProcessor ampResponsePostProcessor;
+
+    @Autowired
+    private LogModifier logModifier;
+
+    @Autowired
+    private BodyHandler bodyHandler;
+
+    @Value("${metrics.metricType}")
+    private CounterType counterType;
+
+    @Value("${metrics.reservoirType}")
+    private ReservoirType reservoirType;
+
+    @Value("${auction.bidder-params-validation-cache.size}")
+    private int validationCacheSize;
+
+    @Value("${auction.native-request-cache.size}")
+    private int nativeRequestCacheSize;
+
+    @Value("${auction.stored-requests-timeout-ms}")
+    private long storedRequestsTimeoutMs;
+
+    @Value("${auction.max-request-size}")
+    private int maxRequestSize;
+
+    @Value("${auction.cache.only-winning-bids}")
+    private boolean shouldCacheOnlyWinningBids;
+
+    @Value("${auction.ad-server-currency:#{null}}")
+    private String adServerCurrency;
+
+    @Value("${auction.cache.expected-request-time-ms}")
+    private long expectedCacheTimeMs;
+
+    @Value("${cache.scheme}")
+    private String cacheScheme;
+
+    @Value("${cache.host}")
+    private String cacheHost;
+
+    @Value("${cache.path}")
+    private String cachePath;
+
+    @Value("${cache.query}")
+    private String cacheQuery;
+
+    @Value("${cache.banner-ttl-seconds:#{null}}")
+    private Integer bannerCacheTtl;
+
+    @Value("${cache.video-ttl-seconds:#{null}}")
+    private Integer videoCacheTtl;
+
+    @Value("${ccpa.enforce}")
+    private boolean ccpaEnforce;
+
+    @Value("${external-url}")
+    private String externalUrl;
+
+    @Value("${cookie-sync.default-timeout-ms}")
+    private int cookieSyncDefaultTimeoutMs;
+
+    @Value("${gdpr.host-vendor-id:#{null}}")
+    private Integer hostVendorId;
+
+    @Value("${cookie-sync.coop-sync.default}")
+    private boolean defaultCoopSync;
+
+    @Bean
+    WarmUpService warmUpService(@Value("${warm-up.auctions}") int auctions,
+                                @Value("${warm-up.amp-requests}") int ampRequests,
+                                @Value("${warm-up.cookie-syncs}") int cookieSyncs,
+                                @Value("${warm-up.concurrency}") int concurrency) {
+
+        // the same types of metrics as serving ones, so that the same code is compiled
+        final Metrics metrics = new Metrics(new MetricRegistry(), counterType, reservoirType, accountMetricsVerbosity,
+                bidderCatalog);
+
+        final BidderParamValidator bidderParamValidator = BidderParamValidator.create(bidderCatalog,
+                "static/bidder-params", validationCacheSize, metrics, mapper);
+        final WarmUpRequests warmUpRequests = WarmUpRequests.create(bidderCatalog, bidderParamValidator, mapper);
+
+        final ApplicationSettings applicationSettings = new WarmUpApplicationSettings(WarmUpRequests.AMP_TAG_ID,
+                warmUpRequests.ampStoredRequest());
+        final StoredRequestProcessor storedRequestProcessor = new StoredRequestProcessor(storedRequestsTimeoutMs,
+                applicationSettings, metrics, timeoutFactory, mapper);
+        final AuctionRequestFactory auctionRequestFactory = auctionRequestFactory(storedRequestProcessor,
+                bidderParamValidator, applicationSettings);
+        final AmpRequestFactory ampRequestFactory = new AmpRequestFactory(storedRequestProcessor,
+                auctionRequestFactory, timeoutResolver, mapper);
+
+        final HttpClient httpClient = new StubHttpClient(mapper);
+        final CacheService cacheService = new CacheService(CacheTtl.of(bannerCacheTtl, videoCacheTtl), httpClient,
+                CacheService.getCacheEndpointUrl(cacheScheme, cacheHost, cachePath),
+                CacheService.getCachedAssetUrlTemplate(cacheScheme, cacheHost, cachePath, cacheQuery),
+                eventsService, metrics, clock, mapper);
+        final BidResponseCreator bidResponseCreator = new BidResponseCreator(cacheService, bidderCatalog,
+                eventsService, storedRequestProcessor, mapper);
+        final PrivacyEnforcementService privacyEnforcementService = new PrivacyEnforcementService(gdprService,
+                bidderCatalog, metrics, mapper, false, ccpaEnforce);
+        final ExchangeService exchangeService = exchangeService(httpClient, privacyEnforcementService,
+                bidResponseCreator, metrics);
+
+        final CompositeAnalyticsReporter analyticsReporter = new CompositeAnalyticsReporter(
+                Collections.emptyList(), vertx);
+        final TrafficCaptureService trafficCaptureService = TrafficCaptureService.disabled(clock);
+        final ResourceMeterFactory resourceMeterFactory = new ResourceMeterFactory(false, 0);
+
+        // loopback server and client are not reported in Vert.x metrics of the main instance
+        final Vertx warmUpVertx = Vertx.vertx(new VertxOptions()
+                .setEventLoopPoolSize(1)
+                .setWorkerPoolSize(1)
+                .setMetricsOptions(new MetricsOptions().setEnabled(false)));
+
+        final Router router = Router.router(warmUpVertx);
+        router.route().handler(CookieHandler.create());
+        router.route().handler(bodyHandler);
+        router.post("/openrtb2/auction").handler(new AuctionHandler(auctionRequestFactory, exchangeService,
+                analyticsReporter, metrics, clock, logModifier, trafficCaptureService, resourceMeterFactory,
+                mapper));
+        router.get("/openrtb2/amp").handler(new AmpHandler(ampRequestFactory, exchangeService, analyticsReporter,
+                metrics, clock, bidderCatalog, Collections.emptySet(), ampResponsePostProcessor, logModifier,
+                trafficCaptureService, resourceMeterFactory, mapper));
+        router.post("/cookie_sync").handler(new CookieSyncHandler(externalUrl, cookieSyncDefaultTimeoutMs,
+                uidsCookieService, bidderCatalog, gdprService, privacyEnforcementService, hostVendorId, false,
+                defaultCoopSync, null, analyticsReporter, metrics, timeoutFactory, mapper));
+
+        return new WarmUpService(warmUpVertx, router, warmUpRequests, auctions, ampRequests, cookieSyncs,
+                concurrency, clock);
+    }
+
+    /**
+     * Creates factory accepting any account, as synthetic requests have none.
+     */
+    private AuctionRequestFactory auctionRequestFactory(StoredRequestProcessor storedRequestProcessor,
+                                                        BidderParamValidator bidderParamValidator,
+                                                        ApplicationSettings applicationSettings) {
+
+        return new AuctionRequestFactory(
+                maxRequestSize,
+                false,
+                shouldCacheOnlyWinningBids,
+                adServerCurrency,
+                Collections.emptyList(),
+                Collections.emptyList(),
+                storedRequestProcessor,
+                implicitParametersExtractor,
+                uidsCookieService,
+                bidderCatalog,
+                new RequestValidator(bidderCatalog, bidderParamValidator, nativeRequestCacheSize, mapper),
+                new InterstitialProcessor(mapper),
+                timeoutResolver,
+                timeoutFactory,
+                applicationSettings,
+                mapper);
+    }
+
+    /**
+     * Creates service bidding through given {@link HttpClient} with admission control turned off.
+     */
+    private ExchangeService exchangeService(HttpClient httpClient,
+                                            PrivacyEnforcementService privacyEnforcementService,
+                                            BidResponseCreator bidResponseCreator,
+                                            Metrics metrics) {
+
+        return new ExchangeService(
+                expectedCacheTimeMs,
+                bidderCatalog,
+                storedResponseProcessor,
+                privacyEnforcementService,
+                new HttpBidderRequester(httpClient, null),
+                responseBidValidator,
+                currencyConversionService,
+                bidResponseCreator,
+                bidResponsePostProcessor,
+                new AdmissionController(0, 0, 0, Collections.emptyList(), 1, () -> 0L, () -> 0, metrics),
+                metrics,
+                clock,
+                mapper);
+    }
+}
@@ -1,12 +1,15 @@
 package org.prebid.server.spring.config;
 
+import com.codahale.metrics.MetricRegistry;
 import io.vertx.core.Vertx;
+import io.vertx.core.VertxOptions;
 import io.vertx.core.http.HttpMethod;
 import io.vertx.core.http.HttpServer;
 import io.vertx.core.http.HttpServerOptions;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 import io.vertx.core.net.JksOptions;
+import io.vertx.ext.dropwizard.DropwizardMetricsOptions;
 import io.vertx.ext.web.Router;
 import io.vertx.ext.web.handler.BodyHandler;
 import io.vertx.ext.web.handler.CookieHandler;
@@ -26,11 +29,15 @@ import org.prebid.server.auction.VideoResponseFactory;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.bidder.HttpAdapterConnector;
 import org.prebid.server.cache.CacheService;
+import org.prebid.server.capture.TrafficCaptureService;
 import org.prebid.server.cookie.UidsCookieService;
 import org.prebid.server.currency.CurrencyConversionService;
+import org.prebid.server.execution.AdmissionController;
 import org.prebid.server.execution.LogModifier;
+import org.prebid.server.execution.ResourceMeterFactory;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.handler.AdminHandler;
+import org.prebid.server.handler.AdmissionHandler;
 import org.prebid.server.handler.AuctionHandler;
 import org.prebid.server.handler.BidderParamHandler;
 import org.prebid.server.handler.CookieSyncHandler;
@@ -40,6 +47,7 @@ import org.prebid.server.handler.GetuidsHandler;
 import org.prebid.server.handler.NoCacheHandler;
 import org.prebid.server.handler.NotificationEventHandler;
 import org.prebid.server.handler.OptoutHandler;
+import org.prebid.server.handler.PrometheusMetricsHandler;
 import org.prebid.server.handler.SettingsCacheNotificationHandler;
 import org.prebid.server.handler.SetuidHandler;
 import org.prebid.server.handler.StatusHandler;
@@ -53,6 +61,7 @@ import org.prebid.server.health.HealthChecker;
 import org.prebid.server.health.PeriodicHealthChecker;
 import org.prebid.server.json.JacksonMapper;
 import org.prebid.server.metric.Metrics;
+import org.prebid.server.metric.prometheus.PrometheusMetricsExporter;
 import org.prebid.server.optout.GoogleRecaptchaVerifier;
 import org.prebid.server.privacy.PrivacyExtractor;
 import org.prebid.server.privacy.gdpr.GdprService;
@@ -61,15 +70,18 @@ import org.prebid.server.settings.SettingsCache;
 import org.prebid.server.util.HttpUtil;
 import org.prebid.server.validation.BidderParamValidator;
 import org.prebid.server.vertx.ContextRunner;
+import org.prebid.server.warmup.WarmUpService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.DependsOn;
 import org.springframework.stereotype.Component;
 
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.time.Clock;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -89,6 +101,9 @@ public class WebConfiguration {
     @Value("${vertx.http-server-instances}")
     private int httpServerNum;
 
+    @Value("${vertx.event-loop-pool-size}")
+    private int eventLoopPoolSize;
+
     @Autowired
     private Vertx vertx;
 
@@ -101,21 +116,29 @@ public class WebConfiguration {
     @Autowired
     private Router router;
 
+    @Autowired
+    private Metrics metrics;
+
     @Value("${http.port}")
     private int httpPort;
 
     @PostConstruct
     public void startHttpServer() {
-        logger.info("Starting {0} instances of Http Server to serve requests on port {1,number,#}", httpServerNum,
+        final int eventLoops = VertxConfiguration.resolveEventLoopPoolSize(eventLoopPoolSize);
+        metrics.updateTransportMetrics(vertx.isNativeTransportEnabled(), eventLoops);
+
+        // one server instance per event loop spreads connections over all of them
+        final int serverInstances = httpServerNum > 0 ? httpServerNum : eventLoops;
+        logger.info("Starting {0} instances of Http Server to serve requests on port {1,number,#}", serverInstances,
                 httpPort);
 
-        contextRunner.<HttpServer>runOnNewContext(httpServerNum, future ->
+        contextRunner.<HttpServer>runOnNewContext(serverInstances, future ->
                 vertx.createHttpServer(httpServerOptions)
                         .exceptionHandler(exceptionHandler)
                         .requestHandler(router)
                         .listen(httpPort, future));
 
-        logger.info("Successfully started {0} instances of Http Server", httpServerNum);
+        logger.info("Successfully started {0} instances of Http Server", serverInstances);
     }
 
     @Bean
@@ -129,6 +152,15 @@ public class WebConfiguration {
                 .setCompressionSupported(true)
                 .setIdleTimeout(10); // kick off long processing requests
 
+        // these options take effect with native transport only
+        if (vertx.isNativeTransportEnabled()) {
+            httpServerOptions
+                    .setReusePort(true)
+                    .setTcpFastOpen(true)
+                    .setTcpNoDelay(true)
+                    .setTcpQuickAck(true);
+        }
+
         if (ssl) {
             final JksOptions jksOptions = new JksOptions()
                     .setPath(jksPath)
@@ -147,6 +179,11 @@ public class WebConfiguration {
         return ExceptionHandler.create(metrics);
     }
 
+    @Bean
+    AdmissionHandler admissionHandler(AdmissionController admissionController) {
+        return new AdmissionHandler(admissionController);
+    }
+
     @Bean
     Router router(CookieHandler cookieHandler,
                   BodyHandler bodyHandler,
@@ -166,10 +203,25 @@ public class WebConfiguration {
                   BiddersHandler biddersHandler,
                   BidderDetailsHandler bidderDetailsHandler,
                   NotificationEventHandler notificationEventHandler,
-                  StaticHandler staticHandler) {
+                  StaticHandler staticHandler,
+                  AdmissionController admissionController,
+                  AdmissionHandler admissionHandler,
+                  @Value("${vertx.uploads-dir}") String uploadsDir,
+                  @Value("${auction.max-request-size}") int maxRequestSize) {
+
+        // auction bodies are limited while being read, so too big request is rejected with 413 before
+        // it is buffered entirely; generic body handler skips bodies already handled by this one
+        final BodyHandler auctionBodyHandler = BodyHandler.create(uploadsDir).setBodyLimit(maxRequestSize);
 
         final Router router = Router.router(vertx);
         router.route().handler(cookieHandler);
+        if (admissionController.isEnabled()) {
+            router.post("/openrtb2/auction").handler(admissionHandler);
+            router.get("/openrtb2/amp").handler(admissionHandler);
+            router.post("/openrtb2/video").handler(admissionHandler);
+        }
+        router.post("/openrtb2/auction").handler(auctionBodyHandler);
+        router.post("/openrtb2/video").handler(auctionBodyHandler);
         router.route().handler(bodyHandler);
         router.route().handler(noCacheHandler);
         router.route().handler(corsHandler);
@@ -255,10 +307,12 @@ public class WebConfiguration {
             Metrics metrics,
             Clock clock,
             LogModifier logModifier,
+            TrafficCaptureService trafficCaptureService,
+            ResourceMeterFactory resourceMeterFactory,
             JacksonMapper mapper) {
 
-        return new org.prebid.server.handler.openrtb2.AuctionHandler(
-                auctionRequestFactory, exchangeService, analyticsReporter, metrics, clock, logModifier, mapper);
+        return new org.prebid.server.handler.openrtb2.AuctionHandler(auctionRequestFactory, exchangeService,
+                analyticsReporter, metrics, clock, logModifier, trafficCaptureService, resourceMeterFactory, mapper);
     }
 
     @Bean
@@ -272,6 +326,8 @@ public class WebConfiguration {
             AmpProperties ampProperties,
             AmpResponsePostProcessor ampResponsePostProcessor,
             LogModifier logModifier,
+            TrafficCaptureService trafficCaptureService,
+            ResourceMeterFactory resourceMeterFactory,
             JacksonMapper mapper) {
 
         return new AmpHandler(
@@ -284,6 +340,8 @@ public class WebConfiguration {
                 ampProperties.getCustomTargetingSet(),
                 ampResponsePostProcessor,
                 logModifier,
+                trafficCaptureService,
+                resourceMeterFactory,
                 mapper);
     }
 
@@ -295,19 +353,23 @@ public class WebConfiguration {
             CompositeAnalyticsReporter analyticsReporter,
             Metrics metrics,
             Clock clock,
+            TrafficCaptureService trafficCaptureService,
+            ResourceMeterFactory resourceMeterFactory,
             JacksonMapper mapper) {
 
         return new VideoHandler(videoRequestFactory, videoResponseFactory, exchangeService, analyticsReporter, metrics,
-                clock, mapper);
+                clock, trafficCaptureService, resourceMeterFactory, mapper);
     }
 
     @Bean
-    StatusHandler statusHandler(List<HealthChecker> healthCheckers, JacksonMapper mapper) {
+    StatusHandler statusHandler(List<HealthChecker> healthCheckers,
+                                @Autowired(required = false) WarmUpService warmUpService,
+                                JacksonMapper mapper) {
         healthCheckers.stream()
                 .filter(PeriodicHealthChecker.class::isInstance)
                 .map(PeriodicHealthChecker.class::cast)
                 .forEach(PeriodicHealthChecker::initialize);
-        return new StatusHandler(healthCheckers, mapper);
+        return new StatusHandler(healthCheckers, warmUpService, mapper);
     }
 
     @Bean
@@ -457,6 +519,9 @@ public class WebConfiguration {
         @Autowired(required = false)
         private SettingsCacheNotificationHandler ampCacheNotificationHandler;
 
+        @Autowired(required = false)
+        private PrometheusMetricsHandler prometheusMetricsHandler;
+
         @Value("${admin.port}")
         private int adminPort;
 
@@ -495,6 +560,12 @@ public class WebConfiguration {
             return new CurrencyRatesHandler(currencyConversionRates, mapper);
         }
 
+        @Bean
+        @ConditionalOnProperty(prefix = "metrics.prometheus", name = "admin-endpoint-enabled", havingValue = "true")
+        PrometheusMetricsHandler prometheusMetricsHandler(MetricRegistry metricRegistry) {
+            return new PrometheusMetricsHandler(new PrometheusMetricsExporter(metricRegistry), vertx);
+        }
+
         @PostConstruct
         public void startAdminServer() {
             logger.info("Starting Admin Server to serve requests on port {0,number,#}", adminPort);
@@ -514,6 +585,9 @@ public class WebConfiguration {
             if (ampCacheNotificationHandler != null) {
                 router.route("/storedrequests/amp").handler(ampCacheNotificationHandler);
             }
+            if (prometheusMetricsHandler != null) {
+                router.route("/metrics").handler(prometheusMetricsHandler);
+            }
 
             contextRunner.<HttpServer>runOnServiceContext(future ->
                     vertx.createHttpServer().requestHandler(router).listen(adminPort, future));
@@ -521,4 +595,116 @@ public class WebConfiguration {
             logger.info("Successfully started Admin Server");
         }
     }
+
+    /**
+     * Serves endpoints that do not run auctions from their own {@link Vertx} instance, so they are handled on
+     * dedicated event loops and keep low latency whatever the auction load is. Vert.x assigns event loops to
+     * contexts round-robin from a single group, so separate instance is the only way to get a separate group.
+     * <p>
+     * Services called by these endpoints still run their I/O on the main {@link Vertx} instance.
+     */
+    @Configuration
+    @ConditionalOnProperty(prefix = "http.light-endpoints", name = "port")
+    @DependsOn("webConfiguration") // its field injection fails if any of its beans is requested first
+    static class LightEndpointsServerConfiguration {
+
+        private static final Logger logger = LoggerFactory.getLogger(LightEndpointsServerConfiguration.class);
+
+        private static final String LIGHT_ENDPOINTS_METRICS_BASE_NAME = "vertx.light-endpoints";
+
+        @Autowired
+        private Vertx vertx;
+
+        @Autowired
+        private HttpServerOptions httpServerOptions;
+
+        @Autowired
+        private ExceptionHandler exceptionHandler;
+
+        @Autowired
+        private CookieHandler cookieHandler;
+
+        @Autowired
+        private BodyHandler bodyHandler;
+
+        @Autowired
+        private NoCacheHandler noCacheHandler;
+
+        @Autowired
+        private CorsHandler corsHandler;
+
+        @Autowired
+        private StatusHandler statusHandler;
+
+        @Autowired
+        private CookieSyncHandler cookieSyncHandler;
+
+        @Autowired
+        private SetuidHandler setuidHandler;
+
+        @Autowired
+        private GetuidsHandler getuidsHandler;
+
+        @Autowired
+        private BiddersHandler biddersHandler;
+
+        @Autowired
+        private BidderDetailsHandler bidderDetailsHandler;
+
+        @Autowired
+        private NotificationEventHandler notificationEventHandler;
+
+        @Value("${http.light-endpoints.port}")
+        private int lightEndpointsPort;
+
+        @Value("${http.light-endpoints.event-loop-pool-size}")
+        private int eventLoopPoolSize;
+
+        @Value("${vertx.init-timeout-ms}")
+        private long initTimeoutMs;
+
+        private Vertx lightEndpointsVertx;
+
+        @PostConstruct
+        public void startLightEndpointsServer() {
+            // metrics go to the same registry as the main instance's ones, under separate base name
+            // so that instance-wide metrics, like pool sizes, don't clash
+            lightEndpointsVertx = Vertx.vertx(new VertxOptions()
+                    .setEventLoopPoolSize(eventLoopPoolSize)
+                    .setPreferNativeTransport(vertx.isNativeTransportEnabled())
+                    .setMetricsOptions(new DropwizardMetricsOptions()
+                            .setEnabled(true)
+                            .setRegistryName(MetricsConfiguration.METRIC_REGISTRY_NAME)
+                            .setBaseName(LIGHT_ENDPOINTS_METRICS_BASE_NAME)));
+
+            logger.info("Starting {0} instances of Light Endpoints Server to serve requests on port {1,number,#}",
+                    eventLoopPoolSize, lightEndpointsPort);
+
+            final Router router = Router.router(lightEndpointsVertx);
+            router.route().handler(cookieHandler);
+            router.route().handler(bodyHandler);
+            router.route().handler(noCacheHandler);
+            router.route().handler(corsHandler);
+            router.get("/status").handler(statusHandler);
+            router.post("/cookie_sync").handler(cookieSyncHandler);
+            router.get("/setuid").handler(setuidHandler);
+            router.get("/getuids").handler(getuidsHandler);
+            router.get("/info/bidders").handler(biddersHandler);
+            router.get("/info/bidders/:bidderName").handler(bidderDetailsHandler);
+            router.get("/event").handler(notificationEventHandler);
+
+            new ContextRunner(lightEndpointsVertx, initTimeoutMs).<HttpServer>runOnNewContext(eventLoopPoolSize,
+                    future -> lightEndpointsVertx.createHttpServer(httpServerOptions)
+                            .exceptionHandler(exceptionHandler)
+                            .requestHandler(router)
+                            .listen(lightEndpointsPort, future));
+
+            logger.info("Successfully started {0} instances of Light Endpoints Server", eventLoopPoolSize);
+        }
+
+        @PreDestroy
+        public void stopLightEndpointsServer() {
+            lightEndpointsVertx.close();
+        }
+    }
 }
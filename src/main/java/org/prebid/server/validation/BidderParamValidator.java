@@ -1,6 +1,8 @@
 package org.prebid.server.validation;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.networknt.schema.JsonSchema;
 import com.networknt.schema.JsonSchemaException;
 import com.networknt.schema.JsonSchemaFactory;
@@ -9,9 +11,11 @@ import org.apache.commons.lang3.StringUtils;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.json.EncodeException;
 import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.util.ResourceUtil;
 
 import java.io.IOException;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -21,6 +25,9 @@ import java.util.stream.Collectors;
 /**
  * This Component aimed to validate <i>bidrequest.imp[i].ext.{bidder}</i> portion of bidRequest. It relies on
  * JSON schemas that need to be located as resources on classpath.
+ * <p>
+ * Publishers send the same bidder params for an ad unit again and again, so validation messages are kept in bounded
+ * cache by bidder and params. Cache lives as long as schemas it was filled with.
  */
 public class BidderParamValidator {
 
@@ -30,16 +37,39 @@ public class BidderParamValidator {
 
     private final Map<String, JsonSchema> bidderSchemas;
     private final String schemas;
+    private final Cache<BidderParams, Set<String>> cache;
+    private final Metrics metrics;
 
-    private BidderParamValidator(Map<String, JsonSchema> bidderSchemas, String schemas) {
+    private BidderParamValidator(Map<String, JsonSchema> bidderSchemas, String schemas, int cacheSize,
+                                 Metrics metrics) {
         this.bidderSchemas = bidderSchemas;
         this.schemas = schemas;
+        this.cache = cacheSize > 0 ? Caffeine.newBuilder().maximumSize(cacheSize).build() : null;
+        this.metrics = metrics;
     }
 
     /**
      * Validates the {@link JsonNode} input parameter against bidder's JSON-schema
      */
     public Set<String> validate(String bidder, JsonNode jsonNode) {
+        if (cache == null) {
+            return validateBySchema(bidder, jsonNode);
+        }
+
+        final BidderParams bidderParams = new BidderParams(bidder, jsonNode);
+        final Set<String> cached = cache.getIfPresent(bidderParams);
+        metrics.updateBidderParamsValidationCacheMetric(cached != null);
+        if (cached != null) {
+            return cached;
+        }
+
+        final Set<String> messages = Collections.unmodifiableSet(validateBySchema(bidder, jsonNode));
+        // params node belongs to request and may be changed afterwards, so cache key holds own copy of it
+        cache.put(new BidderParams(bidder, jsonNode.deepCopy()), messages);
+        return messages;
+    }
+
+    private Set<String> validateBySchema(String bidder, JsonNode jsonNode) {
         return bidderSchemas.get(bidder).validate(jsonNode).stream()
                 .map(ValidationMessage::getMessage)
                 .collect(Collectors.toSet());
@@ -73,13 +103,20 @@ public class BidderParamValidator {
      * exist as CLASSPATH resources, otherwise {@link IllegalArgumentException} will be thrown. This method consumes
      * schema directory parameter that defines the root directory for files containing schemas. By convention the name
      * of each schema file same as corresponding bidder name.
+     * <p>
+     * Validation results are cached for up to given number of distinct bidder params, {@code 0} turns caching off.
      */
     public static BidderParamValidator create(
-            BidderCatalog bidderCatalog, String schemaDirectory, JacksonMapper mapper) {
+            BidderCatalog bidderCatalog, String schemaDirectory, int cacheSize, Metrics metrics,
+            JacksonMapper mapper) {
 
         Objects.requireNonNull(bidderCatalog);
         Objects.requireNonNull(schemaDirectory);
+        Objects.requireNonNull(metrics);
         Objects.requireNonNull(mapper);
+        if (cacheSize < 0) {
+            throw new IllegalArgumentException("Validation cache size must be non-negative");
+        }
 
         final Map<String, JsonNode> bidderRawSchemas = new LinkedHashMap<>();
 
@@ -87,7 +124,8 @@ public class BidderParamValidator {
                 .forEach(bidderRequester -> bidderRawSchemas.put(bidderRequester,
                         createSchemaNode(schemaDirectory, bidderRequester, mapper)));
 
-        return new BidderParamValidator(toBidderSchemas(bidderRawSchemas), toSchemas(bidderRawSchemas, mapper));
+        return new BidderParamValidator(toBidderSchemas(bidderRawSchemas), toSchemas(bidderRawSchemas, mapper),
+                cacheSize, metrics);
     }
 
     private static Map<String, JsonSchema> toBidderSchemas(Map<String, JsonNode> bidderRawSchemas) {
@@ -141,4 +179,38 @@ public class BidderParamValidator {
         }
         return result;
     }
+
+    /**
+     * Cache key of bidder params. Params are compared by {@link JsonNode#equals(Object)} and hashed by
+     * {@link JsonNode#hashCode()}, both structural and not depending on order of object fields.
+     */
+    private static final class BidderParams {
+
+        private final String bidder;
+        private final JsonNode params;
+        private final int hash;
+
+        BidderParams(String bidder, JsonNode params) {
+            this.bidder = bidder;
+            this.params = params;
+            this.hash = 31 * bidder.hashCode() + params.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof BidderParams)) {
+                return false;
+            }
+            final BidderParams that = (BidderParams) o;
+            return hash == that.hash && bidder.equals(that.bidder) && params.equals(that.params);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
 }
@@ -3,6 +3,8 @@ package org.prebid.server.validation;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.iab.openrtb.request.App;
 import com.iab.openrtb.request.Asset;
 import com.iab.openrtb.request.Audio;
@@ -87,18 +89,30 @@ public class RequestValidator {
 
     private final BidderCatalog bidderCatalog;
     private final BidderParamValidator bidderParamValidator;
+    private final Cache<String, ValidatedNativeRequest> nativeRequestCache;
     private final JacksonMapper mapper;
 
     /**
      * Constructs a RequestValidator that will use the BidderParamValidator passed in order to validate all critical
      * properties of bidRequest.
+     * <p>
+     * Native requests are generated by publisher templates and repeat byte to byte, so results of their validation
+     * are cached for up to given number of distinct requests, {@code 0} turns caching off.
      */
     public RequestValidator(BidderCatalog bidderCatalog,
                             BidderParamValidator bidderParamValidator,
+                            int nativeRequestCacheSize,
                             JacksonMapper mapper) {
 
+        if (nativeRequestCacheSize < 0) {
+            throw new IllegalArgumentException("Native request cache size must be non-negative");
+        }
+
         this.bidderCatalog = Objects.requireNonNull(bidderCatalog);
         this.bidderParamValidator = Objects.requireNonNull(bidderParamValidator);
+        this.nativeRequestCache = nativeRequestCacheSize > 0
+                ? Caffeine.newBuilder().maximumSize(nativeRequestCacheSize).build()
+                : null;
         this.mapper = Objects.requireNonNull(mapper);
     }
 
@@ -539,15 +553,55 @@ public class RequestValidator {
             return;
         }
 
-        final Request nativeRequest = parseNativeRequest(xNative.getRequest(), impIndex);
+        final String rawRequest = xNative.getRequest();
+        final String encodedRequest = nativeRequestCache != null && rawRequest != null
+                ? validateAndEncodeNativeRequestCached(rawRequest, impIndex)
+                : validateAndEncodeNativeRequest(rawRequest, impIndex);
+
+        // modifier was added to reduce memory consumption on updating bidRequest.imp[i].native.request object
+        if (encodedRequest != rawRequest) {
+            xNative.setRequest(encodedRequest);
+        }
+    }
+
+    /**
+     * Returns encoded native request from cache or validates and encodes it.
+     * <p>
+     * Validation error is reused only for imp with the same index, since error message refers to imp index.
+     */
+    private String validateAndEncodeNativeRequestCached(String rawRequest, int impIndex) throws ValidationException {
+        final ValidatedNativeRequest cached = nativeRequestCache.getIfPresent(rawRequest);
+        if (cached != null && cached.errorMessage == null) {
+            return cached.encodedRequest;
+        }
+        if (cached != null && cached.impIndex == impIndex) {
+            throw new ValidationException("%s", cached.errorMessage);
+        }
+
+        try {
+            final String encodedRequest = validateAndEncodeNativeRequest(rawRequest, impIndex);
+            nativeRequestCache.put(rawRequest, new ValidatedNativeRequest(encodedRequest, null, impIndex));
+            return encodedRequest;
+        } catch (ValidationException e) {
+            nativeRequestCache.put(rawRequest, new ValidatedNativeRequest(null, e.getMessage(), impIndex));
+            throw e;
+        }
+    }
+
+    /**
+     * Validates native request and returns it encoded with updated assets. Returns the same raw request instance
+     * if encoding did not change it.
+     */
+    private String validateAndEncodeNativeRequest(String rawRequest, int impIndex) throws ValidationException {
+        final Request nativeRequest = parseNativeRequest(rawRequest, impIndex);
 
         validateNativeContextTypes(nativeRequest.getContext(), nativeRequest.getContextsubtype(), impIndex);
         validateNativePlacementType(nativeRequest.getPlcmttype(), impIndex);
         final List<Asset> updatedAssets = validateAndGetUpdatedNativeAssets(nativeRequest.getAssets(), impIndex);
         validateNativeEventTrackers(nativeRequest.getEventtrackers(), impIndex);
 
-        // modifier was added to reduce memory consumption on updating bidRequest.imp[i].native.request object
-        xNative.setRequest(toEncodedRequest(nativeRequest, updatedAssets));
+        final String encodedRequest = toEncodedRequest(nativeRequest, updatedAssets);
+        return encodedRequest.equals(rawRequest) ? rawRequest : encodedRequest;
     }
 
     private Request parseNativeRequest(String rawStringNativeRequest, int impIndex) throws ValidationException {
@@ -930,4 +984,20 @@ public class RequestValidator {
     private static boolean hasPositiveValue(Integer value) {
         return value != null && value > 0;
     }
+
+    /**
+     * Result of native request validation: encoded request or error message for imp with given index.
+     */
+    private static class ValidatedNativeRequest {
+
+        private final String encodedRequest;
+        private final String errorMessage;
+        private final int impIndex;
+
+        ValidatedNativeRequest(String encodedRequest, String errorMessage, int impIndex) {
+            this.encodedRequest = encodedRequest;
+            this.errorMessage = errorMessage;
+            this.impIndex = impIndex;
+        }
+    }
 }
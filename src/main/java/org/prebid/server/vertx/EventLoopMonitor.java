@@ -0,0 +1,217 @@
+package org.prebid.server.vertx;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.SingleThreadEventExecutor;
+import io.vertx.core.Vertx;
+import io.vertx.core.impl.VertxInternal;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.prebid.server.metric.Metrics;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Watches responsiveness of Vert.x event loops.
+ * <p>
+ * Periodically submits a no-op task to every event loop and measures how late it runs. Lag and the number of
+ * pending tasks are reported to {@link Metrics} per event loop. If the task hasn't run within blocked threshold,
+ * the event loop is considered blocked: stack trace of its thread is logged once per blocking. If event loops
+ * stay blocked for the given number of successive checks, {@link #isBlocked()} reports true until they recover,
+ * so health checks can take it into account, while a single stall (like GC pause) doesn't affect them.
+ * <p>
+ * Checks are performed on a dedicated thread, otherwise monitor itself would be stalled by the blocked event loop.
+ * The thread is stopped by {@link #close()}.
+ */
+public class EventLoopMonitor implements Initializable, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EventLoopMonitor.class);
+
+    private static final String THREAD_NAME = "event-loop-monitor";
+
+    private final List<Probe> probes;
+    private final long intervalMs;
+    private final long blockedThresholdNanos;
+    private final int blockedChecksThreshold;
+    private final Metrics metrics;
+    private final LongSupplier nanoTime;
+
+    private ScheduledExecutorService executor;
+    private int blockedChecks;
+    private volatile boolean blocked;
+    private volatile long maxLagNanos;
+
+    public EventLoopMonitor(Vertx vertx, long intervalMs, long blockedThresholdMs, int blockedChecksThreshold,
+                            Metrics metrics) {
+        this(((VertxInternal) Objects.requireNonNull(vertx)).getEventLoopGroup(), intervalMs, blockedThresholdMs,
+                blockedChecksThreshold, metrics, System::nanoTime);
+    }
+
+    EventLoopMonitor(Iterable<EventExecutor> eventLoops, long intervalMs, long blockedThresholdMs,
+                     int blockedChecksThreshold, Metrics metrics, LongSupplier nanoTime) {
+        this.probes = createProbes(eventLoops);
+        this.intervalMs = validatePositive(intervalMs, "Event loop monitor interval");
+        this.blockedThresholdNanos = TimeUnit.MILLISECONDS.toNanos(
+                validatePositive(blockedThresholdMs, "Event loop blocked threshold"));
+        this.blockedChecksThreshold = (int) validatePositive(blockedChecksThreshold,
+                "Number of event loop blocked checks");
+        this.metrics = Objects.requireNonNull(metrics);
+        this.nanoTime = Objects.requireNonNull(nanoTime);
+    }
+
+    private static List<Probe> createProbes(Iterable<EventExecutor> eventLoops) {
+        final List<Probe> probes = new ArrayList<>();
+        for (EventExecutor eventLoop : eventLoops) {
+            probes.add(new Probe(probes.size(), eventLoop));
+        }
+        return probes;
+    }
+
+    private static long validatePositive(long value, String name) {
+        if (value < 1) {
+            throw new IllegalArgumentException(String.format("%s must be positive, but was %d", name, value));
+        }
+        return value;
+    }
+
+    @Override
+    public void initialize() {
+        executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            final Thread thread = new Thread(runnable, THREAD_NAME);
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleAtFixedRate(this::checkSafely, intervalMs, intervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Stops checks and waits for the one in progress, if any.
+     */
+    @Override
+    public void close() {
+        if (executor == null) {
+            return;
+        }
+
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(intervalMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns true if at least one event loop was found blocked during the last checks, as many as configured.
+     */
+    public boolean isBlocked() {
+        return blocked;
+    }
+
+    /**
+     * Returns the biggest event loop lag found during the last check. Probe which hasn't run yet counts
+     * with the time it has been waiting so far.
+     */
+    public long maxLagMs() {
+        return TimeUnit.NANOSECONDS.toMillis(maxLagNanos);
+    }
+
+    private void checkSafely() {
+        try {
+            check();
+        } catch (Exception e) {
+            // exception thrown from scheduled task cancels all its subsequent executions
+            logger.warn("Error occurred while checking event loops", e);
+        }
+    }
+
+    /**
+     * Reports results of the previous probes and submits the new ones to event loops which are done with them.
+     */
+    void check() {
+        boolean anyBlocked = false;
+        long maxLag = 0;
+        for (Probe probe : probes) {
+            final long now = nanoTime.getAsLong();
+            if (probe.pending) {
+                final long waiting = now - probe.submittedAt;
+                maxLag = Math.max(maxLag, waiting);
+                if (waiting > blockedThresholdNanos) {
+                    anyBlocked = true;
+                    reportBlocked(probe, now);
+                }
+                continue;
+            }
+
+            probe.blockedReported = false;
+            if (probe.lag >= 0) {
+                maxLag = Math.max(maxLag, probe.lag);
+                metrics.updateEventLoopMetrics(probe.index, probe.lag, pendingTasks(probe.eventLoop));
+            }
+            submit(probe, now);
+        }
+        blockedChecks = anyBlocked ? blockedChecks + 1 : 0;
+        blocked = blockedChecks >= blockedChecksThreshold;
+        maxLagNanos = maxLag;
+    }
+
+    private void reportBlocked(Probe probe, long now) {
+        if (probe.blockedReported) {
+            return;
+        }
+        probe.blockedReported = true;
+        metrics.updateEventLoopBlockedMetric(probe.index);
+
+        final Thread thread = probe.thread;
+        final Exception stackTrace = new Exception("Event loop stack trace");
+        if (thread != null) {
+            stackTrace.setStackTrace(thread.getStackTrace());
+        }
+        logger.warn("Event loop {0} ({1}) has been blocked for {2} ms", stackTrace, probe.index,
+                thread != null ? thread.getName() : "unknown thread",
+                TimeUnit.NANOSECONDS.toMillis(now - probe.submittedAt));
+    }
+
+    private void submit(Probe probe, long now) {
+        probe.submittedAt = now;
+        probe.pending = true;
+        probe.eventLoop.execute(() -> {
+            probe.thread = Thread.currentThread();
+            probe.lag = nanoTime.getAsLong() - probe.submittedAt;
+            probe.pending = false;
+        });
+    }
+
+    private static int pendingTasks(EventExecutor eventLoop) {
+        return eventLoop instanceof SingleThreadEventExecutor
+                ? ((SingleThreadEventExecutor) eventLoop).pendingTasks()
+                : 0;
+    }
+
+    /**
+     * State of the monitoring of single event loop. Fields written by event loop thread are volatile,
+     * the rest are accessed by monitor thread only.
+     */
+    private static class Probe {
+
+        private final int index;
+        private final EventExecutor eventLoop;
+
+        private volatile Thread thread;
+        private volatile long submittedAt;
+        private volatile long lag = -1;
+        private volatile boolean pending;
+        private boolean blockedReported;
+
+        Probe(int index, EventExecutor eventLoop) {
+            this.index = index;
+            this.eventLoop = eventLoop;
+        }
+    }
+}
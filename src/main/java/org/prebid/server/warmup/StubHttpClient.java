@@ -0,0 +1,104 @@
+package org.prebid.server.warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.util.HttpUtil;
+import org.prebid.server.vertx.http.HttpClient;
+import org.prebid.server.vertx.http.model.HttpClientResponse;
+
+import java.io.IOException;
+import java.util.Objects;
+
+/**
+ * {@link HttpClient} answering bidder and Prebid Cache requests in process, without network:
+ * <ul>
+ * <li>OpenRTB request is answered with a bid for each of its impressions;</li>
+ * <li>cache request is answered with an identifier for each of its objects;</li>
+ * <li>any other request is answered with bad request status, so that response is not passed to bidder at all.</li>
+ * </ul>
+ * Bidders expecting their own response format fail to parse these bids, which still exercises their code.
+ */
+public class StubHttpClient implements HttpClient {
+
+    private static final String ID = "warm-up";
+    private static final String ADM = "<div>Prebid Server warm-up</div>";
+
+    private final JacksonMapper mapper;
+
+    public StubHttpClient(JacksonMapper mapper) {
+        this.mapper = Objects.requireNonNull(mapper);
+    }
+
+    @Override
+    public Future<HttpClientResponse> request(HttpMethod method, String url, MultiMap headers, String body,
+                                              long timeoutMs) {
+        final JsonNode request = readTree(body);
+
+        final JsonNode imps = request.path("imp");
+        if (imps.isArray() && imps.size() > 0) {
+            return success(bidResponse(request.path("id").asText(), imps));
+        }
+
+        final JsonNode puts = request.path("puts");
+        if (puts.isArray() && puts.size() > 0) {
+            return success(cacheResponse(puts));
+        }
+
+        return Future.succeededFuture(HttpClientResponse.of(HttpResponseStatus.BAD_REQUEST.code(),
+                MultiMap.caseInsensitiveMultiMap(), null));
+    }
+
+    private JsonNode readTree(String body) {
+        JsonNode result = null;
+        if (body != null) {
+            try {
+                result = mapper.mapper().readTree(body);
+            } catch (IOException e) {
+                // not a JSON request, answered with bad request status
+            }
+        }
+        return result != null ? result : MissingNode.getInstance();
+    }
+
+    private ObjectNode bidResponse(String id, JsonNode imps) {
+        final ObjectNode bidResponse = mapper.mapper().createObjectNode()
+                .put("id", id)
+                .put("cur", "USD");
+        final ArrayNode bids = bidResponse.putArray("seatbid").addObject().putArray("bid");
+        for (JsonNode imp : imps) {
+            final String impId = imp.path("id").asText();
+            bids.addObject()
+                    .put("id", impId)
+                    .put("impid", impId)
+                    .put("price", 1.0)
+                    .put("adm", ADM)
+                    .put("crid", ID)
+                    .put("w", 300)
+                    .put("h", 250);
+        }
+        return bidResponse;
+    }
+
+    private ObjectNode cacheResponse(JsonNode puts) {
+        final ObjectNode cacheResponse = mapper.mapper().createObjectNode();
+        final ArrayNode responses = cacheResponse.putArray("responses");
+        for (int i = 0; i < puts.size(); i++) {
+            responses.addObject().put("uuid", ID + "-" + i);
+        }
+        return cacheResponse;
+    }
+
+    private Future<HttpClientResponse> success(ObjectNode response) {
+        final MultiMap headers = MultiMap.caseInsensitiveMultiMap()
+                .add(HttpUtil.CONTENT_TYPE_HEADER, HttpUtil.APPLICATION_JSON_CONTENT_TYPE);
+        return Future.succeededFuture(HttpClientResponse.of(HttpResponseStatus.OK.code(), headers,
+                mapper.encode(response)));
+    }
+}
@@ -0,0 +1,84 @@
+package org.prebid.server.warmup;
+
+import io.vertx.core.Future;
+import org.apache.commons.collections4.CollectionUtils;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.Timeout;
+import org.prebid.server.settings.ApplicationSettings;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.StoredDataResult;
+import org.prebid.server.settings.model.StoredResponseDataResult;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Settings used by warm-up instead of configured ones, so that synthetic requests neither depend on nor hit
+ * real settings storage. Knows only AMP stored request of warm-up, everything else is not found.
+ */
+public class WarmUpApplicationSettings implements ApplicationSettings {
+
+    private final Map<String, String> ampStoredIdToRequest;
+
+    public WarmUpApplicationSettings(String ampStoredRequestId, String ampStoredRequest) {
+        ampStoredIdToRequest = Collections.singletonMap(Objects.requireNonNull(ampStoredRequestId),
+                Objects.requireNonNull(ampStoredRequest));
+    }
+
+    @Override
+    public Future<Account> getAccountById(String accountId, Timeout timeout) {
+        return Future.failedFuture(new PreBidException("Not found"));
+    }
+
+    @Override
+    public Future<String> getAdUnitConfigById(String adUnitConfigId, Timeout timeout) {
+        return Future.failedFuture(new PreBidException("Not found"));
+    }
+
+    @Override
+    public Future<StoredDataResult> getStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
+        return Future.succeededFuture(notFound(requestIds, impIds));
+    }
+
+    @Override
+    public Future<StoredResponseDataResult> getStoredResponses(Set<String> responseIds, Timeout timeout) {
+        return Future.succeededFuture(StoredResponseDataResult.of(Collections.emptyMap(),
+                errorsForMissedIds(responseIds, "seatbid")));
+    }
+
+    @Override
+    public Future<StoredDataResult> getAmpStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
+        final Map<String, String> storedIdToRequest = CollectionUtils.emptyIfNull(requestIds).stream()
+                .filter(ampStoredIdToRequest::containsKey)
+                .collect(Collectors.toMap(Function.identity(), ampStoredIdToRequest::get));
+        final Set<String> missedIds = CollectionUtils.emptyIfNull(requestIds).stream()
+                .filter(id -> !storedIdToRequest.containsKey(id))
+                .collect(Collectors.toSet());
+
+        return Future.succeededFuture(StoredDataResult.of(storedIdToRequest, Collections.emptyMap(),
+                errorsForMissedIds(missedIds, "request")));
+    }
+
+    @Override
+    public Future<StoredDataResult> getVideoStoredData(Set<String> requestIds, Set<String> impIds, Timeout timeout) {
+        return Future.succeededFuture(notFound(requestIds, impIds));
+    }
+
+    private static StoredDataResult notFound(Set<String> requestIds, Set<String> impIds) {
+        final List<String> errors = new ArrayList<>(errorsForMissedIds(requestIds, "request"));
+        errors.addAll(errorsForMissedIds(impIds, "imp"));
+        return StoredDataResult.of(Collections.emptyMap(), Collections.emptyMap(), errors);
+    }
+
+    private static List<String> errorsForMissedIds(Set<String> ids, String type) {
+        return CollectionUtils.emptyIfNull(ids).stream()
+                .map(id -> String.format("No stored %s found for id: %s", type, id))
+                .collect(Collectors.toList());
+    }
+}
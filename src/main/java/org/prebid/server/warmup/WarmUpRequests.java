@@ -0,0 +1,265 @@
+package org.prebid.server.warmup;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.fasterxml.jackson.databind.node.TextNode;
+import com.iab.openrtb.request.Banner;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Device;
+import com.iab.openrtb.request.Format;
+import com.iab.openrtb.request.Imp;
+import com.iab.openrtb.request.Regs;
+import com.iab.openrtb.request.Site;
+import com.iab.openrtb.request.Video;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.json.JacksonMapper;
+import org.prebid.server.proto.openrtb.ext.request.ExtBidRequest;
+import org.prebid.server.proto.openrtb.ext.request.ExtRegs;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
+import org.prebid.server.proto.openrtb.ext.request.ExtRequestTargeting;
+import org.prebid.server.proto.request.CookieSyncRequest;
+import org.prebid.server.proto.response.BidderInfo;
+import org.prebid.server.validation.BidderParamValidator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Synthetic requests used to warm application up: auction with banner and video impressions, AMP stored request
+ * with banner impression (both bid on by all active bidders) and cookie sync for all active bidders.
+ * <p>
+ * Bidder params are built from bidder's JSON schema by taking only required properties, the first of alternatives,
+ * the first of enum values and minimal allowed numbers. Bidders whose params do not pass validation after all are
+ * left out of auctions, the rest bid on impressions of media types they support on site.
+ */
+public class WarmUpRequests {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmUpRequests.class);
+
+    public static final String AMP_TAG_ID = "prebid-server-warm-up";
+
+    private static final String ID = "warm-up";
+    private static final String PAGE = "https://prebid.org/warm-up";
+    private static final String DOMAIN = "prebid.org";
+    private static final String USER_AGENT = "Mozilla/5.0 (X11; Linux x86_64) Prebid Server warm-up";
+    private static final long TMAX = 3000L;
+    private static final String CURRENCY = "USD";
+    private static final String BANNER = "banner";
+    private static final String VIDEO = "video";
+
+    private final String auctionRequest;
+    private final String ampStoredRequest;
+    private final String cookieSyncRequest;
+
+    private WarmUpRequests(String auctionRequest, String ampStoredRequest, String cookieSyncRequest) {
+        this.auctionRequest = auctionRequest;
+        this.ampStoredRequest = ampStoredRequest;
+        this.cookieSyncRequest = cookieSyncRequest;
+    }
+
+    public static WarmUpRequests create(BidderCatalog bidderCatalog, BidderParamValidator bidderParamValidator,
+                                        JacksonMapper mapper) {
+        Objects.requireNonNull(bidderCatalog);
+        Objects.requireNonNull(bidderParamValidator);
+        Objects.requireNonNull(mapper);
+
+        final Set<String> bidders = activeBidders(bidderCatalog);
+        final Map<String, JsonNode> bidderToParams = bidderParams(bidders, bidderParamValidator, mapper);
+
+        final Imp bannerImp = Imp.builder()
+                .id("1")
+                .banner(Banner.builder()
+                        .format(Arrays.asList(Format.builder().w(300).h(250).build(),
+                                Format.builder().w(728).h(90).build()))
+                        .build())
+                .ext(impExt(bidderToParams, bidderCatalog, BANNER, mapper))
+                .build();
+        final Imp videoImp = Imp.builder()
+                .id("2")
+                .video(Video.builder()
+                        .mimes(Collections.singletonList("video/mp4"))
+                        .protocols(Arrays.asList(2, 3, 5, 6))
+                        .minduration(1)
+                        .maxduration(30)
+                        .w(640)
+                        .h(480)
+                        .build())
+                .ext(impExt(bidderToParams, bidderCatalog, VIDEO, mapper))
+                .build();
+
+        final String auctionRequest = mapper.encode(bidRequest(Arrays.asList(bannerImp, videoImp), mapper));
+        final String ampStoredRequest = mapper.encode(bidRequest(Collections.singletonList(bannerImp), mapper));
+        final String cookieSyncRequest = mapper.encode(CookieSyncRequest.of(
+                new ArrayList<>(bidders), 0, null, null, null, null));
+
+        logger.info("Warm-up auctions are bid on by {0} of {1} active bidders", bidderToParams.size(),
+                bidders.size());
+
+        return new WarmUpRequests(auctionRequest, ampStoredRequest, cookieSyncRequest);
+    }
+
+    private static BidRequest bidRequest(List<Imp> imps, JacksonMapper mapper) {
+        return BidRequest.builder()
+                .id(ID)
+                .imp(imps)
+                .site(Site.builder().page(PAGE).domain(DOMAIN).build())
+                .device(Device.builder().ua(USER_AGENT).build())
+                .regs(Regs.of(null, mapper.mapper().valueToTree(ExtRegs.of(0, null))))
+                .tmax(TMAX)
+                .cur(Collections.singletonList(CURRENCY))
+                .ext(mapper.mapper().valueToTree(ExtBidRequest.of(ExtRequestPrebid.builder()
+                        .targeting(ExtRequestTargeting.builder()
+                                .pricegranularity(new TextNode("medium"))
+                                .includewinners(true)
+                                .includebidderkeys(true)
+                                .build())
+                        .build())))
+                .build();
+    }
+
+    /**
+     * Creates impression extension with params of bidders supporting given media type on site.
+     */
+    private static ObjectNode impExt(Map<String, JsonNode> bidderToParams, BidderCatalog bidderCatalog,
+                                     String mediaType, JacksonMapper mapper) {
+        final ObjectNode impExt = mapper.mapper().createObjectNode();
+        for (Map.Entry<String, JsonNode> bidderAndParams : bidderToParams.entrySet()) {
+            if (siteMediaTypes(bidderCatalog, bidderAndParams.getKey()).contains(mediaType)) {
+                impExt.set(bidderAndParams.getKey(), bidderAndParams.getValue());
+            }
+        }
+        return impExt;
+    }
+
+    private static List<String> siteMediaTypes(BidderCatalog bidderCatalog, String bidder) {
+        final BidderInfo.CapabilitiesInfo capabilities = bidderCatalog.bidderInfoByName(bidder).getCapabilities();
+        final BidderInfo.PlatformInfo site = capabilities != null ? capabilities.getSite() : null;
+        return site != null && site.getMediaTypes() != null ? site.getMediaTypes() : Collections.emptyList();
+    }
+
+    private static Set<String> activeBidders(BidderCatalog bidderCatalog) {
+        final Set<String> result = new TreeSet<>();
+        for (String bidder : bidderCatalog.names()) {
+            if (bidderCatalog.isActive(bidder)) {
+                result.add(bidder);
+            }
+        }
+        return result;
+    }
+
+    private static Map<String, JsonNode> bidderParams(Set<String> bidders,
+                                                      BidderParamValidator bidderParamValidator,
+                                                      JacksonMapper mapper) {
+        final JsonNode schemas;
+        try {
+            schemas = mapper.mapper().readTree(bidderParamValidator.schemas());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Couldn't parse bidder params schemas", e);
+        }
+
+        final JsonNodeFactory factory = mapper.mapper().getNodeFactory();
+        final Map<String, JsonNode> result = new TreeMap<>();
+        for (String bidder : bidders) {
+            final JsonNode params = sampleOf(schemas.path(bidder), factory);
+            if (bidderParamValidator.validate(bidder, params).isEmpty()) {
+                result.put(bidder, params);
+            } else {
+                logger.debug("Bidder {0} is left out of warm-up auctions, its params cannot be built from schema",
+                        bidder);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Builds minimal value satisfying given JSON schema (in most cases).
+     */
+    static JsonNode sampleOf(JsonNode schema, JsonNodeFactory factory) {
+        final JsonNode enumValues = schema.path("enum");
+        if (enumValues.size() > 0) {
+            return enumValues.get(0);
+        }
+
+        switch (typeOf(schema)) {
+            case "integer":
+            case "number":
+                final JsonNode minimum = schema.path("minimum");
+                return minimum.isNumber() ? minimum : factory.numberNode(1);
+            case "boolean":
+                return factory.booleanNode(true);
+            case "array":
+                final ArrayNode array = factory.arrayNode();
+                array.add(sampleOf(schema.path("items"), factory));
+                return array;
+            case "object":
+                final Map<String, JsonNode> properties = new LinkedHashMap<>();
+                final Set<String> required = new LinkedHashSet<>();
+                collectRequired(schema, properties, required);
+
+                final ObjectNode object = factory.objectNode();
+                for (String field : required) {
+                    object.set(field, sampleOf(properties.getOrDefault(field, factory.missingNode()), factory));
+                }
+                return object;
+            default:
+                return factory.textNode(StringUtils.repeat('1', Math.max(1, schema.path("minLength").asInt())));
+        }
+    }
+
+    private static String typeOf(JsonNode schema) {
+        final JsonNode type = schema.path("type");
+        if (type.isTextual()) {
+            return type.textValue();
+        }
+        if (type.isArray() && type.size() > 0) {
+            return type.get(0).asText();
+        }
+        return schema.has("properties") || schema.has("required") || schema.has("oneOf") || schema.has("anyOf")
+                || schema.has("allOf") ? "object" : "string";
+    }
+
+    /**
+     * Collects required properties of object schema and all of its "allOf" schemas, and of the first of its
+     * "oneOf" and "anyOf" alternatives.
+     */
+    private static void collectRequired(JsonNode schema, Map<String, JsonNode> properties, Set<String> required) {
+        schema.path("properties").fields().forEachRemaining(field -> properties.putIfAbsent(field.getKey(),
+                field.getValue()));
+        schema.path("required").forEach(field -> required.add(field.asText()));
+
+        schema.path("allOf").forEach(subSchema -> collectRequired(subSchema, properties, required));
+        for (String alternatives : Arrays.asList("oneOf", "anyOf")) {
+            final JsonNode firstAlternative = schema.path(alternatives).path(0);
+            if (!firstAlternative.isMissingNode()) {
+                collectRequired(firstAlternative, properties, required);
+            }
+        }
+    }
+
+    public String auctionRequest() {
+        return auctionRequest;
+    }
+
+    public String ampStoredRequest() {
+        return ampStoredRequest;
+    }
+
+    public String cookieSyncRequest() {
+        return cookieSyncRequest;
+    }
+}
@@ -0,0 +1,211 @@
+package org.prebid.server.warmup;
+
+import io.vertx.core.CompositeFuture;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpClient;
+import io.vertx.core.http.HttpClientOptions;
+import io.vertx.core.http.HttpClientRequest;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import io.vertx.ext.web.Router;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.prebid.server.util.HttpUtil;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Drives synthetic auctions, AMP requests and cookie syncs through given {@link Router} served on loopback
+ * interface, so that hot code is compiled by JIT before application reports it is ready to serve traffic.
+ * <p>
+ * Router is expected to be built of handlers and services dedicated to warm-up, with stubbed bidders HTTP and
+ * own metrics, see {@link StubHttpClient} and {@link WarmUpApplicationSettings}. Loopback server and client run on
+ * given {@link Vertx} instance dedicated to warm-up, so that they are not reported in Vert.x metrics.
+ * <p>
+ * Warm-up is completed when all requests are answered, whatever the responses are. Vert.x instance is closed then.
+ */
+public class WarmUpService {
+
+    private static final Logger logger = LoggerFactory.getLogger(WarmUpService.class);
+
+    private static final String HOST = "127.0.0.1";
+    private static final long REQUEST_TIMEOUT_MS = 10000L;
+
+    private final Vertx vertx;
+    private final Router router;
+    private final WarmUpRequests warmUpRequests;
+    private final int auctions;
+    private final int ampRequests;
+    private final int cookieSyncs;
+    private final int concurrency;
+    private final Clock clock;
+
+    private volatile boolean completed;
+    private int failedRequests;
+
+    public WarmUpService(Vertx vertx, Router router, WarmUpRequests warmUpRequests, int auctions,
+                         int ampRequests, int cookieSyncs, int concurrency, Clock clock) {
+        if (auctions < 0 || ampRequests < 0 || cookieSyncs < 0) {
+            throw new IllegalArgumentException("Number of warm-up requests must be non-negative");
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("Warm-up concurrency must be positive");
+        }
+
+        this.vertx = Objects.requireNonNull(vertx);
+        this.router = Objects.requireNonNull(router);
+        this.warmUpRequests = Objects.requireNonNull(warmUpRequests);
+        this.auctions = auctions;
+        this.ampRequests = ampRequests;
+        this.cookieSyncs = cookieSyncs;
+        this.concurrency = concurrency;
+        this.clock = Objects.requireNonNull(clock);
+    }
+
+    /**
+     * Tells if warm-up has been completed.
+     */
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    /**
+     * Starts warm-up in the background.
+     */
+    public void start() {
+        vertx.runOnContext(ignored -> run());
+    }
+
+    /**
+     * Runs warm-up on context of its {@link Vertx}, server and client created here handle requests on it as well.
+     */
+    private void run() {
+        final long startTime = clock.millis();
+        final List<WarmUpRequest> requests = requests();
+        logger.info("Starting warm-up with {0} auctions, {1} AMP requests and {2} cookie syncs", auctions,
+                ampRequests, cookieSyncs);
+
+        final HttpServer server = vertx.createHttpServer().requestHandler(router);
+        final Future<HttpServer> listenFuture = Future.future();
+        server.listen(0, HOST, listenFuture);
+
+        listenFuture
+                .compose(listening -> sendAll(listening.actualPort(), requests))
+                .setHandler(result -> {
+                    server.close();
+                    if (result.failed()) {
+                        logger.warn("Warm-up failed", result.cause());
+                    } else {
+                        logger.info("Warm-up completed in {0} ms, {1} of {2} requests failed",
+                                clock.millis() - startTime, failedRequests, requests.size());
+                    }
+                    completed = true;
+                    vertx.close();
+                });
+    }
+
+    /**
+     * Interleaves requests of all kinds, as they come in real traffic.
+     */
+    private List<WarmUpRequest> requests() {
+        final List<WarmUpRequest> requests = new ArrayList<>(auctions + ampRequests + cookieSyncs);
+        final WarmUpRequest auction = WarmUpRequest.of(HttpMethod.POST, "/openrtb2/auction",
+                warmUpRequests.auctionRequest());
+        final WarmUpRequest amp = WarmUpRequest.of(HttpMethod.GET, "/openrtb2/amp?tag_id="
+                + WarmUpRequests.AMP_TAG_ID, null);
+        final WarmUpRequest cookieSync = WarmUpRequest.of(HttpMethod.POST, "/cookie_sync",
+                warmUpRequests.cookieSyncRequest());
+
+        for (int i = 0; i < Math.max(auctions, Math.max(ampRequests, cookieSyncs)); i++) {
+            if (i < auctions) {
+                requests.add(auction);
+            }
+            if (i < ampRequests) {
+                requests.add(amp);
+            }
+            if (i < cookieSyncs) {
+                requests.add(cookieSync);
+            }
+        }
+        return requests;
+    }
+
+    /**
+     * Sends requests one after another in each of concurrent sequences, all of them are run on the same context.
+     */
+    private Future<Void> sendAll(int port, List<WarmUpRequest> requests) {
+        final HttpClient client = vertx.createHttpClient(new HttpClientOptions()
+                .setDefaultHost(HOST)
+                .setDefaultPort(port)
+                .setMaxPoolSize(concurrency));
+        final Iterator<WarmUpRequest> iterator = requests.iterator();
+
+        final List<Future> sequences = new ArrayList<>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            sequences.add(sendNext(client, iterator));
+        }
+
+        final Future<Void> result = Future.future();
+        CompositeFuture.join(sequences).setHandler(ignored -> {
+            client.close();
+            result.complete();
+        });
+        return result;
+    }
+
+    private Future<Void> sendNext(HttpClient client, Iterator<WarmUpRequest> iterator) {
+        if (!iterator.hasNext()) {
+            return Future.succeededFuture();
+        }
+        return send(client, iterator.next()).compose(ignored -> sendNext(client, iterator));
+    }
+
+    private Future<Void> send(HttpClient client, WarmUpRequest request) {
+        final Future<Void> future = Future.future();
+        final HttpClientRequest httpRequest = client.request(request.getMethod(), request.getUri(), response ->
+                response
+                        .bodyHandler(body -> {
+                            if (response.statusCode() != 200) {
+                                requestFailed(future);
+                            } else {
+                                future.tryComplete();
+                            }
+                        })
+                        .exceptionHandler(exception -> requestFailed(future)))
+                .exceptionHandler(exception -> requestFailed(future))
+                .setTimeout(REQUEST_TIMEOUT_MS);
+
+        if (request.getBody() != null) {
+            httpRequest
+                    .putHeader(HttpUtil.CONTENT_TYPE_HEADER, HttpUtil.APPLICATION_JSON_CONTENT_TYPE)
+                    .end(request.getBody());
+        } else {
+            httpRequest.end();
+        }
+        return future;
+    }
+
+    private void requestFailed(Future<Void> future) {
+        if (future.tryComplete()) {
+            failedRequests++;
+        }
+    }
+
+    @AllArgsConstructor(staticName = "of")
+    @Value
+    private static class WarmUpRequest {
+
+        HttpMethod method;
+
+        String uri;
+
+        String body;
+    }
+}
@@ -26,6 +26,7 @@ import org.mockito.stubbing.Answer;
 import org.prebid.server.VertxTest;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.execution.ResourceMeter;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
 import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
@@ -73,6 +74,8 @@ public class AmpRequestFactoryTest extends VertxTest {
     @Mock
     private RoutingContext routingContext;
 
+    private final ResourceMeter resourceMeter = ResourceMeter.disabled();
+
     @Before
     public void setUp() {
         given(timeoutResolver.resolve(any())).willReturn(2000L);
@@ -91,7 +94,7 @@ public class AmpRequestFactoryTest extends VertxTest {
         given(httpRequest.getParam("tag_id")).willReturn(null);
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         verifyZeroInteractions(storedRequestProcessor);
@@ -107,7 +110,7 @@ public class AmpRequestFactoryTest extends VertxTest {
         givenBidRequest(identity());
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -123,7 +126,7 @@ public class AmpRequestFactoryTest extends VertxTest {
         givenBidRequest(identity(), imp, imp);
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -142,7 +145,7 @@ public class AmpRequestFactoryTest extends VertxTest {
         given(storedRequestProcessor.processAmpRequest(anyString())).willReturn(Future.succeededFuture(bidRequest));
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -157,7 +160,7 @@ public class AmpRequestFactoryTest extends VertxTest {
         givenBidRequest(identity(), Imp.builder().build());
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -174,7 +177,7 @@ public class AmpRequestFactoryTest extends VertxTest {
         givenBidRequest(builder -> builder.ext(ext), Imp.builder().build());
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -190,7 +193,7 @@ public class AmpRequestFactoryTest extends VertxTest {
         givenBidRequest(builder -> builder.ext(extBidRequest), Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         // result was wrapped to list because extracting method works different on iterable and not iterable objects,
@@ -221,7 +224,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -250,7 +253,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -277,7 +280,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -298,7 +301,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -324,7 +327,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -345,7 +348,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -373,7 +376,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -392,7 +395,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -413,7 +416,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        factory.fromRequest(routingContext, 0L);
+        factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         final ArgumentCaptor<BidRequest> captor = ArgumentCaptor.forClass(BidRequest.class);
@@ -433,7 +436,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        factory.fromRequest(routingContext, 0L);
+        factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         final ArgumentCaptor<BidRequest> captor = ArgumentCaptor.forClass(BidRequest.class);
@@ -454,7 +457,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -474,7 +477,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -495,7 +498,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -516,7 +519,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -538,7 +541,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -561,7 +564,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -584,7 +587,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -616,7 +619,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -647,7 +650,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -678,7 +681,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -708,7 +711,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -737,7 +740,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -763,7 +766,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -789,7 +792,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -817,7 +820,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -845,7 +848,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -873,7 +876,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -901,7 +904,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -929,7 +932,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -957,7 +960,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -989,7 +992,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -1019,7 +1022,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                                 .build()).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -1041,7 +1044,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getTmax()).isEqualTo(1000L);
@@ -1061,8 +1064,8 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest firstResult = factory.fromRequest(routingContext, 0L).result().getBidRequest();
-        final BidRequest secondResult = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest firstResult = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
+        final BidRequest secondResult = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         final User expectedUser = User.builder()
@@ -1088,7 +1091,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest result = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest result = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(result.getUser())
@@ -1109,7 +1112,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest result = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest result = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(result.getUser())
@@ -1130,7 +1133,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest result = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest result = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(result.getUser())
@@ -1147,7 +1150,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest result = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest result = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(result.getRegs()).isNull();
@@ -1163,7 +1166,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest result = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest result = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(result.getRegs())
@@ -1183,7 +1186,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest result = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest result = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(result.getRegs())
@@ -1199,7 +1202,7 @@ public class AmpRequestFactoryTest extends VertxTest {
                 Imp.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -1220,8 +1223,8 @@ public class AmpRequestFactoryTest extends VertxTest {
         given(storedRequestProcessor.processAmpRequest(anyString())).willReturn(Future.succeededFuture(bidRequest));
 
         given(auctionRequestFactory.fillImplicitParameters(any(), any(), any())).willAnswer(answerWithFirstArgument());
-        given(auctionRequestFactory.validateRequest(any())).willAnswer(answerWithFirstArgument());
-        given(auctionRequestFactory.toAuctionContext(any(), any(), anyLong(), any()))
+        given(auctionRequestFactory.validateRequest(any(), any())).willAnswer(answerWithFirstArgument());
+        given(auctionRequestFactory.toAuctionContext(any(), any(), anyLong(), any(), any(), any()))
                 .willAnswer(invocationOnMock -> Future.succeededFuture(
                         AuctionContext.builder()
                                 .bidRequest((BidRequest) invocationOnMock.getArguments()[1])
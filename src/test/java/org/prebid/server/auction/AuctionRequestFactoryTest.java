@@ -24,6 +24,8 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionStage;
+import org.prebid.server.auction.model.StageTimer;
 import org.prebid.server.bidder.BidderCatalog;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.cookie.UidsCookieService;
@@ -34,6 +36,7 @@ import org.prebid.server.exception.BlacklistedAppException;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.PreBidException;
 import org.prebid.server.exception.UnauthorizedAccountException;
+import org.prebid.server.execution.ResourceMeter;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidRequest;
@@ -59,6 +62,7 @@ import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.Instant;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -108,6 +112,8 @@ public class AuctionRequestFactoryTest extends VertxTest {
     @Mock
     private TimeoutFactory timeoutFactory;
 
+    private final ResourceMeter resourceMeter = ResourceMeter.disabled();
+
     @Before
     public void setUp() {
         given(interstitialProcessor.process(any())).will(invocationOnMock -> invocationOnMock.getArgument(0));
@@ -140,7 +146,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         given(routingContext.getBody()).willReturn(null);
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -173,7 +179,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenValidBidRequest();
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         verify(applicationSettings, never()).getAccountById(any(), any());
@@ -218,7 +224,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenBidRequest(bidRequest);
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         verify(applicationSettings).getAccountById(eq("absentId"), any());
@@ -253,7 +259,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         given(routingContext.getBody()).willReturn(Buffer.buffer("body"));
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -268,7 +274,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         given(routingContext.getBody()).willReturn(Buffer.buffer("body"));
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -285,7 +291,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenImplicitParams("http://example.com", "example.com", "192.168.244.1", "UnitTest");
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getSite()).isEqualTo(Site.builder()
@@ -304,7 +310,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         given(paramsExtractor.secureFrom(any())).willReturn(1);
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getImp()).extracting(Imp::getSecure).containsOnly(1);
@@ -317,7 +323,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         given(paramsExtractor.secureFrom(any())).willReturn(1);
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getImp()).extracting(Imp::getSecure).containsOnly(0);
@@ -331,7 +337,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         given(paramsExtractor.secureFrom(any())).willReturn(1);
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getImp()).extracting(Imp::getSecure).containsOnly(1, 0);
@@ -344,7 +350,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         given(paramsExtractor.secureFrom(any())).willReturn(0);
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getImp()).extracting(Imp::getSecure).containsNull();
@@ -368,7 +374,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenImplicitParams("http://anotherexample.com", "anotherexample.com", "192.168.244.2", "UnitTest2");
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request).isSameAs(bidRequest);
@@ -380,7 +386,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenValidBidRequest();
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getSite())
@@ -396,7 +402,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getSite()).isEqualTo(
@@ -413,7 +419,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         given(paramsExtractor.domainFrom(anyString())).willThrow(new PreBidException("Couldn't derive domain"));
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getSite()).isEqualTo(
@@ -429,7 +435,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenImplicitParams("http://anotherexample.com", "anotherexample.com", "192.168.244.2", "UnitTest2");
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getSite()).isEqualTo(
@@ -447,7 +453,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenImplicitParams("http://anotherexample.com", "anotherexample.com", "192.168.244.2", "UnitTest2");
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getSite()).isEqualTo(
@@ -463,7 +469,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getSite()).isEqualTo(
@@ -483,7 +489,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getUser().getExt())
@@ -498,7 +504,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenBidRequest(BidRequest.builder().at(0).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getAt()).isEqualTo(1);
@@ -510,7 +516,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenBidRequest(BidRequest.builder().at(null).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getAt()).isEqualTo(1);
@@ -522,7 +528,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenBidRequest(BidRequest.builder().cur(null).build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getCur()).isEqualTo(singletonList("USD"));
@@ -534,7 +540,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenBidRequest(BidRequest.builder().build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getTmax()).isEqualTo(2000L);
@@ -551,7 +557,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         // request was wrapped to list because extracting method works different on iterable and not iterable objects,
@@ -577,7 +583,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -597,7 +603,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -627,7 +633,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -650,7 +656,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -673,7 +679,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -697,7 +703,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -737,7 +743,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -776,7 +782,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -815,7 +821,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -856,7 +862,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -881,7 +887,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -922,7 +928,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -965,7 +971,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(request.getExt()).isSameAs(extBidRequest);
@@ -995,7 +1001,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         given(bidderCatalog.nameByAlias("configScopedBidderAlias")).willReturn("bidder2");
 
         // when
-        final Future<AuctionContext> auctionContextFuture = factory.fromRequest(routingContext, 0L);
+        final Future<AuctionContext> auctionContextFuture = factory.fromRequest(routingContext, 0L, resourceMeter);
         final BidRequest request = auctionContextFuture.result().getBidRequest();
 
         // then
@@ -1021,7 +1027,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final Future<AuctionContext> future = factory.fromRequest(routingContext, 0L);
+        final Future<AuctionContext> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.succeeded()).isTrue();
@@ -1038,7 +1044,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final BidRequest request = factory.fromRequest(routingContext, 0L).result().getBidRequest();
+        final BidRequest request = factory.fromRequest(routingContext, 0L, resourceMeter).result().getBidRequest();
 
         // then
         assertThat(singletonList(request))
@@ -1060,7 +1066,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         given(requestValidator.validate(any())).willReturn(new ValidationResult(asList("error1", "error2")));
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -1074,12 +1080,41 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenValidBidRequest();
 
         // when
-        final RoutingContext context = factory.fromRequest(routingContext, 0L).result().getRoutingContext();
+        final RoutingContext context = factory.fromRequest(routingContext, 0L, resourceMeter).result()
+                .getRoutingContext();
 
         // then
         assertThat(context).isSameAs(routingContext);
     }
 
+    @Test
+    public void shouldReturnAuctionContextWithResourceMeter() {
+        // given
+        givenValidBidRequest();
+
+        // when
+        final ResourceMeter result = factory.fromRequest(routingContext, 0L, resourceMeter).result()
+                .getResourceMeter();
+
+        // then
+        assertThat(result).isSameAs(resourceMeter);
+    }
+
+    @Test
+    public void shouldReturnAuctionContextWithStageTimerContainingRequestStages() {
+        // given
+        givenValidBidRequest();
+
+        // when
+        final StageTimer stageTimer = factory.fromRequest(routingContext, 0L, resourceMeter).result().getStageTimer();
+
+        // then
+        final List<AuctionStage> stages = new ArrayList<>();
+        stageTimer.forEachFinished((stage, nanos) -> stages.add(stage));
+        assertThat(stages).containsExactly(AuctionStage.request_parsing, AuctionStage.stored_request_processing,
+                AuctionStage.request_validation);
+    }
+
     @Test
     public void shouldReturnAuctionContextWithUidsCookie() {
         // given
@@ -1091,7 +1126,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         given(uidsCookieService.parseFromRequest(any())).willReturn(givenUidsCookie);
 
         // when
-        final UidsCookie uidsCookie = factory.fromRequest(routingContext, 0L).result().getUidsCookie();
+        final UidsCookie uidsCookie = factory.fromRequest(routingContext, 0L, resourceMeter).result().getUidsCookie();
 
         // then
         assertThat(uidsCookie).isSameAs(givenUidsCookie);
@@ -1107,7 +1142,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         final long startTime = Clock.fixed(Instant.now(), ZoneId.systemDefault()).millis();
 
         // when
-        final Timeout timeout = factory.fromRequest(routingContext, startTime).result().getTimeout();
+        final Timeout timeout = factory.fromRequest(routingContext, startTime, resourceMeter).result().getTimeout();
 
         // then
         verify(timeoutFactory).create(eq(startTime), anyLong());
@@ -1123,7 +1158,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final Future<AuctionContext> result = factory.fromRequest(routingContext, 0);
+        final Future<AuctionContext> result = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(result.failed()).isTrue();
@@ -1141,7 +1176,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .build());
 
         // when
-        final Future<AuctionContext> result = factory.fromRequest(routingContext, 0);
+        final Future<AuctionContext> result = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(result.failed()).isTrue();
@@ -1166,7 +1201,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .willReturn(Future.succeededFuture(givenAccount));
 
         // when
-        final Account account = factory.fromRequest(routingContext, 0L).result().getAccount();
+        final Account account = factory.fromRequest(routingContext, 0L, resourceMeter).result().getAccount();
 
         // then
         verify(applicationSettings).getAccountById(eq("parentAccount"), any());
@@ -1188,7 +1223,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .willReturn(Future.succeededFuture(givenAccount));
 
         // when
-        final Account account = factory.fromRequest(routingContext, 0L).result().getAccount();
+        final Account account = factory.fromRequest(routingContext, 0L, resourceMeter).result().getAccount();
 
         // then
         verify(applicationSettings).getAccountById(eq("accountId"), any());
@@ -1211,7 +1246,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .willReturn(Future.succeededFuture(givenAccount));
 
         // when
-        final Account account = factory.fromRequest(routingContext, 0L).result().getAccount();
+        final Account account = factory.fromRequest(routingContext, 0L, resourceMeter).result().getAccount();
 
         // then
         verify(applicationSettings).getAccountById(eq("accountId"), any());
@@ -1234,7 +1269,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .willReturn(Future.succeededFuture(givenAccount));
 
         // when
-        final Account account = factory.fromRequest(routingContext, 0L).result().getAccount();
+        final Account account = factory.fromRequest(routingContext, 0L, resourceMeter).result().getAccount();
 
         // then
         verify(applicationSettings).getAccountById(eq("accountId"), any());
@@ -1257,7 +1292,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .willReturn(Future.failedFuture(new PreBidException("not found")));
 
         // when
-        final Account account = factory.fromRequest(routingContext, 0L).result().getAccount();
+        final Account account = factory.fromRequest(routingContext, 0L, resourceMeter).result().getAccount();
 
         // then
         verify(applicationSettings).getAccountById(eq("parentAccount"), any());
@@ -1278,7 +1313,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
                 .willReturn(Future.failedFuture(new RuntimeException("error")));
 
         // when
-        final Account account = factory.fromRequest(routingContext, 0L).result().getAccount();
+        final Account account = factory.fromRequest(routingContext, 0L, resourceMeter).result().getAccount();
 
         // then
         verify(applicationSettings).getAccountById(eq("accountId"), any());
@@ -1292,7 +1327,7 @@ public class AuctionRequestFactoryTest extends VertxTest {
         givenValidBidRequest();
 
         // when
-        final Account account = factory.fromRequest(routingContext, 0L).result().getAccount();
+        final Account account = factory.fromRequest(routingContext, 0L, resourceMeter).result().getAccount();
 
         // then
         assertThat(account).isEqualTo(Account.builder().id("").build());
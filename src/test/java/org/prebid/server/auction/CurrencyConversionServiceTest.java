@@ -167,6 +167,28 @@ public class CurrencyConversionServiceTest extends VertxTest {
         assertThat(price.compareTo(BigDecimal.valueOf(1.149))).isEqualTo(0);
     }
 
+    @Test
+    public void convertCurrencyShouldUseLatestRatesResolvedThroughIntermediateCurrency() {
+        // when
+        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE, null, GBP, UAH);
+
+        // then
+        assertThat(price.compareTo(BigDecimal.valueOf(1.006))).isEqualTo(0);
+    }
+
+    @Test
+    public void convertCurrencyShouldPreferRequestRatesOverLatestRates() {
+        // given
+        final Map<String, Map<String, BigDecimal>> requestConversionRates = singletonMap(EUR,
+                singletonMap(GBP, BigDecimal.valueOf(2)));
+
+        // when
+        final BigDecimal price = currencyService.convertCurrency(BigDecimal.ONE, requestConversionRates, EUR, GBP);
+
+        // then
+        assertThat(price.compareTo(BigDecimal.valueOf(0.5))).isEqualTo(0);
+    }
+
     @Test
     public void convertCurrencyShouldUseLatestRatesIfMultiplierWasNotFoundInRequestRates() {
         // given
@@ -248,6 +270,29 @@ public class CurrencyConversionServiceTest extends VertxTest {
                 .withMessage("no currency conversion available");
     }
 
+    @Test
+    public void convertCurrencyShouldSkipOnlyZeroRatesReceivedFromCurrencyServer() throws JsonProcessingException {
+        // given
+        final Map<String, Map<String, BigDecimal>> currencyRates = new HashMap<>();
+        currencyRates.put(GBP, singletonMap(EUR, BigDecimal.valueOf(1.15)));
+        currencyRates.put(UAH, singletonMap(EUR, BigDecimal.ZERO));
+        givenHttpClientReturnsResponse(httpClient, 200,
+                mapper.writeValueAsString(CurrencyConversionRates.of(null, currencyRates)));
+
+        // when
+        currencyService = setExternalResource(URL, 1L, vertx, httpClient);
+
+        // then
+        assertThat(currencyService.convertCurrency(BigDecimal.ONE, null, GBP, EUR)
+                .compareTo(BigDecimal.valueOf(0.870))).isEqualTo(0);
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> currencyService.convertCurrency(BigDecimal.ONE, null, UAH, EUR))
+                .withMessage("no currency conversion available");
+        assertThatExceptionOfType(PreBidException.class)
+                .isThrownBy(() -> currencyService.convertCurrency(BigDecimal.ONE, null, EUR, UAH))
+                .withMessage("no currency conversion available");
+    }
+
     @SuppressWarnings("unchecked")
     @Test
     public void initializeShouldMakeOneInitialRequestAndTwoScheduled() {
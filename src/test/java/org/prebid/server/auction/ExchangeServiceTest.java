@@ -31,9 +31,11 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionStage;
 import org.prebid.server.auction.model.BidRequestCacheInfo;
 import org.prebid.server.auction.model.BidderResponse;
 import org.prebid.server.auction.model.PrivacyEnforcementResult;
+import org.prebid.server.auction.model.StageTimer;
 import org.prebid.server.auction.model.StoredResponseResult;
 import org.prebid.server.bidder.Bidder;
 import org.prebid.server.bidder.BidderCatalog;
@@ -46,6 +48,9 @@ import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.currency.CurrencyConversionService;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.PreBidException;
+import org.prebid.server.execution.ResourceMeter;
+import org.prebid.server.execution.ResourceMeterFactory;
+import org.prebid.server.execution.AdmissionController;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.metric.MetricName;
@@ -99,6 +104,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.assertj.core.api.Assertions.entry;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
@@ -140,6 +146,8 @@ public class ExchangeServiceTest extends VertxTest {
     @Spy
     private BidResponsePostProcessor.NoOpBidResponsePostProcessor bidResponsePostProcessor;
     @Mock
+    private AdmissionController admissionController;
+    @Mock
     private Metrics metrics;
     @Mock
     private UidsCookie uidsCookie;
@@ -172,6 +180,7 @@ public class ExchangeServiceTest extends VertxTest {
 
         given(responseBidValidator.validate(any())).willReturn(ValidationResult.success());
         given(usersyncer.getCookieFamilyName()).willReturn("cookieFamily");
+        given(admissionController.admit(anyString())).willReturn(true);
 
         given(currencyService.convertCurrency(any(), any(), any(), any()))
                 .willAnswer(invocationOnMock -> invocationOnMock.getArgument(0));
@@ -194,6 +203,7 @@ public class ExchangeServiceTest extends VertxTest {
                 currencyService,
                 bidResponseCreator,
                 bidResponsePostProcessor,
+                admissionController,
                 metrics,
                 clock,
                 jacksonMapper);
@@ -212,11 +222,29 @@ public class ExchangeServiceTest extends VertxTest {
                         currencyService,
                         bidResponseCreator,
                         bidResponsePostProcessor,
+                        admissionController,
                         metrics,
                         clock,
                         jacksonMapper));
     }
 
+    @Test
+    public void shouldNotCallBiddersIfAuctionIsShedByAdmissionController() {
+        // given
+        given(admissionController.admit(anyString())).willReturn(false);
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("someBidder", 1)));
+
+        // when
+        final BidResponse bidResponse = exchangeService.holdAuction(givenRequestContext(bidRequest)).result();
+
+        // then
+        verify(admissionController).admit("accountId");
+        verifyZeroInteractions(httpBidderRequester);
+        verify(bidResponseCreator).create(eq(emptyList()), any(), any(), any(), any(), any(), anyBoolean());
+        assertThat(bidResponse).isNotNull();
+    }
+
     @Test
     public void shouldTolerateImpWithoutExtension() {
         // given
@@ -312,14 +340,16 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequest1Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder1), bidRequest1Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder1), bidRequest1Captor.capture(), any(), anyBoolean(),
+                any(), any());
         final BidRequest capturedBidRequest1 = bidRequest1Captor.getValue();
         assertThat(capturedBidRequest1.getImp()).hasSize(2)
                 .extracting(imp -> imp.getExt().get("bidder").asInt())
                 .containsOnly(1, 3);
 
         final ArgumentCaptor<BidRequest> bidRequest2Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder2), bidRequest2Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder2), bidRequest2Captor.capture(), any(), anyBoolean(),
+                any(), any());
         final BidRequest capturedBidRequest2 = bidRequest2Captor.getValue();
         assertThat(capturedBidRequest2.getImp()).hasSize(1)
                 .element(0).returns(2, imp -> imp.getExt().get("bidder").asInt());
@@ -353,7 +383,8 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequest1Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder1), bidRequest1Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder1), bidRequest1Captor.capture(), any(), anyBoolean(),
+                any(), any());
 
         final BidRequest capturedBidRequest1 = bidRequest1Captor.getValue();
         final JsonNode prebid1 = capturedBidRequest1.getExt().get("prebid");
@@ -364,7 +395,8 @@ public class ExchangeServiceTest extends VertxTest {
                 .containsOnly(entry("bidder", mapper.createObjectNode().put("test1", "test1")));
 
         final ArgumentCaptor<BidRequest> bidRequest2Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder2), bidRequest2Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder2), bidRequest2Captor.capture(), any(), anyBoolean(),
+                any(), any());
         final BidRequest capturedBidRequest2 = bidRequest2Captor.getValue();
         final JsonNode prebid2 = capturedBidRequest2.getExt().get("prebid");
         assertThat(prebid2).isNotNull();
@@ -408,7 +440,8 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequest1Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder1), bidRequest1Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder1), bidRequest1Captor.capture(), any(), anyBoolean(),
+                any(), any());
         final BidRequest capturedBidRequest1 = bidRequest1Captor.getValue();
         final JsonNode requestSchain1 = capturedBidRequest1.getSource().getExt().get("schain");
         assertThat(requestSchain1).isNotNull();
@@ -416,7 +449,8 @@ public class ExchangeServiceTest extends VertxTest {
         assertThat(capturedBidRequest1.getExt().get("prebid").get("schains")).isNull();
 
         final ArgumentCaptor<BidRequest> bidRequest2Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder2), bidRequest2Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder2), bidRequest2Captor.capture(), any(), anyBoolean(),
+                any(), any());
         final BidRequest capturedBidRequest2 = bidRequest2Captor.getValue();
         final JsonNode requestSchain2 = capturedBidRequest2.getSource().getExt().get("schain");
         assertThat(requestSchain2).isNotNull();
@@ -424,7 +458,8 @@ public class ExchangeServiceTest extends VertxTest {
         assertThat(capturedBidRequest2.getExt().get("prebid").get("schains")).isNull();
 
         final ArgumentCaptor<BidRequest> bidRequest3Captor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder3), bidRequest3Captor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder3), bidRequest3Captor.capture(), any(), anyBoolean(),
+                any(), any());
         final BidRequest capturedBidRequest3 = bidRequest3Captor.getValue();
         final JsonNode requestSchain3 = capturedBidRequest3.getSource().getExt().get("schain");
         assertThat(requestSchain3).isNotNull();
@@ -491,7 +526,8 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(same(bidder), bidRequestCaptor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(same(bidder), bidRequestCaptor.capture(), any(), anyBoolean(),
+                any(), any());
         assertThat(bidRequestCaptor.getValue().getImp()).hasSize(1)
                 .extracting(imp -> imp.getExt().get("bidder").asInt())
                 .contains(1);
@@ -514,7 +550,7 @@ public class ExchangeServiceTest extends VertxTest {
         // then
         final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
         verify(httpBidderRequester, times(2)).requestBids(same(bidder), bidRequestCaptor.capture(), any(),
-                anyBoolean());
+                anyBoolean(), any(), any());
         final List<BidRequest> capturedBidRequests = bidRequestCaptor.getAllValues();
 
         assertThat(capturedBidRequests).hasSize(2)
@@ -543,13 +579,15 @@ public class ExchangeServiceTest extends VertxTest {
         // given
         given(httpBidderRequester.requestBids(any(), eq(givenBidRequest(givenSingleImp(singletonMap("bidder", 1)),
                 builder -> builder.ext(mapper.valueToTree(ExtBidRequest.of(ExtRequestPrebid.builder()
-                        .aliases(singletonMap("bidderAlias", "bidder")).build()))))), any(), anyBoolean()))
+                        .aliases(singletonMap("bidderAlias", "bidder")).build()))))), any(), anyBoolean(), any(),
+                any()))
                 .willReturn(Future.succeededFuture(givenSeatBid(singletonList(
                         givenBid(Bid.builder().price(BigDecimal.ONE).build())))));
 
         given(httpBidderRequester.requestBids(any(), eq(givenBidRequest(givenSingleImp(singletonMap("bidder", 2)),
                 builder -> builder.ext(mapper.valueToTree(ExtBidRequest.of(ExtRequestPrebid.builder()
-                        .aliases(singletonMap("bidderAlias", "bidder")).build()))))), any(), anyBoolean()))
+                        .aliases(singletonMap("bidderAlias", "bidder")).build()))))), any(), anyBoolean(), any(),
+                any()))
                 .willReturn(Future.succeededFuture(givenSeatBid(singletonList(
                         givenBid(Bid.builder().price(BigDecimal.ONE).build())))));
 
@@ -568,7 +606,7 @@ public class ExchangeServiceTest extends VertxTest {
         final BidResponse bidResponse = exchangeService.holdAuction(givenRequestContext(bidRequest)).result();
 
         // then
-        verify(httpBidderRequester, times(2)).requestBids(any(), any(), any(), anyBoolean());
+        verify(httpBidderRequester, times(2)).requestBids(any(), any(), any(), anyBoolean(), any(), any());
         assertThat(bidResponse.getSeatbid()).hasSize(2)
                 .extracting(seatBid -> seatBid.getBid().size())
                 .containsOnly(1, 1);
@@ -736,6 +774,133 @@ public class ExchangeServiceTest extends VertxTest {
         verify(bidResponseCreator).create(anyList(), eq(bidRequest), any(), any(), any(), any(), eq(true));
     }
 
+    @Test
+    public void shouldAddStageTimesToResponseDebugIfDebugEnabled() {
+        // given
+        givenBidder(givenEmptySeatBid());
+
+        given(bidResponseCreator.create(anyList(), any(), any(), any(), any(), any(), anyBoolean()))
+                .willReturn(Future.succeededFuture(BidResponse.builder()
+                        .ext(mapper.createObjectNode().set("debug", mapper.createObjectNode()))
+                        .build()));
+
+        final BidRequest bidRequest = givenBidRequest(
+                givenSingleImp(singletonMap("someBidder", 1)),
+                builder -> builder.test(1));
+
+        // when
+        final BidResponse bidResponse = exchangeService.holdAuction(givenRequestContext(bidRequest)).result();
+
+        // then
+        final JsonNode stageTimes = bidResponse.getExt().path("debug").path("stagetimemicros");
+        assertThat(stageTimes.isObject()).isTrue();
+        assertThat(stageTimes.fieldNames()).containsOnly("privacy_enforcement", "bidder_requests",
+                "bid_response_creation");
+    }
+
+    @Test
+    public void shouldNotAddStageTimesToResponseDebugIfDebugDisabled() {
+        // given
+        givenBidder(givenEmptySeatBid());
+
+        given(bidResponseCreator.create(anyList(), any(), any(), any(), any(), any(), anyBoolean()))
+                .willReturn(Future.succeededFuture(BidResponse.builder()
+                        .ext(mapper.createObjectNode())
+                        .build()));
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("someBidder", 1)));
+
+        // when
+        final BidResponse bidResponse = exchangeService.holdAuction(givenRequestContext(bidRequest)).result();
+
+        // then
+        assertThat(bidResponse.getExt().path("debug").isMissingNode()).isTrue();
+    }
+
+    @Test
+    public void shouldUpdateAuctionStageMetrics() {
+        // given
+        givenBidder(givenEmptySeatBid());
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("someBidder", 1)));
+
+        // when
+        exchangeService.holdAuction(givenRequestContext(bidRequest));
+
+        // then
+        verify(metrics).updateAuctionStageMetric(eq(AuctionStage.privacy_enforcement), anyLong());
+        verify(metrics).updateAuctionStageMetric(eq(AuctionStage.bidder_requests), anyLong());
+        verify(metrics).updateAuctionStageMetric(eq(AuctionStage.bid_response_creation), anyLong());
+    }
+
+    @Test
+    public void shouldAddResourceUsageToResponseDebugIfDebugEnabled() {
+        // given
+        givenBidder(givenEmptySeatBid());
+
+        given(bidResponseCreator.create(anyList(), any(), any(), any(), any(), any(), anyBoolean()))
+                .willReturn(Future.succeededFuture(BidResponse.builder()
+                        .ext(mapper.createObjectNode().set("debug", mapper.createObjectNode()))
+                        .build()));
+
+        final BidRequest bidRequest = givenBidRequest(
+                givenSingleImp(singletonMap("someBidder", 1)),
+                builder -> builder.test(1));
+        final AuctionContext auctionContext = givenRequestContext(bidRequest).toBuilder()
+                .resourceMeter(new ResourceMeterFactory(true, 1).create())
+                .build();
+
+        // when
+        final BidResponse bidResponse = exchangeService.holdAuction(auctionContext).result();
+
+        // then
+        final JsonNode resourceUsage = bidResponse.getExt().path("debug").path("resourceusage");
+        assertThat(resourceUsage.fieldNames()).containsOnly("allocatedbytes", "cputimemicros", "segments");
+    }
+
+    @Test
+    public void shouldAddResourceUsageToDebugOfTestRequestWhenItIsNotSampled() {
+        // given
+        givenBidder(givenEmptySeatBid());
+
+        given(bidResponseCreator.create(anyList(), any(), any(), any(), any(), any(), anyBoolean()))
+                .willReturn(Future.succeededFuture(BidResponse.builder()
+                        .ext(mapper.createObjectNode().set("debug", mapper.createObjectNode()))
+                        .build()));
+
+        final BidRequest bidRequest = givenBidRequest(
+                givenSingleImp(singletonMap("someBidder", 1)),
+                builder -> builder.test(1));
+        final AuctionContext auctionContext = givenRequestContext(bidRequest).toBuilder()
+                .resourceMeter(new ResourceMeterFactory(true, 0).create())
+                .build();
+
+        // when
+        final BidResponse bidResponse = exchangeService.holdAuction(auctionContext).result();
+
+        // then
+        final JsonNode resourceUsage = bidResponse.getExt().path("debug").path("resourceusage");
+        assertThat(resourceUsage.fieldNames()).containsOnly("allocatedbytes", "cputimemicros", "segments");
+    }
+
+    @Test
+    public void shouldUpdateResourceMetrics() {
+        // given
+        givenBidder(givenEmptySeatBid());
+
+        final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("someBidder", 1)));
+        final ResourceMeter resourceMeter = new ResourceMeterFactory(true, 1).create();
+        final AuctionContext auctionContext = givenRequestContext(bidRequest).toBuilder()
+                .resourceMeter(resourceMeter)
+                .build();
+
+        // when
+        exchangeService.holdAuction(auctionContext);
+
+        // then
+        verify(metrics).updateResourceMetrics(eq(MetricName.openrtb2web), eq("accountId"), same(resourceMeter));
+    }
+
     @Test
     public void shouldReturnErrorIfRequestExtCouldNotBeParsed() {
         // given
@@ -1077,7 +1242,8 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester, times(2)).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester, times(2)).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean(),
+                any(), any());
         final List<BidRequest> capturedBidRequests = bidRequestCaptor.getAllValues();
 
         assertThat(capturedBidRequests)
@@ -1108,7 +1274,8 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester, times(2)).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester, times(2)).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean(),
+                any(), any());
         final List<BidRequest> capturedBidRequests = bidRequestCaptor.getAllValues();
 
         assertThat(capturedBidRequests)
@@ -1139,7 +1306,8 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester, times(2)).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester, times(2)).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean(),
+                any(), any());
         final List<BidRequest> capturedBidRequests = bidRequestCaptor.getAllValues();
 
         assertThat(capturedBidRequests)
@@ -1195,7 +1363,7 @@ public class ExchangeServiceTest extends VertxTest {
         exchangeService.holdAuction(givenRequestContext(bidRequest));
 
         // then
-        verify(httpBidderRequester).requestBids(any(), any(), same(timeout), anyBoolean());
+        verify(httpBidderRequester).requestBids(any(), any(), same(timeout), anyBoolean(), any(), any());
     }
 
     @Test
@@ -1211,6 +1379,7 @@ public class ExchangeServiceTest extends VertxTest {
                 currencyService,
                 bidResponseCreator,
                 bidResponsePostProcessor,
+                admissionController,
                 metrics,
                 clock,
                 jacksonMapper);
@@ -1231,7 +1400,7 @@ public class ExchangeServiceTest extends VertxTest {
 
         // then
         final ArgumentCaptor<Timeout> timeoutCaptor = ArgumentCaptor.forClass(Timeout.class);
-        verify(httpBidderRequester).requestBids(any(), any(), timeoutCaptor.capture(), anyBoolean());
+        verify(httpBidderRequester).requestBids(any(), any(), timeoutCaptor.capture(), anyBoolean(), any(), any());
         assertThat(timeoutCaptor.getValue().remaining()).isEqualTo(400L);
         verify(bidResponseCreator).create(anyList(), any(), any(), any(), any(), same(timeout), anyBoolean());
     }
@@ -1539,7 +1708,7 @@ public class ExchangeServiceTest extends VertxTest {
     @Test
     public void shouldIncrementCommonMetrics() {
         // given
-        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean(), any(), any()))
                 .willReturn(Future.succeededFuture(givenSeatBid(singletonList(
                         givenBid(Bid.builder().price(TEN).build())))));
 
@@ -1575,7 +1744,7 @@ public class ExchangeServiceTest extends VertxTest {
     @Test
     public void shouldUseEmptyStringIfPublisherIdIsEmpty() {
         // given
-        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean(), any(), any()))
                 .willReturn(Future.succeededFuture(givenSeatBid(singletonList(
                         givenBid(Bid.builder().price(TEN).build())))));
         final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("someBidder", 1)));
@@ -1591,7 +1760,7 @@ public class ExchangeServiceTest extends VertxTest {
     @Test
     public void shouldIncrementNoBidRequestsMetric() {
         // given
-        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean(), any(), any()))
                 .willReturn(Future.succeededFuture(givenSeatBid(emptyList())));
 
         final BidRequest bidRequest = givenBidRequest(givenSingleImp(singletonMap("someBidder", 1)));
@@ -1606,7 +1775,7 @@ public class ExchangeServiceTest extends VertxTest {
     @Test
     public void shouldIncrementGotBidsAndErrorMetricsIfBidderReturnsBidAndDifferentErrors() {
         // given
-        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean(), any(), any()))
                 .willReturn(Future.succeededFuture(BidderSeatBid.of(
                         singletonList(givenBid(Bid.builder().price(TEN).build())),
                         emptyList(),
@@ -1706,12 +1875,13 @@ public class ExchangeServiceTest extends VertxTest {
                 .account(account)
                 .requestTypeMetric(MetricName.openrtb2web)
                 .timeout(timeout)
+                .stageTimer(new StageTimer())
                 .build();
     }
 
     private BidRequest captureBidRequest() {
         final ArgumentCaptor<BidRequest> bidRequestCaptor = ArgumentCaptor.forClass(BidRequest.class);
-        verify(httpBidderRequester).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean());
+        verify(httpBidderRequester).requestBids(any(), bidRequestCaptor.capture(), any(), anyBoolean(), any(), any());
         return bidRequestCaptor.getValue();
     }
 
@@ -1735,13 +1905,13 @@ public class ExchangeServiceTest extends VertxTest {
     }
 
     private void givenBidder(BidderSeatBid response) {
-        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(any(), any(), any(), anyBoolean(), any(), any()))
                 .willReturn(Future.succeededFuture(response));
     }
 
     private void givenBidder(String bidderName, Bidder<?> bidder, BidderSeatBid response) {
         doReturn(bidder).when(bidderCatalog).bidderByName(eq(bidderName));
-        given(httpBidderRequester.requestBids(same(bidder), any(), any(), anyBoolean()))
+        given(httpBidderRequester.requestBids(same(bidder), any(), any(), anyBoolean(), any(), any()))
                 .willReturn(Future.succeededFuture(response));
     }
 
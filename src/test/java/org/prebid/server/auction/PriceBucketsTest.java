@@ -0,0 +1,135 @@
+package org.prebid.server.auction;
+
+import org.junit.Test;
+import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
+import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PriceBucketsTest {
+
+    private static final BigDecimal GRID_STEP = new BigDecimal("0.0005");
+    private static final BigDecimal TINY = new BigDecimal("0.0000001");
+
+    @Test
+    public void fromCpmShouldMatchBigDecimalArithmeticForPredefinedGranularities() {
+        for (String type : asList("low", "med", "medium", "high", "auto", "dense")) {
+            final PriceGranularity priceGranularity = PriceGranularity.createFromString(type);
+            assertThat(priceGranularity.getPriceBuckets()).isNotNull();
+            assertMatchesBigDecimalArithmetic(priceGranularity);
+        }
+    }
+
+    @Test
+    public void fromCpmShouldMatchBigDecimalArithmeticForCustomGranularities() {
+        final List<ExtPriceGranularity> extPriceGranularities = asList(
+                ExtPriceGranularity.of(0, singletonList(range("10", "0.25"))),
+                ExtPriceGranularity.of(3, asList(range("1.5", "0.005"), range("7", "0.25"), range("20", "1.5"))),
+                ExtPriceGranularity.of(7, asList(range("2", "0.000001"), range("5", "0.03"))),
+                ExtPriceGranularity.of(null, asList(range("0", "0.1"), range("3.3", "0.33"), range("3.3", "1"))),
+                ExtPriceGranularity.of(1, singletonList(range("12.5", "0.05"))));
+
+        for (ExtPriceGranularity extPriceGranularity : extPriceGranularities) {
+            final PriceGranularity priceGranularity =
+                    PriceGranularity.createFromExtPriceGranularity(extPriceGranularity);
+            assertThat(priceGranularity.getPriceBuckets()).isNotNull();
+            assertMatchesBigDecimalArithmetic(priceGranularity);
+        }
+    }
+
+    @Test
+    public void compileShouldReturnNullForRangesNotFittingMicros() {
+        assertThat(PriceBuckets.compile(singletonList(range("10", "0.0000001")), 2, false)).isNull();
+        assertThat(PriceBuckets.compile(asList(range("10", "0.1"), range("5", "0.1")), 2, false)).isNull();
+        assertThat(PriceBuckets.compile(singletonList(range("10", "0")), 2, false)).isNull();
+        assertThat(PriceBuckets.compile(singletonList(ExtGranularityRange.of(BigDecimal.TEN, null)), 2, false))
+                .isNull();
+        assertThat(PriceBuckets.compile(singletonList(range("10", "0.1")), 16, false)).isNull();
+    }
+
+    @Test
+    public void fromCpmShouldFallBackToBigDecimalArithmeticForRangesNotFittingMicros() {
+        // given
+        final PriceGranularity priceGranularity = PriceGranularity.createFromExtPriceGranularity(
+                ExtPriceGranularity.of(8, asList(range("10", "0.1"), range("5", "0.00000001"))));
+
+        // when and then
+        assertThat(priceGranularity.getPriceBuckets()).isNull();
+        assertMatchesBigDecimalArithmetic(priceGranularity);
+    }
+
+    @Test
+    public void bucketOfShouldReturnNullForTooBigPrice() {
+        // given
+        final PriceBuckets priceBuckets = PriceGranularity.createFromString("dense").getPriceBuckets();
+
+        // when and then
+        assertThat(priceBuckets.bucketOf(new BigDecimal("1234567890123.5"))).isNull();
+        assertThat(priceBuckets.bucketOf(new BigDecimal("123456789012.5"))).isEqualTo("20.00");
+    }
+
+    @Test
+    public void formatShouldRoundHalfUpLikeStringFormat() {
+        final Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            final long micros = (long) (random.nextDouble() * 100_000_000L);
+            final int precision = random.nextInt(10);
+
+            assertThat(PriceBuckets.format(micros, precision))
+                    .isEqualTo(String.format(Locale.US, "%." + precision + "f", BigDecimal.valueOf(micros, 6)));
+        }
+    }
+
+    private static void assertMatchesBigDecimalArithmetic(PriceGranularity priceGranularity) {
+        for (BigDecimal cpm : cpmValues(priceGranularity)) {
+            assertThat(CpmRange.fromCpm(cpm, priceGranularity))
+                    .describedAs("cpm %s", cpm)
+                    .isEqualTo(expectedBucket(cpm, priceGranularity));
+        }
+    }
+
+    /**
+     * Price bucket as computed before compiled {@link PriceBuckets} were introduced.
+     */
+    private static String expectedBucket(BigDecimal cpm, PriceGranularity priceGranularity) {
+        final BigDecimal value = CpmRange.fromCpmAsNumber(cpm, priceGranularity);
+        final int precision = priceGranularity.getPrecision() != null ? priceGranularity.getPrecision() : 2;
+        return value != null ? String.format(Locale.US, "%." + precision + "f", value) : "";
+    }
+
+    private static List<BigDecimal> cpmValues(PriceGranularity priceGranularity) {
+        final List<BigDecimal> result = new ArrayList<>();
+        for (BigDecimal cpm = BigDecimal.ONE.negate(); cpm.compareTo(BigDecimal.valueOf(25)) <= 0;
+             cpm = cpm.add(GRID_STEP)) {
+            result.add(cpm);
+        }
+
+        for (ExtGranularityRange range : priceGranularity.getRanges()) {
+            final BigDecimal max = range.getMax();
+            result.addAll(Arrays.asList(max, max.subtract(TINY), max.add(TINY), max.add(range.getIncrement()),
+                    max.subtract(range.getIncrement()), max.subtract(range.getIncrement()).add(TINY)));
+        }
+
+        final Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            result.add(BigDecimal.valueOf(random.nextDouble() * 30 - 1));
+            result.add(BigDecimal.valueOf(random.nextInt(30_000_000), 6));
+        }
+        result.addAll(asList(BigDecimal.ZERO, new BigDecimal("0.000"), new BigDecimal("1E+1"), new BigDecimal("-0.0"),
+                new BigDecimal("1E-20"), new BigDecimal("-1E-20"), new BigDecimal("999999")));
+        return result;
+    }
+
+    private static ExtGranularityRange range(String max, String increment) {
+        return ExtGranularityRange.of(new BigDecimal(max), new BigDecimal(increment));
+    }
+}
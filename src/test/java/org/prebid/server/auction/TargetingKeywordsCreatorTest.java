@@ -2,6 +2,8 @@ package org.prebid.server.auction;
 
 import org.apache.commons.lang3.StringUtils;
 import org.junit.Test;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.bidder.BidderDeps;
 import org.prebid.server.proto.openrtb.ext.request.ExtGranularityRange;
 import org.prebid.server.proto.openrtb.ext.request.ExtPriceGranularity;
 import org.prebid.server.proto.response.Bid;
@@ -9,6 +11,8 @@ import org.prebid.server.proto.response.Bid;
 import java.math.BigDecimal;
 import java.util.Map;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
 import static java.util.Collections.singletonList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.entry;
@@ -351,4 +355,51 @@ public class TargetingKeywordsCreatorTest {
         // then
         assertThat(keywords).doesNotContainKeys("hb_bidid", "hb_bidid_bidder1", "hb_winurl", "hb_winurl_bidder1");
     }
+
+    @Test
+    public void shouldReturnSameKeywordsWithBidderTargetingKeysCreatedFromCatalog() {
+        // given
+        final BidderCatalog bidderCatalog = new BidderCatalog(singletonList(BidderDeps.builder()
+                .name("bidder1")
+                .deprecatedNames(emptyList())
+                .aliases(singletonList("alias1"))
+                .build()));
+        final BidderTargetingKeys bidderTargetingKeys =
+                TargetingKeywordsCreator.createBidderTargetingKeys(bidderCatalog);
+        final ExtPriceGranularity extPriceGranularity = ExtPriceGranularity.of(2,
+                singletonList(ExtGranularityRange.of(BigDecimal.valueOf(5), BigDecimal.valueOf(0.5))));
+        final com.iab.openrtb.response.Bid bid = com.iab.openrtb.response.Bid.builder().id("bid1")
+                .price(BigDecimal.ONE).dealid("dealId1").w(300).h(250).build();
+
+        for (String bidder : asList("bidder1", "alias1", "requestAlias")) {
+            // when
+            final Map<String, String> keywords = TargetingKeywordsCreator.create(extPriceGranularity, true, true,
+                    true, bidderTargetingKeys)
+                    .makeFor(bid, bidder, true, "cacheId1", "vastCacheId1", "host", "path", "winUrl");
+
+            // then
+            assertThat(keywords).isEqualTo(TargetingKeywordsCreator.create(extPriceGranularity, true, true, true)
+                    .makeFor(bid, bidder, true, "cacheId1", "vastCacheId1", "host", "path", "winUrl"));
+            assertThat(keywords).contains(
+                    entry("hb_size", "300x250"),
+                    entry("hb_size_" + bidder, "300x250"),
+                    entry("hb_uuid_" + bidder, "vastCacheId1"),
+                    entry("hb_env_" + bidder, "mobile-app"),
+                    entry("hb_bidid_" + bidder, "bid1"));
+        }
+    }
+
+    @Test
+    public void shouldReturnSizeForUncommonCreativeSize() {
+        // given
+        final com.iab.openrtb.response.Bid bid = com.iab.openrtb.response.Bid.builder().price(BigDecimal.ONE)
+                .w(301).h(250).build();
+
+        // when
+        final Map<String, String> keywords = TargetingKeywordsCreator.create((String) null, true, false, false)
+                .makeFor(bid, "bidder1", true, null, null, null, null, null);
+
+        // then
+        assertThat(keywords).contains(entry("hb_size", "301x250"));
+    }
 }
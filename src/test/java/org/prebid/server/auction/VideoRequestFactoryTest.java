@@ -23,6 +23,7 @@ import org.prebid.server.VertxTest;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.WithPodErrors;
 import org.prebid.server.exception.InvalidRequestException;
+import org.prebid.server.execution.ResourceMeter;
 import org.prebid.server.proto.openrtb.ext.ExtIncludeBrandCategory;
 import org.prebid.server.proto.openrtb.ext.request.ExtBidRequest;
 import org.prebid.server.proto.openrtb.ext.request.ExtRequestPrebid;
@@ -38,6 +39,7 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 
@@ -61,6 +63,8 @@ public class VideoRequestFactoryTest extends VertxTest {
     @Mock
     private TimeoutResolver timeoutResolver;
 
+    private final ResourceMeter resourceMeter = ResourceMeter.disabled();
+
     @Before
     public void setUp() {
         given(routingContext.request()).willReturn(httpServerRequest);
@@ -75,7 +79,7 @@ public class VideoRequestFactoryTest extends VertxTest {
         given(routingContext.getBody()).willReturn(null);
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -91,7 +95,7 @@ public class VideoRequestFactoryTest extends VertxTest {
         factory = new VideoRequestFactory(Integer.MAX_VALUE, true, videoStoredRequestProcessor, auctionRequestFactory, timeoutResolver, jacksonMapper);
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -108,7 +112,7 @@ public class VideoRequestFactoryTest extends VertxTest {
         given(routingContext.getBody()).willReturn(Buffer.buffer("body"));
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -123,7 +127,7 @@ public class VideoRequestFactoryTest extends VertxTest {
         given(routingContext.getBody()).willReturn(Buffer.buffer("body"));
 
         // when
-        final Future<?> future = factory.fromRequest(routingContext, 0L);
+        final Future<?> future = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         assertThat(future.failed()).isTrue();
@@ -172,20 +176,21 @@ public class VideoRequestFactoryTest extends VertxTest {
         final BidRequestVideo requestVideo = BidRequestVideo.builder().build();
         given(routingContext.getBody()).willReturn(Json.encodeToBuffer(requestVideo));
         given(videoStoredRequestProcessor.processVideoRequest(any(), any(), any())).willReturn(Future.succeededFuture(mergedBidRequest));
-        given(auctionRequestFactory.validateRequest(any())).willAnswer(invocation -> invocation.getArgument(0));
+        given(auctionRequestFactory.validateRequest(any(), any())).willAnswer(invocation -> invocation.getArgument(0));
         given(auctionRequestFactory.fillImplicitParameters(any(), any(), any())).willAnswer(invocation -> invocation.getArgument(0));
-        given(auctionRequestFactory.toAuctionContext(any(), any(), anyLong(), any()))
+        given(auctionRequestFactory.toAuctionContext(any(), any(), anyLong(), any(), any(), any()))
                 .willReturn(Future.succeededFuture());
 
         // when
-        final Future<WithPodErrors<AuctionContext>> result = factory.fromRequest(routingContext, 0L);
+        final Future<WithPodErrors<AuctionContext>> result = factory.fromRequest(routingContext, 0L, resourceMeter);
 
         // then
         verify(routingContext).getBody();
         verify(videoStoredRequestProcessor).processVideoRequest(null, emptySet(), requestVideo);
-        verify(auctionRequestFactory).validateRequest(bidRequest);
+        verify(auctionRequestFactory).validateRequest(eq(bidRequest), any());
         verify(auctionRequestFactory).fillImplicitParameters(bidRequest, routingContext, timeoutResolver);
-        verify(auctionRequestFactory).toAuctionContext(routingContext, bidRequest, 0, timeoutResolver);
+        verify(auctionRequestFactory).toAuctionContext(eq(routingContext), eq(bidRequest), eq(0L), eq(timeoutResolver),
+                any(), any());
 
         assertThat(result.result().getPodErrors()).isEqualTo(mergedBidRequest.getPodErrors());
     }
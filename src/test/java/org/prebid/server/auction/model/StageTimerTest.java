@@ -0,0 +1,62 @@
+package org.prebid.server.auction.model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StageTimerTest {
+
+    private StageTimer stageTimer;
+
+    @Before
+    public void setUp() {
+        stageTimer = new StageTimer();
+    }
+
+    @Test
+    public void forEachFinishedShouldReturnOnlyFinishedStagesInOrder() {
+        // given
+        stageTimer.start(AuctionStage.bidder_requests);
+        stageTimer.start(AuctionStage.request_parsing);
+        stageTimer.stop(AuctionStage.request_parsing);
+        stageTimer.stop(AuctionStage.bidder_requests);
+        stageTimer.start(AuctionStage.bid_response_creation);
+
+        // when
+        final Map<AuctionStage, Long> result = finishedStages();
+
+        // then
+        assertThat(result).containsOnlyKeys(AuctionStage.request_parsing, AuctionStage.bidder_requests);
+        assertThat(result.values()).allMatch(nanos -> nanos >= 0);
+    }
+
+    @Test
+    public void stopShouldIgnoreNotStartedStage() {
+        // when
+        stageTimer.stop(AuctionStage.request_parsing);
+
+        // then
+        assertThat(finishedStages()).isEmpty();
+    }
+
+    @Test
+    public void stopShouldReturnPassedValue() {
+        // given
+        final Object value = new Object();
+        stageTimer.start(AuctionStage.request_parsing);
+
+        // when and then
+        assertThat(stageTimer.stop(AuctionStage.request_parsing, value)).isSameAs(value);
+        assertThat(finishedStages()).containsOnlyKeys(AuctionStage.request_parsing);
+    }
+
+    private Map<AuctionStage, Long> finishedStages() {
+        final Map<AuctionStage, Long> stages = new EnumMap<>(AuctionStage.class);
+        stageTimer.forEachFinished(stages::put);
+        return stages;
+    }
+}
@@ -18,6 +18,8 @@ import org.prebid.server.bidder.model.BidderError;
 import org.prebid.server.bidder.model.BidderSeatBid;
 import org.prebid.server.bidder.model.HttpRequest;
 import org.prebid.server.bidder.model.Result;
+import org.prebid.server.capture.CapturedAuction;
+import org.prebid.server.execution.ResourceMeter;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.proto.openrtb.ext.response.ExtHttpCall;
@@ -42,6 +44,7 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.anyLong;
 import static org.mockito.Mockito.anyString;
 import static org.mockito.Mockito.isNull;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -60,6 +63,7 @@ public class HttpBidderRequesterTest extends VertxTest {
 
     private Timeout timeout;
     private Timeout expiredTimeout;
+    private final ResourceMeter resourceMeter = ResourceMeter.disabled();
 
     @Before
     public void setUp() {
@@ -78,7 +82,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false).result();
+                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false, null,
+                        resourceMeter).result();
 
         // then
         assertThat(bidderSeatBid.getBids()).isEmpty();
@@ -96,7 +101,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false).result();
+                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false, null,
+                        resourceMeter).result();
 
         // then
         assertThat(bidderSeatBid.getBids()).isEmpty();
@@ -123,12 +129,38 @@ public class HttpBidderRequesterTest extends VertxTest {
         headers.add("header2", "value2");
 
         // when
-        bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false);
+        bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false, null, resourceMeter);
 
         // then
         verify(httpClient).request(eq(HttpMethod.POST), eq("uri"), eq(headers), eq("requestBody"), eq(500L));
     }
 
+    @Test
+    public void pendingRequestsShouldCountRequestsWaitingForResponse() {
+        // given
+        final Future<HttpClientResponse> successResponse = Future.future();
+        final Future<HttpClientResponse> failedResponse = Future.future();
+        given(httpClient.request(any(), anyString(), any(), any(), anyLong()))
+                .willReturn(successResponse, failedResponse);
+
+        final HttpRequest<BidRequest> httpRequest = HttpRequest.<BidRequest>builder()
+                .method(HttpMethod.POST)
+                .uri("uri")
+                .body("requestBody")
+                .build();
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(asList(httpRequest, httpRequest), emptyList()));
+
+        // when
+        bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false, null, resourceMeter);
+
+        // then
+        assertThat(bidderHttpConnector.pendingRequests()).isEqualTo(2);
+        successResponse.complete(HttpClientResponse.of(200, null, "responseBody"));
+        assertThat(bidderHttpConnector.pendingRequests()).isEqualTo(1);
+        failedResponse.fail(new TimeoutException("Timeout exceeded"));
+        assertThat(bidderHttpConnector.pendingRequests()).isZero();
+    }
+
     @Test
     public void shouldSendPopulatedGetRequestWithoutBody() {
         // given
@@ -142,7 +174,7 @@ public class HttpBidderRequesterTest extends VertxTest {
                 emptyList()));
 
         // when
-        bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false);
+        bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false, null, resourceMeter);
 
         // then
         verify(httpClient).request(any(), anyString(), any(), isNull(), anyLong());
@@ -169,7 +201,7 @@ public class HttpBidderRequesterTest extends VertxTest {
                 emptyList()));
 
         // when
-        bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false);
+        bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false, null, resourceMeter);
 
         // then
         verify(httpClient, times(2)).request(any(), anyString(), any(), any(), anyLong());
@@ -194,7 +226,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false).result();
+                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false, null,
+                        resourceMeter).result();
 
         // then
         assertThat(bidderSeatBid.getBids()).containsOnlyElementsOf(bids);
@@ -226,7 +259,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, true).result();
+                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, true, null,
+                        resourceMeter).result();
 
         // then
         assertThat(bidderSeatBid.getHttpCalls()).hasSize(2).containsOnly(
@@ -250,7 +284,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), expiredTimeout, true).result();
+                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), expiredTimeout, true, null,
+                        resourceMeter).result();
 
         // then
         assertThat(bidderSeatBid.getHttpCalls()).hasSize(1).containsOnly(
@@ -273,7 +308,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, true).result();
+                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, true, null,
+                        resourceMeter).result();
 
         // then
         assertThat(bidderSeatBid.getHttpCalls()).hasSize(1).containsOnly(
@@ -296,7 +332,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, true).result();
+                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, true, null,
+                        resourceMeter).result();
 
         // then
         assertThat(bidderSeatBid.getHttpCalls()).hasSize(1).containsOnly(
@@ -321,7 +358,8 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid =
-                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), expiredTimeout, false).result();
+                bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), expiredTimeout, false, null,
+                        resourceMeter).result();
 
         // then
         assertThat(bidderSeatBid.getErrors()).hasSize(1)
@@ -399,7 +437,7 @@ public class HttpBidderRequesterTest extends VertxTest {
 
         // when
         final BidderSeatBid bidderSeatBid = bidderHttpConnector
-                .requestBids(bidder, BidRequest.builder().test(1).build(), timeout, false)
+                .requestBids(bidder, BidRequest.builder().test(1).build(), timeout, false, null, resourceMeter)
                 .result();
 
         // then
@@ -430,12 +468,41 @@ public class HttpBidderRequesterTest extends VertxTest {
         givenHttpClientReturnsResponse(204, EMPTY);
 
         // when
-        bidderHttpConnector.requestBids(bidder, BidRequest.builder().test(1).build(), timeout, false);
+        bidderHttpConnector.requestBids(bidder, BidRequest.builder().test(1).build(), timeout, false, null,
+                resourceMeter);
 
         // then
         verify(bidder).makeBids(argThat(httpCall -> httpCall.getResponse().getBody().equals("{}")), any());
     }
 
+    @Test
+    public void shouldTakeResponseFromCapturedAuctionIfPresent() {
+        // given
+        given(bidder.makeHttpRequests(any())).willReturn(Result.of(singletonList(
+                HttpRequest.<BidRequest>builder()
+                        .method(HttpMethod.POST)
+                        .uri("uri")
+                        .body("requestBody")
+                        .headers(new CaseInsensitiveHeaders())
+                        .build()),
+                emptyList()));
+
+        final CapturedAuction capturedAuction = mock(CapturedAuction.class);
+        given(capturedAuction.bidderCall(any(), anyString(), anyString(), any()))
+                .willReturn(Future.succeededFuture(HttpClientResponse.of(200, null, "capturedBody")));
+
+        given(bidder.makeBids(any(), any())).willReturn(Result.of(emptyList(), emptyList()));
+
+        // when
+        bidderHttpConnector.requestBids(bidder, BidRequest.builder().build(), timeout, false, capturedAuction,
+                resourceMeter);
+
+        // then
+        verify(capturedAuction).bidderCall(eq(HttpMethod.POST), eq("uri"), eq("requestBody"), any());
+        verify(bidder).makeBids(argThat(httpCall -> httpCall.getResponse().getBody().equals("capturedBody")), any());
+        verifyZeroInteractions(httpClient);
+    }
+
     private void givenHttpClientReturnsResponse(int statusCode, String response) {
         given(httpClient.request(any(), anyString(), any(), any(), anyLong()))
                 .willReturn(Future.succeededFuture(HttpClientResponse.of(statusCode, null, response)));
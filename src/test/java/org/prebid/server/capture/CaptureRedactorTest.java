@@ -0,0 +1,110 @@
+package org.prebid.server.capture;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.capture.model.CaptureRecord;
+import org.prebid.server.capture.model.CapturedBidderCall;
+import org.prebid.server.capture.model.CapturedRequest;
+import org.prebid.server.capture.model.CapturedResponse;
+
+import java.io.IOException;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CaptureRedactorTest extends VertxTest {
+
+    private CaptureRedactor captureRedactor;
+
+    @Before
+    public void setUp() {
+        captureRedactor = new CaptureRedactor(jacksonMapper);
+    }
+
+    @Test
+    public void redactShouldRedactUserIdentifiersAndConsentInRequestBody() throws IOException {
+        // given
+        final CaptureRecord record = givenRecord(CapturedRequest.of("POST", "/openrtb2/auction", emptyMap(),
+                "{\"device\":{\"ip\":\"1.2.3.4\",\"ifa\":\"ifa\",\"ua\":\"agent\"},"
+                        + "\"user\":{\"id\":\"user\",\"buyeruid\":\"buyer\",\"ext\":{\"consent\":\"consent\","
+                        + "\"eids\":[{\"source\":\"source\",\"uids\":[{\"id\":\"eid\",\"atype\":1}]}]}},"
+                        + "\"regs\":{\"ext\":{\"gdpr\":1,\"us_privacy\":\"1YNN\"}},\"imp\":[{\"id\":\"imp\"}]}"));
+
+        // when
+        final CaptureRecord result = captureRedactor.redact(record);
+
+        // then
+        assertThat(mapper.readTree(result.getRequest().getBody())).isEqualTo(mapper.readTree(
+                "{\"device\":{\"ip\":\"REDACTED\",\"ifa\":\"REDACTED\",\"ua\":\"agent\"},"
+                        + "\"user\":{\"id\":\"REDACTED\",\"buyeruid\":\"REDACTED\",\"ext\":{\"consent\":\"REDACTED\","
+                        + "\"eids\":[{\"source\":\"REDACTED\",\"uids\":[{\"id\":\"REDACTED\",\"atype\":1}]}]}},"
+                        + "\"regs\":{\"ext\":{\"gdpr\":1,\"us_privacy\":\"REDACTED\"}},\"imp\":[{\"id\":\"imp\"}]}"));
+    }
+
+    @Test
+    public void redactShouldRedactSensitiveQueryParameters() {
+        // given
+        final CaptureRecord record = givenRecord(CapturedRequest.of("GET",
+                "/openrtb2/amp?tag_id=tag&gdpr_consent=consent&debug=1", emptyMap(), null));
+
+        // when
+        final CaptureRecord result = captureRedactor.redact(record);
+
+        // then
+        assertThat(result.getRequest().getUri())
+                .isEqualTo("/openrtb2/amp?tag_id=tag&gdpr_consent=REDACTED&debug=1");
+    }
+
+    @Test
+    public void redactShouldRedactBidderCallsAndJsonEmbeddedIntoResponse() throws IOException {
+        // given
+        final CaptureRecord record = givenRecord(null).toBuilder()
+                .response(CapturedResponse.of(200, "{\"ext\":{\"debug\":{\"httpcalls\":{\"bidder\":"
+                        + "[{\"requestbody\":\"{\\\"device\\\":{\\\"ip\\\":\\\"1.2.3.4\\\"}}\"}]}}}}"))
+                .bidderCalls(singletonList(CapturedBidderCall.builder()
+                        .method("POST")
+                        .uri("http://bidder?ip=1.2.3.4&id=1")
+                        .requestBody("{\"ip\":\"1.2.3.4\"}")
+                        .status(200)
+                        .responseBody("not json")
+                        .build()))
+                .build();
+
+        // when
+        final CaptureRecord result = captureRedactor.redact(record);
+
+        // then
+        assertThat(mapper.readTree(result.getResponse().getBody())).isEqualTo(mapper.readTree(
+                "{\"ext\":{\"debug\":{\"httpcalls\":{\"bidder\":"
+                        + "[{\"requestbody\":\"{\\\"device\\\":{\\\"ip\\\":\\\"REDACTED\\\"}}\"}]}}}}"));
+        assertThat(result.getBidderCalls()).containsExactly(CapturedBidderCall.builder()
+                .method("POST")
+                .uri("http://bidder?ip=REDACTED&id=1")
+                .requestBody("{\"ip\":\"REDACTED\"}")
+                .status(200)
+                .responseBody("not json")
+                .build());
+    }
+
+    @Test
+    public void redactShouldCoarsenGeoCoordinates() throws IOException {
+        // given
+        final CaptureRecord record = givenRecord(CapturedRequest.of("POST", "/openrtb2/auction", emptyMap(),
+                "{\"device\":{\"geo\":{\"lat\":51.507351,\"lon\":-0.127758,\"country\":\"GBR\"}},"
+                        + "\"user\":{\"geo\":{\"lat\":\"51.507351\",\"lon\":null}}}"));
+
+        // when
+        final CaptureRecord result = captureRedactor.redact(record);
+
+        // then
+        assertThat(mapper.readTree(result.getRequest().getBody())).isEqualTo(mapper.readTree(
+                "{\"device\":{\"geo\":{\"lat\":51.51,\"lon\":-0.13,\"country\":\"GBR\"}},"
+                        + "\"user\":{\"geo\":{\"lat\":\"REDACTED\",\"lon\":null}}}"));
+    }
+
+    private static CaptureRecord givenRecord(CapturedRequest request) {
+        return CaptureRecord.builder().id("id").request(request).build();
+    }
+}
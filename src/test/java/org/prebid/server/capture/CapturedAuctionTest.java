@@ -0,0 +1,145 @@
+package org.prebid.server.capture;
+
+import io.vertx.core.Future;
+import io.vertx.core.http.HttpMethod;
+import org.junit.Test;
+import org.prebid.server.capture.model.CaptureRecord;
+import org.prebid.server.capture.model.CapturedBidderCall;
+import org.prebid.server.capture.model.CapturedRequest;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.vertx.http.model.HttpClientResponse;
+
+import java.util.concurrent.TimeoutException;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+public class CapturedAuctionTest {
+
+    @Test
+    public void bidderCallShouldRecordResponse() {
+        // given
+        final CapturedAuction capturedAuction = givenCapturingAuction();
+
+        // when
+        final Future<HttpClientResponse> result = capturedAuction.bidderCall(HttpMethod.POST, "uri", "requestBody",
+                () -> Future.succeededFuture(HttpClientResponse.of(200, null, "responseBody")));
+
+        // then
+        assertThat(result.result().getBody()).isEqualTo("responseBody");
+        assertThat(capturedAuction.toRecord(200, "body").getBidderCalls())
+                .containsOnly(CapturedBidderCall.builder()
+                        .method("POST")
+                        .uri("uri")
+                        .requestBody("requestBody")
+                        .status(200)
+                        .responseBody("responseBody")
+                        .build());
+    }
+
+    @Test
+    public void bidderCallShouldRecordTimeout() {
+        // given
+        final CapturedAuction capturedAuction = givenCapturingAuction();
+
+        // when
+        final Future<HttpClientResponse> result = capturedAuction.bidderCall(HttpMethod.POST, "uri", "requestBody",
+                () -> Future.failedFuture(new TimeoutException("Timeout")));
+
+        // then
+        assertThat(result.cause()).isInstanceOf(TimeoutException.class);
+        assertThat(capturedAuction.toRecord(200, "body").getBidderCalls())
+                .extracting(CapturedBidderCall::getStatus, CapturedBidderCall::getError,
+                        CapturedBidderCall::getTimeout)
+                .containsOnly(tuple(null, "Timeout", true));
+    }
+
+    @Test
+    public void toRecordShouldReturnRequestAndResponse() {
+        // given
+        final CapturedAuction capturedAuction = givenCapturingAuction();
+
+        // when
+        final CaptureRecord record = capturedAuction.toRecord(400, "Invalid request");
+
+        // then
+        assertThat(record.getId()).isEqualTo("id");
+        assertThat(record.getEndpoint()).isEqualTo("/openrtb2/auction");
+        assertThat(record.getTimestamp()).isEqualTo(1000L);
+        assertThat(record.getRequest().getBody()).isEqualTo("{}");
+        assertThat(record.getResponse().getStatus()).isEqualTo(400);
+        assertThat(record.getResponse().getBody()).isEqualTo("Invalid request");
+    }
+
+    @Test
+    public void bidderCallShouldReplayCallsWithTheSameUriInOrder() {
+        // given
+        final CapturedAuction capturedAuction = CapturedAuction.replaying(givenRecord(
+                CapturedBidderCall.builder().method("POST").uri("uri").status(200).responseBody("first").build(),
+                CapturedBidderCall.builder().method("POST").uri("other").status(204).build(),
+                CapturedBidderCall.builder().method("POST").uri("uri").status(200).responseBody("second").build()));
+
+        // when
+        final Future<HttpClientResponse> first = capturedAuction.bidderCall(HttpMethod.POST, "uri", null, null);
+        final Future<HttpClientResponse> second = capturedAuction.bidderCall(HttpMethod.POST, "uri", null, null);
+
+        // then
+        assertThat(capturedAuction.isReplay()).isTrue();
+        assertThat(first.result().getBody()).isEqualTo("first");
+        assertThat(second.result().getBody()).isEqualTo("second");
+    }
+
+    @Test
+    public void bidderCallShouldMatchUriWithRedactedQueryParameters() {
+        // given
+        final CapturedAuction capturedAuction = CapturedAuction.replaying(givenRecord(
+                CapturedBidderCall.builder().method("GET").uri("http://bidder?ip=REDACTED&id=1").status(200)
+                        .responseBody("body").build()));
+
+        // when
+        final Future<HttpClientResponse> result = capturedAuction.bidderCall(HttpMethod.GET,
+                "http://bidder?ip=REDACTED&id=1", null, null);
+
+        // then
+        assertThat(result.result().getBody()).isEqualTo("body");
+    }
+
+    @Test
+    public void bidderCallShouldReplayTimeout() {
+        // given
+        final CapturedAuction capturedAuction = CapturedAuction.replaying(givenRecord(
+                CapturedBidderCall.builder().method("POST").uri("uri").error("Timeout").timeout(true).build()));
+
+        // when
+        final Future<HttpClientResponse> result = capturedAuction.bidderCall(HttpMethod.POST, "uri", null, null);
+
+        // then
+        assertThat(result.cause()).isInstanceOf(TimeoutException.class).hasMessage("Timeout");
+    }
+
+    @Test
+    public void bidderCallShouldFailIfCallWasNotCaptured() {
+        // given
+        final CapturedAuction capturedAuction = CapturedAuction.replaying(givenRecord(
+                CapturedBidderCall.builder().method("POST").uri("uri").status(204).build()));
+
+        // when
+        capturedAuction.bidderCall(HttpMethod.POST, "uri", null, null);
+        final Future<HttpClientResponse> result = capturedAuction.bidderCall(HttpMethod.POST, "uri", null, null);
+
+        // then
+        assertThat(result.cause()).isInstanceOf(PreBidException.class)
+                .hasMessage("No captured response for POST uri in capture id");
+    }
+
+    private static CapturedAuction givenCapturingAuction() {
+        return CapturedAuction.capturing("id", "/openrtb2/auction", 1000L,
+                CapturedRequest.of("POST", "/openrtb2/auction", emptyMap(), "{}"));
+    }
+
+    private static CaptureRecord givenRecord(CapturedBidderCall... calls) {
+        return CaptureRecord.builder().id("id").timestamp(1000L).bidderCalls(asList(calls)).build();
+    }
+}
@@ -0,0 +1,143 @@
+package org.prebid.server.capture;
+
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.capture.model.CaptureRecord;
+import org.prebid.server.capture.model.CapturedRequest;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.entry;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class TrafficCaptureServiceTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private TrafficCaptureWriter writer;
+    @Mock
+    private RoutingContext routingContext;
+    @Mock
+    private HttpServerRequest httpRequest;
+
+    private Clock clock;
+    private MultiMap headers;
+
+    @Before
+    public void setUp() {
+        clock = Clock.fixed(Instant.ofEpochMilli(1000L), ZoneId.systemDefault());
+        headers = MultiMap.caseInsensitiveMultiMap();
+
+        given(routingContext.request()).willReturn(httpRequest);
+        given(routingContext.getBodyAsString()).willReturn("{}");
+        given(httpRequest.headers()).willReturn(headers);
+        given(httpRequest.method()).willReturn(HttpMethod.POST);
+        given(httpRequest.uri()).willReturn("/openrtb2/auction?debug=1");
+    }
+
+    @Test
+    public void capturingShouldFailOnInvalidSamplingRate() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> TrafficCaptureService.capturing(1.5, singletonList("User-Agent"), writer, clock));
+    }
+
+    @Test
+    public void startShouldReturnNullIfDisabled() {
+        // when and then
+        assertThat(TrafficCaptureService.disabled(clock).start(routingContext, "/openrtb2/auction")).isNull();
+    }
+
+    @Test
+    public void startShouldReturnNullIfRequestIsNotSampled() {
+        // given
+        final TrafficCaptureService trafficCaptureService =
+                TrafficCaptureService.capturing(0, singletonList("User-Agent"), writer, clock);
+
+        // when and then
+        assertThat(trafficCaptureService.start(routingContext, "/openrtb2/auction")).isNull();
+    }
+
+    @Test
+    public void finishShouldWriteRequestWithRedactedHeadersAndCookies() {
+        // given
+        final TrafficCaptureService trafficCaptureService =
+                TrafficCaptureService.capturing(1, asList("user-agent", "Cookie"), writer, clock);
+
+        headers.add("User-Agent", "agent");
+        headers.add("Authorization", "secret");
+        headers.add("Cookie", "uids=secret");
+
+        // when
+        final CapturedAuction capturedAuction = trafficCaptureService.start(routingContext, "/openrtb2/auction");
+        trafficCaptureService.finish(capturedAuction, 200, "response");
+
+        // then
+        final ArgumentCaptor<CaptureRecord> recordCaptor = ArgumentCaptor.forClass(CaptureRecord.class);
+        verify(writer).write(recordCaptor.capture());
+
+        final CaptureRecord record = recordCaptor.getValue();
+        assertThat(record.getId()).isEqualTo(capturedAuction.getId());
+        assertThat(record.getTimestamp()).isEqualTo(1000L);
+        assertThat(record.getEndpoint()).isEqualTo("/openrtb2/auction");
+
+        final CapturedRequest request = record.getRequest();
+        assertThat(request.getMethod()).isEqualTo("POST");
+        assertThat(request.getUri()).isEqualTo("/openrtb2/auction?debug=1");
+        assertThat(request.getBody()).isEqualTo("{}");
+        assertThat(request.getHeaders()).containsOnly(
+                entry("User-Agent", "agent"),
+                entry("Authorization", "REDACTED"),
+                entry("Cookie", "REDACTED"));
+        assertThat(record.getResponse().getStatus()).isEqualTo(200);
+        assertThat(record.getResponse().getBody()).isEqualTo("response");
+    }
+
+    @Test
+    public void startShouldReturnReplayedAuctionMatchingCaptureIdHeader() {
+        // given
+        final TrafficCaptureService trafficCaptureService = TrafficCaptureService.replaying(
+                singletonList(CaptureRecord.builder().id("captureId").build()), clock);
+
+        headers.add(TrafficCaptureService.CAPTURE_ID_HEADER, "captureId");
+
+        // when
+        final CapturedAuction capturedAuction = trafficCaptureService.start(routingContext, "/openrtb2/auction");
+        trafficCaptureService.finish(capturedAuction, 200, "response");
+
+        // then
+        assertThat(capturedAuction.isReplay()).isTrue();
+        assertThat(capturedAuction.getId()).isEqualTo("captureId");
+        verifyZeroInteractions(writer);
+    }
+
+    @Test
+    public void startShouldReturnNullIfCaptureIdIsUnknown() {
+        // given
+        final TrafficCaptureService trafficCaptureService = TrafficCaptureService.replaying(
+                singletonList(CaptureRecord.builder().id("captureId").build()), clock);
+
+        headers.add(TrafficCaptureService.CAPTURE_ID_HEADER, "unknown");
+
+        // when and then
+        assertThat(trafficCaptureService.start(routingContext, "/openrtb2/auction")).isNull();
+    }
+}
@@ -0,0 +1,151 @@
+package org.prebid.server.capture;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.prebid.server.VertxTest;
+import org.prebid.server.capture.model.CaptureRecord;
+import org.prebid.server.capture.model.CapturedBidderCall;
+import org.prebid.server.capture.model.CapturedRequest;
+import org.prebid.server.capture.model.CapturedResponse;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+
+public class TrafficCaptureWriterTest extends VertxTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private Path directory;
+    private Clock clock;
+
+    @Before
+    public void setUp() {
+        directory = temporaryFolder.getRoot().toPath().resolve("capture");
+        clock = Clock.fixed(Instant.ofEpochMilli(1000L), ZoneId.systemDefault());
+    }
+
+    @Test
+    public void writtenRecordsShouldBeReadBack() throws IOException {
+        // given
+        final TrafficCaptureWriter writer = new TrafficCaptureWriter(directory, 1024 * 1024, 2, 10, clock,
+                jacksonMapper);
+        final CaptureRecord record = CaptureRecord.builder()
+                .id("id")
+                .timestamp(1000L)
+                .endpoint("/openrtb2/auction")
+                .request(CapturedRequest.of("POST", "/openrtb2/auction", singletonMap("User-Agent", "agent"), "{}"))
+                .response(CapturedResponse.of(200, "{\"id\":\"1\"}"))
+                .bidderCalls(singletonList(CapturedBidderCall.builder()
+                        .method("POST").uri("uri").requestBody("{}").status(204).build()))
+                .build();
+
+        // when
+        writer.writeBatch(Arrays.asList(record, record.toBuilder().id("id2").build()));
+
+        // then
+        final List<CaptureRecord> records = TrafficCaptureReader.read(directory, jacksonMapper);
+        assertThat(records).containsExactly(record, record.toBuilder().id("id2").build());
+    }
+
+    @Test
+    public void writeBatchShouldSkipRecordWhichFailsToBeRedacted() throws IOException {
+        // given
+        final CaptureRedactor redactor = mock(CaptureRedactor.class);
+        final CaptureRecord record = CaptureRecord.builder().id("id").build();
+        final CaptureRecord failingRecord = CaptureRecord.builder().id("failing").build();
+        given(redactor.redact(any())).willAnswer(invocation -> invocation.getArgument(0));
+        given(redactor.redact(failingRecord)).willThrow(new IllegalStateException("failed"));
+
+        final TrafficCaptureWriter writer = new TrafficCaptureWriter(directory, 1024 * 1024, 2, 10, clock,
+                jacksonMapper, redactor);
+
+        // when
+        writer.writeBatch(Arrays.asList(failingRecord, record));
+
+        // then
+        assertThat(TrafficCaptureReader.read(directory, jacksonMapper)).containsExactly(record);
+    }
+
+    @Test
+    public void writtenRecordsShouldHaveUserIdentifiersRedacted() throws IOException {
+        // given
+        final TrafficCaptureWriter writer = new TrafficCaptureWriter(directory, 1024 * 1024, 2, 10, clock,
+                jacksonMapper);
+        final CaptureRecord record = CaptureRecord.builder()
+                .id("id")
+                .request(CapturedRequest.of("POST", "/openrtb2/auction", emptyMap(),
+                        "{\"device\":{\"ip\":\"1.2.3.4\"}}"))
+                .build();
+
+        // when
+        writer.writeBatch(singletonList(record));
+
+        // then
+        assertThat(TrafficCaptureReader.read(directory, jacksonMapper))
+                .extracting(captured -> captured.getRequest().getBody())
+                .containsExactly("{\"device\":{\"ip\":\"REDACTED\"}}");
+    }
+
+    @Test
+    public void shouldRotateFilesAndKeepMaxFiles() throws IOException {
+        // given
+        final TrafficCaptureWriter writer = new TrafficCaptureWriter(directory, 1, 2, 10, clock, jacksonMapper);
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            writer.writeBatch(singletonList(CaptureRecord.builder().id("id" + i).build()));
+        }
+
+        // then
+        assertThat(TrafficCaptureReader.captureFiles(directory)).hasSize(2);
+        assertThat(TrafficCaptureReader.read(directory, jacksonMapper))
+                .extracting(CaptureRecord::getId)
+                .containsExactly("id3", "id4");
+    }
+
+    @Test
+    public void readShouldTolerateTruncatedFile() throws IOException {
+        // given
+        final TrafficCaptureWriter writer = new TrafficCaptureWriter(directory, 1024 * 1024, 2, 10, clock,
+                jacksonMapper);
+
+        // when
+        writer.writeBatch(singletonList(CaptureRecord.builder().id("id").build()));
+
+        // then
+        // file is not closed, so gzip trailer is missing
+        assertThat(TrafficCaptureReader.read(directory, jacksonMapper))
+                .extracting(CaptureRecord::getId)
+                .containsExactly("id");
+    }
+
+    @Test
+    public void writeShouldDropRecordsAfterClose() {
+        // given
+        final TrafficCaptureWriter writer = new TrafficCaptureWriter(directory, 1024, 2, 10, clock, jacksonMapper);
+        writer.start();
+
+        // when
+        writer.close();
+
+        // then
+        assertThat(writer.write(CaptureRecord.builder().id("id").build())).isFalse();
+        assertThat(writer.dropped()).isEqualTo(1);
+    }
+}
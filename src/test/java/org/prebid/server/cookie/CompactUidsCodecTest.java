@@ -0,0 +1,151 @@
+package org.prebid.server.cookie;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.cookie.model.UidWithExpiry;
+import org.prebid.server.cookie.proto.Uids;
+
+import java.time.Clock;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class CompactUidsCodecTest {
+
+    private CompactUidsCodec compactUidsCodec;
+
+    @Before
+    public void setUp() {
+        compactUidsCodec = givenCodec("adnxs", "rubicon");
+    }
+
+    @Test
+    public void decodeShouldReturnEncodedUids() {
+        // given
+        final ZonedDateTime now = ZonedDateTime.now(Clock.systemUTC()).truncatedTo(ChronoUnit.SECONDS);
+        final Map<String, UidWithExpiry> uidsMap = new HashMap<>();
+        uidsMap.put("rubicon", new UidWithExpiry("J5VLCWQP-26-CWFT", now.plusDays(14)));
+        uidsMap.put("adnxs", new UidWithExpiry("12345", now.minusMinutes(5)));
+        uidsMap.put("unknown", new UidWithExpiry("ünïcode", null));
+        final Uids uids = Uids.builder().uids(uidsMap).optout(false).bday(now.minusYears(1)).build();
+
+        // when
+        final Uids result = compactUidsCodec.decode(compactUidsCodec.encode(uids, 0));
+
+        // then
+        assertThat(result.getUids()).isEqualTo(uidsMap);
+        assertThat(result.getOptout()).isFalse();
+        assertThat(result.getBday()).isEqualTo(now.minusYears(1));
+    }
+
+    @Test
+    public void encodeShouldSkipEmptyAndFacebookSentinelUids() {
+        // given
+        final Map<String, UidWithExpiry> uidsMap = new HashMap<>();
+        uidsMap.put("rubicon", UidWithExpiry.live(""));
+        uidsMap.put("audienceNetwork", UidWithExpiry.live("0"));
+        uidsMap.put("adnxs", UidWithExpiry.live("12345"));
+
+        // when
+        final Uids result = compactUidsCodec.decode(compactUidsCodec.encode(
+                Uids.builder().uids(uidsMap).build(), 0));
+
+        // then
+        assertThat(result.getUids()).containsOnlyKeys("adnxs");
+        assertThat(result.getOptout()).isNull();
+        assertThat(result.getBday()).isNull();
+    }
+
+    @Test
+    public void lazyUidsShouldReturnRequestedUidAndTellIfAnyIsLive() {
+        // given
+        final Map<String, UidWithExpiry> uidsMap = new HashMap<>();
+        uidsMap.put("rubicon", UidWithExpiry.expired("rubiconUid"));
+        uidsMap.put("adnxs", UidWithExpiry.live("adnxsUid"));
+        final byte[] bytes = compactUidsCodec.encode(Uids.builder().uids(uidsMap).build(), 0);
+
+        // when
+        final CompactUidsCodec.LazyUids result = (CompactUidsCodec.LazyUids) compactUidsCodec.decode(bytes).getUids();
+
+        // then
+        assertThat(result.get("adnxs").getUid()).isEqualTo("adnxsUid");
+        assertThat(result.get("unknown")).isNull();
+        assertThat(result.size()).isEqualTo(2);
+        assertThat(result.hasUidsExpiringAfter(ZonedDateTime.now())).isTrue();
+        assertThat(result.hasUidsExpiringAfter(ZonedDateTime.now().plusDays(15))).isFalse();
+    }
+
+    @Test
+    public void decodeShouldSkipOnlyFamiliesWithIdsUnknownToThisInstance() {
+        // given
+        final Map<String, UidWithExpiry> uidsMap = new HashMap<>();
+        uidsMap.put("rubicon", UidWithExpiry.live("rubiconUid"));
+        uidsMap.put("appnexus", UidWithExpiry.live("appnexusUid"));
+        uidsMap.put("unknown", UidWithExpiry.live("unknownUid"));
+        // newer instance has "appnexus" family appended to IDs table
+        final byte[] bytes = givenCodec("adnxs", "rubicon", "appnexus").encode(
+                Uids.builder().uids(uidsMap).build(), 0);
+
+        // when
+        final Uids result = compactUidsCodec.decode(bytes);
+
+        // then
+        assertThat(result.getUids()).containsOnlyKeys("rubicon", "unknown");
+        assertThat(result.getUids().get("appnexus")).isNull();
+        assertThat(result.getUids().get("rubicon").getUid()).isEqualTo("rubiconUid");
+    }
+
+    @Test
+    public void decodeShouldReadFamiliesMissingFromIdsTableByName() {
+        // given
+        final Map<String, UidWithExpiry> uidsMap = new HashMap<>();
+        uidsMap.put("rubicon", UidWithExpiry.live("rubiconUid"));
+        uidsMap.put("appnexus", UidWithExpiry.live("appnexusUid"));
+        // older instance doesn't have "appnexus" family in IDs table yet
+        final byte[] bytes = compactUidsCodec.encode(Uids.builder().uids(uidsMap).build(), 0);
+
+        // when
+        final Uids result = givenCodec("adnxs", "rubicon", "appnexus").decode(bytes);
+
+        // then
+        assertThat(result.getUids()).containsOnlyKeys("rubicon", "appnexus");
+    }
+
+    @Test
+    public void creationShouldFailOnDuplicateFamilyInIdsTable() {
+        assertThatIllegalArgumentException().isThrownBy(() -> givenCodec("adnxs", "rubicon", "adnxs"))
+                .withMessage("Duplicate cookie family in IDs table: adnxs");
+    }
+
+    @Test
+    public void defaultIdsTableShouldBeValid() {
+        assertThat(new CompactUidsCodec().isCompact(new byte[]{2})).isTrue();
+    }
+
+    @Test
+    public void decodeShouldFailIfCookieIsTruncated() {
+        // given
+        final Map<String, UidWithExpiry> uidsMap = new HashMap<>();
+        uidsMap.put("rubicon", UidWithExpiry.live("rubiconUid"));
+        final byte[] bytes = compactUidsCodec.encode(Uids.builder().uids(uidsMap).build(), 0);
+
+        // when and then
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> compactUidsCodec.decode(Arrays.copyOf(bytes, bytes.length - 1)));
+    }
+
+    @Test
+    public void isCompactShouldReturnFalseForJson() {
+        assertThat(compactUidsCodec.isCompact("{\"uids\":{}}".getBytes())).isFalse();
+    }
+
+    private static CompactUidsCodec givenCodec(String... cookieFamilyNames) {
+        return new CompactUidsCodec(asList(cookieFamilyNames));
+    }
+}
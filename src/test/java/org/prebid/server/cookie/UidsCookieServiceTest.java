@@ -3,6 +3,7 @@ package org.prebid.server.cookie;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import io.vertx.ext.web.Cookie;
 import io.vertx.ext.web.RoutingContext;
+import org.apache.commons.lang3.StringUtils;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -50,12 +51,15 @@ public class UidsCookieServiceTest extends VertxTest {
     @Mock
     private RoutingContext routingContext;
 
+    private CompactUidsCodec compactUidsCodec;
     private UidsCookieService uidsCookieService;
 
     @Before
     public void setUp() {
+        compactUidsCodec = new CompactUidsCodec(asList(RUBICON, ADNXS));
         uidsCookieService = new UidsCookieService(
-                "trp_optout", "true", null, null, "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES, jacksonMapper);
+                "trp_optout", "true", null, null, "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES, compactUidsCodec, false,
+                jacksonMapper);
     }
 
     @Test
@@ -185,7 +189,8 @@ public class UidsCookieServiceTest extends VertxTest {
     public void shouldReturnUidsCookieWithOptoutFalseIfOptoutCookieNameNotSpecified() {
         // given
         uidsCookieService = new UidsCookieService(
-                null, "true", null, null, "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES, jacksonMapper);
+                null, "true", null, null, "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES, compactUidsCodec, false,
+                jacksonMapper);
         given(routingContext.cookies()).willReturn(singleton(Cookie.cookie("trp_optout", "true")));
 
         // when
@@ -199,7 +204,8 @@ public class UidsCookieServiceTest extends VertxTest {
     public void shouldReturnUidsCookieWithOptoutFalseIfOptoutCookieValueNotSpecified() {
         // given
         uidsCookieService = new UidsCookieService(
-                "trp_optout", null, null, null, "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES, jacksonMapper);
+                "trp_optout", null, null, null, "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES, compactUidsCodec, false,
+                jacksonMapper);
         given(routingContext.cookies()).willReturn(singleton(Cookie.cookie("trp_optout", "true")));
 
         // when
@@ -213,7 +219,8 @@ public class UidsCookieServiceTest extends VertxTest {
     public void shouldReturnRubiconCookieValueFromHostCookieWhenUidValueIsAbsent() {
         // given
         uidsCookieService = new UidsCookieService(
-                "trp_optout", "true", "rubicon", "khaos", "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES, jacksonMapper);
+                "trp_optout", "true", "rubicon", "khaos", "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES,
+                compactUidsCodec, false, jacksonMapper);
         given(routingContext.cookies()).willReturn(singleton(Cookie.cookie("khaos", "abc123")));
 
         // when
@@ -227,7 +234,8 @@ public class UidsCookieServiceTest extends VertxTest {
     public void shouldReturnRubiconCookieValueFromHostCookieWhenUidValueIsPresentButDiffers() {
         // given
         uidsCookieService = new UidsCookieService(
-                "trp_optout", "true", "rubicon", "khaos", "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES, jacksonMapper);
+                "trp_optout", "true", "rubicon", "khaos", "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES,
+                compactUidsCodec, false, jacksonMapper);
 
         // this uids cookie value stands for {"uids":{"rubicon":"J5VLCWQP-26-CWFT","adnxs":"12345"}}
         given(routingContext.cookies()).willReturn(new HashSet<>(asList(
@@ -277,7 +285,8 @@ public class UidsCookieServiceTest extends VertxTest {
         // the size of uidsCookie above is 530, therefore it is expected to be modified.
         final int maxCookieSizeBytes = 500;
         uidsCookieService = new UidsCookieService(OPT_OUT_COOKIE_NAME, OPT_OUT_COOKIE_VALUE, null,
-                null, HOST_COOKIE_DOMAIN, 90, maxCookieSizeBytes, jacksonMapper);
+                null, HOST_COOKIE_DOMAIN, 90, maxCookieSizeBytes, compactUidsCodec, false,
+                jacksonMapper);
 
         // when
         final Cookie cookie = uidsCookieService.toCookie(uidsCookie);
@@ -357,7 +366,8 @@ public class UidsCookieServiceTest extends VertxTest {
     public void shouldParseHostCookie() {
         // given
         uidsCookieService = new UidsCookieService(
-                "trp_optout", "true", null, "khaos", "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES, jacksonMapper);
+                "trp_optout", "true", null, "khaos", "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES,
+                compactUidsCodec, false, jacksonMapper);
 
         // when
         final String hostCookie = uidsCookieService.parseHostCookie(singletonMap("khaos", "userId"));
@@ -385,6 +395,71 @@ public class UidsCookieServiceTest extends VertxTest {
         assertThat(hostCookie).isNull();
     }
 
+    @Test
+    public void toCookieShouldWriteCompactCookieWhichIsParsedBack() {
+        // given
+        uidsCookieService = new UidsCookieService(
+                "trp_optout", "true", null, null, "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES, compactUidsCodec, true,
+                jacksonMapper);
+        final UidsCookie uidsCookie = new UidsCookie(Uids.builder().uids(new HashMap<>()).build(), jacksonMapper)
+                .updateUid(RUBICON, "rubiconUid")
+                .updateUid("unknown", "unknownUid");
+
+        // when
+        final Cookie cookie = uidsCookieService.toCookie(uidsCookie);
+
+        // then
+        assertThat(compactUidsCodec.isCompact(Base64.getUrlDecoder().decode(cookie.getValue()))).isTrue();
+
+        final UidsCookie parsed = uidsCookieService.parseFromCookies(singletonMap("uids", cookie.getValue()));
+        assertThat(parsed.uidFrom(RUBICON)).isEqualTo("rubiconUid");
+        assertThat(parsed.uidFrom("unknown")).isEqualTo("unknownUid");
+        assertThat(parsed.uidFrom(ADNXS)).isNull();
+        assertThat(parsed.hasLiveUids()).isTrue();
+    }
+
+    @Test
+    public void toCookieShouldMigrateJsonCookieToCompactIfEnabled() {
+        // given
+        uidsCookieService = new UidsCookieService(
+                "trp_optout", "true", null, null, "cookie-domain", 90, MAX_COOKIE_SIZE_BYTES, compactUidsCodec, true,
+                jacksonMapper);
+        // this uids cookie value stands for {"uids":{"rubicon":"J5VLCWQP-26-CWFT","adnxs":"12345"}}
+        final UidsCookie uidsCookie = uidsCookieService.parseFromCookies(singletonMap("uids",
+                "eyJ1aWRzIjp7InJ1Ymljb24iOiJKNVZMQ1dRUC0yNi1DV0ZUIiwiYWRueHMiOiIxMjM0NSJ9fQ=="));
+
+        // when
+        final Cookie cookie = uidsCookieService.toCookie(uidsCookie);
+
+        // then
+        final Uids uids = compactUidsCodec.decode(Base64.getUrlDecoder().decode(cookie.getValue()));
+        assertThat(uids.getUids().get(RUBICON).getUid()).isEqualTo("J5VLCWQP-26-CWFT");
+        assertThat(uids.getUids().get(ADNXS).getUid()).isEqualTo("12345");
+    }
+
+    @Test
+    public void toCookieShouldEnforceMaxCookieSizeInCompactFormatDroppingUidsWithCloserExpirationDate() {
+        // given
+        final ZonedDateTime now = ZonedDateTime.now(Clock.systemUTC());
+        final Map<String, UidWithExpiry> uidsMap = new HashMap<>();
+        for (int i = 0; i < 7; i++) {
+            uidsMap.put("family" + i, new UidWithExpiry(StringUtils.repeat('a', 100), now.plusDays(i)));
+        }
+        final UidsCookie uidsCookie = new UidsCookie(Uids.builder().uids(uidsMap).build(), jacksonMapper);
+
+        uidsCookieService = new UidsCookieService(
+                "trp_optout", "true", null, null, "cookie-domain", 90, 500, compactUidsCodec, true, jacksonMapper);
+
+        // when
+        final Cookie cookie = uidsCookieService.toCookie(uidsCookie);
+
+        // then
+        final byte[] cookieBytes = Base64.getUrlDecoder().decode(cookie.getValue());
+        assertThat(cookieBytes.length).isLessThanOrEqualTo(500);
+        assertThat(compactUidsCodec.decode(cookieBytes).getUids())
+                .containsOnlyKeys("family3", "family4", "family5", "family6");
+    }
+
     private static String encodeUids(Uids uids) throws JsonProcessingException {
         return Base64.getUrlEncoder().encodeToString(mapper.writeValueAsBytes(uids));
     }
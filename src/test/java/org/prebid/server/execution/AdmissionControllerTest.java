@@ -0,0 +1,160 @@
+package org.prebid.server.execution;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.Metrics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class AdmissionControllerTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+
+    private final AtomicLong eventLoopLagMs = new AtomicLong();
+    private final AtomicInteger pendingBidderRequests = new AtomicInteger();
+
+    @Test
+    public void creationShouldFailOnNegativeLimit() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> givenController(-1, 0, 0))
+                .withMessage("Max in-flight auctions must be non-negative, but was -1");
+    }
+
+    @Test
+    public void creationShouldFailOnPremiumLimitMultiplierLessThanOne() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new AdmissionController(0, 0, 0, emptyList(), 0.5, eventLoopLagMs::get,
+                        pendingBidderRequests::get, metrics))
+                .withMessage("Premium limit multiplier must be at least 1, but was 0.5");
+    }
+
+    @Test
+    public void shouldAdmitEverythingIfAllLimitsAreZero() {
+        // given
+        final AdmissionController admissionController = givenController(0, 0, 0);
+        eventLoopLagMs.set(Long.MAX_VALUE);
+        pendingBidderRequests.set(Integer.MAX_VALUE);
+
+        // when and then
+        assertThat(admissionController.isEnabled()).isFalse();
+        for (int i = 0; i < 100; i++) {
+            assertThat(admissionController.enter()).isTrue();
+        }
+        assertThat(admissionController.admit("account")).isTrue();
+        verifyZeroInteractions(metrics);
+    }
+
+    @Test
+    public void enterShouldNotLetConcurrentAuctionsExceedInFlightLimit() throws InterruptedException {
+        // given
+        final AdmissionController admissionController = givenController(50, 0, 0);
+        final AtomicInteger entered = new AtomicInteger();
+        final Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 1000; j++) {
+                    if (admissionController.enter()) {
+                        entered.incrementAndGet();
+                    }
+                }
+            });
+        }
+
+        // when
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // then
+        assertThat(entered.get()).isEqualTo(100);
+    }
+
+    @Test
+    public void enterShouldShedAuctionOnlyIfInFlightAuctionsExceedPremiumLimit() {
+        // given
+        final AdmissionController admissionController = givenController(2, 0, 0);
+
+        // when and then
+        for (int i = 0; i < 4; i++) {
+            assertThat(admissionController.enter()).isTrue();
+        }
+        assertThat(admissionController.enter()).isFalse();
+        verify(metrics).updateAuctionAdmissionMetric(false);
+
+        admissionController.exit();
+        assertThat(admissionController.enter()).isTrue();
+    }
+
+    @Test
+    public void admitShouldShedRegularAccountsBeforePremiumOnes() {
+        // given
+        final AdmissionController admissionController = givenController(2, 0, 0);
+        admissionController.enter();
+        admissionController.enter();
+        admissionController.enter();
+
+        // when and then
+        assertThat(admissionController.admit("account")).isFalse();
+        assertThat(admissionController.admit("premium")).isTrue();
+        verify(metrics).updateAuctionAdmissionMetric(false);
+        verify(metrics).updateAuctionAdmissionMetric(true);
+    }
+
+    @Test
+    public void shouldShedAuctionsIfEventLoopLagExceedsLimit() {
+        // given
+        final AdmissionController admissionController = givenController(0, 100, 0);
+        eventLoopLagMs.set(150);
+
+        // when and then
+        assertThat(admissionController.enter()).isTrue();
+        assertThat(admissionController.admit("account")).isFalse();
+        assertThat(admissionController.admit("premium")).isTrue();
+
+        eventLoopLagMs.set(250);
+        assertThat(admissionController.enter()).isFalse();
+        assertThat(admissionController.admit("premium")).isFalse();
+    }
+
+    @Test
+    public void shouldShedAuctionsIfPendingBidderRequestsExceedLimit() {
+        // given
+        final AdmissionController admissionController = givenController(0, 0, 1000);
+        pendingBidderRequests.set(1500);
+
+        // when and then
+        assertThat(admissionController.enter()).isTrue();
+        assertThat(admissionController.admit("account")).isFalse();
+        assertThat(admissionController.admit("premium")).isTrue();
+
+        pendingBidderRequests.set(2001);
+        assertThat(admissionController.enter()).isFalse();
+        verify(metrics, times(2)).updateAuctionAdmissionMetric(false);
+    }
+
+    private AdmissionController givenController(int maxInFlightAuctions, long maxEventLoopLagMs,
+                                                int maxPendingBidderRequests) {
+
+        return new AdmissionController(maxInFlightAuctions, maxEventLoopLagMs, maxPendingBidderRequests,
+                singletonList("premium"), 2, eventLoopLagMs::get, pendingBidderRequests::get, metrics);
+    }
+}
@@ -0,0 +1,45 @@
+package org.prebid.server.execution;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class ResourceMeterFactoryTest {
+
+    @Test
+    public void creationShouldFailOnInvalidSamplingRate() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new ResourceMeterFactory(true, -0.1));
+        assertThatIllegalArgumentException().isThrownBy(() -> new ResourceMeterFactory(true, 1.1));
+    }
+
+    @Test
+    public void createShouldReturnDisabledMeterIfDisabled() {
+        // when
+        final ResourceMeter resourceMeter = new ResourceMeterFactory(false, 1).create();
+
+        // then
+        assertThat(resourceMeter.isEnabled()).isFalse();
+        assertThat(resourceMeter.isSampled()).isFalse();
+    }
+
+    @Test
+    public void createShouldReturnSampledMeterIfSamplingRateIsOne() {
+        // when
+        final ResourceMeter resourceMeter = new ResourceMeterFactory(true, 1).create();
+
+        // then
+        assertThat(resourceMeter.isEnabled()).isTrue();
+        assertThat(resourceMeter.isSampled()).isTrue();
+    }
+
+    @Test
+    public void createShouldReturnEnabledNotSampledMeterIfRequestIsNotSampled() {
+        // when
+        final ResourceMeter resourceMeter = new ResourceMeterFactory(true, 0).create();
+
+        // then
+        assertThat(resourceMeter.isEnabled()).isTrue();
+        assertThat(resourceMeter.isSampled()).isFalse();
+    }
+}
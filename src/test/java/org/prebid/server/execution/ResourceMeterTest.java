@@ -0,0 +1,112 @@
+package org.prebid.server.execution;
+
+import io.vertx.core.Future;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ResourceMeterTest {
+
+    private static final int ALLOCATION_SIZE = 1_000_000;
+
+    private final ResourceMeter resourceMeter = new ResourceMeter(true, false);
+
+    @Test
+    public void shouldAccountAllocationsBetweenResumeAndSuspend() {
+        // when
+        resourceMeter.resume();
+        allocate();
+        resourceMeter.suspend();
+
+        // then
+        assertThat(resourceMeter.getAllocatedBytes()).isGreaterThanOrEqualTo(ALLOCATION_SIZE);
+        assertThat(resourceMeter.getCpuNanos()).isGreaterThanOrEqualTo(0);
+        assertThat(resourceMeter.getSegments()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldNotAccountAllocationsOutsideOfSegments() {
+        // given
+        resourceMeter.resume();
+        resourceMeter.suspend();
+        final long allocatedBytes = resourceMeter.getAllocatedBytes();
+
+        // when
+        allocate();
+
+        // then
+        assertThat(resourceMeter.getAllocatedBytes()).isEqualTo(allocatedBytes);
+    }
+
+    @Test
+    public void shouldAccountNestedSegmentAsPartOfOuterOne() {
+        // when
+        resourceMeter.resume();
+        resourceMeter.resume();
+        allocate();
+        resourceMeter.suspend();
+        resourceMeter.suspend();
+
+        // then
+        assertThat(resourceMeter.getAllocatedBytes()).isGreaterThanOrEqualTo(ALLOCATION_SIZE)
+                .isLessThan(2 * ALLOCATION_SIZE);
+        assertThat(resourceMeter.getSegments()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldIncludeCurrentSegmentInTotals() {
+        // when
+        resourceMeter.resume();
+        allocate();
+
+        // then
+        assertThat(resourceMeter.getAllocatedBytes()).isGreaterThanOrEqualTo(ALLOCATION_SIZE);
+        assertThat(resourceMeter.getSegments()).isZero();
+    }
+
+    @Test
+    public void measureShouldAccountHandlersOfFutureAsSegment() {
+        // given
+        final Future<String> future = Future.future();
+        final Future<Integer> result = resourceMeter.measure(future)
+                .map(value -> allocate().length);
+
+        // when
+        future.complete("value");
+
+        // then
+        assertThat(result.result()).isEqualTo(ALLOCATION_SIZE);
+        assertThat(resourceMeter.getAllocatedBytes()).isGreaterThanOrEqualTo(ALLOCATION_SIZE);
+        assertThat(resourceMeter.getSegments()).isEqualTo(1);
+    }
+
+    @Test
+    public void measureShouldReturnCompletedFutureAsIs() {
+        // given
+        final Future<String> future = Future.succeededFuture("value");
+
+        // when and then
+        assertThat(resourceMeter.measure(future)).isSameAs(future);
+    }
+
+    @Test
+    public void disabledShouldMeasureNothing() {
+        // given
+        final ResourceMeter disabled = ResourceMeter.disabled();
+        final Future<String> future = Future.future();
+
+        // when
+        disabled.resume();
+        allocate();
+        disabled.suspend();
+
+        // then
+        assertThat(disabled.getAllocatedBytes()).isZero();
+        assertThat(disabled.getSegments()).isZero();
+        assertThat(disabled.measure(future)).isSameAs(future);
+    }
+
+    private static byte[] allocate() {
+        return new byte[ALLOCATION_SIZE];
+    }
+}
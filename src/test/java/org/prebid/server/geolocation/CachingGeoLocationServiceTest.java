@@ -0,0 +1,145 @@
+package org.prebid.server.geolocation;
+
+import io.vertx.core.Future;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.geolocation.model.GeoInfo;
+import org.prebid.server.metric.Metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class CachingGeoLocationServiceTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private GeoLocationService wrappedGeoLocationService;
+    @Mock
+    private Metrics metrics;
+
+    private CachingGeoLocationService geoLocationService;
+
+    @Before
+    public void setUp() {
+        given(wrappedGeoLocationService.lookup(anyString(), any()))
+                .willReturn(Future.succeededFuture(GeoInfo.builder().vendor("vendor").country("fr").build()));
+
+        geoLocationService = new CachingGeoLocationService(wrappedGeoLocationService, 100, 32, 128, metrics);
+    }
+
+    @Test
+    public void creationShouldFailOnInvalidPrefixLength() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new CachingGeoLocationService(wrappedGeoLocationService, 100, 33, 128, metrics));
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new CachingGeoLocationService(wrappedGeoLocationService, 100, 32, 0, metrics));
+    }
+
+    @Test
+    public void lookupShouldReturnCachedGeoInfoForSameAddress() {
+        // when
+        final Future<GeoInfo> first = geoLocationService.lookup("80.215.195.122", null);
+        final Future<GeoInfo> second = geoLocationService.lookup("80.215.195.122", null);
+
+        // then
+        assertThat(second.result()).isSameAs(first.result());
+        verify(wrappedGeoLocationService).lookup("80.215.195.122", null);
+        verify(metrics).updateGeoLocationCacheMetric(false);
+        verify(metrics).updateGeoLocationCacheMetric(true);
+    }
+
+    @Test
+    public void lookupShouldNotShareGeoInfoBetweenAddressesIfExactAddressIsCached() {
+        // when
+        geoLocationService.lookup("80.215.195.122", null);
+        geoLocationService.lookup("80.215.195.123", null);
+
+        // then
+        verify(wrappedGeoLocationService, times(2)).lookup(anyString(), any());
+    }
+
+    @Test
+    public void lookupShouldShareGeoInfoWithinIpv4Prefix() {
+        // given
+        geoLocationService = new CachingGeoLocationService(wrappedGeoLocationService, 100, 24, 128, metrics);
+
+        // when
+        geoLocationService.lookup("80.215.195.122", null);
+        geoLocationService.lookup("80.215.195.7", null);
+        geoLocationService.lookup("80.215.196.7", null);
+
+        // then
+        verify(wrappedGeoLocationService).lookup("80.215.195.122", null);
+        verify(wrappedGeoLocationService).lookup("80.215.196.7", null);
+        verify(wrappedGeoLocationService, times(2)).lookup(anyString(), any());
+    }
+
+    @Test
+    public void lookupShouldShareGeoInfoWithinIpv6Prefix() {
+        // given
+        geoLocationService = new CachingGeoLocationService(wrappedGeoLocationService, 100, 32, 48, metrics);
+
+        // when
+        geoLocationService.lookup("2001:db8:85a3::8a2e:370:7334", null);
+        geoLocationService.lookup("2001:db8:85a3:1::1", null);
+        geoLocationService.lookup("2001:db8:85a4::1", null);
+
+        // then
+        verify(wrappedGeoLocationService, times(2)).lookup(anyString(), any());
+    }
+
+    @Test
+    public void lookupShouldNotCacheAnythingButIpAddress() {
+        // given
+        geoLocationService = new CachingGeoLocationService(wrappedGeoLocationService, 100, 24, 48, metrics);
+
+        // when
+        geoLocationService.lookup("localhost", null);
+        geoLocationService.lookup("localhost", null);
+        geoLocationService.lookup("80.215.195.256", null);
+
+        // then
+        verify(wrappedGeoLocationService, times(3)).lookup(anyString(), any());
+        verifyZeroInteractions(metrics);
+    }
+
+    @Test
+    public void lookupShouldNotCacheFailedLookup() {
+        // given
+        given(wrappedGeoLocationService.lookup(anyString(), any()))
+                .willReturn(Future.failedFuture("not found"));
+
+        // when
+        final Future<GeoInfo> first = geoLocationService.lookup("80.215.195.122", null);
+        geoLocationService.lookup("80.215.195.122", null);
+
+        // then
+        assertThat(first.failed()).isTrue();
+        verify(wrappedGeoLocationService, times(2)).lookup(anyString(), any());
+    }
+
+    @Test
+    public void invalidateAllShouldDropCachedGeoInfo() {
+        // given
+        geoLocationService.lookup("80.215.195.122", null);
+
+        // when
+        geoLocationService.invalidateAll();
+        geoLocationService.lookup("80.215.195.122", null);
+
+        // then
+        verify(wrappedGeoLocationService, times(2)).lookup(anyString(), any());
+    }
+}
@@ -1,6 +1,7 @@
 package org.prebid.server.geolocation;
 
 import com.maxmind.geoip2.DatabaseReader;
+import com.maxmind.geoip2.exception.AddressNotFoundException;
 import com.maxmind.geoip2.exception.GeoIp2Exception;
 import com.maxmind.geoip2.model.CityResponse;
 import com.maxmind.geoip2.record.City;
@@ -9,14 +10,24 @@ import com.maxmind.geoip2.record.Country;
 import com.maxmind.geoip2.record.Location;
 import com.maxmind.geoip2.record.Subdivision;
 import io.vertx.core.Future;
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
-import org.mockito.internal.util.reflection.FieldSetter;
 import org.prebid.server.geolocation.model.GeoInfo;
 
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
 
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
@@ -24,11 +35,16 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 
 public class MaxMindGeoLocationServiceTest {
 
     private static final String TEST_IP = "80.215.195.122";
 
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private MaxMindGeoLocationService maxMindGeoLocationService;
 
     @Before
@@ -59,8 +75,7 @@ public class MaxMindGeoLocationServiceTest {
     }
 
     @Test
-    public void lookupShouldReturnCountryIsoWhenDatabaseReaderWasSet() throws NoSuchFieldException, IOException,
-            GeoIp2Exception {
+    public void lookupShouldReturnCountryIsoWhenDatabaseReaderWasSet() throws IOException, GeoIp2Exception {
         // given
         final Country country = new Country(null, null, null, "fr", null);
         final Continent continent = new Continent(null, "eu", null, null);
@@ -75,8 +90,7 @@ public class MaxMindGeoLocationServiceTest {
         final DatabaseReader databaseReader = Mockito.mock(DatabaseReader.class);
         given(databaseReader.city(any())).willReturn(cityResponse);
 
-        FieldSetter.setField(maxMindGeoLocationService,
-                maxMindGeoLocationService.getClass().getDeclaredField("databaseReader"), databaseReader);
+        maxMindGeoLocationService.setDatabaseReader(databaseReader, null);
 
         // when
         final Future<GeoInfo> future = maxMindGeoLocationService.lookup(TEST_IP, null);
@@ -93,5 +107,88 @@ public class MaxMindGeoLocationServiceTest {
                         .lat(48.8566f)
                         .lon(2.3522f)
                         .build());
+        verify(databaseReader).city(any());
+    }
+
+    @Test
+    public void setDataPathShouldFailIfArchiveHasNoDatabaseFile() throws IOException {
+        // given
+        final Path archive = givenArchive("other.mmdb", "content");
+
+        // when
+        final Future<?> result = maxMindGeoLocationService.setDataPath(archive.toString());
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause()).hasMessageStartingWith("Database file GeoLite2-City.mmdb not found in");
+    }
+
+    @Test
+    public void setDataPathShouldFailAndRemoveExtractedFileIfDatabaseFileIsInvalid() throws IOException {
+        // given
+        final Path archive = givenArchive("GeoLite2-City_20200101/GeoLite2-City.mmdb", "invalid");
+
+        // when
+        final Future<?> result = maxMindGeoLocationService.setDataPath(archive.toString());
+
+        // then
+        assertThat(result.failed()).isTrue();
+        assertThat(result.cause())
+                .hasMessageStartingWith("IO Exception occurred while trying to read an archive/db file");
+        try (Stream<Path> files = Files.list(archive.getParent())) {
+            assertThat(files).containsOnly(archive);
+        }
+    }
+
+    @Test
+    public void setDatabaseReaderShouldCloseReplacedReaderAndRemoveItsFile() throws IOException {
+        // given
+        final DatabaseReader oldDatabaseReader = Mockito.mock(DatabaseReader.class);
+        final File oldDatabaseFile = temporaryFolder.newFile();
+        maxMindGeoLocationService.setDatabaseReader(oldDatabaseReader, oldDatabaseFile);
+
+        // when
+        maxMindGeoLocationService.setDatabaseReader(Mockito.mock(DatabaseReader.class), null);
+
+        // then
+        verify(oldDatabaseReader).close();
+        assertThat(oldDatabaseFile).doesNotExist();
+    }
+
+    @Test
+    public void setDatabaseReaderShouldCloseReplacedReaderOnlyAfterInFlightLookup() throws IOException,
+            GeoIp2Exception {
+        // given
+        final DatabaseReader oldDatabaseReader = Mockito.mock(DatabaseReader.class);
+        final DatabaseReader newDatabaseReader = Mockito.mock(DatabaseReader.class);
+        given(oldDatabaseReader.city(any())).willAnswer(invocation -> {
+            maxMindGeoLocationService.setDatabaseReader(newDatabaseReader, null);
+            verify(oldDatabaseReader, never()).close();
+            throw new AddressNotFoundException("not found");
+        });
+        maxMindGeoLocationService.setDatabaseReader(oldDatabaseReader, null);
+
+        // when
+        final Future<GeoInfo> result = maxMindGeoLocationService.lookup(TEST_IP, null);
+
+        // then
+        assertThat(result.failed()).isTrue();
+        verify(oldDatabaseReader).close();
+        verify(newDatabaseReader, never()).close();
+    }
+
+    private Path givenArchive(String entryName, String content) throws IOException {
+        final File archive = temporaryFolder.newFile("GeoLite2-City.tar.gz");
+        final byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        try (TarArchiveOutputStream tarOutput = new TarArchiveOutputStream(new GZIPOutputStream(
+                new FileOutputStream(archive)))) {
+
+            final TarArchiveEntry entry = new TarArchiveEntry(entryName);
+            entry.setSize(bytes.length);
+            tarOutput.putArchiveEntry(entry);
+            tarOutput.write(bytes);
+            tarOutput.closeArchiveEntry();
+        }
+        return archive.toPath();
     }
 }
@@ -0,0 +1,78 @@
+package org.prebid.server.handler;
+
+import io.vertx.core.Handler;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.execution.AdmissionController;
+
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class AdmissionHandlerTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private AdmissionController admissionController;
+    @Mock
+    private RoutingContext routingContext;
+    @Mock
+    private HttpServerResponse httpResponse;
+
+    private AdmissionHandler admissionHandler;
+
+    @Before
+    public void setUp() {
+        given(routingContext.response()).willReturn(httpResponse);
+        given(httpResponse.setStatusCode(anyInt())).willReturn(httpResponse);
+
+        admissionHandler = new AdmissionHandler(admissionController);
+    }
+
+    @Test
+    public void shouldRespondWithServiceUnavailableIfAuctionIsShed() {
+        // given
+        given(admissionController.enter()).willReturn(false);
+
+        // when
+        admissionHandler.handle(routingContext);
+
+        // then
+        verify(httpResponse).setStatusCode(503);
+        verify(httpResponse).end("Service Unavailable: server is overloaded");
+        verify(routingContext, never()).next();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void shouldExitOnceWhenResponseIsSentOrConnectionIsClosed() {
+        // given
+        given(admissionController.enter()).willReturn(true);
+
+        // when
+        admissionHandler.handle(routingContext);
+
+        // then
+        verify(routingContext).next();
+
+        final ArgumentCaptor<Handler<Void>> bodyEndHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(routingContext).addBodyEndHandler(bodyEndHandlerCaptor.capture());
+        final ArgumentCaptor<Handler<Void>> closeHandlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(httpResponse).closeHandler(closeHandlerCaptor.capture());
+
+        verify(admissionController, never()).exit();
+        bodyEndHandlerCaptor.getValue().handle(null);
+        closeHandlerCaptor.getValue().handle(null);
+        verify(admissionController).exit();
+    }
+}
@@ -0,0 +1,197 @@
+package org.prebid.server.handler;
+
+import com.codahale.metrics.MetricRegistry;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServerResponse;
+import io.vertx.ext.web.RoutingContext;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.prometheus.PrometheusMetricsExporter;
+import org.prebid.server.util.HttpUtil;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willAnswer;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class PrometheusMetricsHandlerTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private RoutingContext routingContext;
+    @Mock
+    private HttpServerResponse httpResponse;
+    @Mock
+    private Vertx vertx;
+
+    private MetricRegistry metricRegistry;
+
+    private PrometheusMetricsHandler prometheusMetricsHandler;
+
+    @SuppressWarnings("unchecked")
+    @Before
+    public void setUp() {
+        metricRegistry = new MetricRegistry();
+
+        willAnswer(invocation -> {
+            final Future<Object> future = Future.future();
+            ((Handler<Future<Object>>) invocation.getArgument(0)).handle(future);
+            ((Handler<AsyncResult<Object>>) invocation.getArgument(2)).handle(future);
+            return null;
+        }).given(vertx).executeBlocking(any(), anyBoolean(), any());
+
+        given(routingContext.response()).willReturn(httpResponse);
+        given(httpResponse.putHeader(any(CharSequence.class), any(CharSequence.class))).willReturn(httpResponse);
+        given(httpResponse.setChunked(anyBoolean())).willReturn(httpResponse);
+
+        prometheusMetricsHandler = new PrometheusMetricsHandler(new PrometheusMetricsExporter(metricRegistry), vertx);
+    }
+
+    @Test
+    public void handleShouldRespondWithMetricsInPrometheusFormat() {
+        // given
+        metricRegistry.counter("app_requests").inc();
+
+        // when
+        prometheusMetricsHandler.handle(routingContext);
+
+        // then
+        verify(httpResponse).putHeader(eq(HttpUtil.CONTENT_TYPE_HEADER),
+                eq((CharSequence) "text/plain; version=0.0.4; charset=utf-8"));
+        verify(httpResponse).setChunked(true);
+
+        final ArgumentCaptor<Buffer> bufferCaptor = ArgumentCaptor.forClass(Buffer.class);
+        verify(httpResponse).end(bufferCaptor.capture());
+        assertThat(bufferCaptor.getValue().toString())
+                .isEqualTo("# TYPE app_requests_total counter\napp_requests_total 1\n");
+        verify(vertx, never()).runOnContext(any());
+    }
+
+    @Test
+    public void handleShouldScrapeMetricsOnWorkerThread() {
+        // given
+        final PrometheusMetricsExporter exporter = mock(PrometheusMetricsExporter.class);
+        prometheusMetricsHandler = new PrometheusMetricsHandler(exporter, vertx);
+        willAnswer(invocation -> null).given(vertx).executeBlocking(any(), anyBoolean(), any());
+
+        // when
+        prometheusMetricsHandler.handle(routingContext);
+
+        // then
+        verify(vertx).executeBlocking(any(), eq(false), any());
+        verifyZeroInteractions(exporter, httpResponse);
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void handleShouldRespondWithInternalServerErrorIfScrapeFailed() {
+        // given
+        final PrometheusMetricsExporter exporter = mock(PrometheusMetricsExporter.class);
+        given(httpResponse.setStatusCode(anyInt())).willReturn(httpResponse);
+        willAnswer(invocation -> {
+            ((Handler<AsyncResult<Object>>) invocation.getArgument(2))
+                    .handle(Future.failedFuture(new IllegalStateException("failed")));
+            return null;
+        }).given(vertx).executeBlocking(any(), anyBoolean(), any());
+        prometheusMetricsHandler = new PrometheusMetricsHandler(exporter, vertx);
+
+        // when
+        prometheusMetricsHandler.handle(routingContext);
+
+        // then
+        verify(httpResponse).setStatusCode(500);
+        verify(httpResponse).end();
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void handleShouldStreamLargeOutputInChunksReleasingEventLoopBetweenThem() {
+        // given
+        for (int i = 0; i < 5000; i++) {
+            metricRegistry.counter("account." + i + ".requests").inc();
+        }
+        willAnswer(invocation -> {
+            ((Handler<Void>) invocation.getArgument(0)).handle(null);
+            return null;
+        }).given(vertx).runOnContext(any());
+
+        // when
+        prometheusMetricsHandler.handle(routingContext);
+
+        // then
+        final ArgumentCaptor<Buffer> chunkCaptor = ArgumentCaptor.forClass(Buffer.class);
+        verify(httpResponse, atLeast(2)).write(chunkCaptor.capture());
+        verify(httpResponse).end(chunkCaptor.capture());
+        verify(vertx, times(chunkCaptor.getAllValues().size() - 1)).runOnContext(any());
+
+        final List<Buffer> chunks = chunkCaptor.getAllValues();
+        assertThat(chunks.get(0).length()).isLessThan(70 * 1024);
+        assertThat(chunks.stream().map(Buffer::toString).collect(Collectors.joining()))
+                .startsWith("# TYPE account_requests_total counter\n")
+                .contains("account_requests_total{account=\"0\"} 1\n",
+                        "account_requests_total{account=\"4999\"} 1\n");
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void handleShouldWaitForDrainIfWriteQueueIsFull() {
+        // given
+        for (int i = 0; i < 5000; i++) {
+            metricRegistry.counter("account." + i + ".requests").inc();
+        }
+        given(httpResponse.writeQueueFull()).willReturn(true, false);
+        willAnswer(invocation -> {
+            ((Handler<Void>) invocation.getArgument(0)).handle(null);
+            return null;
+        }).given(vertx).runOnContext(any());
+
+        // when
+        prometheusMetricsHandler.handle(routingContext);
+
+        // then
+        final ArgumentCaptor<Handler<Void>> handlerCaptor = ArgumentCaptor.forClass(Handler.class);
+        verify(httpResponse).drainHandler(handlerCaptor.capture());
+        verify(httpResponse, never()).end(any(Buffer.class));
+
+        handlerCaptor.getValue().handle(null);
+
+        verify(httpResponse).end(any(Buffer.class));
+    }
+
+    @Test
+    public void handleShouldStopWritingIfConnectionIsClosed() {
+        // given
+        given(httpResponse.closed()).willReturn(true);
+        metricRegistry.counter("app_requests").inc();
+
+        // when
+        prometheusMetricsHandler.handle(routingContext);
+
+        // then
+        verify(httpResponse, never()).write(any(Buffer.class));
+        verify(httpResponse, never()).end(any(Buffer.class));
+    }
+}
@@ -5,12 +5,14 @@ import io.vertx.core.http.HttpServerResponse;
 import io.vertx.ext.web.RoutingContext;
 import org.junit.Rule;
 import org.junit.Test;
+import org.mockito.InOrder;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
 import org.prebid.server.health.HealthChecker;
 import org.prebid.server.health.model.StatusResponse;
+import org.prebid.server.warmup.WarmUpService;
 
 import java.time.Clock;
 import java.time.ZonedDateTime;
@@ -20,8 +22,10 @@ import java.util.TreeMap;
 
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThatNullPointerException;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.verify;
 
 public class StatusHandlerTest extends VertxTest {
@@ -35,6 +39,8 @@ public class StatusHandlerTest extends VertxTest {
     private HttpServerResponse httpResponse;
     @Mock
     private HealthChecker healthCheck;
+    @Mock
+    private WarmUpService warmUpService;
 
     private StatusHandler statusHandler;
 
@@ -78,4 +84,22 @@ public class StatusHandlerTest extends VertxTest {
         // then
         verify(httpResponse).setStatusCode(eq(204));
     }
+
+    @Test
+    public void shouldRespondWithServiceUnavailableUntilWarmUpIsCompleted() {
+        // given
+        statusHandler = new StatusHandler(emptyList(), warmUpService, jacksonMapper);
+        given(routingContext.response()).willReturn(httpResponse);
+        given(httpResponse.setStatusCode(anyInt())).willReturn(httpResponse);
+        given(warmUpService.isCompleted()).willReturn(false, true);
+
+        // when
+        statusHandler.handle(routingContext);
+        statusHandler.handle(routingContext);
+
+        // then
+        final InOrder inOrder = inOrder(httpResponse);
+        inOrder.verify(httpResponse).setStatusCode(eq(503));
+        inOrder.verify(httpResponse).setStatusCode(eq(204));
+    }
 }
@@ -33,12 +33,16 @@ import org.prebid.server.auction.ExchangeService;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.bidder.Bidder;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.capture.CapturedAuction;
+import org.prebid.server.capture.TrafficCaptureService;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.exception.BlacklistedAccountException;
 import org.prebid.server.exception.BlacklistedAppException;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.execution.LogModifier;
+import org.prebid.server.execution.ResourceMeter;
+import org.prebid.server.execution.ResourceMeterFactory;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.metric.MetricName;
@@ -99,6 +103,10 @@ public class AmpHandlerTest extends VertxTest {
     @Mock
     private Clock clock;
     @Mock
+    private TrafficCaptureService trafficCaptureService;
+    @Mock
+    private ResourceMeterFactory resourceMeterFactory;
+    @Mock
     private LogModifier logModifier;
 
     private AmpHandler ampHandler;
@@ -115,6 +123,8 @@ public class AmpHandlerTest extends VertxTest {
 
     @Before
     public void setUp() {
+        given(resourceMeterFactory.create()).willReturn(ResourceMeter.disabled());
+
         given(routingContext.request()).willReturn(httpRequest);
         given(routingContext.response()).willReturn(httpResponse);
 
@@ -143,14 +153,14 @@ public class AmpHandlerTest extends VertxTest {
                 bidderCatalog,
                 singleton("bidder1"),
                 new AmpResponsePostProcessor.NoOpAmpResponsePostProcessor(),
-                logModifier, jacksonMapper
+                logModifier, trafficCaptureService, resourceMeterFactory, jacksonMapper
         );
     }
 
     @Test
     public void shouldSetRequestTypeMetricToAuctionContext() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         // when
@@ -164,7 +174,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldUseTimeoutFromAuctionContext() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -180,7 +190,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldComputeTimeoutBasedOnRequestProcessingStartTime() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -199,7 +209,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithBadRequestIfRequestIsInvalid() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new InvalidRequestException("Request is invalid")));
 
         // when
@@ -220,7 +230,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithBadRequestIfRequestHasBlacklistedAccount() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new BlacklistedAccountException("Blacklisted account")));
 
         // when
@@ -240,7 +250,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithBadRequestIfRequestHasBlacklistedApp() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new BlacklistedAppException("Blacklisted app")));
 
         // when
@@ -260,7 +270,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithUnauthorizedIfAccountIdIsInvalid() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new UnauthorizedAccountException("Account id is not provided 1", "1")));
 
         // when
@@ -280,7 +290,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithInternalServerErrorIfAuctionFails() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -302,7 +312,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithInternalServerErrorIfCannotExtractBidTargeting() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         final ObjectNode ext = mapper.createObjectNode();
@@ -326,7 +336,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldNotSendResponseIfClientClosedConnection() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new RuntimeException()));
 
         given(routingContext.response().closed()).willReturn(true);
@@ -341,7 +351,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithExpectedResponse() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         final Map<String, String> targeting = new HashMap<>();
@@ -367,7 +377,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithCustomTargetingIncluded() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         final Map<String, String> targeting = new HashMap<>();
@@ -411,7 +421,7 @@ public class AmpHandlerTest extends VertxTest {
     public void shouldRespondWithDebugInfoIncludedIfTestFlagIsTrue() {
         // given
         final AuctionContext auctionContext = givenAuctionContext(builder -> builder.id("reqId1").test(1));
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(auctionContext));
 
         given(exchangeService.holdAuction(any()))
@@ -434,7 +444,7 @@ public class AmpHandlerTest extends VertxTest {
         final AuctionContext auctionContext = givenAuctionContext(builder -> builder
                 .id("reqId1")
                 .ext(mapper.valueToTree(ExtBidRequest.of(ExtRequestPrebid.builder().debug(1).build()))));
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(auctionContext));
 
         given(exchangeService.holdAuction(any()))
@@ -454,7 +464,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldIncrementOkAmpRequestMetrics() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -471,7 +481,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldIncrementAppRequestMetrics() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(builder -> builder.app(App.builder().build()))));
 
         given(exchangeService.holdAuction(any()))
@@ -488,7 +498,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldIncrementNoCookieMetrics() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -510,7 +520,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldIncrementImpsRequestedMetrics() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(
                         givenAuctionContext(builder -> builder.imp(singletonList(Imp.builder().build())))));
 
@@ -530,7 +540,7 @@ public class AmpHandlerTest extends VertxTest {
         // given
         final List<Imp> imps = singletonList(Imp.builder().build());
 
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(builder -> builder.imp(imps))));
 
         given(exchangeService.holdAuction(any()))
@@ -547,7 +557,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldIncrementBadinputAmpRequestMetrics() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new InvalidRequestException("Request is invalid")));
 
         // when
@@ -560,7 +570,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldIncrementErrAmpRequestMetrics() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new RuntimeException()));
 
         // when
@@ -578,7 +588,7 @@ public class AmpHandlerTest extends VertxTest {
         // set up clock mock to check that request_time metric has been updated with expected value
         given(clock.millis()).willReturn(5000L).willReturn(5500L);
 
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -600,7 +610,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldNotUpdateRequestTimeMetricIfRequestFails() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new InvalidRequestException("Request is invalid")));
 
         // when
@@ -614,7 +624,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldUpdateNetworkErrorMetric() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -637,7 +647,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldNotUpdateNetworkErrorMetricIfResponseSucceeded() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -654,7 +664,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldUpdateNetworkErrorMetricIfClientClosedConnection() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -673,7 +683,7 @@ public class AmpHandlerTest extends VertxTest {
     @Test
     public void shouldPassBadRequestEventToAnalyticsReporterIfBidRequestIsInvalid() {
         // given
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new InvalidRequestException("Request is invalid")));
 
         // when
@@ -693,7 +703,7 @@ public class AmpHandlerTest extends VertxTest {
     public void shouldPassInternalServerErrorEventToAnalyticsReporterIfAuctionFails() {
         // given
         final AuctionContext auctionContext = givenAuctionContext(identity());
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(auctionContext));
 
         given(exchangeService.holdAuction(any()))
@@ -721,7 +731,7 @@ public class AmpHandlerTest extends VertxTest {
     public void shouldPassSuccessfulEventToAnalyticsReporter() {
         // given
         final AuctionContext auctionContext = givenAuctionContext(identity());
-        given(ampRequestFactory.fromRequest(any(), anyLong()))
+        given(ampRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(auctionContext));
 
         given(exchangeService.holdAuction(any()))
@@ -26,12 +26,17 @@ import org.prebid.server.analytics.model.HttpContext;
 import org.prebid.server.auction.AuctionRequestFactory;
 import org.prebid.server.auction.ExchangeService;
 import org.prebid.server.auction.model.AuctionContext;
+import org.prebid.server.auction.model.AuctionStage;
+import org.prebid.server.capture.CapturedAuction;
+import org.prebid.server.capture.TrafficCaptureService;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.exception.BlacklistedAccountException;
 import org.prebid.server.exception.BlacklistedAppException;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.UnauthorizedAccountException;
 import org.prebid.server.execution.LogModifier;
+import org.prebid.server.execution.ResourceMeter;
+import org.prebid.server.execution.ResourceMeterFactory;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.metric.MetricName;
@@ -68,6 +73,7 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.ArgumentMatchers.same;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -88,6 +94,10 @@ public class AuctionHandlerTest extends VertxTest {
     @Mock
     private Clock clock;
     @Mock
+    private TrafficCaptureService trafficCaptureService;
+    @Mock
+    private ResourceMeterFactory resourceMeterFactory;
+    @Mock
     private LogModifier logModifier;
 
     private AuctionHandler auctionHandler;
@@ -104,6 +114,8 @@ public class AuctionHandlerTest extends VertxTest {
 
     @Before
     public void setUp() {
+        given(resourceMeterFactory.create()).willReturn(ResourceMeter.disabled());
+
         given(routingContext.request()).willReturn(httpRequest);
         given(routingContext.response()).willReturn(httpResponse);
 
@@ -120,13 +132,14 @@ public class AuctionHandlerTest extends VertxTest {
         timeout = new TimeoutFactory(clock).create(2000L);
 
         auctionHandler = new AuctionHandler(
-                auctionRequestFactory, exchangeService, analyticsReporter, metrics, clock, logModifier, jacksonMapper);
+                auctionRequestFactory, exchangeService, analyticsReporter, metrics, clock, logModifier,
+                trafficCaptureService, resourceMeterFactory, jacksonMapper);
     }
 
     @Test
     public void shouldSetRequestTypeMetricToAuctionContext() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         // when
@@ -140,7 +153,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldUseTimeoutFromAuctionContext() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -156,7 +169,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldComputeTimeoutBasedOnRequestProcessingStartTime() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -175,7 +188,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithServiceUnavailableIfBidRequestHasAccountBlacklisted() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new BlacklistedAccountException("Blacklisted account")));
 
         // when
@@ -191,7 +204,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithServiceUnavailableIfBidRequestHasAppBlacklisted() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new BlacklistedAppException("Blacklisted app")));
 
         // when
@@ -207,7 +220,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithBadRequestIfBidRequestIsInvalid() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new InvalidRequestException("Request is invalid")));
 
         // when
@@ -223,7 +236,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithUnauthorizedIfAccountIdIsInvalid() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new UnauthorizedAccountException("Account id is not provided 1", "1")));
 
         // when
@@ -238,7 +251,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithInternalServerErrorIfAuctionFails() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -257,7 +270,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldNotSendResponseIfClientClosedConnection() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new RuntimeException()));
 
         given(routingContext.response().closed()).willReturn(true);
@@ -272,7 +285,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithBidResponse() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -289,10 +302,85 @@ public class AuctionHandlerTest extends VertxTest {
         verify(httpResponse).end(eq("{}"));
     }
 
+    @Test
+    public void shouldPassCapturedAuctionToAuctionContext() {
+        // given
+        final CapturedAuction capturedAuction = mock(CapturedAuction.class);
+        given(trafficCaptureService.start(any(), any())).willReturn(capturedAuction);
+
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
+                .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
+
+        // when
+        auctionHandler.handle(routingContext);
+
+        // then
+        verify(trafficCaptureService).start(same(routingContext), eq("/openrtb2/auction"));
+        assertThat(captureAuctionContext().getCapturedAuction()).isSameAs(capturedAuction);
+    }
+
+    @Test
+    public void shouldPassResourceMeterToAuctionRequestFactory() {
+        // given
+        final ResourceMeter resourceMeter = new ResourceMeterFactory(true, 1).create();
+        given(resourceMeterFactory.create()).willReturn(resourceMeter);
+
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
+                .willReturn(Future.failedFuture(new InvalidRequestException("Request is invalid")));
+
+        // when
+        auctionHandler.handle(routingContext);
+
+        // then
+        verify(auctionRequestFactory).fromRequest(same(routingContext), anyLong(), same(resourceMeter));
+        assertThat(resourceMeter.getSegments()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldMeasureTestRequestWhenItIsNotSampled() {
+        // given
+        auctionHandler = new AuctionHandler(
+                auctionRequestFactory, exchangeService, analyticsReporter, metrics, clock, logModifier,
+                trafficCaptureService, new ResourceMeterFactory(true, 0), jacksonMapper);
+
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
+                .willAnswer(invocation -> Future.succeededFuture(givenAuctionContext(builder -> builder.test(1))
+                        .toBuilder()
+                        .resourceMeter(invocation.getArgument(2))
+                        .build()));
+        given(exchangeService.holdAuction(any())).willReturn(Future.succeededFuture(BidResponse.builder().build()));
+
+        // when
+        auctionHandler.handle(routingContext);
+
+        // then
+        final ResourceMeter resourceMeter = captureAuctionContext().getResourceMeter();
+        assertThat(resourceMeter.isEnabled()).isTrue();
+        assertThat(resourceMeter.isSampled()).isFalse();
+        assertThat(resourceMeter.getSegments()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldFinishTrafficCaptureWithResponse() {
+        // given
+        final CapturedAuction capturedAuction = mock(CapturedAuction.class);
+        given(trafficCaptureService.start(any(), any())).willReturn(capturedAuction);
+
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
+                .willReturn(Future.failedFuture(new InvalidRequestException("Request is invalid")));
+
+        // when
+        auctionHandler.handle(routingContext);
+
+        // then
+        verify(trafficCaptureService).finish(same(capturedAuction), eq(400),
+                eq("Invalid request format: Request is invalid"));
+    }
+
     @Test
     public void shouldRespondWithCorrectResolvedRequestMediaTypePriceGranularity() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         final ExtGranularityRange granularityRange = ExtGranularityRange.of(BigDecimal.TEN, BigDecimal.ONE);
@@ -324,7 +412,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldIncrementOkOpenrtb2WebRequestMetrics() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -337,10 +425,26 @@ public class AuctionHandlerTest extends VertxTest {
         verify(metrics).updateRequestTypeMetric(eq(MetricName.openrtb2web), eq(MetricName.ok));
     }
 
+    @Test
+    public void shouldUpdateResponseEncodingStageMetric() {
+        // given
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
+                .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
+
+        given(exchangeService.holdAuction(any()))
+                .willReturn(Future.succeededFuture(BidResponse.builder().build()));
+
+        // when
+        auctionHandler.handle(routingContext);
+
+        // then
+        verify(metrics).updateAuctionStageMetric(eq(AuctionStage.response_encoding), anyLong());
+    }
+
     @Test
     public void shouldIncrementOkOpenrtb2AppRequestMetrics() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(builder -> builder.app(App.builder().build()))));
 
         given(exchangeService.holdAuction(any()))
@@ -359,7 +463,7 @@ public class AuctionHandlerTest extends VertxTest {
         given(exchangeService.holdAuction(any()))
                 .willReturn(Future.succeededFuture(BidResponse.builder().build()));
 
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(builder -> builder.app(App.builder().build()))));
 
         // when
@@ -372,7 +476,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldIncrementNoCookieMetrics() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -393,7 +497,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldIncrementImpsRequestedMetrics() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(
                         givenAuctionContext(builder -> builder.imp(singletonList(Imp.builder().build())))));
 
@@ -412,7 +516,7 @@ public class AuctionHandlerTest extends VertxTest {
         // given
         final List<Imp> imps = singletonList(Imp.builder().build());
 
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(builder -> builder.imp(imps))));
 
         given(exchangeService.holdAuction(any()))
@@ -428,7 +532,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldIncrementBadinputOpenrtb2WebRequestMetrics() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new InvalidRequestException("Request is invalid")));
 
         // when
@@ -441,7 +545,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldIncrementErrOpenrtb2WebRequestMetrics() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new RuntimeException()));
 
         // when
@@ -459,7 +563,7 @@ public class AuctionHandlerTest extends VertxTest {
         // set up clock mock to check that request_time metric has been updated with expected value
         given(clock.millis()).willReturn(5000L).willReturn(5500L);
 
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -481,7 +585,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldNotUpdateRequestTimeMetricIfRequestFails() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new InvalidRequestException("Request is invalid")));
 
         // when
@@ -495,7 +599,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldUpdateNetworkErrorMetric() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -517,7 +621,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldNotUpdateNetworkErrorMetricIfResponseSucceeded() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -533,7 +637,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldUpdateNetworkErrorMetricIfClientClosedConnection() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         given(exchangeService.holdAuction(any()))
@@ -551,7 +655,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldIncrementRejectedMetricsIfUnknownUser() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong())).willReturn(
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any())).willReturn(
                 Future.failedFuture(new UnauthorizedAccountException("Unauthorised account id 1", "1"))
         );
         // when
@@ -564,7 +668,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldPassBadRequestEventToAnalyticsReporterIfBidRequestIsInvalid() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new InvalidRequestException("Request is invalid")));
 
         // when
@@ -585,7 +689,7 @@ public class AuctionHandlerTest extends VertxTest {
     public void shouldPassInternalServerErrorEventToAnalyticsReporterIfAuctionFails() {
         // given
         final AuctionContext auctionContext = givenAuctionContext(identity());
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(auctionContext));
 
         given(exchangeService.holdAuction(any()))
@@ -612,7 +716,7 @@ public class AuctionHandlerTest extends VertxTest {
     public void shouldPassSuccessfulEventToAnalyticsReporter() {
         // given
         final AuctionContext auctionContext = givenAuctionContext(identity());
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(auctionContext));
 
         given(exchangeService.holdAuction(any()))
@@ -639,7 +743,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldTolerateDuplicateQueryParamNames() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         final MultiMap params = MultiMap.caseInsensitiveMultiMap();
@@ -659,7 +763,7 @@ public class AuctionHandlerTest extends VertxTest {
     @Test
     public void shouldTolerateDuplicateHeaderNames() {
         // given
-        given(auctionRequestFactory.fromRequest(any(), anyLong()))
+        given(auctionRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity())));
 
         final CaseInsensitiveHeaders headers = new CaseInsensitiveHeaders();
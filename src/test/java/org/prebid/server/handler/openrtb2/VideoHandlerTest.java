@@ -24,9 +24,13 @@ import org.prebid.server.auction.VideoRequestFactory;
 import org.prebid.server.auction.VideoResponseFactory;
 import org.prebid.server.auction.model.AuctionContext;
 import org.prebid.server.auction.model.WithPodErrors;
+import org.prebid.server.capture.CapturedAuction;
+import org.prebid.server.capture.TrafficCaptureService;
 import org.prebid.server.cookie.UidsCookie;
 import org.prebid.server.exception.InvalidRequestException;
 import org.prebid.server.exception.UnauthorizedAccountException;
+import org.prebid.server.execution.ResourceMeter;
+import org.prebid.server.execution.ResourceMeterFactory;
 import org.prebid.server.execution.Timeout;
 import org.prebid.server.execution.TimeoutFactory;
 import org.prebid.server.metric.Metrics;
@@ -70,6 +74,10 @@ public class VideoHandlerTest extends VertxTest {
     private Metrics metrics;
     @Mock
     private Clock clock;
+    @Mock
+    private TrafficCaptureService trafficCaptureService;
+    @Mock
+    private ResourceMeterFactory resourceMeterFactory;
 
     private VideoHandler videoHandler;
     @Mock
@@ -85,6 +93,8 @@ public class VideoHandlerTest extends VertxTest {
 
     @Before
     public void setUp() {
+        given(resourceMeterFactory.create()).willReturn(ResourceMeter.disabled());
+
         given(routingContext.request()).willReturn(httpRequest);
         given(routingContext.response()).willReturn(httpResponse);
 
@@ -101,13 +111,13 @@ public class VideoHandlerTest extends VertxTest {
         given(exchangeService.holdAuction(any())).willReturn(Future.succeededFuture(BidResponse.builder().build()));
 
         videoHandler = new VideoHandler(videoRequestFactory, videoResponseFactory, exchangeService, analyticsReporter,
-                metrics, clock, jacksonMapper);
+                metrics, clock, trafficCaptureService, resourceMeterFactory, jacksonMapper);
     }
 
     @Test
     public void shouldSetRequestTypeMetricToAuctionContext() {
         // given
-        given(videoRequestFactory.fromRequest(any(), anyLong()))
+        given(videoRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity(), emptyList())));
 
         // when
@@ -120,7 +130,7 @@ public class VideoHandlerTest extends VertxTest {
     @Test
     public void shouldUseTimeoutFromAuctionContext() {
         // given
-        given(videoRequestFactory.fromRequest(any(), anyLong()))
+        given(videoRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity(), emptyList())));
 
         given(exchangeService.holdAuction(any()))
@@ -136,7 +146,7 @@ public class VideoHandlerTest extends VertxTest {
     @Test
     public void shouldComputeTimeoutBasedOnRequestProcessingStartTime() {
         // given
-        given(videoRequestFactory.fromRequest(any(), anyLong()))
+        given(videoRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity(), emptyList())));
 
         given(exchangeService.holdAuction(any()))
@@ -155,7 +165,7 @@ public class VideoHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithBadRequestIfBidRequestIsInvalid() {
         // given
-        given(videoRequestFactory.fromRequest(any(), anyLong()))
+        given(videoRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new InvalidRequestException("Request is invalid")));
 
         // when
@@ -169,7 +179,7 @@ public class VideoHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithUnauthorizedIfAccountIdIsInvalid() {
         // given
-        given(videoRequestFactory.fromRequest(any(), anyLong()))
+        given(videoRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new UnauthorizedAccountException("Account id is not provided", "1")));
 
         // when
@@ -184,7 +194,7 @@ public class VideoHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithInternalServerErrorIfAuctionFails() {
         // given
-        given(videoRequestFactory.fromRequest(any(), anyLong()))
+        given(videoRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity(), emptyList())));
 
         given(exchangeService.holdAuction(any()))
@@ -201,7 +211,7 @@ public class VideoHandlerTest extends VertxTest {
     @Test
     public void shouldNotSendResponseIfClientClosedConnection() {
         // given
-        given(videoRequestFactory.fromRequest(any(), anyLong()))
+        given(videoRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.failedFuture(new RuntimeException()));
 
         given(routingContext.response().closed()).willReturn(true);
@@ -216,7 +226,7 @@ public class VideoHandlerTest extends VertxTest {
     @Test
     public void shouldRespondWithBidResponse() {
         // given
-        given(videoRequestFactory.fromRequest(any(), anyLong()))
+        given(videoRequestFactory.fromRequest(any(), anyLong(), any()))
                 .willReturn(Future.succeededFuture(givenAuctionContext(identity(), emptyList())));
 
         given(exchangeService.holdAuction(any()))
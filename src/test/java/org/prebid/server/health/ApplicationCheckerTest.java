@@ -0,0 +1,53 @@
+package org.prebid.server.health;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.health.model.StatusResponse;
+import org.prebid.server.vertx.EventLoopMonitor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.BDDMockito.given;
+
+public class ApplicationCheckerTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private EventLoopMonitor eventLoopMonitor;
+
+    @Test
+    public void statusShouldReturnConfiguredStatus() {
+        // given
+        final ApplicationChecker applicationChecker = new ApplicationChecker("ok");
+
+        // when and then
+        assertThat(applicationChecker.status()).isEqualTo(StatusResponse.of("ok", null));
+    }
+
+    @Test
+    public void statusShouldReturnConfiguredStatusIfEventLoopsAreNotBlocked() {
+        // given
+        final ApplicationChecker applicationChecker = new ApplicationChecker("ok", eventLoopMonitor);
+
+        // when and then
+        assertThat(applicationChecker.status()).isEqualTo(StatusResponse.of("ok", null));
+    }
+
+    @Test
+    public void statusShouldReturnDownIfEventLoopIsBlocked() {
+        // given
+        given(eventLoopMonitor.isBlocked()).willReturn(true);
+        final ApplicationChecker applicationChecker = new ApplicationChecker("ok", eventLoopMonitor);
+
+        // when
+        final StatusResponse status = applicationChecker.status();
+
+        // then
+        assertThat(status.getStatus()).isEqualTo("DOWN");
+        assertThat(status.getLastUpdated()).isNotNull();
+    }
+}
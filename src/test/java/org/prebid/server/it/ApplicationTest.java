@@ -76,6 +76,10 @@ public class ApplicationTest extends IntegrationTest {
                     .objectMapperConfig(new ObjectMapperConfig(new Jackson2Mapper((aClass, s) -> mapper))))
             .build();
 
+    private static final int LIGHT_ENDPOINTS_PORT = 8070;
+
+    private static final RequestSpecification lightEndpointsSpec = spec(LIGHT_ENDPOINTS_PORT);
+
     @Test
     public void openrtb2AuctionShouldRespondWithBidsFromRubiconAndAppnexus() throws IOException, JSONException {
         // given
@@ -290,6 +294,38 @@ public class ApplicationTest extends IntegrationTest {
                 .containsOnly(200, "{\"application\":{\"status\":\"ok\"}}");
     }
 
+    @Test
+    public void statusShouldBeServedOnLightEndpointsPort() {
+        assertThat(given(lightEndpointsSpec).when().get("/status"))
+                .extracting(Response::getStatusCode, response -> response.getBody().asString())
+                .containsOnly(200, "{\"application\":{\"status\":\"ok\"}}");
+    }
+
+    @Test
+    public void auctionShouldNotBeServedOnLightEndpointsPort() {
+        given(lightEndpointsSpec)
+                .body("{}")
+                .when()
+                .post("/openrtb2/auction")
+                .then()
+                .statusCode(404);
+    }
+
+    @Test
+    public void openrtb2AuctionShouldRespondWithHttp413IfRequestBodyExceedsMaxRequestSize() {
+        // given
+        final char[] padding = new char[300_000];
+        Arrays.fill(padding, ' ');
+
+        // when and then
+        given(spec)
+                .body("{\"id\":\"tid\"" + new String(padding) + "}")
+                .post("/openrtb2/auction")
+                .then()
+                .assertThat()
+                .statusCode(413);
+    }
+
     @Test
     public void optoutShouldSetOptOutFlagAndRedirectToOptOutUrl() throws IOException {
         // given
@@ -584,6 +620,17 @@ public class ApplicationTest extends IntegrationTest {
                 .statusCode(200);
     }
 
+    @Test
+    public void prometheusMetricsHandlerShouldRespondWithMetricsInTextFormat() {
+        given(adminSpec)
+                .get("/metrics")
+                .then()
+                .assertThat()
+                .statusCode(200)
+                .contentType("text/plain; version=0.0.4; charset=utf-8")
+                .body(Matchers.containsString("# TYPE "));
+    }
+
     @Test
     public void currencyRatesHandlerShouldRespondWithLastUpdateDate() {
         // given
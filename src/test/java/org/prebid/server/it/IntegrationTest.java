@@ -1,6 +1,7 @@
 package org.prebid.server.it;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.github.tomakehurst.wiremock.common.FileSource;
 import com.github.tomakehurst.wiremock.extension.Parameters;
 import com.github.tomakehurst.wiremock.extension.ResponseTransformer;
@@ -32,6 +33,7 @@ import org.springframework.test.context.TestPropertySource;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
@@ -89,7 +91,8 @@ public abstract class IntegrationTest extends VertxTest {
     static String openrtbAuctionResponseFrom(String templatePath, Response response, List<String> bidders)
             throws IOException {
 
-        return auctionResponseFrom(templatePath, response, "ext.responsetimemillis.%s", bidders);
+        return setVaryingDebugFields(response,
+                auctionResponseFrom(templatePath, response, "ext.responsetimemillis.%s", bidders));
     }
 
     private static String auctionResponseFrom(String templatePath, Response response, String responseTimePath,
@@ -132,6 +135,26 @@ public abstract class IntegrationTest extends VertxTest {
         return expectedResponseJson;
     }
 
+    /**
+     * Stage durations in "ext.debug.stagetimemicros" and resource usage in "ext.debug.resourceusage" vary
+     * from run to run, so they are copied from actual response into expected one.
+     */
+    private static String setVaryingDebugFields(Response response, String expectedResponseJson) throws IOException {
+        final JsonNode actualDebug = mapper.readTree(response.asString()).at("/ext/debug");
+        final JsonNode expectedResponse = mapper.readTree(expectedResponseJson);
+        final JsonNode expectedDebug = expectedResponse.at("/ext/debug");
+        if (!actualDebug.isObject() || !expectedDebug.isObject()) {
+            return expectedResponseJson;
+        }
+
+        for (String field : Arrays.asList("stagetimemicros", "resourceusage")) {
+            if (actualDebug.has(field)) {
+                ((ObjectNode) expectedDebug).set(field, actualDebug.get(field));
+            }
+        }
+        return mapper.writeValueAsString(expectedResponse);
+    }
+
     private static String cacheResponseFromRequestJson(
             String requestAsString, String requestCacheIdMapFile) throws IOException {
 
@@ -0,0 +1,60 @@
+package org.prebid.server.json;
+
+import com.iab.openrtb.request.BidRequest;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.vertx.core.buffer.Buffer;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+public class JacksonMapperTest {
+
+    private static final JacksonMapper MAPPER = new JacksonMapper(ObjectMapperProvider.mapper());
+
+    private static final String JSON = "{\"id\":\"requestId\",\"tmax\":1000}";
+
+    @Test
+    public void decodeValueShouldDecodeHeapBuffer() {
+        // when
+        final BidRequest result = MAPPER.decodeValue(Buffer.buffer(JSON), BidRequest.class);
+
+        // then
+        assertThat(result).isEqualTo(BidRequest.builder().id("requestId").tmax(1000L).build());
+    }
+
+    @Test
+    public void decodeValueShouldDecodeOnlyReadableBytesOfHeapBuffer() {
+        // given
+        final ByteBuf byteBuf = Unpooled.wrappedBuffer(("garbage" + JSON + "garbage").getBytes(StandardCharsets.UTF_8))
+                .slice(7, JSON.length());
+
+        // when
+        final BidRequest result = MAPPER.decodeValue(Buffer.buffer(byteBuf), BidRequest.class);
+
+        // then
+        assertThat(result).isEqualTo(BidRequest.builder().id("requestId").tmax(1000L).build());
+    }
+
+    @Test
+    public void decodeValueShouldDecodeDirectBuffer() {
+        // given
+        final ByteBuf byteBuf = Unpooled.directBuffer().writeBytes(JSON.getBytes(StandardCharsets.UTF_8));
+
+        // when
+        final BidRequest result = MAPPER.decodeValue(Buffer.buffer(byteBuf), BidRequest.class);
+
+        // then
+        assertThat(result).isEqualTo(BidRequest.builder().id("requestId").tmax(1000L).build());
+    }
+
+    @Test
+    public void decodeValueShouldFailOnInvalidJson() {
+        assertThatExceptionOfType(DecodeException.class)
+                .isThrownBy(() -> MAPPER.decodeValue(Buffer.buffer("{"), BidRequest.class))
+                .withMessageStartingWith("Failed to decode:");
+    }
+}
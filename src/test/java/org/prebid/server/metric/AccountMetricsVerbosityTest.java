@@ -31,4 +31,11 @@ public class AccountMetricsVerbosityTest {
     public void forAccountShouldReturnDefaultLevel() {
         assertThat(verbosity.forAccount("3")).isEqualTo(AccountMetricsVerbosityLevel.none);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void isConfiguredShouldReturnTrueOnlyForExplicitlyListedAccounts() {
+        assertThat(verbosity.isConfigured("1")).isTrue();
+        assertThat(verbosity.isConfigured("2")).isTrue();
+        assertThat(verbosity.isConfigured("3")).isFalse();
+    }
+}
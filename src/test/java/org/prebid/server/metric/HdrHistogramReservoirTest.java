@@ -0,0 +1,181 @@
+package org.prebid.server.metric;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Snapshot;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.BDDMockito.given;
+
+public class HdrHistogramReservoirTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Clock clock;
+
+    private HdrHistogramReservoir reservoir;
+
+    @Before
+    public void setUp() {
+        given(clock.getTick()).willReturn(0L);
+
+        reservoir = new HdrHistogramReservoir(clock);
+    }
+
+    @Test
+    public void getSnapshotShouldReturnAccuratePercentiles() {
+        // given
+        for (long value = 1; value <= 10_000; value++) {
+            reservoir.update(value);
+        }
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(10));
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.size()).isEqualTo(10_000);
+        assertThat(snapshot.getMin()).isEqualTo(1);
+        assertThat(snapshot.getMax()).isCloseTo(10_000, within(100L));
+        assertThat(snapshot.getMedian()).isCloseTo(5_000, within(50.0));
+        assertThat(snapshot.get99thPercentile()).isCloseTo(9_900, within(99.0));
+        assertThat(snapshot.get999thPercentile()).isCloseTo(9_990, within(99.9));
+    }
+
+    @Test
+    public void getSnapshotShouldNotConsumeValues() {
+        // given
+        reservoir.update(100L);
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(10));
+        reservoir.getSnapshot();
+
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(20));
+        reservoir.update(200L);
+        reservoir.update(200L);
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(30));
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.size()).isEqualTo(3);
+        assertThat(snapshot.getValues()).containsExactly(100L, 200L);
+        assertThat(reservoir.size()).isEqualTo(3);
+    }
+
+    @Test
+    public void getSnapshotShouldReturnSameSnapshotUntilChunkPeriodEnds() {
+        // given
+        reservoir.update(100L);
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(10));
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(19));
+        reservoir.update(200L);
+
+        // when and then
+        assertThat(reservoir.getSnapshot()).isSameAs(snapshot);
+        assertThat(snapshot.getValues()).containsOnly(100L);
+    }
+
+    @Test
+    public void getSnapshotShouldEvictValuesOutOfWindow() {
+        // given
+        reservoir.update(100L);
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(10));
+        reservoir.getSnapshot();
+
+        reservoir.update(200L);
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(60));
+        assertThat(reservoir.getSnapshot().getValues()).containsExactly(100L, 200L);
+
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(70));
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.getValues()).containsOnly(200L);
+    }
+
+    @Test
+    public void getSnapshotShouldDropValuesOfPeriodsEndedBeforeWindow() {
+        // given
+        reservoir.update(100L);
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(70));
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.getValues()).isEmpty();
+    }
+
+    @Test
+    public void getSnapshotShouldReturnEmptySnapshotIfNothingRecorded() {
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.size()).isZero();
+        assertThat(snapshot.getMin()).isZero();
+        assertThat(snapshot.getMax()).isZero();
+        assertThat(snapshot.getMean()).isZero();
+        assertThat(snapshot.getValues()).isEmpty();
+    }
+
+    @Test
+    public void updateShouldRecordNegativeValueAsZero() {
+        // given
+        reservoir.update(-5L);
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(10));
+
+        // when and then
+        assertThat(reservoir.getSnapshot().getValues()).containsOnly(0L);
+    }
+
+    @Test
+    public void updateShouldRotateChunkWhenItsPeriodEndsSoValuesAreEvictedWithoutReads() {
+        // given
+        reservoir.update(100L);
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(15));
+        reservoir.update(200L);
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(75));
+
+        // when
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(snapshot.getValues()).containsOnly(200L);
+    }
+
+    @Test
+    public void updateShouldInvalidateSnapshotWhenItRotatesChunk() {
+        // given
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(10));
+        final Snapshot snapshot = reservoir.getSnapshot();
+
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(15));
+        reservoir.update(100L);
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(20));
+        reservoir.update(200L);
+        given(clock.getTick()).willReturn(TimeUnit.SECONDS.toNanos(25));
+
+        // when
+        final Snapshot rotatedSnapshot = reservoir.getSnapshot();
+
+        // then
+        assertThat(rotatedSnapshot).isNotSameAs(snapshot);
+        assertThat(rotatedSnapshot.getValues()).containsOnly(100L);
+    }
+}
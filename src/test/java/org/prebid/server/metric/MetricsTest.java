@@ -18,7 +18,9 @@ import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
+import org.prebid.server.auction.model.AuctionStage;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.execution.ResourceMeter;
 import org.prebid.server.metric.model.AccountMetricsVerbosityLevel;
 
 import java.util.EnumMap;
@@ -33,6 +35,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 
 public class MetricsTest {
@@ -58,7 +61,8 @@ public class MetricsTest {
         given(accountMetricsVerbosity.forAccount(anyString())).willReturn(AccountMetricsVerbosityLevel.detailed);
         given(bidderCatalog.isValidName(any())).willReturn(true);
 
-        metrics = new Metrics(metricRegistry, CounterType.counter, accountMetricsVerbosity, bidderCatalog);
+        metrics = new Metrics(metricRegistry, CounterType.counter, ReservoirType.exponentiallyDecaying,
+                accountMetricsVerbosity, bidderCatalog);
     }
 
     @Test
@@ -686,6 +690,115 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("account.accountId.rubicon.bids_received").getCount()).isEqualTo(0);
     }
 
+    @Test
+    public void shouldRollUpAccountMetricsOfAccountsOutOfTopIntoOtherAccounts() {
+        // given
+        final TopAccountsTracker topAccountsTracker = new TopAccountsTracker(1);
+        metrics = new Metrics(metricRegistry, CounterType.counter, ReservoirType.exponentiallyDecaying,
+                accountMetricsVerbosity, bidderCatalog, topAccountsTracker);
+
+        // when
+        metrics.updateAccountRequestMetrics(ACCOUNT_ID, MetricName.openrtb2web);
+        metrics.updateAccountRequestMetrics("anotherAccountId", MetricName.openrtb2web);
+        metrics.updateAdapterRequestNobidMetrics(RUBICON, "anotherAccountId");
+
+        // then
+        assertThat(metricRegistry.counter("account.accountId.requests").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("other_accounts.requests").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("other_accounts.rubicon.requests.nobid").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.getNames()).filteredOn(name -> name.startsWith("account.anotherAccountId."))
+                .isEmpty();
+    }
+
+    @Test
+    public void shouldNotRollUpAccountMetricsOfExplicitlyConfiguredAccounts() {
+        // given
+        given(accountMetricsVerbosity.isConfigured("anotherAccountId")).willReturn(true);
+        final TopAccountsTracker topAccountsTracker = new TopAccountsTracker(1);
+        metrics = new Metrics(metricRegistry, CounterType.counter, ReservoirType.exponentiallyDecaying,
+                accountMetricsVerbosity, bidderCatalog, topAccountsTracker);
+
+        // when
+        metrics.updateAccountRequestMetrics(ACCOUNT_ID, MetricName.openrtb2web);
+        metrics.updateAccountRequestMetrics("anotherAccountId", MetricName.openrtb2web);
+
+        // then
+        assertThat(metricRegistry.counter("account.accountId.requests").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("account.anotherAccountId.requests").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.getNames()).filteredOn(name -> name.startsWith("other_accounts."))
+                .isEmpty();
+    }
+
+    @Test
+    public void shouldNotMixAccountNamedAsOtherAccountsWithRolledUpOnes() {
+        // given
+        final TopAccountsTracker topAccountsTracker = new TopAccountsTracker(1);
+        metrics = new Metrics(metricRegistry, CounterType.counter, ReservoirType.exponentiallyDecaying,
+                accountMetricsVerbosity, bidderCatalog, topAccountsTracker);
+
+        // when
+        metrics.updateAccountRequestMetrics("other", MetricName.openrtb2web);
+        metrics.updateAccountRequestMetrics("other_accounts", MetricName.openrtb2web);
+        metrics.updateAccountRequestMetrics(ACCOUNT_ID, MetricName.openrtb2web);
+
+        // then
+        assertThat(metricRegistry.counter("account.other.requests").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("other_accounts.requests").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void refreshTopAccountsShouldRemoveMetricsOfAccountDroppedOutOfTopAtNextRefresh() {
+        // given
+        final TopAccountsTracker topAccountsTracker = new TopAccountsTracker(1);
+        metrics = new Metrics(metricRegistry, CounterType.counter, ReservoirType.exponentiallyDecaying,
+                accountMetricsVerbosity, bidderCatalog, topAccountsTracker);
+
+        metrics.updateAccountRequestMetrics(ACCOUNT_ID, MetricName.openrtb2web);
+        metrics.updateAdapterResponseTime(RUBICON, ACCOUNT_ID, 500);
+        for (int i = 0; i < 3; i++) {
+            metrics.updateAccountRequestMetrics("anotherAccountId", MetricName.openrtb2web);
+        }
+
+        // when
+        metrics.refreshTopAccounts();
+        metrics.updateAccountRequestMetrics("anotherAccountId", MetricName.openrtb2web);
+
+        // then
+        assertThat(metricRegistry.counter("account.accountId.requests").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("other_accounts.requests").getCount()).isEqualTo(3);
+        assertThat(metricRegistry.counter("account.anotherAccountId.requests").getCount()).isEqualTo(1);
+
+        // when
+        metrics.refreshTopAccounts();
+
+        // then
+        assertThat(metricRegistry.getNames()).filteredOn(name -> name.startsWith("account.accountId."))
+                .isEmpty();
+    }
+
+    @Test
+    public void refreshTopAccountsShouldNotRemoveMetricsOfAccountReturnedToTop() {
+        // given
+        final TopAccountsTracker topAccountsTracker = new TopAccountsTracker(1);
+        metrics = new Metrics(metricRegistry, CounterType.counter, ReservoirType.exponentiallyDecaying,
+                accountMetricsVerbosity, bidderCatalog, topAccountsTracker);
+
+        metrics.updateAccountRequestMetrics(ACCOUNT_ID, MetricName.openrtb2web);
+        for (int i = 0; i < 3; i++) {
+            metrics.updateAccountRequestMetrics("anotherAccountId", MetricName.openrtb2web);
+        }
+        metrics.refreshTopAccounts();
+
+        // when
+        for (int i = 0; i < 5; i++) {
+            metrics.updateAccountRequestMetrics(ACCOUNT_ID, MetricName.openrtb2web);
+        }
+        metrics.refreshTopAccounts();
+
+        // then
+        assertThat(metricRegistry.counter("account.accountId.requests").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void shouldIncrementConnectionAcceptErrorsMetric() {
         // when
@@ -758,6 +871,83 @@ public class MetricsTest {
         assertThat(metricRegistry.counter("geolocation_circuitbreaker_closed").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void shouldIncrementGeoLocationCacheHitMetric() {
+        // when
+        metrics.updateGeoLocationCacheMetric(true);
+
+        // then
+        assertThat(metricRegistry.counter("geolocation_cache_hit").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldIncrementGeoLocationCacheMissMetric() {
+        // when
+        metrics.updateGeoLocationCacheMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("geolocation_cache_miss").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldIncrementGdprConsentCacheHitMetric() {
+        // when
+        metrics.updateGdprConsentCacheMetric(true);
+
+        // then
+        assertThat(metricRegistry.counter("gdpr_consent_cache_hit").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldIncrementGdprConsentCacheMissMetric() {
+        // when
+        metrics.updateGdprConsentCacheMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("gdpr_consent_cache_miss").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void updateTransportMetricsShouldSetGauges() {
+        // when
+        metrics.updateTransportMetrics(false, 4);
+        metrics.updateTransportMetrics(true, 8);
+
+        // then
+        assertThat(metricRegistry.getGauges().get("native_transport").getValue()).isEqualTo(1L);
+        assertThat(metricRegistry.getGauges().get("event_loops").getValue()).isEqualTo(8L);
+    }
+
+    @Test
+    public void updateAuctionAdmissionMetricShouldIncrementAdmittedAndShedMetrics() {
+        // when
+        metrics.updateAuctionAdmissionMetric(true);
+        metrics.updateAuctionAdmissionMetric(false);
+        metrics.updateAuctionAdmissionMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("auctions_admitted").getCount()).isEqualTo(1);
+        assertThat(metricRegistry.counter("auctions_shed").getCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void shouldIncrementBidderParamsValidationCacheHitMetric() {
+        // when
+        metrics.updateBidderParamsValidationCacheMetric(true);
+
+        // then
+        assertThat(metricRegistry.counter("bidder_params_validation_cache_hit").getCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void shouldIncrementBidderParamsValidationCacheMissMetric() {
+        // when
+        metrics.updateBidderParamsValidationCacheMetric(false);
+
+        // then
+        assertThat(metricRegistry.counter("bidder_params_validation_cache_miss").getCount()).isEqualTo(1);
+    }
+
     @Test
     public void shouldIncrementBothGeoLocationRequestsAndSuccessfulMetrics() {
         // when
@@ -845,6 +1035,68 @@ public class MetricsTest {
         assertThat(metricRegistry.timer("prebid_cache_request_error_time").getCount()).isEqualTo(1);
     }
 
+    @Test
+    public void shouldUpdateAuctionStageTimer() {
+        // when
+        metrics.updateAuctionStageMetric(AuctionStage.request_parsing, 1_500_000L);
+
+        // then
+        assertThat(metricRegistry.timer("stage.request_parsing.time").getSnapshot().getValues())
+                .containsOnly(1_500_000L);
+    }
+
+    @Test
+    public void shouldUpdateResourceMetricsOfSampledRequest() {
+        // given
+        final ResourceMeter resourceMeter = mock(ResourceMeter.class);
+        given(resourceMeter.isSampled()).willReturn(true);
+        given(resourceMeter.getAllocatedBytes()).willReturn(2048L);
+        given(resourceMeter.getCpuNanos()).willReturn(1_500_000L);
+
+        // when
+        metrics.updateResourceMetrics(MetricName.openrtb2web, "accountId", resourceMeter);
+
+        // then
+        assertThat(metricRegistry.histogram("resources.openrtb2-web.allocated_bytes").getSnapshot().getValues())
+                .containsOnly(2048L);
+        assertThat(metricRegistry.timer("resources.openrtb2-web.cpu_time").getSnapshot().getValues())
+                .containsOnly(1_500_000L);
+        assertThat(metricRegistry.histogram("account.accountId.allocated_bytes").getSnapshot().getValues())
+                .containsOnly(2048L);
+        assertThat(metricRegistry.timer("account.accountId.cpu_time").getSnapshot().getValues())
+                .containsOnly(1_500_000L);
+    }
+
+    @Test
+    public void shouldNotUpdateResourceMetricsOfNotSampledRequest() {
+        // when
+        metrics.updateResourceMetrics(MetricName.openrtb2web, "accountId", ResourceMeter.disabled());
+
+        // then
+        assertThat(metricRegistry.getHistograms()).isEmpty();
+        assertThat(metricRegistry.getTimers()).isEmpty();
+    }
+
+    @Test
+    public void shouldUpdateEventLoopMetrics() {
+        // when
+        metrics.updateEventLoopMetrics(1, 2_000_000L, 5);
+
+        // then
+        assertThat(metricRegistry.timer("event_loop.1.lag").getSnapshot().getValues()).containsOnly(2_000_000L);
+        assertThat(metricRegistry.histogram("event_loop.1.pending_tasks").getSnapshot().getValues())
+                .containsOnly(5L);
+    }
+
+    @Test
+    public void shouldIncrementEventLoopBlockedMetric() {
+        // when
+        metrics.updateEventLoopBlockedMetric(0);
+
+        // then
+        assertThat(metricRegistry.counter("event_loop.0.blocked").getCount()).isEqualTo(1);
+    }
+
     private void verifyCreatesConfiguredCounterType(Consumer<Metrics> metricsConsumer) {
         final EnumMap<CounterType, Class<? extends Metric>> counterTypeClasses = new EnumMap<>(CounterType.class);
         counterTypeClasses.put(CounterType.counter, Counter.class);
@@ -860,7 +1112,7 @@ public class MetricsTest {
 
             // when
             metricsConsumer.accept(new Metrics(metricRegistry, CounterType.valueOf(counterType.name()),
-                    accountMetricsVerbosity, bidderCatalog));
+                    ReservoirType.exponentiallyDecaying, accountMetricsVerbosity, bidderCatalog));
 
             // then
             softly.assertThat(metricRegistry.getMetrics()).hasValueSatisfying(new Condition<>(
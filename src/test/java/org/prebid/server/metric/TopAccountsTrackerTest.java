@@ -0,0 +1,146 @@
+package org.prebid.server.metric;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.List;
+
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+
+public class TopAccountsTrackerTest {
+
+    private TopAccountsTracker topAccountsTracker;
+
+    @Before
+    public void setUp() {
+        topAccountsTracker = new TopAccountsTracker(2);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveTopSize() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new TopAccountsTracker(0))
+                .withMessage("Number of top accounts must be positive");
+    }
+
+    @Test
+    public void recordShouldAddAccountsToTopUntilItIsFilled() {
+        // when
+        topAccountsTracker.record("1");
+        topAccountsTracker.record("2");
+        topAccountsTracker.record("3");
+
+        // then
+        assertThat(topAccountsTracker.isTop("1")).isTrue();
+        assertThat(topAccountsTracker.isTop("2")).isTrue();
+        assertThat(topAccountsTracker.isTop("3")).isFalse();
+    }
+
+    @Test
+    public void recordShouldNotChangeFilledTopUntilRefresh() {
+        // given
+        record("1", 1);
+        record("2", 1);
+
+        // when
+        record("3", 5);
+
+        // then
+        assertThat(topAccountsTracker.isTop("3")).isFalse();
+    }
+
+    @Test
+    public void refreshShouldReturnAccountsDroppedOutOfTop() {
+        // given
+        record("1", 1);
+        record("2", 5);
+        record("3", 3);
+
+        // when
+        final List<String> result = topAccountsTracker.refresh();
+
+        // then
+        assertThat(result).containsOnly("1");
+        assertThat(topAccountsTracker.isTop("1")).isFalse();
+        assertThat(topAccountsTracker.isTop("2")).isTrue();
+        assertThat(topAccountsTracker.isTop("3")).isTrue();
+    }
+
+    @Test
+    public void refreshShouldPutToTopNewAccountOvertakingEstablishedOnesWithinPeriod() {
+        // given
+        topAccountsTracker = new TopAccountsTracker(1);
+        // single top account allows four tracked ones
+        record("1", 6);
+        record("2", 2);
+        record("3", 2);
+        record("4", 2);
+
+        // when
+        record("5", 8);
+
+        // then
+        assertThat(topAccountsTracker.refresh()).isEqualTo(singletonList("1"));
+        assertThat(topAccountsTracker.isTop("5")).isTrue();
+    }
+
+    @Test
+    public void recordShouldNotPutToTopNewAccountTakingOverCounterWithFewRequests() {
+        // given
+        topAccountsTracker = new TopAccountsTracker(1);
+        record("1", 5);
+        record("2", 4);
+        record("3", 3);
+        record("4", 3);
+
+        // when
+        record("5", 1);
+
+        // then
+        assertThat(topAccountsTracker.refresh()).isEmpty();
+        assertThat(topAccountsTracker.isTop("1")).isTrue();
+    }
+
+    @Test
+    public void refreshShouldFreeCountersOfInactiveAccounts() {
+        // given
+        topAccountsTracker = new TopAccountsTracker(1);
+        record("1", 4);
+        record("2", 3);
+        record("3", 2);
+        record("4", 1);
+        topAccountsTracker.refresh();
+
+        // when
+        record("5", 5);
+
+        // then
+        assertThat(topAccountsTracker.refresh()).isEqualTo(singletonList("1"));
+        assertThat(topAccountsTracker.isTop("5")).isTrue();
+    }
+
+    @Test
+    public void refreshShouldDecayCountsSoThatTopReflectsRecentTraffic() {
+        // given
+        topAccountsTracker = new TopAccountsTracker(1);
+        record("1", 8);
+        record("2", 3);
+        topAccountsTracker.refresh();
+
+        // when
+        record("2", 4);
+        final List<String> result = topAccountsTracker.refresh();
+
+        // then
+        assertThat(result).isEqualTo(singletonList("1"));
+        assertThat(topAccountsTracker.isTop("2")).isTrue();
+    }
+
+    private void record(String account, int times) {
+        for (int i = 0; i < times; i++) {
+            topAccountsTracker.record(account);
+        }
+    }
+}
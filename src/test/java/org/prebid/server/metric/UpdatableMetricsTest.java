@@ -1,6 +1,8 @@
 package org.prebid.server.metric;
 
+import com.codahale.metrics.Histogram;
 import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -34,7 +36,7 @@ public class UpdatableMetricsTest {
     public void incCounterShouldCreateMetricNameUsingProvidedCreator() {
         // given
         updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
-                metricName -> "someprefix." + metricName.toString());
+                ReservoirType.exponentiallyDecaying, metricName -> "someprefix." + metricName.toString());
 
         // when
         updatableMetrics.incCounter(MetricName.requests, 5);
@@ -50,7 +52,8 @@ public class UpdatableMetricsTest {
         final Function<MetricName, String> nameCreator = mock(Function.class);
         given(nameCreator.apply(any())).willReturn("");
 
-        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, nameCreator);
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
+                ReservoirType.exponentiallyDecaying, nameCreator);
 
         // when
         updatableMetrics.incCounter(MetricName.requests, 5);
@@ -63,7 +66,8 @@ public class UpdatableMetricsTest {
     @Test
     public void incCounterShouldIncrementByOne() {
         // given
-        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, MetricName::toString);
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
+                ReservoirType.exponentiallyDecaying, MetricName::toString);
 
         // when
         updatableMetrics.incCounter(MetricName.requests);
@@ -76,7 +80,7 @@ public class UpdatableMetricsTest {
     public void updateTimerShouldCreateMetricNameUsingProvidedCreator() {
         // given
         updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
-                metricName -> "someprefix." + metricName.toString());
+                ReservoirType.exponentiallyDecaying, metricName -> "someprefix." + metricName.toString());
 
         // when
         updatableMetrics.updateTimer(MetricName.request_time, 1000L);
@@ -92,7 +96,8 @@ public class UpdatableMetricsTest {
         final Function<MetricName, String> nameCreator = mock(Function.class);
         given(nameCreator.apply(any())).willReturn("");
 
-        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, nameCreator);
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
+                ReservoirType.exponentiallyDecaying, nameCreator);
 
         // when
         updatableMetrics.updateTimer(MetricName.request_time, 1000L);
@@ -105,7 +110,8 @@ public class UpdatableMetricsTest {
     @Test
     public void updateTimerShouldConvertToNanos() {
         // given
-        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, MetricName::toString);
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
+                ReservoirType.exponentiallyDecaying, MetricName::toString);
 
         // when
         updatableMetrics.updateTimer(MetricName.request_time, 1000L);
@@ -114,11 +120,27 @@ public class UpdatableMetricsTest {
         assertThat(metricRegistry.timer("request_time").getSnapshot().getValues()).containsOnly(1_000_000_000L);
     }
 
+    @Test
+    public void updateTimerShouldRecordToHdrHistogramReservoirIfConfigured() {
+        // given
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, ReservoirType.hdrHistogram,
+                MetricName::toString);
+
+        // when
+        updatableMetrics.updateTimer(MetricName.request_time, 1000L);
+        updatableMetrics.updateTimer(MetricName.request_time, 3000L);
+
+        // then
+        final Timer timer = metricRegistry.timer("request_time");
+        assertThat(timer.getCount()).isEqualTo(2);
+        assertThat(timer.getSnapshot().getClass().getEnclosingClass()).isEqualTo(HdrHistogramReservoir.class);
+    }
+
     @Test
     public void updateHistogramShouldCreateMetricNameUsingProvidedCreator() {
         // given
         updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
-                metricName -> "someprefix." + metricName.toString());
+                ReservoirType.exponentiallyDecaying, metricName -> "someprefix." + metricName.toString());
 
         // when
         updatableMetrics.updateHistogram(MetricName.prices, 1000L);
@@ -134,7 +156,8 @@ public class UpdatableMetricsTest {
         final Function<MetricName, String> nameCreator = mock(Function.class);
         given(nameCreator.apply(any())).willReturn("");
 
-        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, nameCreator);
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter,
+                ReservoirType.exponentiallyDecaying, nameCreator);
 
         // when
         updatableMetrics.updateHistogram(MetricName.prices, 1000L);
@@ -144,7 +167,23 @@ public class UpdatableMetricsTest {
         verify(nameCreator).apply(eq(MetricName.prices));
     }
 
+    @Test
+    public void updateHistogramShouldRecordToHdrHistogramReservoirIfConfigured() {
+        // given
+        updatableMetrics = new UpdatableMetrics(metricRegistry, CounterType.counter, ReservoirType.hdrHistogram,
+                MetricName::toString);
+
+        // when
+        updatableMetrics.updateHistogram(MetricName.prices, 100L);
+
+        // then
+        final Histogram histogram = metricRegistry.histogram("prices");
+        assertThat(histogram.getCount()).isEqualTo(1);
+        assertThat(histogram.getSnapshot().getClass().getEnclosingClass()).isEqualTo(HdrHistogramReservoir.class);
+    }
+
     private UpdatableMetrics givenUpdatableMetricsWith(CounterType counterType) {
-        return new UpdatableMetrics(metricRegistry, counterType, MetricName::toString);
+        return new UpdatableMetrics(metricRegistry, counterType, ReservoirType.exponentiallyDecaying,
+                MetricName::toString);
     }
 }
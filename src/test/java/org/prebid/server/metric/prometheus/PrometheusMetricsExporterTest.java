@@ -0,0 +1,293 @@
+package org.prebid.server.metric.prometheus;
+
+import com.codahale.metrics.ExponentiallyDecayingReservoir;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import io.vertx.core.buffer.Buffer;
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.metric.SummingHistogram;
+import org.prebid.server.metric.SummingTimer;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PrometheusMetricsExporterTest {
+
+    private MetricRegistry metricRegistry;
+
+    private PrometheusMetricsExporter exporter;
+
+    @Before
+    public void setUp() {
+        metricRegistry = new MetricRegistry();
+
+        exporter = new PrometheusMetricsExporter(metricRegistry);
+    }
+
+    @Test
+    public void scrapeShouldExposeCounterAsCounterWithTotalSuffix() {
+        // given
+        metricRegistry.counter("app_requests").inc(3);
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).isEqualTo("# TYPE app_requests_total counter\napp_requests_total 3\n");
+    }
+
+    @Test
+    public void scrapeShouldExposeMeterAsCounterWithTotalSuffix() {
+        // given
+        metricRegistry.meter("imps_requested").mark(2);
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).isEqualTo("# TYPE imps_requested_total counter\nimps_requested_total 2\n");
+    }
+
+    @Test
+    public void scrapeShouldExposeNumericAndBooleanGauges() {
+        // given
+        metricRegistry.register("numeric", (Gauge<Integer>) () -> 5);
+        metricRegistry.register("boolean", (Gauge<Boolean>) () -> true);
+        metricRegistry.register("string", (Gauge<String>) () -> "value");
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).isEqualTo("# TYPE boolean gauge\nboolean 1\n"
+                + "# TYPE numeric gauge\nnumeric 5.0\n"
+                + "# TYPE string gauge\n");
+    }
+
+    @Test
+    public void scrapeShouldExposeTimerAsSummaryInSeconds() {
+        // given
+        metricRegistry.timer("request_time").update(250, TimeUnit.MILLISECONDS);
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).isEqualTo("# TYPE request_time summary\n"
+                + "request_time{quantile=\"0.5\"} 0.25\n"
+                + "request_time{quantile=\"0.75\"} 0.25\n"
+                + "request_time{quantile=\"0.95\"} 0.25\n"
+                + "request_time{quantile=\"0.98\"} 0.25\n"
+                + "request_time{quantile=\"0.99\"} 0.25\n"
+                + "request_time{quantile=\"0.999\"} 0.25\n"
+                + "request_time_count 1\n");
+    }
+
+    @Test
+    public void scrapeShouldExposeSumOfSummingTimerInSeconds() {
+        // given
+        final Timer timer = metricRegistry.timer("request_time", SummingTimer::new);
+        timer.update(250, TimeUnit.MILLISECONDS);
+        timer.update(500, TimeUnit.MILLISECONDS);
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).contains("request_time_sum 0.75\n")
+                .endsWith("request_time_count 2\n");
+    }
+
+    @Test
+    public void scrapeShouldExposeSumOfSummingHistogram() {
+        // given
+        final Histogram histogram = metricRegistry.histogram("prices",
+                () -> new SummingHistogram(new ExponentiallyDecayingReservoir()));
+        histogram.update(100);
+        histogram.update(50);
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).contains("prices_sum 150.0\n")
+                .endsWith("prices_count 2\n");
+    }
+
+    @Test
+    public void scrapeShouldMoveAdapterNameToLabel() {
+        // given
+        metricRegistry.histogram("adapter.rubicon.prices").update(100);
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).startsWith("# TYPE adapter_prices summary\n"
+                + "adapter_prices{adapter=\"rubicon\",quantile=\"0.5\"} 100.0\n")
+                .endsWith("adapter_prices_count{adapter=\"rubicon\"} 1\n");
+    }
+
+    @Test
+    public void scrapeShouldGroupMetricsWithSameFamilyUnderSingleType() {
+        // given
+        metricRegistry.counter("adapter.rubicon.requests.gotbids").inc();
+        metricRegistry.counter("adapter.appnexus.requests.gotbids").inc(2);
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).startsWith("# TYPE adapter_requests_gotbids_total counter\n")
+                .contains("adapter_requests_gotbids_total{adapter=\"rubicon\"} 1\n")
+                .contains("adapter_requests_gotbids_total{adapter=\"appnexus\"} 2\n")
+                .containsOnlyOnce("# TYPE");
+    }
+
+    @Test
+    public void scrapeShouldMoveAccountAndAdapterNamesToLabels() {
+        // given
+        metricRegistry.counter("account.acc.1.requests").inc();
+        metricRegistry.counter("account.acc.1.requests.type.amp").inc();
+        metricRegistry.counter("account.acc.1.rubicon.requests.nobid").inc();
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).isEqualTo("# TYPE account_adapter_requests_nobid_total counter\n"
+                + "account_adapter_requests_nobid_total{account=\"acc.1\",adapter=\"rubicon\"} 1\n"
+                + "# TYPE account_requests_total counter\n"
+                + "account_requests_total{account=\"acc.1\"} 1\n"
+                + "# TYPE account_requests_by_type_total counter\n"
+                + "account_requests_by_type_total{account=\"acc.1\",type=\"amp\"} 1\n");
+    }
+
+    @Test
+    public void scrapeShouldExposeRolledUpAccountsWithoutAccountLabel() {
+        // given
+        metricRegistry.counter("other_accounts.requests").inc();
+        metricRegistry.counter("other_accounts.requests.type.amp").inc();
+        metricRegistry.counter("other_accounts.rubicon.requests.nobid").inc();
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).isEqualTo("# TYPE other_accounts_adapter_requests_nobid_total counter\n"
+                + "other_accounts_adapter_requests_nobid_total{adapter=\"rubicon\"} 1\n"
+                + "# TYPE other_accounts_requests_total counter\n"
+                + "other_accounts_requests_total 1\n"
+                + "# TYPE other_accounts_requests_by_type_total counter\n"
+                + "other_accounts_requests_by_type_total{type=\"amp\"} 1\n");
+    }
+
+    @Test
+    public void scrapeShouldMoveRequestTypeToLabel() {
+        // given
+        metricRegistry.counter("requests.ok.openrtb2-web").inc();
+        metricRegistry.counter("requests.ok.amp").inc(2);
+        metricRegistry.counter("adapter.rubicon.requests.type.openrtb2-app").inc();
+        metricRegistry.counter("resources.amp.cpu_time").inc(3);
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).isEqualTo("# TYPE adapter_requests_by_type_total counter\n"
+                + "adapter_requests_by_type_total{adapter=\"rubicon\",type=\"openrtb2-app\"} 1\n"
+                + "# TYPE requests_ok_total counter\n"
+                + "requests_ok_total{type=\"openrtb2-web\"} 1\n"
+                + "requests_ok_total{type=\"amp\"} 2\n"
+                + "# TYPE resources_cpu_time_total counter\n"
+                + "resources_cpu_time_total{type=\"amp\"} 3\n");
+    }
+
+    @Test
+    public void scrapeShouldMoveBidTypeToLabel() {
+        // given
+        metricRegistry.counter("adapter.rubicon.video.adm_bids_received").inc();
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).isEqualTo("# TYPE adapter_adm_bids_received_total counter\n"
+                + "adapter_adm_bids_received_total{adapter=\"rubicon\",bid_type=\"video\"} 1\n");
+    }
+
+    @Test
+    public void scrapeShouldMoveSyncAdapterNameToLabel() {
+        // given
+        metricRegistry.counter("usersync.rubicon.sets").inc();
+        metricRegistry.counter("usersync.opt_outs").inc();
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).isEqualTo("# TYPE usersync_opt_outs_total counter\n"
+                + "usersync_opt_outs_total 1\n"
+                + "# TYPE usersync_sets_total counter\n"
+                + "usersync_sets_total{adapter=\"rubicon\"} 1\n");
+    }
+
+    @Test
+    public void scrapeShouldMoveEventLoopIndexToLabel() {
+        // given
+        metricRegistry.counter("event_loop.3.blocked").inc();
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result).isEqualTo("# TYPE event_loop_blocked_total counter\n"
+                + "event_loop_blocked_total{event_loop=\"3\"} 1\n");
+    }
+
+    @Test
+    public void scrapeShouldSanitizeNamesAndEscapeLabelValues() {
+        // given
+        metricRegistry.counter("0.0.0.0:8080.open-netsockets").inc();
+        metricRegistry.counter("account.a\"b\\c.requests").inc();
+
+        // when
+        final String result = scrapeAll();
+
+        // then
+        assertThat(result)
+                .contains("_0_0_0_0_8080_open_netsockets_total 1\n")
+                .contains("account_requests_total{account=\"a\\\"b\\\\c\"} 1\n");
+    }
+
+    @Test
+    public void scrapeShouldWriteOutputInPortionsLimitedBySizeHint() {
+        // given
+        for (int i = 0; i < 100; i++) {
+            metricRegistry.counter("account." + i + ".requests").inc();
+        }
+        final PrometheusScrape scrape = exporter.scrape();
+
+        // when
+        final Buffer first = Buffer.buffer();
+        final boolean firstFinished = scrape.writeTo(first, 100);
+        final Buffer rest = Buffer.buffer();
+        final boolean restFinished = scrape.writeTo(rest, Integer.MAX_VALUE);
+
+        // then
+        assertThat(firstFinished).isFalse();
+        assertThat(first.length()).isBetween(100, 200);
+        assertThat(restFinished).isTrue();
+        assertThat(first.toString() + rest.toString()).isEqualTo(scrapeAll());
+    }
+
+    private String scrapeAll() {
+        final Buffer buffer = Buffer.buffer();
+        exporter.scrape().writeTo(buffer, Integer.MAX_VALUE);
+        return buffer.toString();
+    }
+}
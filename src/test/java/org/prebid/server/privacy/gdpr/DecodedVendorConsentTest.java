@@ -0,0 +1,133 @@
+package org.prebid.server.privacy.gdpr;
+
+import com.iab.gdpr.GdprConstants;
+import com.iab.gdpr.consent.VendorConsent;
+import com.iab.gdpr.consent.VendorConsentDecoder;
+import com.iab.gdpr.consent.VendorConsentEncoder;
+import com.iab.gdpr.consent.implementation.v1.VendorConsentBuilder;
+import com.iab.gdpr.consent.range.SingleRangeEntry;
+import com.iab.gdpr.consent.range.StartEndRangeEntry;
+import com.iab.gdpr.exception.VendorConsentParseException;
+import org.junit.Test;
+
+import java.time.Instant;
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class DecodedVendorConsentTest {
+
+    @Test
+    public void fromBase64StringShouldDecodeVendorListVersionAndPurposes() {
+        // given
+        final String consent = VendorConsentEncoder.toBase64String(givenConsentBuilder()
+                .withBitField(new HashSet<>(asList(1, 3)))
+                .build());
+
+        // when
+        final DecodedVendorConsent result = DecodedVendorConsent.fromBase64String(consent);
+
+        // then
+        assertThat(result.getVendorListVersion()).isEqualTo(79);
+        assertThat(result.getAllowedPurposeIds()).containsOnly(1, 3);
+    }
+
+    @Test
+    public void fromBase64StringShouldDecodeVendorsFromBitField() {
+        // given
+        final String consent = VendorConsentEncoder.toBase64String(givenConsentBuilder()
+                .withBitField(new HashSet<>(asList(1, 32, 52, 100)))
+                .build());
+
+        // when
+        final DecodedVendorConsent result = DecodedVendorConsent.fromBase64String(consent);
+
+        // then
+        assertSameVendorsAsSdk(consent, result);
+        assertThat(result.isVendorAllowed(52)).isTrue();
+        assertThat(result.isVendorAllowed(53)).isFalse();
+    }
+
+    @Test
+    public void fromBase64StringShouldDecodeVendorsFromRangeEntries() {
+        // given
+        final String consent = VendorConsentEncoder.toBase64String(givenConsentBuilder()
+                .withVendorEncodingType(GdprConstants.VENDOR_ENCODING_RANGE)
+                .withRangeEntries(asList(new StartEndRangeEntry(2, 10), new SingleRangeEntry(52),
+                        new StartEndRangeEntry(90, 100)))
+                .build());
+
+        // when
+        final DecodedVendorConsent result = DecodedVendorConsent.fromBase64String(consent);
+
+        // then
+        assertSameVendorsAsSdk(consent, result);
+        assertThat(result.isVendorAllowed(10)).isTrue();
+        assertThat(result.isVendorAllowed(11)).isFalse();
+    }
+
+    @Test
+    public void fromBase64StringShouldDecodeVendorsFromRangeEntriesWithDefaultConsent() {
+        // given
+        final String consent = VendorConsentEncoder.toBase64String(givenConsentBuilder()
+                .withVendorEncodingType(GdprConstants.VENDOR_ENCODING_RANGE)
+                .withDefaultConsent(true)
+                .withRangeEntries(asList(new StartEndRangeEntry(2, 10), new SingleRangeEntry(52)))
+                .build());
+
+        // when
+        final DecodedVendorConsent result = DecodedVendorConsent.fromBase64String(consent);
+
+        // then
+        assertSameVendorsAsSdk(consent, result);
+        assertThat(result.isVendorAllowed(1)).isTrue();
+        assertThat(result.isVendorAllowed(52)).isFalse();
+    }
+
+    @Test
+    public void fromBase64StringShouldFailIfConsentIsNotBase64() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> DecodedVendorConsent.fromBase64String("invalid*consent"));
+    }
+
+    @Test
+    public void getAllowedPurposeIdsShouldFailIfPurposesSectionIsInvalid() {
+        // when
+        final DecodedVendorConsent result = DecodedVendorConsent.fromBase64String("BONciguONcjGKADACHENAOLS1r");
+
+        // then
+        assertThatThrownBy(result::getAllowedPurposeIds).isInstanceOf(VendorConsentParseException.class);
+    }
+
+    @Test
+    public void isVendorAllowedShouldFailIfVendorsSectionIsInvalid() {
+        // when
+        final DecodedVendorConsent result =
+                DecodedVendorConsent.fromBase64String("BOSbaBZOSbaBoABABBENBcoAAAAgSABgBAA");
+
+        // then
+        assertThatThrownBy(() -> result.isVendorAllowed(1)).isInstanceOf(VendorConsentParseException.class);
+    }
+
+    private static VendorConsentBuilder givenConsentBuilder() {
+        return new VendorConsentBuilder()
+                .withConsentRecordCreatedOn(Instant.now())
+                .withConsentRecordLastUpdatedOn(Instant.now())
+                .withConsentLanguage("en")
+                .withVendorListVersion(79)
+                .withAllowedPurposeIds(new HashSet<>(asList(1, 3)))
+                .withMaxVendorId(100);
+    }
+
+    private static void assertSameVendorsAsSdk(String consent, DecodedVendorConsent decodedVendorConsent) {
+        final VendorConsent vendorConsent = VendorConsentDecoder.fromBase64String(consent);
+        for (int vendorId = 1; vendorId <= vendorConsent.getMaxVendorId() + 10; vendorId++) {
+            assertThat(decodedVendorConsent.isVendorAllowed(vendorId))
+                    .describedAs("vendor %d", vendorId)
+                    .isEqualTo(vendorConsent.isVendorAllowed(vendorId));
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package org.prebid.server.privacy.gdpr;
 
+import com.iab.gdpr.consent.VendorConsentEncoder;
+import com.iab.gdpr.consent.implementation.v1.VendorConsentBuilder;
 import io.vertx.core.Future;
 import org.junit.Before;
 import org.junit.Rule;
@@ -14,16 +16,23 @@ import org.prebid.server.metric.Metrics;
 import org.prebid.server.privacy.gdpr.model.GdprPurpose;
 import org.prebid.server.privacy.gdpr.model.GdprResponse;
 import org.prebid.server.privacy.gdpr.vendorlist.VendorListService;
+import org.prebid.server.privacy.gdpr.vendorlist.VendorPurposes;
 
+import java.time.Instant;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
 
+import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
@@ -44,16 +53,20 @@ public class GdprServiceTest extends VertxTest {
     @Mock
     private VendorListService vendorListService;
 
+    private VendorConsentCache vendorConsentCache;
+
     private GdprService gdprService;
 
     @Before
     public void setUp() {
-        given(vendorListService.forVersion(anyInt())).willReturn(Future.succeededFuture(
-                singletonMap(1, singleton(GdprPurpose.informationStorageAndAccess.getId()))));
+        given(vendorListService.forVersion(anyInt())).willReturn(Future.succeededFuture(VendorPurposes.of(
+                singletonMap(1, singleton(GdprPurpose.informationStorageAndAccess.getId())))));
         given(geoLocationService.lookup(anyString(), any()))
                 .willReturn(Future.succeededFuture(GeoInfo.builder().vendor("vendor").country("country1").build()));
 
-        gdprService = new GdprService(emptyList(), "1", null, metrics, vendorListService);
+        vendorConsentCache = new VendorConsentCache(100, metrics);
+
+        gdprService = new GdprService(emptyList(), "1", null, metrics, vendorListService, vendorConsentCache);
     }
 
     @Test
@@ -87,7 +100,7 @@ public class GdprServiceTest extends VertxTest {
     public void shouldReturnGdprFromGeoLocationServiceIfGdprFromRequestIsNotValidAndUpdateMetrics() {
         // given
         gdprService = new GdprService(
-                singletonList("country1"), "1", geoLocationService, metrics, vendorListService);
+                singletonList("country1"), "1", geoLocationService, metrics, vendorListService, vendorConsentCache);
 
         // when
         final Future<?> future = gdprService.resultByVendor(singleton(GdprPurpose.informationStorageAndAccess),
@@ -216,7 +229,8 @@ public class GdprServiceTest extends VertxTest {
     public void shouldReturnAllowedResultIfNoGdprParamAndCountryIsNotFoundButDefaultGdprIsZeroAndUpdateMetrics() {
         // given
         given(geoLocationService.lookup(anyString(), any())).willReturn(Future.failedFuture("country not found"));
-        gdprService = new GdprService(emptyList(), "0", geoLocationService, metrics, vendorListService);
+        gdprService = new GdprService(emptyList(), "0", geoLocationService, metrics, vendorListService,
+                vendorConsentCache);
 
         // when
         final Future<?> future =
@@ -232,7 +246,8 @@ public class GdprServiceTest extends VertxTest {
     @Test
     public void shouldReturnAllowedResultIfNoGdprParamAndCountryIsNotInEEA() {
         // given
-        gdprService = new GdprService(emptyList(), "1", geoLocationService, metrics, vendorListService);
+        gdprService = new GdprService(emptyList(), "1", geoLocationService, metrics, vendorListService,
+                vendorConsentCache);
 
         // when
         final Future<?> future =
@@ -248,8 +263,8 @@ public class GdprServiceTest extends VertxTest {
     @Test
     public void shouldReturnAllowedResultIfNoPurposesProvided() {
         // given
-        given(vendorListService.forVersion(anyInt())).willReturn(Future.succeededFuture(
-                singletonMap(1, new HashSet<>(Arrays.asList(1, 2, 3)))));
+        given(vendorListService.forVersion(anyInt())).willReturn(Future.succeededFuture(VendorPurposes.of(
+                singletonMap(1, new HashSet<>(Arrays.asList(1, 2, 3))))));
 
         // when
         final Future<?> future =
@@ -265,7 +280,7 @@ public class GdprServiceTest extends VertxTest {
     public void shouldReturnAllowedResultIfNoGdprParamAndConsentParamIsValidAndCountryIsInEEA() {
         // given
         gdprService = new GdprService(
-                singletonList("country1"), "1", geoLocationService, metrics, vendorListService);
+                singletonList("country1"), "1", geoLocationService, metrics, vendorListService, vendorConsentCache);
 
         // when
         final Future<?> future =
@@ -282,7 +297,7 @@ public class GdprServiceTest extends VertxTest {
     @Test
     public void shouldReturnAllowedResultIfNoGdprParamAndNoIpButGdprDefaultValueIsZero() {
         // given
-        gdprService = new GdprService(emptyList(), "0", null, metrics, vendorListService);
+        gdprService = new GdprService(emptyList(), "0", null, metrics, vendorListService, vendorConsentCache);
 
         // when
         final Future<?> future =
@@ -334,8 +349,8 @@ public class GdprServiceTest extends VertxTest {
     @Test
     public void shouldReturnRestrictedResultIfGdprParamIsOneAndConsentHasNotAllVendorPurposes() {
         // given
-        given(vendorListService.forVersion(anyInt())).willReturn(Future.succeededFuture(
-                singletonMap(1, new HashSet<>(Arrays.asList(1, 2, 3, 4)))));
+        given(vendorListService.forVersion(anyInt())).willReturn(Future.succeededFuture(VendorPurposes.of(
+                singletonMap(1, new HashSet<>(Arrays.asList(1, 2, 3, 4))))));
 
         // when
         final Future<?> future =
@@ -349,8 +364,8 @@ public class GdprServiceTest extends VertxTest {
     @Test
     public void shouldReturnAllowedResultIfGdprParamIsOneAndConsentHasAllVendorPurposes() {
         // given
-        given(vendorListService.forVersion(anyInt())).willReturn(Future.succeededFuture(
-                singletonMap(1, new HashSet<>(Arrays.asList(1, 2, 3)))));
+        given(vendorListService.forVersion(anyInt())).willReturn(Future.succeededFuture(VendorPurposes.of(
+                singletonMap(1, new HashSet<>(Arrays.asList(1, 2, 3))))));
 
         // when
         final Future<?> future =
@@ -360,4 +375,56 @@ public class GdprServiceTest extends VertxTest {
         assertThat(future.succeeded()).isTrue();
         assertThat(future.result()).isEqualTo(GdprResponse.of(true, singletonMap(1, true), null));
     }
+
+    @Test
+    public void shouldReturnResultForEachVendorIfConsentHasAllVendorPurposes() {
+        // given
+        given(vendorListService.forVersion(anyInt())).willReturn(Future.succeededFuture(givenVendorPurposes()));
+
+        // when
+        final Future<GdprResponse> future =
+                gdprService.resultByVendor(new HashSet<>(asList(1, 2, 3, 4, 5)), "1", givenConsent(), null, null);
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        assertThat(future.result().getVendorsToGdpr())
+                .containsOnly(entry(1, true), entry(2, false), entry(3, true), entry(4, false), entry(5, false));
+    }
+
+    @Test
+    public void shouldReturnResultForEachVendorIfVendorHasAllGivenPurposes() {
+        // given
+        given(vendorListService.forVersion(anyInt())).willReturn(Future.succeededFuture(givenVendorPurposes()));
+
+        // when
+        final Future<GdprResponse> future = gdprService.resultByVendor(
+                singleton(GdprPurpose.informationStorageAndAccess), new HashSet<>(asList(1, 2, 3, 4, 5)), "1",
+                givenConsent(), null, null);
+
+        // then
+        assertThat(future.succeeded()).isTrue();
+        assertThat(future.result().getVendorsToGdpr())
+                .containsOnly(entry(1, true), entry(2, true), entry(3, false), entry(4, false), entry(5, false));
+    }
+
+    private static VendorPurposes givenVendorPurposes() {
+        final Map<Integer, Set<Integer>> vendorIdToPurposes = new HashMap<>();
+        vendorIdToPurposes.put(1, singleton(1));
+        vendorIdToPurposes.put(2, new HashSet<>(asList(1, 3)));
+        vendorIdToPurposes.put(3, singleton(2));
+        vendorIdToPurposes.put(4, singleton(1));
+        return VendorPurposes.of(vendorIdToPurposes);
+    }
+
+    private static String givenConsent() {
+        return VendorConsentEncoder.toBase64String(new VendorConsentBuilder()
+                .withConsentRecordCreatedOn(Instant.now())
+                .withConsentRecordLastUpdatedOn(Instant.now())
+                .withConsentLanguage("en")
+                .withVendorListVersion(79)
+                .withAllowedPurposeIds(new HashSet<>(asList(1, 2)))
+                .withMaxVendorId(10)
+                .withBitField(new HashSet<>(asList(1, 2, 3, 5)))
+                .build());
+    }
 }
@@ -0,0 +1,71 @@
+package org.prebid.server.privacy.gdpr;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.Metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+public class VendorConsentCacheTest {
+
+    private static final String CONSENT = "BOEFEAyOEFEAyAHABDENAI4AAAB9vABAASA";
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private Metrics metrics;
+
+    @Test
+    public void creationShouldFailOnNegativeSize() {
+        assertThatIllegalArgumentException().isThrownBy(() -> new VendorConsentCache(-1, metrics));
+    }
+
+    @Test
+    public void getShouldReturnSameDecodedConsentForSameConsentString() {
+        // given
+        final VendorConsentCache vendorConsentCache = new VendorConsentCache(10, metrics);
+
+        // when
+        final DecodedVendorConsent first = vendorConsentCache.get(CONSENT);
+        final DecodedVendorConsent second = vendorConsentCache.get(CONSENT);
+
+        // then
+        assertThat(second).isSameAs(first);
+        verify(metrics).updateGdprConsentCacheMetric(false);
+        verify(metrics).updateGdprConsentCacheMetric(true);
+    }
+
+    @Test
+    public void getShouldFailAndNotCacheInvalidConsentString() {
+        // given
+        final VendorConsentCache vendorConsentCache = new VendorConsentCache(10, metrics);
+
+        // when and then
+        assertThatIllegalArgumentException().isThrownBy(() -> vendorConsentCache.get("invalid*consent"));
+        assertThatIllegalArgumentException().isThrownBy(() -> vendorConsentCache.get("invalid*consent"));
+        verify(metrics, never()).updateGdprConsentCacheMetric(true);
+    }
+
+    @Test
+    public void getShouldDecodeEveryTimeIfCacheIsTurnedOff() {
+        // given
+        final VendorConsentCache vendorConsentCache = new VendorConsentCache(0, metrics);
+
+        // when
+        final DecodedVendorConsent first = vendorConsentCache.get(CONSENT);
+        final DecodedVendorConsent second = vendorConsentCache.get(CONSENT);
+
+        // then
+        assertThat(second).isNotSameAs(first);
+        assertThat(second.getVendorListVersion()).isEqualTo(first.getVendorListVersion());
+        verify(metrics, never()).updateGdprConsentCacheMetric(anyBoolean());
+    }
+}
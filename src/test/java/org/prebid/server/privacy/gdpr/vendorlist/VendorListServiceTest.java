@@ -25,13 +25,12 @@ import java.io.File;
 import java.util.Arrays;
 import java.util.Date;
 import java.util.HashSet;
-import java.util.Map;
-import java.util.Set;
 
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
 import static java.util.Collections.singleton;
 import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
@@ -323,12 +322,12 @@ public class VendorListServiceTest extends VertxTest {
 
         // when
         vendorListService.forVersion(1); // populate cache
-        final Future<Map<Integer, Set<Integer>>> future = vendorListService.forVersion(1);
+        final Future<VendorPurposes> future = vendorListService.forVersion(1);
 
         // then
         assertThat(future.succeeded()).isTrue();
-        assertThat(future.result()).hasSize(1)
-                .containsEntry(52, new HashSet<>(Arrays.asList(1, 2)));
+        assertThat(future.result())
+                .isEqualTo(VendorPurposes.of(singletonMap(52, new HashSet<>(Arrays.asList(1, 2)))));
     }
 
     @Test
@@ -343,12 +342,11 @@ public class VendorListServiceTest extends VertxTest {
 
         // when
         vendorListService.forVersion(1); // populate cache
-        final Future<Map<Integer, Set<Integer>>> future = vendorListService.forVersion(1);
+        final Future<VendorPurposes> future = vendorListService.forVersion(1);
 
         // then
         assertThat(future.succeeded()).isTrue();
-        assertThat(future.result()).hasSize(1)
-                .containsEntry(52, new HashSet<>(asList(1, 2)));
+        assertThat(future.result()).isEqualTo(VendorPurposes.of(singletonMap(52, new HashSet<>(asList(1, 2)))));
     }
 
     private static VendorList givenVendorList() {
@@ -0,0 +1,93 @@
+package org.prebid.server.privacy.gdpr.vendorlist;
+
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class VendorPurposesTest {
+
+    private final VendorPurposes vendorPurposes = givenVendorPurposes();
+
+    @Test
+    public void knownVendorsShouldReturnOnlyVendorsPresentInVendorList() {
+        // when
+        final BitSet result = vendorPurposes.knownVendors(asList(1, 3, 4, 64, null, 0, -1));
+
+        // then
+        assertThat(result).isEqualTo(bits(1, 3, 64));
+    }
+
+    @Test
+    public void retainVendorsWithAllPurposesShouldKeepVendorsHavingAllGivenPurposes() {
+        // given
+        final BitSet vendors = bits(1, 2, 3, 64);
+
+        // when
+        vendorPurposes.retainVendorsWithAllPurposes(vendors, new HashSet<>(asList(1, 2)));
+
+        // then
+        assertThat(vendors).isEqualTo(bits(1, 64));
+    }
+
+    @Test
+    public void retainVendorsWithAllPurposesShouldClearVendorsIfNoVendorHasPurpose() {
+        // given
+        final BitSet vendors = bits(1, 2, 3, 64);
+
+        // when
+        vendorPurposes.retainVendorsWithAllPurposes(vendors, singleton(5));
+
+        // then
+        assertThat(vendors.isEmpty()).isTrue();
+    }
+
+    @Test
+    public void retainVendorsWithPurposesWithinShouldKeepVendorsHavingOnlyGivenPurposes() {
+        // given
+        final BitSet vendors = bits(1, 2, 3, 64);
+
+        // when
+        vendorPurposes.retainVendorsWithPurposesWithin(vendors, new HashSet<>(asList(1, 2)));
+
+        // then
+        assertThat(vendors).isEqualTo(bits(1, 2, 3));
+    }
+
+    @Test
+    public void retainVendorsWithPurposesWithinShouldKeepVendorsWithoutPurposes() {
+        // given
+        final BitSet vendors = bits(1, 3);
+
+        // when
+        vendorPurposes.retainVendorsWithPurposesWithin(vendors, emptySet());
+
+        // then
+        assertThat(vendors).isEqualTo(bits(3));
+    }
+
+    private static VendorPurposes givenVendorPurposes() {
+        final Map<Integer, Set<Integer>> vendorIdToPurposes = new HashMap<>();
+        vendorIdToPurposes.put(1, new HashSet<>(asList(1, 2)));
+        vendorIdToPurposes.put(2, singleton(1));
+        vendorIdToPurposes.put(3, emptySet());
+        vendorIdToPurposes.put(64, new HashSet<>(asList(1, 2, 3)));
+        return VendorPurposes.of(vendorIdToPurposes);
+    }
+
+    private static BitSet bits(int... vendorIds) {
+        final BitSet bitSet = new BitSet();
+        for (int vendorId : vendorIds) {
+            bitSet.set(vendorId - 1);
+        }
+        return bitSet;
+    }
+}
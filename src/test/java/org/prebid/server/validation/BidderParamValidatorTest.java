@@ -1,6 +1,7 @@
 package org.prebid.server.validation;
 
 import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -9,6 +10,7 @@ import org.mockito.junit.MockitoJUnit;
 import org.mockito.junit.MockitoRule;
 import org.prebid.server.VertxTest;
 import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.metric.Metrics;
 import org.prebid.server.proto.openrtb.ext.request.adform.ExtImpAdform;
 import org.prebid.server.proto.openrtb.ext.request.adtelligent.ExtImpAdtelligent;
 import org.prebid.server.proto.openrtb.ext.request.appnexus.ExtImpAppnexus;
@@ -32,6 +34,7 @@ import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
 
 public class BidderParamValidatorTest extends VertxTest {
 
@@ -52,6 +55,8 @@ public class BidderParamValidatorTest extends VertxTest {
 
     @Mock
     private BidderCatalog bidderCatalog;
+    @Mock
+    private Metrics metrics;
 
     private BidderParamValidator bidderParamValidator;
 
@@ -61,27 +66,66 @@ public class BidderParamValidatorTest extends VertxTest {
                 asList(RUBICON, APPNEXUS, ADFORM, BRIGHTROLL, SOVRN, ADTELLIGENT, FACEBOOK, OPENX, EPLANNING,
                         SOMOAUDIENCE, BEACHFRONT)));
 
-        bidderParamValidator = BidderParamValidator.create(bidderCatalog, "static/bidder-params", jacksonMapper);
+        bidderParamValidator = BidderParamValidator.create(bidderCatalog, "static/bidder-params", 100, metrics,
+                jacksonMapper);
     }
 
     @Test
     public void createShouldFailOnInvalidSchemaPath() {
         assertThatIllegalArgumentException().isThrownBy(
-                () -> BidderParamValidator.create(bidderCatalog, "noschema", jacksonMapper));
+                () -> BidderParamValidator.create(bidderCatalog, "noschema", 0, metrics, jacksonMapper));
     }
 
     @Test
     public void createShouldFailOnEmptySchemaFile() {
         assertThatIllegalArgumentException().isThrownBy(
                 () -> BidderParamValidator.create(
-                        bidderCatalog, "org/prebid/server/validation/schema/empty", jacksonMapper));
+                        bidderCatalog, "org/prebid/server/validation/schema/empty", 0, metrics, jacksonMapper));
     }
 
     @Test
     public void createShouldFailOnInvalidSchemaFile() {
         assertThatIllegalArgumentException().isThrownBy(
                 () -> BidderParamValidator.create(
-                        bidderCatalog, "org/prebid/server/validation/schema/invalid", jacksonMapper));
+                        bidderCatalog, "org/prebid/server/validation/schema/invalid", 0, metrics, jacksonMapper));
+    }
+
+    @Test
+    public void createShouldFailOnNegativeCacheSize() {
+        assertThatIllegalArgumentException().isThrownBy(
+                () -> BidderParamValidator.create(bidderCatalog, "static/bidder-params", -1, metrics, jacksonMapper))
+                .withMessage("Validation cache size must be non-negative");
+    }
+
+    @Test
+    public void validateShouldReturnCachedValidationMessagesForEqualParams() {
+        // given
+        final JsonNode node = mapper.createObjectNode().put("accountId", "invalid").put("siteId", 2);
+
+        // when
+        final Set<String> messages = bidderParamValidator.validate(RUBICON, node);
+        final Set<String> cachedMessages = bidderParamValidator.validate(RUBICON,
+                mapper.createObjectNode().put("siteId", 2).put("accountId", "invalid"));
+
+        // then
+        assertThat(messages).isNotEmpty();
+        assertThat(cachedMessages).isSameAs(messages);
+        verify(metrics).updateBidderParamsValidationCacheMetric(false);
+        verify(metrics).updateBidderParamsValidationCacheMetric(true);
+    }
+
+    @Test
+    public void validateShouldNotBeAffectedByChangesOfValidatedParams() {
+        // given
+        final ObjectNode node = mapper.valueToTree(ExtImpRubicon.builder().accountId(1).siteId(2).zoneId(3).build());
+        bidderParamValidator.validate(RUBICON, node);
+
+        // when
+        node.put("accountId", "invalid");
+        final Set<String> messages = bidderParamValidator.validate(RUBICON, node);
+
+        // then
+        assertThat(messages).isNotEmpty();
     }
 
     @Test
@@ -386,7 +430,7 @@ public class BidderParamValidatorTest extends VertxTest {
         given(bidderCatalog.names()).willReturn(new HashSet<>(asList("test-rubicon", "test-appnexus")));
 
         bidderParamValidator = BidderParamValidator.create(
-                bidderCatalog, "org/prebid/server/validation/schema/valid", jacksonMapper);
+                bidderCatalog, "org/prebid/server/validation/schema/valid", 0, metrics, jacksonMapper);
 
         // when
         final String result = bidderParamValidator.schemas();
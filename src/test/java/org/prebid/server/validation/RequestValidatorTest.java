@@ -89,7 +89,7 @@ public class RequestValidatorTest extends VertxTest {
         given(bidderParamValidator.validate(any(), any())).willReturn(Collections.emptySet());
         given(bidderCatalog.isValidName(eq(RUBICON))).willReturn(true);
 
-        requestValidator = new RequestValidator(bidderCatalog, bidderParamValidator, jacksonMapper);
+        requestValidator = new RequestValidator(bidderCatalog, bidderParamValidator, 100, jacksonMapper);
     }
 
     @Test
@@ -2435,6 +2435,60 @@ public class RequestValidatorTest extends VertxTest {
                 .containsOnly(0, 1);
     }
 
+    @Test
+    public void validateShouldUpdateNativeRequestAssetsIdsForRequestFoundInCache() throws JsonProcessingException {
+        // given
+        final BidRequest bidRequest = givenBidRequestWithNativeRequest(nativeReqCustomizer ->
+                nativeReqCustomizer.assets(asList(Asset.builder().build(), Asset.builder().build())));
+        final BidRequest sameBidRequest = givenBidRequestWithNativeRequest(nativeReqCustomizer ->
+                nativeReqCustomizer.assets(asList(Asset.builder().build(), Asset.builder().build())));
+        requestValidator.validate(bidRequest);
+
+        // when
+        final ValidationResult result = requestValidator.validate(sameBidRequest);
+
+        // then
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(sameBidRequest.getImp().get(0).getXNative().getRequest())
+                .isSameAs(bidRequest.getImp().get(0).getXNative().getRequest());
+    }
+
+    @Test
+    public void validateShouldNotChangeNativeRequestIfItIsAlreadyNormalized() throws JsonProcessingException {
+        // given
+        final String nativeRequest = mapper.writeValueAsString(Request.builder()
+                .assets(singletonList(Asset.builder().id(1).build())).build());
+        final BidRequest bidRequest = givenBidRequest(nativeCustomizer -> nativeCustomizer.request(nativeRequest));
+
+        // when
+        requestValidator.validate(bidRequest);
+
+        // then
+        assertThat(bidRequest.getImp().get(0).getXNative().getRequest()).isSameAs(nativeRequest);
+    }
+
+    @Test
+    public void validateShouldReturnNativeValidationMessageWithIndexOfImpForRequestFoundInCache() {
+        // given
+        final String invalidNativeRequest = "{\"assets\":[]}";
+        requestValidator.validate(givenBidRequest(nativeCustomizer -> nativeCustomizer.request(invalidNativeRequest)));
+
+        final BidRequest bidRequest = validBidRequestBuilder()
+                .imp(asList(
+                        validImpBuilder().build(),
+                        validImpBuilder().id("201")
+                                .xNative(Native.builder().request(invalidNativeRequest).build())
+                                .build()))
+                .build();
+
+        // when
+        final ValidationResult result = requestValidator.validate(bidRequest);
+
+        // then
+        assertThat(result.getErrors()).containsOnly(
+                "request.imp[1].native.request.assets must be an array containing at least one object");
+    }
+
     @Test
     public void validateShouldReturnValidationMessageWhenMetricTypeNullOrEmpty() {
         // given
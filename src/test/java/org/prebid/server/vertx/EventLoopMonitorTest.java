@@ -0,0 +1,214 @@
+package org.prebid.server.vertx;
+
+import io.netty.util.concurrent.EventExecutor;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.metric.Metrics;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+
+public class EventLoopMonitorTest {
+
+    private static final long BLOCKED_THRESHOLD_MS = 100L;
+    private static final int BLOCKED_CHECKS_THRESHOLD = 2;
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private EventExecutor eventLoop;
+    @Mock
+    private EventExecutor anotherEventLoop;
+    @Mock
+    private Metrics metrics;
+
+    private AtomicLong nanoTime;
+
+    private EventLoopMonitor eventLoopMonitor;
+
+    @Before
+    public void setUp() {
+        nanoTime = new AtomicLong();
+
+        eventLoopMonitor = new EventLoopMonitor(asList(eventLoop, anotherEventLoop), 1000L, BLOCKED_THRESHOLD_MS,
+                BLOCKED_CHECKS_THRESHOLD, metrics, nanoTime::get);
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveInterval() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new EventLoopMonitor(singletonList(eventLoop), 0L, 1L, 1, metrics, nanoTime::get))
+                .withMessage("Event loop monitor interval must be positive, but was 0");
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveBlockedThreshold() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new EventLoopMonitor(singletonList(eventLoop), 1L, -1L, 1, metrics, nanoTime::get))
+                .withMessage("Event loop blocked threshold must be positive, but was -1");
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveBlockedChecksThreshold() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new EventLoopMonitor(singletonList(eventLoop), 1L, 1L, 0, metrics, nanoTime::get))
+                .withMessage("Number of event loop blocked checks must be positive, but was 0");
+    }
+
+    @Test
+    public void closeShouldStopChecks() throws InterruptedException {
+        // given
+        eventLoopMonitor = new EventLoopMonitor(singletonList(eventLoop), 1L, BLOCKED_THRESHOLD_MS,
+                BLOCKED_CHECKS_THRESHOLD, metrics, nanoTime::get);
+        eventLoopMonitor.initialize();
+        verify(eventLoop, timeout(1000L)).execute(any());
+
+        // when
+        eventLoopMonitor.close();
+
+        // then
+        reset(eventLoop);
+        Thread.sleep(50L);
+        verifyZeroInteractions(eventLoop);
+    }
+
+    @Test
+    public void checkShouldSubmitTaskToEveryEventLoop() {
+        // when
+        eventLoopMonitor.check();
+
+        // then
+        verify(eventLoop).execute(any());
+        verify(anotherEventLoop).execute(any());
+        verifyZeroInteractions(metrics);
+    }
+
+    @Test
+    public void checkShouldReportLagOfPreviouslySubmittedTask() {
+        // given
+        eventLoopMonitor.check();
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(5L));
+        captureTask(eventLoop).run();
+
+        // when
+        eventLoopMonitor.check();
+
+        // then
+        verify(metrics).updateEventLoopMetrics(0, TimeUnit.MILLISECONDS.toNanos(5L), 0);
+        verify(metrics, never()).updateEventLoopMetrics(eq(1), anyLong(), anyInt());
+        verify(eventLoop, times(2)).execute(any());
+        assertThat(eventLoopMonitor.isBlocked()).isFalse();
+    }
+
+    @Test
+    public void checkShouldTrackMaxLagCountingPendingTasksWithTimeWaitedSoFar() {
+        // given
+        eventLoopMonitor.check();
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(5L));
+        captureTask(eventLoop).run();
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(3L));
+
+        // when
+        eventLoopMonitor.check();
+
+        // then
+        assertThat(eventLoopMonitor.maxLagMs()).isEqualTo(8L);
+    }
+
+    @Test
+    public void checkShouldNotSubmitNewTaskWhilePreviousIsPending() {
+        // given
+        eventLoopMonitor.check();
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(10L));
+
+        // when
+        eventLoopMonitor.check();
+
+        // then
+        verify(eventLoop).execute(any());
+        verifyZeroInteractions(metrics);
+        assertThat(eventLoopMonitor.isBlocked()).isFalse();
+    }
+
+    @Test
+    public void checkShouldReportBlockedEventLoopOncePerBlocking() {
+        // given
+        eventLoopMonitor.check();
+        captureTask(anotherEventLoop).run();
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(BLOCKED_THRESHOLD_MS + 1));
+
+        // when
+        eventLoopMonitor.check();
+        eventLoopMonitor.check();
+
+        // then
+        verify(metrics).updateEventLoopBlockedMetric(0);
+        verify(metrics, never()).updateEventLoopBlockedMetric(1);
+        assertThat(eventLoopMonitor.isBlocked()).isTrue();
+    }
+
+    @Test
+    public void checkShouldNotReportBlockedStateUntilEventLoopIsBlockedForGivenNumberOfChecks() {
+        // given
+        eventLoopMonitor.check();
+        captureTask(anotherEventLoop).run();
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(BLOCKED_THRESHOLD_MS + 1));
+
+        // when
+        eventLoopMonitor.check();
+
+        // then
+        verify(metrics).updateEventLoopBlockedMetric(0);
+        assertThat(eventLoopMonitor.isBlocked()).isFalse();
+    }
+
+    @Test
+    public void checkShouldClearBlockedStateWhenEventLoopRecovers() {
+        // given
+        eventLoopMonitor.check();
+        captureTask(anotherEventLoop).run();
+        nanoTime.addAndGet(TimeUnit.MILLISECONDS.toNanos(BLOCKED_THRESHOLD_MS + 1));
+        eventLoopMonitor.check();
+        eventLoopMonitor.check();
+        assertThat(eventLoopMonitor.isBlocked()).isTrue();
+
+        captureTask(eventLoop).run();
+
+        // when
+        eventLoopMonitor.check();
+
+        // then
+        assertThat(eventLoopMonitor.isBlocked()).isFalse();
+        verify(metrics).updateEventLoopMetrics(0, TimeUnit.MILLISECONDS.toNanos(BLOCKED_THRESHOLD_MS + 1), 0);
+    }
+
+    private static Runnable captureTask(EventExecutor eventLoop) {
+        final ArgumentCaptor<Runnable> taskCaptor = ArgumentCaptor.forClass(Runnable.class);
+        verify(eventLoop, atLeastOnce()).execute(taskCaptor.capture());
+        final List<Runnable> tasks = taskCaptor.getAllValues();
+        return tasks.get(tasks.size() - 1);
+    }
+}
@@ -0,0 +1,69 @@
+package org.prebid.server.warmup;
+
+import com.iab.openrtb.response.Bid;
+import com.iab.openrtb.response.BidResponse;
+import com.iab.openrtb.response.SeatBid;
+import io.vertx.core.MultiMap;
+import io.vertx.core.http.HttpMethod;
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.VertxTest;
+import org.prebid.server.cache.proto.response.BidCacheResponse;
+import org.prebid.server.cache.proto.response.CacheObject;
+import org.prebid.server.vertx.http.model.HttpClientResponse;
+
+import java.io.IOException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StubHttpClientTest extends VertxTest {
+
+    private StubHttpClient stubHttpClient;
+
+    @Before
+    public void setUp() {
+        stubHttpClient = new StubHttpClient(jacksonMapper);
+    }
+
+    @Test
+    public void requestShouldRespondWithBidForEachImpression() throws IOException {
+        // when
+        final HttpClientResponse response = stubHttpClient.request(HttpMethod.POST, "http://bidder",
+                MultiMap.caseInsensitiveMultiMap(), "{\"id\":\"request\",\"imp\":[{\"id\":\"1\"},{\"id\":\"2\"}]}",
+                1000L).result();
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+
+        final BidResponse bidResponse = mapper.readValue(response.getBody(), BidResponse.class);
+        assertThat(bidResponse.getId()).isEqualTo("request");
+        assertThat(bidResponse.getSeatbid()).hasSize(1)
+                .flatExtracting(SeatBid::getBid)
+                .extracting(Bid::getImpid)
+                .containsExactly("1", "2");
+    }
+
+    @Test
+    public void requestShouldRespondWithIdentifierForEachCachedObject() throws IOException {
+        // when
+        final HttpClientResponse response = stubHttpClient.request(HttpMethod.POST, "http://cache",
+                MultiMap.caseInsensitiveMultiMap(), "{\"puts\":[{\"type\":\"json\"},{\"type\":\"xml\"}]}",
+                1000L).result();
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(200);
+        assertThat(mapper.readValue(response.getBody(), BidCacheResponse.class).getResponses())
+                .extracting(CacheObject::getUuid)
+                .containsExactly("warm-up-0", "warm-up-1");
+    }
+
+    @Test
+    public void requestShouldRespondWithBadRequestIfRequestIsNotUnderstood() {
+        // when
+        final HttpClientResponse response = stubHttpClient.request(HttpMethod.GET, "http://bidder",
+                MultiMap.caseInsensitiveMultiMap(), null, 1000L).result();
+
+        // then
+        assertThat(response.getStatusCode()).isEqualTo(400);
+    }
+}
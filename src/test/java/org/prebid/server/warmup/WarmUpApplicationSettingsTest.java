@@ -0,0 +1,58 @@
+package org.prebid.server.warmup;
+
+import io.vertx.core.Future;
+import org.junit.Before;
+import org.junit.Test;
+import org.prebid.server.exception.PreBidException;
+import org.prebid.server.settings.model.Account;
+import org.prebid.server.settings.model.StoredDataResult;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Collections.singletonMap;
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class WarmUpApplicationSettingsTest {
+
+    private WarmUpApplicationSettings warmUpApplicationSettings;
+
+    @Before
+    public void setUp() {
+        warmUpApplicationSettings = new WarmUpApplicationSettings("warm-up", "{\"id\":\"warm-up\"}");
+    }
+
+    @Test
+    public void getAmpStoredDataShouldReturnWarmUpRequest() {
+        // when
+        final Future<StoredDataResult> future = warmUpApplicationSettings.getAmpStoredData(singleton("warm-up"),
+                emptySet(), null);
+
+        // then
+        assertThat(future.result()).isEqualTo(StoredDataResult.of(singletonMap("warm-up", "{\"id\":\"warm-up\"}"),
+                emptyMap(), emptyList()));
+    }
+
+    @Test
+    public void getAmpStoredDataShouldReturnErrorForOtherRequests() {
+        // when
+        final Future<StoredDataResult> future = warmUpApplicationSettings.getAmpStoredData(singleton("id"),
+                emptySet(), null);
+
+        // then
+        assertThat(future.result()).isEqualTo(StoredDataResult.of(emptyMap(), emptyMap(),
+                singletonList("No stored request found for id: id")));
+    }
+
+    @Test
+    public void getAccountByIdShouldReturnNotFound() {
+        // when
+        final Future<Account> future = warmUpApplicationSettings.getAccountById("accountId", null);
+
+        // then
+        assertThat(future.failed()).isTrue();
+        assertThat(future.cause()).isInstanceOf(PreBidException.class).hasMessage("Not found");
+    }
+}
@@ -0,0 +1,123 @@
+package org.prebid.server.warmup;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.iab.openrtb.request.BidRequest;
+import com.iab.openrtb.request.Imp;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.VertxTest;
+import org.prebid.server.bidder.BidderCatalog;
+import org.prebid.server.proto.request.CookieSyncRequest;
+import org.prebid.server.proto.response.BidderInfo;
+import org.prebid.server.validation.BidderParamValidator;
+
+import java.io.IOException;
+import java.util.HashSet;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+
+public class WarmUpRequestsTest extends VertxTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private BidderCatalog bidderCatalog;
+    @Mock
+    private BidderParamValidator bidderParamValidator;
+
+    @Before
+    public void setUp() {
+        given(bidderCatalog.names()).willReturn(new HashSet<>(asList("banner", "video", "invalid", "inactive")));
+        given(bidderCatalog.isActive(anyString())).willReturn(true);
+        given(bidderCatalog.isActive(eq("inactive"))).willReturn(false);
+        given(bidderCatalog.bidderInfoByName(anyString())).willReturn(bidderInfo("banner", "video"));
+        given(bidderCatalog.bidderInfoByName(eq("banner"))).willReturn(bidderInfo("banner"));
+        given(bidderCatalog.bidderInfoByName(eq("video"))).willReturn(bidderInfo("video"));
+
+        given(bidderParamValidator.schemas()).willReturn("{\"banner\":{\"type\":\"object\",\"properties\":"
+                + "{\"placementId\":{\"type\":\"integer\",\"minimum\":5}},\"required\":[\"placementId\"]}}");
+        given(bidderParamValidator.validate(anyString(), any())).willReturn(emptySet());
+        given(bidderParamValidator.validate(eq("invalid"), any())).willReturn(singleton("error"));
+    }
+
+    @Test
+    public void auctionRequestShouldHaveImpressionsBidOnByBiddersSupportingTheirMediaTypes() throws IOException {
+        // when
+        final WarmUpRequests warmUpRequests = WarmUpRequests.create(bidderCatalog, bidderParamValidator,
+                jacksonMapper);
+
+        // then
+        final BidRequest bidRequest = mapper.readValue(warmUpRequests.auctionRequest(), BidRequest.class);
+        assertThat(bidRequest.getImp()).hasSize(2);
+
+        final Imp bannerImp = bidRequest.getImp().get(0);
+        assertThat(bannerImp.getBanner()).isNotNull();
+        assertThat(bannerImp.getExt()).isEqualTo(mapper.readTree("{\"banner\":{\"placementId\":5}}"));
+
+        final Imp videoImp = bidRequest.getImp().get(1);
+        assertThat(videoImp.getVideo()).isNotNull();
+        assertThat(videoImp.getExt()).isEqualTo(mapper.readTree("{\"video\":\"1\"}"));
+    }
+
+    @Test
+    public void ampStoredRequestShouldHaveBannerImpressionOnly() throws IOException {
+        // when
+        final WarmUpRequests warmUpRequests = WarmUpRequests.create(bidderCatalog, bidderParamValidator,
+                jacksonMapper);
+
+        // then
+        final BidRequest bidRequest = mapper.readValue(warmUpRequests.ampStoredRequest(), BidRequest.class);
+        assertThat(bidRequest.getImp()).extracting(Imp::getBanner).doesNotContainNull();
+    }
+
+    @Test
+    public void cookieSyncRequestShouldHaveAllActiveBidders() throws IOException {
+        // when
+        final WarmUpRequests warmUpRequests = WarmUpRequests.create(bidderCatalog, bidderParamValidator,
+                jacksonMapper);
+
+        // then
+        final CookieSyncRequest cookieSyncRequest = mapper.readValue(warmUpRequests.cookieSyncRequest(),
+                CookieSyncRequest.class);
+        assertThat(cookieSyncRequest.getBidders()).containsExactly("banner", "invalid", "video");
+    }
+
+    @Test
+    public void sampleOfShouldTakeRequiredPropertiesOfFirstAlternative() throws JsonProcessingException {
+        // given
+        final JsonNode schema = mapper.readTree("{\"type\":\"object\",\"properties\":{"
+                + "\"siteId\":{\"type\":\"string\",\"minLength\":3},"
+                + "\"size\":{\"type\":\"array\",\"items\":{\"type\":\"integer\"}},"
+                + "\"region\":{\"type\":\"string\",\"enum\":[\"us\",\"eu\"]},"
+                + "\"test\":{\"type\":\"boolean\"},"
+                + "\"optional\":{\"type\":\"string\"}},"
+                + "\"oneOf\":[{\"required\":[\"siteId\",\"size\"]},{\"required\":[\"optional\"]}],"
+                + "\"allOf\":[{\"required\":[\"region\",\"test\"]}]}");
+
+        // when
+        final JsonNode result = WarmUpRequests.sampleOf(schema, mapper.getNodeFactory());
+
+        // then
+        assertThat(result).isEqualTo(mapper.readTree(
+                "{\"region\":\"us\",\"test\":true,\"siteId\":\"111\",\"size\":[1]}"));
+    }
+
+    private static BidderInfo bidderInfo(String... siteMediaTypes) {
+        return BidderInfo.create(true, null, singletonList("banner"), asList(siteMediaTypes), null, 0, false,
+                false);
+    }
+}
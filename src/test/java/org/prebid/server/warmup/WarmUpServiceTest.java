@@ -0,0 +1,124 @@
+package org.prebid.server.warmup;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import io.vertx.ext.web.Router;
+import io.vertx.ext.web.RoutingContext;
+import io.vertx.ext.web.handler.BodyHandler;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnit;
+import org.mockito.junit.MockitoRule;
+import org.prebid.server.VertxTest;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatIllegalArgumentException;
+import static org.mockito.BDDMockito.given;
+
+@RunWith(VertxUnitRunner.class)
+public class WarmUpServiceTest extends VertxTest {
+
+    @Rule
+    public final MockitoRule mockitoRule = MockitoJUnit.rule();
+
+    @Mock
+    private WarmUpRequests warmUpRequests;
+
+    private Vertx warmUpVertx;
+    private Vertx otherVertx;
+    private StubHttpClient stubHttpClient;
+
+    @Before
+    public void setUp() {
+        given(warmUpRequests.auctionRequest()).willReturn("{\"id\":\"auction\",\"imp\":[{\"id\":\"1\"}]}");
+        given(warmUpRequests.cookieSyncRequest()).willReturn("{}");
+
+        warmUpVertx = Vertx.vertx();
+        otherVertx = Vertx.vertx();
+        stubHttpClient = new StubHttpClient(jacksonMapper);
+    }
+
+    @After
+    public void tearDown() {
+        warmUpVertx.close();
+        otherVertx.close();
+    }
+
+    @Test
+    public void creationShouldFailOnNonPositiveConcurrency() {
+        assertThatIllegalArgumentException()
+                .isThrownBy(() -> new WarmUpService(warmUpVertx, Router.router(warmUpVertx), warmUpRequests, 1, 1,
+                        1, 0, Clock.systemUTC()))
+                .withMessage("Warm-up concurrency must be positive");
+    }
+
+    @Test
+    public void startShouldCompleteWhenRequestsAreContinuedOnContextOfAnotherVertx(TestContext context) {
+        // given
+        final AtomicInteger stubbedBids = new AtomicInteger();
+        final Router router = Router.router(warmUpVertx);
+        router.route().handler(BodyHandler.create());
+        // settings completing on context of another Vert.x instance, as JDBC or HTTP backed ones do
+        router.post("/openrtb2/auction").handler(routingContext -> otherVertx.runOnContext(ignored ->
+                stubHttpClient.post("http://bidder", routingContext.getBodyAsString(), 1000L)
+                        .setHandler(result -> {
+                            if (result.succeeded() && result.result().getStatusCode() == 200) {
+                                stubbedBids.incrementAndGet();
+                            }
+                            respond(routingContext, 200);
+                        })));
+        router.get("/openrtb2/amp").handler(routingContext -> respond(routingContext, 200));
+        router.post("/cookie_sync").handler(routingContext -> respond(routingContext, 200));
+
+        final WarmUpService warmUpService = new WarmUpService(warmUpVertx, router, warmUpRequests, 10, 5, 5, 3,
+                Clock.systemUTC());
+
+        // when
+        warmUpService.start();
+
+        // then
+        final Async async = context.async();
+        otherVertx.setPeriodic(10L, timerId -> {
+            if (warmUpService.isCompleted()) {
+                otherVertx.cancelTimer(timerId);
+                context.verify(ignored -> assertThat(stubbedBids.get()).isEqualTo(10));
+                async.complete();
+            }
+        });
+    }
+
+    @Test
+    public void startShouldCompleteWhenRequestsFail(TestContext context) {
+        // given
+        final Router router = Router.router(warmUpVertx);
+        router.route().handler(routingContext -> otherVertx.runOnContext(ignored -> respond(routingContext, 500)));
+
+        final WarmUpService warmUpService = new WarmUpService(warmUpVertx, router, warmUpRequests, 2, 2, 2, 2,
+                Clock.systemUTC());
+
+        // when
+        warmUpService.start();
+
+        // then
+        final Async async = context.async();
+        otherVertx.setPeriodic(10L, timerId -> {
+            if (warmUpService.isCompleted()) {
+                otherVertx.cancelTimer(timerId);
+                async.complete();
+            }
+        });
+    }
+
+    private static void respond(RoutingContext routingContext, int statusCode) {
+        routingContext.response().setStatusCode(statusCode).end();
+    }
+}